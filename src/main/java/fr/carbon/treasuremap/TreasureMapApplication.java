@@ -1,17 +1,23 @@
 package fr.carbon.treasuremap;
 
 import fr.carbon.treasuremap.model.TreasureMap;
+import fr.carbon.treasuremap.model.grid.MappedFileGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridType;
 import fr.carbon.treasuremap.service.AdventurerService;
+import fr.carbon.treasuremap.service.BinaryTreasureMapService;
 import fr.carbon.treasuremap.service.InputFileReaderService;
 import fr.carbon.treasuremap.service.OutputFileWriterService;
+import fr.carbon.treasuremap.service.TreasureMapLineSource;
 import fr.carbon.treasuremap.service.TreasureMapService;
+import fr.carbon.treasuremap.utils.CompressionCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-import java.util.List;
+import java.nio.file.Path;
 
 @SpringBootApplication
 public class TreasureMapApplication implements CommandLineRunner {
@@ -22,21 +28,40 @@ public class TreasureMapApplication implements CommandLineRunner {
     private static final String inputFileName = "data.txt";
     private static final String outputFileLocation = "src/main/resources/";
     private static final String outputFileName = "treasureMap.txt";
+    private static final String binaryOutputFileName = "treasureMap.bin";
 
     private final AdventurerService adventurerService;
     private final InputFileReaderService inputFileReaderService;
     private final TreasureMapService treasureMapService;
     private final OutputFileWriterService outputFileWriterService;
+    private final BinaryTreasureMapService binaryTreasureMapService;
+
+    private final TreasureMapGridType gridType;
+    private final Path mappedGridFile;
+    private final boolean binaryOutput;
+    private final String outputFileExtension;
 
     public TreasureMapApplication(AdventurerService adventurerService,
                                   InputFileReaderService inputFileReaderService,
                                   TreasureMapService treasureMapService,
-                                  OutputFileWriterService outputFileWriterService) {
+                                  OutputFileWriterService outputFileWriterService,
+                                  BinaryTreasureMapService binaryTreasureMapService,
+                                  @Value("${treasuremap.grid.type:}") String gridType,
+                                  @Value("${treasuremap.grid.mapped-file:}") String mappedGridFile,
+                                  @Value("${treasuremap.output.binary:false}") boolean binaryOutput,
+                                  @Value("${treasuremap.output.compression:}") String outputCompression) {
 
         this.adventurerService = adventurerService;
         this.inputFileReaderService = inputFileReaderService;
         this.treasureMapService = treasureMapService;
         this.outputFileWriterService = outputFileWriterService;
+        this.binaryTreasureMapService = binaryTreasureMapService;
+        this.gridType = gridType.isBlank() ? null : TreasureMapGridType.valueOf(gridType.strip().toUpperCase());
+        this.mappedGridFile = mappedGridFile.isBlank() ? null : Path.of(mappedGridFile.strip());
+        this.binaryOutput = binaryOutput;
+        this.outputFileExtension = outputCompression.isBlank()
+                ? ""
+                : CompressionCodec.valueOf(outputCompression.strip().toUpperCase()).getExtension();
     }
 
     public static void main(String[] args) {
@@ -47,9 +72,30 @@ public class TreasureMapApplication implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
-        List<String> inputFileLines = inputFileReaderService.getInputFileLines(inputFileLocation, inputFileName);
-        TreasureMap initialTreasureMap = treasureMapService.createTreasureMapFromInputFile(inputFileLines);
+        TreasureMap initialTreasureMap;
+        if (binaryTreasureMapService.isBinaryFile(inputFileLocation, inputFileName)) {
+            initialTreasureMap = binaryTreasureMapService.createTreasureMapFromBinaryFile(inputFileLocation,
+                    inputFileName, gridType, mappedGridFile);
+        } else {
+            TreasureMapLineSource inputFileLineSource =
+                    inputFileReaderService.getInputFileLineSource(inputFileLocation, inputFileName);
+            initialTreasureMap =
+                    treasureMapService.createTreasureMapFromInputFile(inputFileLineSource, gridType, mappedGridFile);
+        }
         TreasureMap updateTreasureMap = adventurerService.moveAdventurersOnTreasureMap(initialTreasureMap);
-        outputFileWriterService.writeTreasureMapLinesToOutputFile(updateTreasureMap, outputFileLocation, outputFileName);
+        if (binaryOutput) {
+            outputFileWriterService.writeTreasureMapToBinaryOutputFile(updateTreasureMap, outputFileLocation,
+                    binaryOutputFileName + outputFileExtension);
+        } else {
+            outputFileWriterService.writeTreasureMapLinesToOutputFile(updateTreasureMap, outputFileLocation,
+                    outputFileName + outputFileExtension);
+        }
+
+        if (updateTreasureMap.getGrid() instanceof MappedFileGrid mappedFileGrid) {
+            try (mappedFileGrid) {
+                mappedFileGrid.writeSnapshot();
+            }
+            LOGGER.info("Instantané de la carte aux trésors écrit dans " + mappedFileGrid.getFile() + ".");
+        }
     }
 }
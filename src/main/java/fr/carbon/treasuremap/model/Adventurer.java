@@ -17,7 +17,51 @@ public class Adventurer {
     private String name;
     private Position position;
     private Orientation orientation;
+    /**
+     * Les déplacements à effectuer, codés en {@link MovementProgram} lorsqu'ils sont lus depuis le fichier en entrée.
+     */
     private List<Movement> movements;
     private int collectedTreasuresCount;
     private int apparitionOrder;
+    /**
+     * L'instant auquel l'aventurier effectue son premier déplacement.
+     */
+    private int startTime;
+    /**
+     * La durée de chaque déplacement : l'aventurier effectue un déplacement à chaque intervalle de cette durée.
+     */
+    private int movementDuration;
+
+    /**
+     * Aventurier partant à l'instant 0, à raison d'un déplacement par unité de temps.
+     */
+    public Adventurer(String name,
+                      Position position,
+                      Orientation orientation,
+                      List<Movement> movements,
+                      int collectedTreasuresCount,
+                      int apparitionOrder) {
+        this(name, position, orientation, movements, collectedTreasuresCount, apparitionOrder, 0, 1);
+    }
+
+    /**
+     * @return true si l'aventurier ne part pas à l'instant 0 ou ne se déplace pas à raison d'un déplacement par unité
+     * de temps.
+     */
+    public boolean hasCustomTiming() {
+        return startTime != 0 || movementDuration != 1;
+    }
+
+    /**
+     * Ramasse un exemplaire du trésor s'il en reste.
+     *
+     * @param treasure : le trésor de la case atteinte.
+     */
+    public void collectTreasure(Treasure treasure) {
+        int count = treasure.getCount();
+        if (count > 0) {
+            collectedTreasuresCount++;
+            treasure.setCount(count - 1);
+        }
+    }
 }
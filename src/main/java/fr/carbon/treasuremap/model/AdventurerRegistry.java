@@ -0,0 +1,63 @@
+package fr.carbon.treasuremap.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registre des aventuriers {@link Adventurer} d'une carte aux trésors, tenu dans l'ordre d'apparition dès la lecture du
+ * fichier en entrée.
+ * <p>
+ * Chaque aventurier est désigné par un identifiant, son rang dans le registre. Lister les aventuriers ne demande ainsi
+ * ni parcours de la grille ni tri : le coût dépend du nombre d'aventuriers et non de la surface de la carte. Leurs
+ * positions et orientations restent portées par les aventuriers eux-mêmes, que les ordonnancements mettent à jour.
+ */
+public class AdventurerRegistry {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Adventurer[] adventurers = new Adventurer[INITIAL_CAPACITY];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inscrit un aventurier à la suite des précédents.
+     *
+     * @param adventurer : l'aventurier placé sur la carte, dont l'ordre d'apparition suit celui des précédents.
+     * @return l'identifiant de l'aventurier.
+     * @throws IllegalArgumentException si l'ordre d'apparition de l'aventurier précède celui du dernier inscrit.
+     */
+    public int register(Adventurer adventurer) {
+        if (size > 0 && adventurer.getApparitionOrder() < adventurers[size - 1].getApparitionOrder()) {
+            throw new IllegalArgumentException("L'aventurier " + adventurer.getName()
+                    + " apparaît avant le dernier aventurier inscrit.");
+        }
+        if (size == adventurers.length) {
+            adventurers = Arrays.copyOf(adventurers, adventurers.length * 2);
+        }
+        int id = size++;
+        adventurers[id] = adventurer;
+        return id;
+    }
+
+    public Adventurer getAdventurer(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Aucun aventurier d'identifiant " + id + ".");
+        }
+        return adventurers[id];
+    }
+
+    /**
+     * @return les aventuriers dans leur ordre d'apparition, en lecture seule.
+     */
+    public List<Adventurer> getAdventurers() {
+        return Collections.unmodifiableList(Arrays.asList(adventurers).subList(0, size));
+    }
+}
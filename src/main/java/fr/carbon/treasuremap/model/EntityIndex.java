@@ -0,0 +1,127 @@
+package fr.carbon.treasuremap.model;
+
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Index des entités d'un type (montagnes, trésors) posées sur la carte aux trésors, dans leur ordre d'insertion.
+ * <p>
+ * Les entités sont chaînées par deux tableaux d'entiers (suivante, précédente) et chaque case occupée est associée au
+ * rang de son entité : un retrait se fait en O(1), sans décaler les suivantes, et le parcours ne visite que les
+ * entités présentes, quelle que soit la surface de la carte. Les rangs libérés ne sont pas réutilisés, les entités
+ * n'étant ajoutées qu'à la lecture du fichier en entrée.
+ *
+ * @param <E> : le type des entités indexées.
+ */
+public class EntityIndex<E> {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] entities = new Object[INITIAL_CAPACITY];
+    private int[] nextIds = new int[INITIAL_CAPACITY];
+    private int[] previousIds = new int[INITIAL_CAPACITY];
+    private final LongIntOpenHashMap idsByCell = new LongIntOpenHashMap(NONE);
+    private int firstId = NONE;
+    private int lastId = NONE;
+    private int allocatedCount;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Ajoute une entité après les précédentes.
+     *
+     * @param horizontalPosition : la colonne de l'entité.
+     * @param verticalPosition   : la ligne de l'entité.
+     * @param entity             : l'entité.
+     * @throws IllegalArgumentException si la case porte déjà une entité indexée.
+     */
+    public void add(int horizontalPosition, int verticalPosition, E entity) {
+        long cell = PackedCoordinates.pack(horizontalPosition, verticalPosition);
+        if (idsByCell.containsKey(cell)) {
+            throw new IllegalArgumentException("La case (" + horizontalPosition + ", " + verticalPosition
+                    + ") est déjà indexée.");
+        }
+        if (allocatedCount == entities.length) {
+            grow();
+        }
+        int id = allocatedCount++;
+        entities[id] = entity;
+        previousIds[id] = lastId;
+        nextIds[id] = NONE;
+        if (lastId == NONE) {
+            firstId = id;
+        } else {
+            nextIds[lastId] = id;
+        }
+        lastId = id;
+        idsByCell.put(cell, id);
+        size++;
+    }
+
+    /**
+     * Retire en O(1) l'entité d'une case.
+     *
+     * @return l'entité retirée, null si la case n'en portait pas.
+     */
+    @SuppressWarnings("unchecked")
+    public E remove(int horizontalPosition, int verticalPosition) {
+        int id = idsByCell.remove(PackedCoordinates.pack(horizontalPosition, verticalPosition));
+        if (id == NONE) return null;
+
+        E entity = (E) entities[id];
+        entities[id] = null;
+        int previousId = previousIds[id];
+        int nextId = nextIds[id];
+        if (previousId == NONE) {
+            firstId = nextId;
+        } else {
+            nextIds[previousId] = nextId;
+        }
+        if (nextId == NONE) {
+            lastId = previousId;
+        } else {
+            previousIds[nextId] = previousId;
+        }
+        size--;
+        return entity;
+    }
+
+    /**
+     * @return l'entité de la case, null si elle n'en porte pas.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int horizontalPosition, int verticalPosition) {
+        int id = idsByCell.get(PackedCoordinates.pack(horizontalPosition, verticalPosition));
+        return id == NONE ? null : (E) entities[id];
+    }
+
+    /**
+     * Parcourt les entités dans leur ordre d'insertion. L'entité visitée peut être retirée pendant le parcours.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> consumer) {
+        for (int id = firstId; id != NONE; ) {
+            int nextId = nextIds[id];
+            consumer.accept((E) entities[id]);
+            id = nextId;
+        }
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        nextIds = Arrays.copyOf(nextIds, capacity);
+        previousIds = Arrays.copyOf(previousIds, capacity);
+    }
+}
@@ -0,0 +1,290 @@
+package fr.carbon.treasuremap.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Séquence immuable de déplacements {@link Movement} d'un aventurier, codés sur 2 bits chacun dans un tableau de longs
+ * (32 déplacements par long), au lieu d'une référence par déplacement dans une liste.
+ * <p>
+ * Le code d'un déplacement est son {@link Movement#ordinal()}. La simulation lit les opérations compilées par un
+ * {@link Cursor}, sans allocation par déplacement. La séquence reste une {@link List} et est égale à toute liste
+ * contenant les mêmes déplacements.
+ */
+public final class MovementProgram extends AbstractList<Movement> implements RandomAccess {
+
+    public static final int FORWARD_CODE = 0;
+    public static final int TURN_RIGHT_CODE = 1;
+    public static final int TURN_LEFT_CODE = 2;
+
+    public static final MovementProgram EMPTY = new MovementProgram(new long[0], 0);
+
+    private static final Movement[] MOVEMENTS = Movement.values();
+    private static final int BITS_PER_MOVEMENT = 2;
+    private static final int MOVEMENTS_PER_WORD_SHIFT = 5;
+    private static final int MOVEMENTS_PER_WORD = 1 << MOVEMENTS_PER_WORD_SHIFT;
+    private static final long CODE_MASK = (1 << BITS_PER_MOVEMENT) - 1;
+    private static final long LOW_BITS_MASK = 0x5555555555555555L;
+
+    private final long[] words;
+    private final int size;
+
+    private MovementProgram(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Code les déplacements lus dans le fichier en entrée.
+     *
+     * @param movementValues : les caractères A, D et G des déplacements.
+     * @return la séquence codée.
+     * @throws IllegalArgumentException si un caractère ne correspond à aucun déplacement.
+     */
+    public static MovementProgram fromValues(char[] movementValues) {
+        long[] words = new long[getWordCount(movementValues.length)];
+        for (int i = 0; i < movementValues.length; i++) {
+            words[i >>> MOVEMENTS_PER_WORD_SHIFT] |= (long) getCode(movementValues[i]) << getShift(i);
+        }
+        return new MovementProgram(words, movementValues.length);
+    }
+
+    /**
+     * @param movements : une liste de déplacements.
+     * @return la liste elle-même si elle est déjà codée, sa copie codée sinon.
+     */
+    public static MovementProgram of(List<Movement> movements) {
+        if (movements instanceof MovementProgram movementProgram) return movementProgram;
+
+        long[] words = new long[getWordCount(movements.size())];
+        for (int i = 0; i < movements.size(); i++) {
+            words[i >>> MOVEMENTS_PER_WORD_SHIFT] |= (long) movements.get(i).ordinal() << getShift(i);
+        }
+        return new MovementProgram(words, movements.size());
+    }
+
+    /**
+     * Relit une séquence codée par {@link #toPackedCodes()}.
+     *
+     * @param packedCodes : les codes des déplacements, 4 par octet à partir des bits de poids faible.
+     * @param size        : le nombre de déplacements.
+     * @return la séquence codée.
+     * @throws IllegalArgumentException si un code ne correspond à aucun déplacement.
+     */
+    public static MovementProgram fromPackedCodes(byte[] packedCodes, int size) {
+        if (packedCodes.length < getPackedCodeByteCount(size)) {
+            throw new IllegalArgumentException("Codes de déplacements incomplets : " + packedCodes.length
+                    + " octet(s) pour " + size + " déplacement(s).");
+        }
+        long[] words = new long[getWordCount(size)];
+        for (int i = 0; i < size; i++) {
+            int code = (packedCodes[i >>> 2] >>> ((i & 3) * BITS_PER_MOVEMENT)) & (int) CODE_MASK;
+            if (code >= MOVEMENTS.length) {
+                throw new IllegalArgumentException("Code de déplacement inconnu : " + code);
+            }
+            words[i >>> MOVEMENTS_PER_WORD_SHIFT] |= (long) code << getShift(i);
+        }
+        return new MovementProgram(words, size);
+    }
+
+    /**
+     * @return les codes des déplacements, 4 par octet à partir des bits de poids faible.
+     */
+    public byte[] toPackedCodes() {
+        byte[] packedCodes = new byte[getPackedCodeByteCount(size)];
+        for (int i = 0; i < packedCodes.length; i++) {
+            packedCodes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * Byte.SIZE));
+        }
+        return packedCodes;
+    }
+
+    /**
+     * @param movementCount : le nombre de déplacements.
+     * @return la taille des codes retournés par {@link #toPackedCodes()}.
+     */
+    public static int getPackedCodeByteCount(int movementCount) {
+        return (movementCount + 3) >>> 2;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Movement get(int index) {
+        return MOVEMENTS[getCode(Objects.checkIndex(index, size))];
+    }
+
+    /**
+     * @param index : la position du déplacement dans la séquence, non contrôlée.
+     * @return le code du déplacement.
+     */
+    public int getCode(int index) {
+        return (int) ((words[index >>> MOVEMENTS_PER_WORD_SHIFT] >>> getShift(index)) & CODE_MASK);
+    }
+
+    /**
+     * @return la mémoire occupée par les codes des déplacements.
+     */
+    public long getFootprintInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * Calcule la rotation nette des déplacements à partir d'une position de la séquence, mot par mot.
+     *
+     * @param fromIndex : la position du premier déplacement pris en compte.
+     * @return la rotation nette en quarts de tour à droite, de 0 à 3.
+     */
+    public int getNetRotation(int fromIndex) {
+        int rightTurnCount = 0;
+        int leftTurnCount = 0;
+        for (int index = fromIndex; index < size; ) {
+            long word = words[index >>> MOVEMENTS_PER_WORD_SHIFT] >>> getShift(index);
+            int run = Math.min(MOVEMENTS_PER_WORD - (index & (MOVEMENTS_PER_WORD - 1)), size - index);
+            long runMask = run == MOVEMENTS_PER_WORD ? -1L : (1L << run * BITS_PER_MOVEMENT) - 1;
+            rightTurnCount += Long.bitCount(word & runMask & LOW_BITS_MASK);
+            leftTurnCount += Long.bitCount((word >>> 1) & runMask & LOW_BITS_MASK);
+            index += run;
+        }
+        return (rightTurnCount + 3 * leftTurnCount) & 3;
+    }
+
+    /**
+     * @return le nombre de déplacements en avant de la séquence, soit la distance maximale que l'aventurier peut
+     * parcourir.
+     */
+    public int getForwardMovementCount() {
+        int turnCount = 0;
+        for (long word : words) {
+            turnCount += Long.bitCount((word | (word >>> 1)) & LOW_BITS_MASK);
+        }
+        return size - turnCount;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Compile à la volée la séquence en opérations : les déplacements en avant consécutifs sont fusionnés en une
+     * avancée de N cases et les rotations consécutives en une seule rotation nette.
+     * <p>
+     * Les séries sont mesurées mot par mot sur les codes 2 bits ({@link Long#numberOfTrailingZeros(long)},
+     * {@link Long#bitCount(long)}), sans parcourir les déplacements un à un ni matérialiser de tableau d'opérations,
+     * qui pourrait occuper 16 fois la taille de la séquence.
+     */
+    public final class Cursor {
+
+        private int index;
+        private int pendingRotation;
+        private int pendingRotationIndex;
+
+        private Cursor() {
+        }
+
+        /**
+         * @return un entier positif N pour avancer de N cases, négatif -R pour tourner de R quarts de tour à droite
+         * (R de 1 à 3), ou 0 lorsque la séquence est terminée. Les rotations nulles sont absorbées.
+         */
+        public int nextOp() {
+            if (pendingRotation != 0) {
+                int rotation = pendingRotation;
+                pendingRotation = 0;
+                return -rotation;
+            }
+
+            int forwardCount = 0;
+            while (index < size) {
+                forwardCount += consumeRun(true);
+                if (index == size) break;
+
+                int turnRunIndex = index;
+                int rotation = consumeTurnRun();
+                if (rotation == 0) continue;
+                if (forwardCount == 0) return -rotation;
+
+                pendingRotation = rotation;
+                pendingRotationIndex = turnRunIndex;
+                break;
+            }
+            return forwardCount;
+        }
+
+        /**
+         * @return le nombre de déplacements restant à lire.
+         */
+        public int getRemainingMovementCount() {
+            return size - (pendingRotation != 0 ? pendingRotationIndex : index);
+        }
+
+        /**
+         * Consomme d'un bloc la fin de la séquence, lorsque ses déplacements en avant ne peuvent plus aboutir.
+         *
+         * @return la rotation nette, en quarts de tour à droite, de la fin de la séquence.
+         */
+        public int skipRemaining() {
+            int rotation = (pendingRotation + getNetRotation(index)) & 3;
+            pendingRotation = 0;
+            index = size;
+            return rotation;
+        }
+
+        private int consumeTurnRun() {
+            int rightTurnCount = 0;
+            int leftTurnCount = 0;
+            int run;
+            do {
+                long word = getCurrentWord();
+                run = consumeRun(false);
+                long runMask = run == MOVEMENTS_PER_WORD ? -1L : (1L << run * BITS_PER_MOVEMENT) - 1;
+                rightTurnCount += Long.bitCount(word & runMask & LOW_BITS_MASK);
+                leftTurnCount += Long.bitCount((word >>> 1) & runMask & LOW_BITS_MASK);
+            } while (run > 0 && index < size && getCode(index) != FORWARD_CODE);
+            return (rightTurnCount + 3 * leftTurnCount) & 3;
+        }
+
+        /**
+         * Consomme la série de déplacements en avant (ou de rotations) au début du mot courant.
+         *
+         * @return la longueur de la série, bornée à la fin du mot et de la séquence.
+         */
+        private int consumeRun(boolean forward) {
+            int total = 0;
+            int run;
+            int available;
+            do {
+                long word = getCurrentWord();
+                long forwardCodes = ~(word | (word >>> 1)) & LOW_BITS_MASK;
+                available = Math.min(MOVEMENTS_PER_WORD - (index & (MOVEMENTS_PER_WORD - 1)), size - index);
+                run = Math.min(Long.numberOfTrailingZeros(forward ? ~forwardCodes & LOW_BITS_MASK : forwardCodes)
+                        / BITS_PER_MOVEMENT, available);
+                index += run;
+                total += run;
+            } while (forward && run == available && index < size);
+            return total;
+        }
+
+        private long getCurrentWord() {
+            return words[index >>> MOVEMENTS_PER_WORD_SHIFT] >>> getShift(index);
+        }
+    }
+
+    private static int getWordCount(int movementCount) {
+        return (movementCount + MOVEMENTS_PER_WORD - 1) >>> MOVEMENTS_PER_WORD_SHIFT;
+    }
+
+    private static int getShift(int index) {
+        return (index & (MOVEMENTS_PER_WORD - 1)) * BITS_PER_MOVEMENT;
+    }
+
+    private static int getCode(char movementValue) {
+        for (Movement movement : MOVEMENTS) {
+            if (movement.getValue() == movementValue) return movement.ordinal();
+        }
+        throw new IllegalArgumentException("Déplacement inconnu : " + movementValue);
+    }
+}
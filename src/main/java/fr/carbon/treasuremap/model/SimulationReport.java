@@ -0,0 +1,43 @@
+package fr.carbon.treasuremap.model;
+
+import lombok.Getter;
+
+/**
+ * Bilan de la simulation des déplacements sur la carte aux trésors {@link TreasureMap}.
+ */
+@Getter
+public class SimulationReport {
+
+    /**
+     * Nombre d'aventuriers dont la fin de séquence a été ignorée car ils ne pouvaient plus changer de case.
+     */
+    private int stuckAdventurerCount;
+
+    /**
+     * Nombre de déplacements ignorés sans être simulés, leur seul effet (la rotation nette) ayant été calculé d'un bloc.
+     */
+    private long skippedMovementCount;
+
+    /**
+     * Nombre de déplacements en avant refusés par un obstacle ou le bord de la carte.
+     */
+    private long blockedMovementCount;
+
+    /**
+     * Nombre de tours joués, pour les ordonnancements tour par tour.
+     */
+    private int turnCount;
+
+    public void addStuckAdventurer(int skippedMovementCount) {
+        this.stuckAdventurerCount++;
+        this.skippedMovementCount += skippedMovementCount;
+    }
+
+    public void addBlockedMovements(long blockedMovementCount) {
+        this.blockedMovementCount += blockedMovementCount;
+    }
+
+    public void addTurn() {
+        this.turnCount++;
+    }
+}
@@ -1,40 +1,93 @@
 package fr.carbon.treasuremap.model;
 
+import fr.carbon.treasuremap.model.grid.ObjectMatrixGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridPlan;
 import lombok.Getter;
-import lombok.Setter;
+
+import java.util.function.Consumer;
 
 /**
  * Classe représentant la carte aux trésors où seront placés les aventuriers {@link Adventurer},
  * les montagnes {@link Mountain} ainsi que les trésors {@link Treasure}.
+ * Le contenu des cellules est porté par une {@link TreasureMapGrid}, dont l'implémentation dépend de la taille de la
+ * carte. Les aventuriers y sont en outre inscrits, dans leur ordre d'apparition, dans un {@link AdventurerRegistry},
+ * et les montagnes et trésors restants dans des {@link EntityIndex}, afin de les lister sans parcourir la grille.
  */
 @Getter
-@Setter
 public class TreasureMap {
 
-    private int columnCount;
-    private int rowCount;
-    private TreasureMapCell[][] treasureMapCells;
+    private final int columnCount;
+    private final int rowCount;
+    private final TreasureMapGrid grid;
+    private final TreasureMapGridPlan gridPlan;
+    private final SimulationReport simulationReport = new SimulationReport();
+    private final AdventurerRegistry adventurerRegistry = new AdventurerRegistry();
+    private final EntityIndex<Mountain> mountainIndex = new EntityIndex<>();
+    private final EntityIndex<Treasure> treasureIndex = new EntityIndex<>();
 
     public TreasureMap(int columnCount, int rowCount) {
-        this.columnCount = columnCount;
-        this.rowCount = rowCount;
-        this.treasureMapCells = setupTreasureMapMatrix(this.columnCount, this.rowCount);
+        this(new ObjectMatrixGrid(columnCount, rowCount));
+    }
+
+    public TreasureMap(TreasureMapGrid grid) {
+        this(grid, null);
+    }
+
+    /**
+     * @param grid     : le contenu des cellules de la carte.
+     * @param gridPlan : le plan ayant conduit au choix de la représentation de la grille, null si elle a été imposée.
+     */
+    public TreasureMap(TreasureMapGrid grid, TreasureMapGridPlan gridPlan) {
+        this.columnCount = grid.getColumnCount();
+        this.rowCount = grid.getRowCount();
+        this.grid = grid;
+        this.gridPlan = gridPlan;
+    }
+
+    /**
+     * @return la matrice de {@link TreasureMapCell} lorsque la carte est représentée par une {@link ObjectMatrixGrid},
+     * null sinon.
+     */
+    public TreasureMapCell[][] getTreasureMapCells() {
+        return grid instanceof ObjectMatrixGrid objectMatrixGrid ? objectMatrixGrid.getTreasureMapCells() : null;
     }
 
     /**
-     * Créé la matrice de {@link TreasureMapCell} représentant la carte aux trésors.
+     * @return true si les entités de la carte ont été indexées lors de son remplissage, false si elles ne peuvent
+     * être trouvées qu'en parcourant la grille.
+     */
+    public boolean hasEntityIndexes() {
+        return !mountainIndex.isEmpty() || !treasureIndex.isEmpty() || !adventurerRegistry.isEmpty();
+    }
+
+    /**
+     * Parcourt les trésors de la carte depuis leur index ou, pour une carte remplie sans passer par la lecture du
+     * fichier en entrée, en parcourant la grille.
      *
-     * @param columnCount : le nombre de colonnes.
-     * @param rowCount    : le nombre de lignes.
-     * @return : la matrice construite (array à deux dimensions).
+     * @param consumer : le traitement de chaque trésor.
      */
-    private TreasureMapCell[][] setupTreasureMapMatrix(int columnCount, int rowCount) {
-        TreasureMapCell[][] treasureMapMatrix = new TreasureMapCell[columnCount][rowCount];
-        for (int i = 0; i < columnCount; i++) {
-            for (int j = 0; j < rowCount; j++) {
-                treasureMapMatrix[i][j] = new TreasureMapCell();
-            }
+    public void forEachTreasure(Consumer<? super Treasure> consumer) {
+        if (hasEntityIndexes()) {
+            treasureIndex.forEach(consumer);
+            return;
         }
-        return treasureMapMatrix;
+        grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+            if (treasure != null) {
+                consumer.accept(treasure);
+            }
+        });
+    }
+
+    /**
+     * Retire de l'index des trésors ceux qui ont été entièrement ramassés.
+     */
+    public void removeDepletedTreasures() {
+        treasureIndex.forEach(treasure -> {
+            if (treasure.getCount() == 0) {
+                Position position = treasure.getPosition();
+                treasureIndex.remove(position.getHorizontalPosition(), position.getVerticalPosition());
+            }
+        });
     }
 }
@@ -0,0 +1,272 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.Mountain;
+import fr.carbon.treasuremap.model.Position;
+import fr.carbon.treasuremap.model.Treasure;
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Base commune des représentations compactes de la carte aux trésors : chaque cellule est décrite par un octet de
+ * drapeaux {@link TreasureMapCellKind} et un entier identifiant le trésor qu'elle contient.
+ * <p>
+ * Les trésors sont conservés dans une table annexe indexée par cet identifiant. Les aventuriers, peu nombreux au regard
+ * du nombre de cases, sont conservés de la même façon dans une table annexe, leur identifiant étant associé à la
+ * position de leur cellule dans une table de hachage primitive par bande de {@value #ROW_BAND_HEIGHT} lignes ;
+ * l'identifiant d'une cellule libérée est réattribué. Les montagnes ne sont représentées que par leur drapeau.
+ * <p>
+ * Déplacer un aventurier ({@link #moveAdventurer(int, int, int, int, Adventurer)}) ne modifie ainsi que les cellules
+ * concernées et la table de leur bande : une représentation dont les cellules sont des cases distinctes d'un tableau
+ * peut être modifiée en même temps dans des bandes différentes (voir {@link #getConcurrentRowBandHeight()}). L'ajout
+ * et le retrait d'aventuriers ou de trésors, qui modifient les tables annexes partagées, restent séquentiels.
+ */
+@Getter
+public abstract class AbstractPackedGrid implements TreasureMapGrid {
+
+    public static final int ROW_BAND_SHIFT = 6;
+    public static final int ROW_BAND_HEIGHT = 1 << ROW_BAND_SHIFT;
+
+    private static final int INITIAL_SIDE_TABLE_CAPACITY = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ID_BYTES = 4;
+    private static final int NO_ADVENTURER = -1;
+
+    private final int columnCount;
+    private final int rowCount;
+
+    private Treasure[] treasures = new Treasure[INITIAL_SIDE_TABLE_CAPACITY];
+    private int treasureCount;
+
+    private Adventurer[] adventurers = new Adventurer[INITIAL_SIDE_TABLE_CAPACITY];
+    private int adventurerCount;
+    private int[] freeAdventurerIds = new int[INITIAL_SIDE_TABLE_CAPACITY];
+    private int freeAdventurerIdCount;
+    private final LongIntOpenHashMap[] adventurerIdsByRowBand;
+
+    protected AbstractPackedGrid(int columnCount, int rowCount) {
+        if (columnCount < 0 || rowCount < 0) {
+            throw new IllegalArgumentException("Les dimensions de la carte aux trésors doivent être positives.");
+        }
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+        this.adventurerIdsByRowBand = new LongIntOpenHashMap[getRowBandCount(rowCount)];
+    }
+
+    protected abstract byte readCellKind(int horizontalPosition, int verticalPosition);
+
+    protected abstract int readCellEntity(int horizontalPosition, int verticalPosition);
+
+    protected abstract void writeCell(int horizontalPosition, int verticalPosition, byte cellKind, int cellEntity);
+
+    /**
+     * @return la mémoire occupée par le stockage des cellules, hors tables annexes.
+     */
+    protected abstract long getCellStorageFootprintInBytes();
+
+    @Override
+    public long getFootprintInBytes() {
+        return getCellStorageFootprintInBytes()
+                + (long) treasures.length * REFERENCE_BYTES
+                + (long) adventurers.length * REFERENCE_BYTES
+                + (long) freeAdventurerIds.length * ID_BYTES
+                + getAdventurerIdsFootprintInBytes();
+    }
+
+    /**
+     * Estime la mémoire des tables annexes pour le nombre de trésors et d'aventuriers attendus, les aventuriers étant
+     * supposés répartis dans des bandes de lignes distinctes tant qu'il y a plus de bandes que d'aventuriers.
+     */
+    public static long estimateSideTablesFootprintInBytes(int rowCount, int treasureCount, int adventurerCount) {
+        int rowBandCount = getRowBandCount(rowCount);
+        int occupiedRowBandCount = Math.min(rowBandCount, adventurerCount);
+        long adventurerIdsFootprint = occupiedRowBandCount == 0 ? 0 : occupiedRowBandCount
+                * LongIntOpenHashMap.estimateFootprintInBytes(adventurerCount / occupiedRowBandCount + 1);
+        return (long) Math.max(treasureCount, INITIAL_SIDE_TABLE_CAPACITY) * REFERENCE_BYTES
+                + (long) Math.max(adventurerCount, INITIAL_SIDE_TABLE_CAPACITY) * (REFERENCE_BYTES + ID_BYTES)
+                + (long) rowBandCount * REFERENCE_BYTES
+                + adventurerIdsFootprint;
+    }
+
+
+    @Override
+    public byte getCellKind(int horizontalPosition, int verticalPosition) {
+        return readCellKind(horizontalPosition, verticalPosition);
+    }
+
+    @Override
+    public Mountain getMountain(int horizontalPosition, int verticalPosition) {
+        if (!TreasureMapCellKind.hasMountain(readCellKind(horizontalPosition, verticalPosition))) return null;
+        return new Mountain(new Position(horizontalPosition, verticalPosition));
+    }
+
+    @Override
+    public Treasure getTreasure(int horizontalPosition, int verticalPosition) {
+        if (!TreasureMapCellKind.hasTreasure(readCellKind(horizontalPosition, verticalPosition))) return null;
+        return treasures[readCellEntity(horizontalPosition, verticalPosition)];
+    }
+
+    @Override
+    public Adventurer getAdventurer(int horizontalPosition, int verticalPosition) {
+        if (!TreasureMapCellKind.hasAdventurer(readCellKind(horizontalPosition, verticalPosition))) return null;
+        return adventurers[getAdventurerId(horizontalPosition, verticalPosition)];
+    }
+
+    @Override
+    public void setMountain(int horizontalPosition, int verticalPosition, Mountain mountain) {
+        byte cellKind = readCellKind(horizontalPosition, verticalPosition);
+        cellKind = mountain != null
+                ? (byte) (cellKind | TreasureMapCellKind.MOUNTAIN)
+                : (byte) (cellKind & ~TreasureMapCellKind.MOUNTAIN);
+        writeCell(horizontalPosition, verticalPosition, cellKind, readCellEntity(horizontalPosition, verticalPosition));
+    }
+
+    @Override
+    public void setTreasure(int horizontalPosition, int verticalPosition, Treasure treasure) {
+        byte cellKind = readCellKind(horizontalPosition, verticalPosition);
+        if (treasure == null) {
+            writeCell(horizontalPosition, verticalPosition, (byte) (cellKind & ~TreasureMapCellKind.TREASURE), 0);
+            return;
+        }
+
+        int treasureId = TreasureMapCellKind.hasTreasure(cellKind)
+                ? readCellEntity(horizontalPosition, verticalPosition)
+                : addTreasure();
+        treasures[treasureId] = treasure;
+        writeCell(horizontalPosition, verticalPosition, (byte) (cellKind | TreasureMapCellKind.TREASURE), treasureId);
+    }
+
+    @Override
+    public void setAdventurer(int horizontalPosition, int verticalPosition, Adventurer adventurer) {
+        byte cellKind = readCellKind(horizontalPosition, verticalPosition);
+        int cellEntity = readCellEntity(horizontalPosition, verticalPosition);
+
+        if (adventurer == null) {
+            if (!TreasureMapCellKind.hasAdventurer(cellKind)) return;
+            releaseAdventurerId(removeAdventurerId(horizontalPosition, verticalPosition));
+            writeCell(horizontalPosition, verticalPosition,
+                    (byte) (cellKind & ~TreasureMapCellKind.ADVENTURER),
+                    cellEntity
+            );
+            return;
+        }
+
+        int adventurerId = getAdventurerId(horizontalPosition, verticalPosition);
+        if (adventurerId == NO_ADVENTURER) {
+            adventurerId = addAdventurerId();
+            putAdventurerId(horizontalPosition, verticalPosition, adventurerId);
+        }
+        adventurers[adventurerId] = adventurer;
+        writeCell(horizontalPosition, verticalPosition,
+                (byte) (cellKind | TreasureMapCellKind.ADVENTURER),
+                cellEntity
+        );
+    }
+
+    /**
+     * Transfère l'identifiant de l'aventurier d'une cellule à l'autre sans le libérer ni en attribuer un nouveau :
+     * seules les deux cellules et les tables de leurs bandes de lignes sont modifiées.
+     */
+    @Override
+    public void moveAdventurer(int horizontalPosition,
+                               int verticalPosition,
+                               int nextHorizontalPosition,
+                               int nextVerticalPosition,
+                               Adventurer adventurer) {
+        int adventurerId = removeAdventurerId(horizontalPosition, verticalPosition);
+        if (adventurerId == NO_ADVENTURER) {
+            setAdventurer(nextHorizontalPosition, nextVerticalPosition, adventurer);
+            return;
+        }
+
+        byte cellKind = readCellKind(horizontalPosition, verticalPosition);
+        writeCell(horizontalPosition, verticalPosition, (byte) (cellKind & ~TreasureMapCellKind.ADVENTURER),
+                readCellEntity(horizontalPosition, verticalPosition));
+
+        putAdventurerId(nextHorizontalPosition, nextVerticalPosition, adventurerId);
+        byte nextCellKind = readCellKind(nextHorizontalPosition, nextVerticalPosition);
+        writeCell(nextHorizontalPosition, nextVerticalPosition, (byte) (nextCellKind | TreasureMapCellKind.ADVENTURER),
+                readCellEntity(nextHorizontalPosition, nextVerticalPosition));
+    }
+
+    @Override
+    public void forEachCell(TreasureMapCellVisitor visitor) {
+        for (int i = 0; i < columnCount; i++) {
+            for (int j = 0; j < rowCount; j++) {
+                visitCell(i, j, visitor);
+            }
+        }
+    }
+
+    protected void visitCell(int horizontalPosition, int verticalPosition, TreasureMapCellVisitor visitor) {
+        if (readCellKind(horizontalPosition, verticalPosition) == TreasureMapCellKind.EMPTY) return;
+        visitor.visit(horizontalPosition, verticalPosition,
+                getMountain(horizontalPosition, verticalPosition),
+                getTreasure(horizontalPosition, verticalPosition),
+                getAdventurer(horizontalPosition, verticalPosition)
+        );
+    }
+
+    private int getAdventurerId(int horizontalPosition, int verticalPosition) {
+        LongIntOpenHashMap adventurerIds = adventurerIdsByRowBand[verticalPosition >> ROW_BAND_SHIFT];
+        return adventurerIds == null
+                ? NO_ADVENTURER
+                : adventurerIds.get(PackedCoordinates.pack(horizontalPosition, verticalPosition));
+    }
+
+    private void putAdventurerId(int horizontalPosition, int verticalPosition, int adventurerId) {
+        int rowBand = verticalPosition >> ROW_BAND_SHIFT;
+        if (adventurerIdsByRowBand[rowBand] == null) {
+            adventurerIdsByRowBand[rowBand] = new LongIntOpenHashMap(NO_ADVENTURER);
+        }
+        adventurerIdsByRowBand[rowBand].put(PackedCoordinates.pack(horizontalPosition, verticalPosition), adventurerId);
+    }
+
+    private int removeAdventurerId(int horizontalPosition, int verticalPosition) {
+        LongIntOpenHashMap adventurerIds = adventurerIdsByRowBand[verticalPosition >> ROW_BAND_SHIFT];
+        return adventurerIds == null
+                ? NO_ADVENTURER
+                : adventurerIds.remove(PackedCoordinates.pack(horizontalPosition, verticalPosition));
+    }
+
+    private long getAdventurerIdsFootprintInBytes() {
+        long footprint = (long) adventurerIdsByRowBand.length * REFERENCE_BYTES;
+        for (LongIntOpenHashMap adventurerIds : adventurerIdsByRowBand) {
+            if (adventurerIds != null) {
+                footprint += adventurerIds.getFootprintInBytes();
+            }
+        }
+        return footprint;
+    }
+
+    private static int getRowBandCount(int rowCount) {
+        return (int) (((long) rowCount + ROW_BAND_HEIGHT - 1) >> ROW_BAND_SHIFT);
+    }
+
+    private int addTreasure() {
+        if (treasureCount == treasures.length) {
+            treasures = Arrays.copyOf(treasures, treasureCount * 2);
+        }
+        return treasureCount++;
+    }
+
+    private int addAdventurerId() {
+        if (freeAdventurerIdCount > 0) {
+            return freeAdventurerIds[--freeAdventurerIdCount];
+        }
+        if (adventurerCount == adventurers.length) {
+            adventurers = Arrays.copyOf(adventurers, adventurerCount * 2);
+            freeAdventurerIds = Arrays.copyOf(freeAdventurerIds, adventurerCount * 2);
+        }
+        return adventurerCount++;
+    }
+
+    private void releaseAdventurerId(int adventurerId) {
+        if (adventurerId == NO_ADVENTURER) return;
+        adventurers[adventurerId] = null;
+        freeAdventurerIds[freeAdventurerIdCount++] = adventurerId;
+    }
+}
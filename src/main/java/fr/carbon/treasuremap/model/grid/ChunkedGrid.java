@@ -0,0 +1,165 @@
+package fr.carbon.treasuremap.model.grid;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Représentation de la carte aux trésors découpée en tuiles de {@value #TILE_SIZE}x{@value #TILE_SIZE} cases, chaque
+ * tuile suivant le format compact de {@link PackedDenseGrid}.
+ * <p>
+ * Une tuile n'est allouée qu'à la première écriture d'une montagne, d'un trésor ou d'un aventurier dans sa zone.
+ * Toutes les tuiles vides partagent une même instance en lecture seule, et une tuile redevenue vide (par exemple après
+ * le passage d'un aventurier) est libérée.
+ * <p>
+ * Les tuiles ayant la hauteur d'une bande de lignes, deux bandes distinctes ne partagent aucune tuile et peuvent être
+ * modifiées en même temps ; seul le compteur de tuiles allouées leur est commun.
+ */
+public class ChunkedGrid extends AbstractPackedGrid {
+
+    public static final int TILE_SHIFT = ROW_BAND_SHIFT;
+    public static final int TILE_SIZE = 1 << TILE_SHIFT;
+    public static final int TILE_CELL_COUNT = TILE_SIZE * TILE_SIZE;
+
+    private static final int TILE_MASK = TILE_SIZE - 1;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final long TILE_FOOTPRINT_BYTES =
+            3L * ARRAY_HEADER_BYTES + (long) TILE_CELL_COUNT * (Byte.BYTES + Integer.BYTES);
+
+    private static final Tile EMPTY_TILE = new Tile();
+
+    private final int tileColumnCount;
+    private final Tile[] tiles;
+    private final AtomicInteger materializedTileCount = new AtomicInteger();
+
+    public ChunkedGrid(int columnCount, int rowCount) {
+        super(columnCount, rowCount);
+        this.tileColumnCount = getTileCount(columnCount);
+        long tileCount = (long) tileColumnCount * getTileCount(rowCount);
+        if (tileCount > PackedDenseGrid.MAX_CELL_COUNT) {
+            throw new IllegalArgumentException("La carte aux trésors (" + columnCount + "x" + rowCount
+                    + ") est trop grande pour une représentation en tuiles.");
+        }
+        this.tiles = new Tile[(int) tileCount];
+        Arrays.fill(tiles, EMPTY_TILE);
+    }
+
+    public int getMaterializedTileCount() {
+        return materializedTileCount.get();
+    }
+
+    @Override
+    public int getConcurrentRowBandHeight() {
+        return ROW_BAND_HEIGHT;
+    }
+
+    @Override
+    protected byte readCellKind(int horizontalPosition, int verticalPosition) {
+        return tiles[getTileIndex(horizontalPosition, verticalPosition)]
+                .cellKinds[getCellIndexInTile(horizontalPosition, verticalPosition)];
+    }
+
+    @Override
+    protected int readCellEntity(int horizontalPosition, int verticalPosition) {
+        return tiles[getTileIndex(horizontalPosition, verticalPosition)]
+                .cellEntities[getCellIndexInTile(horizontalPosition, verticalPosition)];
+    }
+
+    @Override
+    protected void writeCell(int horizontalPosition, int verticalPosition, byte cellKind, int cellEntity) {
+        int tileIndex = getTileIndex(horizontalPosition, verticalPosition);
+        int cellIndex = getCellIndexInTile(horizontalPosition, verticalPosition);
+        Tile tile = tiles[tileIndex];
+
+        if (tile == EMPTY_TILE) {
+            if (cellKind == TreasureMapCellKind.EMPTY) return;
+            tile = new Tile();
+            tiles[tileIndex] = tile;
+            materializedTileCount.incrementAndGet();
+        }
+
+        boolean wasEmpty = tile.cellKinds[cellIndex] == TreasureMapCellKind.EMPTY;
+        boolean isEmpty = cellKind == TreasureMapCellKind.EMPTY;
+        tile.cellKinds[cellIndex] = cellKind;
+        tile.cellEntities[cellIndex] = isEmpty ? 0 : cellEntity;
+
+        if (wasEmpty && !isEmpty) {
+            tile.nonEmptyCellCount++;
+        } else if (!wasEmpty && isEmpty && --tile.nonEmptyCellCount == 0) {
+            tiles[tileIndex] = EMPTY_TILE;
+            materializedTileCount.decrementAndGet();
+        }
+    }
+
+    @Override
+    protected long getCellStorageFootprintInBytes() {
+        return ARRAY_HEADER_BYTES + (long) tiles.length * REFERENCE_BYTES
+                + materializedTileCount.get() * TILE_FOOTPRINT_BYTES;
+    }
+
+    /**
+     * Estime la mémoire d'une grille en tuiles.
+     *
+     * @param columnCount       : le nombre de colonnes.
+     * @param rowCount          : le nombre de lignes.
+     * @param entityCount       : le nombre de montagnes, trésors et aventuriers.
+     * @param occupiedTileCount : le nombre de tuiles contenant au moins une entité, 0 s'il est inconnu. Les entités
+     *                          sont alors supposées réparties uniformément sur la carte.
+     * @return la mémoire estimée en octets, ou {@link Long#MAX_VALUE} si la carte compte trop de tuiles.
+     */
+    public static long estimateCellStorageFootprintInBytes(int columnCount,
+                                                           int rowCount,
+                                                           int entityCount,
+                                                           int occupiedTileCount) {
+        long tileCount = (long) getTileCount(columnCount) * getTileCount(rowCount);
+        if (tileCount > PackedDenseGrid.MAX_CELL_COUNT) return Long.MAX_VALUE;
+
+        double expectedMaterializedTiles;
+        if (occupiedTileCount > 0) {
+            expectedMaterializedTiles = Math.min(occupiedTileCount, tileCount);
+        } else {
+            expectedMaterializedTiles = tileCount == 0
+                    ? 0
+                    : tileCount * -Math.expm1(-(double) entityCount / tileCount);
+        }
+        return ARRAY_HEADER_BYTES + tileCount * REFERENCE_BYTES
+                + (long) Math.ceil(expectedMaterializedTiles) * TILE_FOOTPRINT_BYTES;
+    }
+
+    /**
+     * Ne parcourt que les tuiles allouées, colonne par colonne puis ligne par ligne.
+     */
+    @Override
+    public void forEachCell(TreasureMapCellVisitor visitor) {
+        int tileRowCount = getTileCount(getRowCount());
+        for (int i = 0; i < getColumnCount(); i++) {
+            int tileColumn = i >> TILE_SHIFT;
+            for (int tileRow = 0; tileRow < tileRowCount; tileRow++) {
+                if (tiles[tileRow * tileColumnCount + tileColumn] == EMPTY_TILE) continue;
+
+                int lastRow = Math.min(getRowCount(), (tileRow + 1) << TILE_SHIFT);
+                for (int j = tileRow << TILE_SHIFT; j < lastRow; j++) {
+                    visitCell(i, j, visitor);
+                }
+            }
+        }
+    }
+
+    private int getTileIndex(int horizontalPosition, int verticalPosition) {
+        return (verticalPosition >> TILE_SHIFT) * tileColumnCount + (horizontalPosition >> TILE_SHIFT);
+    }
+
+    private static int getCellIndexInTile(int horizontalPosition, int verticalPosition) {
+        return (verticalPosition & TILE_MASK) << TILE_SHIFT | (horizontalPosition & TILE_MASK);
+    }
+
+    private static int getTileCount(int cellCount) {
+        return (int) (((long) cellCount + TILE_MASK) >> TILE_SHIFT);
+    }
+
+    private static final class Tile {
+        private final byte[] cellKinds = new byte[TILE_CELL_COUNT];
+        private final int[] cellEntities = new int[TILE_CELL_COUNT];
+        private int nonEmptyCellCount;
+    }
+}
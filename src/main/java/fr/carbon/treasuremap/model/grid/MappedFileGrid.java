@@ -0,0 +1,262 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.*;
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Représentation de la carte aux trésors dont les cellules sont stockées hors du tas, dans un fichier projeté en
+ * mémoire : le système pagine lui-même les zones de la carte, qui peut ainsi dépasser la taille du tas.
+ * <p>
+ * Chaque cellule occupe un entier petit-boutiste valant {@code identifiant du trésor << 3 | drapeaux}, rangé ligne par
+ * ligne après un en-tête de {@value #HEADER_BYTES} octets (signature, version, colonnes, lignes). Le fichier est projeté
+ * par segments de 1 Gio, une projection Java étant limitée à 2 Gio.
+ * <p>
+ * Après {@link #writeSnapshot()}, les trésors et aventuriers sont ajoutés à la suite des cellules : le fichier devient
+ * un instantané de la carte, rechargeable avec {@link #openSnapshot(Path)}.
+ */
+public class MappedFileGrid extends AbstractPackedGrid implements Closeable {
+
+    private static final int MAGIC = 0x544D4150;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    private static final int KIND_BITS = 3;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    private static final int SEGMENT_SHIFT = 28;
+    private static final long CELLS_PER_SEGMENT = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = CELLS_PER_SEGMENT - 1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long cellCount;
+
+    /**
+     * Créé une grille vide dans le fichier donné, écrasé s'il existe déjà.
+     *
+     * @param file        : le fichier support de la grille.
+     * @param columnCount : le nombre de colonnes.
+     * @param rowCount    : le nombre de lignes.
+     * @throws IOException en cas d'erreur de création ou de projection du fichier.
+     */
+    public MappedFileGrid(Path file, int columnCount, int rowCount) throws IOException {
+        this(file, columnCount, rowCount, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+        writeHeader();
+    }
+
+    private MappedFileGrid(Path file, int columnCount, int rowCount, FileChannel channel) throws IOException {
+        super(columnCount, rowCount);
+        this.file = file;
+        this.channel = channel;
+        this.cellCount = (long) columnCount * rowCount;
+        this.segments = mapSegments();
+    }
+
+    /**
+     * Créé une grille dans un fichier temporaire, conservé après l'exécution pour servir d'instantané.
+     */
+    public static MappedFileGrid createTemporary(int columnCount, int rowCount) throws IOException {
+        return new MappedFileGrid(Files.createTempFile("treasureMap", ".grid"), columnCount, rowCount);
+    }
+
+    /**
+     * Recharge une grille depuis un instantané écrit par {@link #writeSnapshot()}.
+     *
+     * @param file : le fichier de l'instantané.
+     * @return la grille, toujours adossée au fichier.
+     * @throws IOException en cas d'erreur de lecture ou si le fichier n'est pas un instantané valide.
+     */
+    public static MappedFileGrid openSnapshot(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            DataInputStream header = new DataInputStream(Channels.newInputStream(channel.position(0)));
+            if (header.readInt() != MAGIC || header.readInt() != VERSION) {
+                throw new IOException("Le fichier " + file + " n'est pas un instantané de carte aux trésors.");
+            }
+            MappedFileGrid grid = new MappedFileGrid(file, header.readInt(), header.readInt(), channel);
+            grid.readEntities();
+            return grid;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return la taille de la zone des cellules dans le fichier, hors du tas.
+     */
+    public long getMappedSizeInBytes() {
+        return cellCount * Integer.BYTES;
+    }
+
+    /**
+     * Chaque cellule occupe ses propres octets de la projection : deux bandes de lignes
+     * distinctes ne partagent que les tables annexes, dont un déplacement ne modifie que la table des aventuriers de
+     * chaque bande.
+     */
+    @Override
+    public int getConcurrentRowBandHeight() {
+        return ROW_BAND_HEIGHT;
+    }
+
+    @Override
+    protected byte readCellKind(int horizontalPosition, int verticalPosition) {
+        return (byte) (readCell(horizontalPosition, verticalPosition) & KIND_MASK);
+    }
+
+    @Override
+    protected int readCellEntity(int horizontalPosition, int verticalPosition) {
+        return readCell(horizontalPosition, verticalPosition) >>> KIND_BITS;
+    }
+
+    @Override
+    protected void writeCell(int horizontalPosition, int verticalPosition, byte cellKind, int cellEntity) {
+        long cellIndex = getCellIndex(horizontalPosition, verticalPosition);
+        segments[(int) (cellIndex >>> SEGMENT_SHIFT)]
+                .putInt((int) (cellIndex & SEGMENT_MASK) * Integer.BYTES, cellEntity << KIND_BITS | cellKind);
+    }
+
+    /**
+     * Les cellules étant hors du tas, seules les tables annexes sont comptées.
+     */
+    @Override
+    protected long getCellStorageFootprintInBytes() {
+        return 0;
+    }
+
+    /**
+     * Écrit sur disque les cellules, puis les trésors et aventuriers à la suite, de sorte que le fichier décrive
+     * entièrement l'état de la carte.
+     *
+     * @throws IOException en cas d'erreur d'écriture.
+     */
+    public void writeSnapshot() throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+
+        channel.truncate(getCellsEndOffset());
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Channels.newOutputStream(channel.position(getCellsEndOffset()))));
+        output.writeInt(getTreasureCount());
+        for (int treasureId = 0; treasureId < getTreasureCount(); treasureId++) {
+            Treasure treasure = getTreasures()[treasureId];
+            output.writeInt(treasure.getPosition().getHorizontalPosition());
+            output.writeInt(treasure.getPosition().getVerticalPosition());
+            output.writeInt(treasure.getCount());
+        }
+        output.writeInt(getAdventurerCount() - getFreeAdventurerIdCount());
+        for (int adventurerId = 0; adventurerId < getAdventurerCount(); adventurerId++) {
+            Adventurer adventurer = getAdventurers()[adventurerId];
+            if (adventurer == null) continue;
+            output.writeUTF(adventurer.getName());
+            output.writeInt(adventurer.getPosition().getHorizontalPosition());
+            output.writeInt(adventurer.getPosition().getVerticalPosition());
+            output.writeUTF(adventurer.getOrientation().name());
+            output.writeInt(adventurer.getCollectedTreasuresCount());
+            output.writeInt(adventurer.getApparitionOrder());
+        }
+        output.flush();
+        channel.force(false);
+    }
+
+    /**
+     * Ferme le fichier. Les segments restent projetés jusqu'à leur libération par le ramasse-miettes.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int readCell(int horizontalPosition, int verticalPosition) {
+        long cellIndex = getCellIndex(horizontalPosition, verticalPosition);
+        return segments[(int) (cellIndex >>> SEGMENT_SHIFT)]
+                .getInt((int) (cellIndex & SEGMENT_MASK) * Integer.BYTES);
+    }
+
+    private long getCellIndex(int horizontalPosition, int verticalPosition) {
+        return (long) verticalPosition * getColumnCount() + horizontalPosition;
+    }
+
+    private long getCellsEndOffset() {
+        return HEADER_BYTES + getMappedSizeInBytes();
+    }
+
+    private MappedByteBuffer[] mapSegments() throws IOException {
+        MappedByteBuffer[] mappedSegments = new MappedByteBuffer[(int) ((cellCount + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < mappedSegments.length; i++) {
+            long segmentCellCount = Math.min(CELLS_PER_SEGMENT, cellCount - i * CELLS_PER_SEGMENT);
+            mappedSegments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + i * CELLS_PER_SEGMENT * Integer.BYTES,
+                    segmentCellCount * Integer.BYTES
+            );
+            mappedSegments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return mappedSegments;
+    }
+
+    private void writeHeader() throws IOException {
+        DataOutputStream header = new DataOutputStream(Channels.newOutputStream(channel.position(0)));
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(getColumnCount());
+        header.writeInt(getRowCount());
+        header.flush();
+    }
+
+    /**
+     * Reconstruit les tables annexes depuis la fin de l'instantané. Les identifiants étant réattribués dans l'ordre
+     * d'écriture, chaque cellule est d'abord vidée de son trésor ou aventurier avant d'être de nouveau renseignée.
+     */
+    private void readEntities() throws IOException {
+        if (channel.size() <= getCellsEndOffset()) return;
+
+        DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(getCellsEndOffset()))));
+        int treasureCount = input.readInt();
+        for (int treasureId = 0; treasureId < treasureCount; treasureId++) {
+            Position position = new Position(input.readInt(), input.readInt());
+            Treasure treasure = new Treasure(position, input.readInt());
+            byte cellKind = readCellKind(position.getHorizontalPosition(), position.getVerticalPosition());
+            if (!TreasureMapCellKind.hasTreasure(cellKind)
+                    || readCellEntity(position.getHorizontalPosition(), position.getVerticalPosition()) != treasureId) {
+                continue;
+            }
+            writeCell(position.getHorizontalPosition(), position.getVerticalPosition(),
+                    (byte) (cellKind & ~TreasureMapCellKind.TREASURE), 0);
+            setTreasure(position.getHorizontalPosition(), position.getVerticalPosition(), treasure);
+        }
+
+        int adventurerCount = input.readInt();
+        for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+            Adventurer adventurer = new Adventurer(
+                    input.readUTF(),
+                    new Position(input.readInt(), input.readInt()),
+                    Orientation.valueOf(input.readUTF()),
+                    MovementProgram.EMPTY,
+                    input.readInt(),
+                    input.readInt()
+            );
+            int horizontalPosition = adventurer.getPosition().getHorizontalPosition();
+            int verticalPosition = adventurer.getPosition().getVerticalPosition();
+            byte cellKind = readCellKind(horizontalPosition, verticalPosition);
+            writeCell(horizontalPosition, verticalPosition, (byte) (cellKind & ~TreasureMapCellKind.ADVENTURER),
+                    readCellEntity(horizontalPosition, verticalPosition));
+            setAdventurer(horizontalPosition, verticalPosition, adventurer);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.Mountain;
+import fr.carbon.treasuremap.model.Treasure;
+import fr.carbon.treasuremap.model.TreasureMapCell;
+import lombok.Getter;
+
+/**
+ * Représentation historique de la carte aux trésors : une matrice de {@link TreasureMapCell}, une instance par case.
+ * Adaptée aux petites cartes uniquement, chaque case coûtant plusieurs dizaines d'octets.
+ */
+@Getter
+public class ObjectMatrixGrid implements TreasureMapGrid {
+
+    public static final int ARRAY_HEADER_BYTES = 16;
+    public static final int REFERENCE_BYTES = 4;
+    public static final int CELL_OBJECT_BYTES = 24;
+
+    private final int columnCount;
+    private final int rowCount;
+    private final TreasureMapCell[][] treasureMapCells;
+
+    public ObjectMatrixGrid(int columnCount, int rowCount) {
+        this(setupTreasureMapMatrix(columnCount, rowCount));
+    }
+
+    public ObjectMatrixGrid(TreasureMapCell[][] treasureMapCells) {
+        this.treasureMapCells = treasureMapCells;
+        this.columnCount = treasureMapCells.length;
+        this.rowCount = treasureMapCells.length == 0 ? 0 : treasureMapCells[0].length;
+    }
+
+    /**
+     * Créé la matrice de {@link TreasureMapCell} représentant la carte aux trésors.
+     *
+     * @param columnCount : le nombre de colonnes.
+     * @param rowCount    : le nombre de lignes.
+     * @return : la matrice construite (array à deux dimensions).
+     */
+    private static TreasureMapCell[][] setupTreasureMapMatrix(int columnCount, int rowCount) {
+        TreasureMapCell[][] treasureMapMatrix = new TreasureMapCell[columnCount][rowCount];
+        for (int i = 0; i < columnCount; i++) {
+            for (int j = 0; j < rowCount; j++) {
+                treasureMapMatrix[i][j] = new TreasureMapCell();
+            }
+        }
+        return treasureMapMatrix;
+    }
+
+    @Override
+    public byte getCellKind(int horizontalPosition, int verticalPosition) {
+        TreasureMapCell treasureMapCell = treasureMapCells[horizontalPosition][verticalPosition];
+        if (treasureMapCell == null) return TreasureMapCellKind.EMPTY;
+
+        byte cellKind = TreasureMapCellKind.EMPTY;
+        if (treasureMapCell.getMountain() != null) cellKind |= TreasureMapCellKind.MOUNTAIN;
+        if (treasureMapCell.getTreasure() != null) cellKind |= TreasureMapCellKind.TREASURE;
+        if (treasureMapCell.getAdventurer() != null) cellKind |= TreasureMapCellKind.ADVENTURER;
+        return cellKind;
+    }
+
+    @Override
+    public Mountain getMountain(int horizontalPosition, int verticalPosition) {
+        TreasureMapCell treasureMapCell = treasureMapCells[horizontalPosition][verticalPosition];
+        return treasureMapCell == null ? null : treasureMapCell.getMountain();
+    }
+
+    @Override
+    public Treasure getTreasure(int horizontalPosition, int verticalPosition) {
+        TreasureMapCell treasureMapCell = treasureMapCells[horizontalPosition][verticalPosition];
+        return treasureMapCell == null ? null : treasureMapCell.getTreasure();
+    }
+
+    @Override
+    public Adventurer getAdventurer(int horizontalPosition, int verticalPosition) {
+        TreasureMapCell treasureMapCell = treasureMapCells[horizontalPosition][verticalPosition];
+        return treasureMapCell == null ? null : treasureMapCell.getAdventurer();
+    }
+
+    @Override
+    public void setMountain(int horizontalPosition, int verticalPosition, Mountain mountain) {
+        getOrCreateCell(horizontalPosition, verticalPosition).setMountain(mountain);
+    }
+
+    @Override
+    public void setTreasure(int horizontalPosition, int verticalPosition, Treasure treasure) {
+        getOrCreateCell(horizontalPosition, verticalPosition).setTreasure(treasure);
+    }
+
+    @Override
+    public void setAdventurer(int horizontalPosition, int verticalPosition, Adventurer adventurer) {
+        getOrCreateCell(horizontalPosition, verticalPosition).setAdventurer(adventurer);
+    }
+
+    /**
+     * Une case non initialisée (null) n'est jamais considérée comme disponible.
+     */
+    @Override
+    public boolean isCellAvailable(int horizontalPosition, int verticalPosition) {
+        return treasureMapCells[horizontalPosition][verticalPosition] != null
+                && getCellKind(horizontalPosition, verticalPosition) == TreasureMapCellKind.EMPTY;
+    }
+
+    /**
+     * Chaque case est un objet distinct, sans table partagée.
+     */
+    @Override
+    public boolean supportsConcurrentCellUpdates() {
+        return true;
+    }
+
+    @Override
+    public void forEachCell(TreasureMapCellVisitor visitor) {
+        for (int i = 0; i < treasureMapCells.length; i++) {
+            for (int j = 0; j < treasureMapCells[i].length; j++) {
+                TreasureMapCell treasureMapCell = treasureMapCells[i][j];
+                if (treasureMapCell != null && (treasureMapCell.getMountain() != null
+                        || treasureMapCell.getTreasure() != null
+                        || treasureMapCell.getAdventurer() != null)) {
+                    visitor.visit(i, j,
+                            treasureMapCell.getMountain(),
+                            treasureMapCell.getTreasure(),
+                            treasureMapCell.getAdventurer()
+                    );
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getFootprintInBytes() {
+        return estimateFootprintInBytes(columnCount, rowCount);
+    }
+
+    /**
+     * Estime la mémoire d'une matrice dont toutes les cases sont initialisées.
+     */
+    public static long estimateFootprintInBytes(int columnCount, int rowCount) {
+        return (long) columnCount * (ARRAY_HEADER_BYTES + (long) rowCount * REFERENCE_BYTES)
+                + (long) columnCount * rowCount * CELL_OBJECT_BYTES;
+    }
+
+    private TreasureMapCell getOrCreateCell(int horizontalPosition, int verticalPosition) {
+        TreasureMapCell treasureMapCell = treasureMapCells[horizontalPosition][verticalPosition];
+        if (treasureMapCell == null) {
+            treasureMapCell = new TreasureMapCell();
+            treasureMapCells[horizontalPosition][verticalPosition] = treasureMapCell;
+        }
+        return treasureMapCell;
+    }
+}
@@ -0,0 +1,72 @@
+package fr.carbon.treasuremap.model.grid;
+
+/**
+ * Représentation dense et compacte de la carte aux trésors : un plan d'octets pour le contenu des cellules et un plan
+ * d'entiers pour les identifiants de trésors, soit 5 octets par case.
+ * <p>
+ * Les cellules sont rangées ligne par ligne, les cases voisines horizontalement sont donc contiguës en mémoire.
+ */
+public class PackedDenseGrid extends AbstractPackedGrid {
+
+    /**
+     * Taille maximale d'un tableau Java, certaines JVM réservant quelques entrées d'en-tête.
+     */
+    public static final long MAX_CELL_COUNT = Integer.MAX_VALUE - 8;
+
+    private final byte[] cellKinds;
+    private final int[] cellEntities;
+
+    public PackedDenseGrid(int columnCount, int rowCount) {
+        super(columnCount, rowCount);
+        long cellCount = (long) columnCount * rowCount;
+        if (cellCount > MAX_CELL_COUNT) {
+            throw new IllegalArgumentException("La carte aux trésors (" + columnCount + "x" + rowCount
+                    + ") est trop grande pour une représentation dense.");
+        }
+        this.cellKinds = new byte[(int) cellCount];
+        this.cellEntities = new int[(int) cellCount];
+    }
+
+    /**
+     * Chaque cellule occupe ses propres cases de tableau : deux bandes de lignes
+     * distinctes ne partagent que les tables annexes, dont un déplacement ne modifie que la table des aventuriers de
+     * chaque bande.
+     */
+    @Override
+    public int getConcurrentRowBandHeight() {
+        return ROW_BAND_HEIGHT;
+    }
+
+    @Override
+    protected byte readCellKind(int horizontalPosition, int verticalPosition) {
+        return cellKinds[getCellIndex(horizontalPosition, verticalPosition)];
+    }
+
+    @Override
+    protected int readCellEntity(int horizontalPosition, int verticalPosition) {
+        return cellEntities[getCellIndex(horizontalPosition, verticalPosition)];
+    }
+
+    @Override
+    protected void writeCell(int horizontalPosition, int verticalPosition, byte cellKind, int cellEntity) {
+        int cellIndex = getCellIndex(horizontalPosition, verticalPosition);
+        cellKinds[cellIndex] = cellKind;
+        cellEntities[cellIndex] = cellEntity;
+    }
+
+    @Override
+    protected long getCellStorageFootprintInBytes() {
+        return cellKinds.length + (long) cellEntities.length * Integer.BYTES;
+    }
+
+    /**
+     * Estime la mémoire des plans de cellules d'une grille dense.
+     */
+    public static long estimateCellStorageFootprintInBytes(int columnCount, int rowCount) {
+        return (long) columnCount * rowCount * (Byte.BYTES + Integer.BYTES);
+    }
+
+    private int getCellIndex(int horizontalPosition, int verticalPosition) {
+        return verticalPosition * getColumnCount() + horizontalPosition;
+    }
+}
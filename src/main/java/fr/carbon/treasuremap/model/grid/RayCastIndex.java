@@ -0,0 +1,200 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.Position;
+import fr.carbon.treasuremap.model.TreasureMap;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import fr.carbon.treasuremap.utils.SortedIntArray;
+
+/**
+ * Index par ligne et par colonne des obstacles (montagnes et aventuriers) et des trésors de la carte, qui résout une
+ * avancée de N cases en ligne droite par quelques recherches dichotomiques au lieu de lire chaque cellule traversée.
+ * <p>
+ * Chaque ligne (resp. colonne) garde les positions horizontales (resp. verticales) triées de ses obstacles et de ses
+ * trésors. Les lignes et colonnes vides ne sont pas allouées. Les positions des aventuriers doivent être tenues à jour
+ * avec {@link #moveObstacle(int, int, int, int)}.
+ */
+public class RayCastIndex {
+
+    private final int columnCount;
+    private final int rowCount;
+
+    private final SortedIntArray[] obstaclesByRow;
+    private final SortedIntArray[] obstaclesByColumn;
+    private final SortedIntArray[] treasuresByRow;
+    private final SortedIntArray[] treasuresByColumn;
+
+    public RayCastIndex(int columnCount, int rowCount) {
+        this.columnCount = columnCount;
+        this.rowCount = rowCount;
+        this.obstaclesByRow = new SortedIntArray[rowCount];
+        this.obstaclesByColumn = new SortedIntArray[columnCount];
+        this.treasuresByRow = new SortedIntArray[rowCount];
+        this.treasuresByColumn = new SortedIntArray[columnCount];
+    }
+
+    /**
+     * Construit l'index à partir des index d'entités de la carte ({@link TreasureMap#getMountainIndex()},
+     * {@link TreasureMap#getTreasureIndex()} et {@link TreasureMap#getAdventurerRegistry()}), sans parcourir la
+     * grille : le coût dépend du nombre d'entités et non de la surface de la carte. Une carte remplie sans passer par
+     * la lecture du fichier en entrée n'a pas d'index et sa grille est parcourue.
+     *
+     * @param treasureMap : la carte aux trésors.
+     * @return l'index construit.
+     */
+    public static RayCastIndex build(TreasureMap treasureMap) {
+        if (!treasureMap.hasEntityIndexes()) return build(treasureMap.getGrid());
+
+        RayCastIndex rayCastIndex = new RayCastIndex(treasureMap.getColumnCount(), treasureMap.getRowCount());
+        treasureMap.getMountainIndex().forEach(mountain -> rayCastIndex.addObstacle(
+                mountain.getPosition().getHorizontalPosition(), mountain.getPosition().getVerticalPosition()));
+        treasureMap.getTreasureIndex().forEach(treasure -> rayCastIndex.addTreasure(
+                treasure.getPosition().getHorizontalPosition(), treasure.getPosition().getVerticalPosition()));
+        for (Adventurer adventurer : treasureMap.getAdventurerRegistry().getAdventurers()) {
+            Position position = adventurer.getPosition();
+            rayCastIndex.addObstacle(position.getHorizontalPosition(), position.getVerticalPosition());
+        }
+        return rayCastIndex;
+    }
+
+    /**
+     * Construit l'index à partir du contenu actuel de la grille.
+     *
+     * @param grid : le contenu de la carte aux trésors.
+     * @return l'index construit.
+     */
+    public static RayCastIndex build(TreasureMapGrid grid) {
+        RayCastIndex rayCastIndex = new RayCastIndex(grid.getColumnCount(), grid.getRowCount());
+        grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+            if (mountain != null || adventurer != null) {
+                rayCastIndex.addObstacle(horizontalPosition, verticalPosition);
+            }
+            if (treasure != null) {
+                rayCastIndex.addTreasure(horizontalPosition, verticalPosition);
+            }
+        });
+        return rayCastIndex;
+    }
+
+    public void addObstacle(int horizontalPosition, int verticalPosition) {
+        add(obstaclesByRow, verticalPosition, horizontalPosition);
+        add(obstaclesByColumn, horizontalPosition, verticalPosition);
+    }
+
+    public void removeObstacle(int horizontalPosition, int verticalPosition) {
+        remove(obstaclesByRow, verticalPosition, horizontalPosition);
+        remove(obstaclesByColumn, horizontalPosition, verticalPosition);
+    }
+
+    /**
+     * Déplace un obstacle, typiquement un aventurier, d'une cellule à une autre.
+     */
+    public void moveObstacle(int horizontalPosition,
+                             int verticalPosition,
+                             int nextHorizontalPosition,
+                             int nextVerticalPosition) {
+        removeObstacle(horizontalPosition, verticalPosition);
+        addObstacle(nextHorizontalPosition, nextVerticalPosition);
+    }
+
+    public void addTreasure(int horizontalPosition, int verticalPosition) {
+        add(treasuresByRow, verticalPosition, horizontalPosition);
+        add(treasuresByColumn, horizontalPosition, verticalPosition);
+    }
+
+    /**
+     * Calcule le nombre de cases libres devant une position, jusqu'au premier obstacle ou au bord de la carte.
+     *
+     * @param horizontalPosition : position x de départ.
+     * @param verticalPosition   : position y de départ.
+     * @param orientation        : l'ordinal de l'orientation du déplacement.
+     * @param maxDistance        : le nombre de cases demandées.
+     * @return le nombre de cases qui peuvent être parcourues, au plus maxDistance.
+     */
+    public int getFreeDistance(int horizontalPosition, int verticalPosition, int orientation, int maxDistance) {
+        int horizontalDelta = OrientationDeltas.horizontalDelta(orientation);
+        int verticalDelta = OrientationDeltas.verticalDelta(orientation);
+
+        int freeDistance;
+        if (horizontalDelta > 0) {
+            freeDistance = higher(obstaclesByRow, verticalPosition, horizontalPosition, columnCount)
+                    - horizontalPosition - 1;
+        } else if (horizontalDelta < 0) {
+            freeDistance = horizontalPosition
+                    - lower(obstaclesByRow, verticalPosition, horizontalPosition, -1) - 1;
+        } else if (verticalDelta > 0) {
+            freeDistance = higher(obstaclesByColumn, horizontalPosition, verticalPosition, rowCount)
+                    - verticalPosition - 1;
+        } else {
+            freeDistance = verticalPosition
+                    - lower(obstaclesByColumn, horizontalPosition, verticalPosition, -1) - 1;
+        }
+        return Math.min(freeDistance, maxDistance);
+    }
+
+    /**
+     * @return true si les quatre cellules voisines sont des obstacles ou hors de la carte.
+     */
+    public boolean isEnclosed(int horizontalPosition, int verticalPosition) {
+        for (int orientation = 0; orientation < OrientationDeltas.ORIENTATION_COUNT; orientation++) {
+            if (getFreeDistance(horizontalPosition, verticalPosition, orientation, 1) > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Recherche le prochain trésor sur la trajectoire d'un déplacement en ligne droite.
+     *
+     * @param horizontalPosition : position x de départ.
+     * @param verticalPosition   : position y de départ.
+     * @param orientation        : l'ordinal de l'orientation du déplacement.
+     * @param afterDistance      : la distance déjà parcourue, le trésor cherché est strictement au-delà.
+     * @param maxDistance        : la distance totale du déplacement.
+     * @return la distance du prochain trésor, ou 0 s'il n'y en a pas d'ici maxDistance.
+     */
+    public int getNextTreasureDistance(int horizontalPosition,
+                                       int verticalPosition,
+                                       int orientation,
+                                       int afterDistance,
+                                       int maxDistance) {
+        int horizontalDelta = OrientationDeltas.horizontalDelta(orientation);
+        int verticalDelta = OrientationDeltas.verticalDelta(orientation);
+
+        int treasureDistance;
+        if (horizontalDelta > 0) {
+            int treasure = higher(treasuresByRow, verticalPosition, horizontalPosition + afterDistance, -1);
+            treasureDistance = treasure < 0 ? 0 : treasure - horizontalPosition;
+        } else if (horizontalDelta < 0) {
+            int treasure = lower(treasuresByRow, verticalPosition, horizontalPosition - afterDistance, -1);
+            treasureDistance = treasure < 0 ? 0 : horizontalPosition - treasure;
+        } else if (verticalDelta > 0) {
+            int treasure = higher(treasuresByColumn, horizontalPosition, verticalPosition + afterDistance, -1);
+            treasureDistance = treasure < 0 ? 0 : treasure - verticalPosition;
+        } else {
+            int treasure = lower(treasuresByColumn, horizontalPosition, verticalPosition - afterDistance, -1);
+            treasureDistance = treasure < 0 ? 0 : verticalPosition - treasure;
+        }
+        return treasureDistance <= maxDistance ? treasureDistance : 0;
+    }
+
+    private static void add(SortedIntArray[] lines, int line, int value) {
+        if (lines[line] == null) {
+            lines[line] = new SortedIntArray();
+        }
+        lines[line].add(value);
+    }
+
+    private static void remove(SortedIntArray[] lines, int line, int value) {
+        if (lines[line] != null) {
+            lines[line].remove(value);
+        }
+    }
+
+    private static int higher(SortedIntArray[] lines, int line, int value, int missingValue) {
+        return lines[line] == null ? missingValue : lines[line].higher(value, missingValue);
+    }
+
+    private static int lower(SortedIntArray[] lines, int line, int value, int missingValue) {
+        return lines[line] == null ? missingValue : lines[line].lower(value, missingValue);
+    }
+}
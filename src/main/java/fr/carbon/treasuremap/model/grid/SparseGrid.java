@@ -0,0 +1,83 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+
+import java.util.Arrays;
+
+/**
+ * Représentation creuse de la carte aux trésors : seules les cellules non vides sont stockées, dans une table de
+ * hachage primitive indexée par les coordonnées compactées de la cellule. La mémoire consommée dépend du nombre de
+ * montagnes, trésors et aventuriers, et non de la surface de la carte.
+ * <p>
+ * Chaque entrée associe à la cellule son contenu {@link TreasureMapCellKind} (3 bits de poids faible) et
+ * l'identifiant de son trésor (bits restants).
+ */
+public class SparseGrid extends AbstractPackedGrid {
+
+    private static final int CELL_KIND_BITS = 3;
+    private static final int CELL_KIND_MASK = (1 << CELL_KIND_BITS) - 1;
+
+    private final LongIntOpenHashMap cells;
+
+    public SparseGrid(int columnCount, int rowCount) {
+        this(columnCount, rowCount, 0);
+    }
+
+    /**
+     * @param expectedCellCount : nombre de cellules non vides attendues, afin d'éviter les redimensionnements.
+     */
+    public SparseGrid(int columnCount, int rowCount, int expectedCellCount) {
+        super(columnCount, rowCount);
+        this.cells = new LongIntOpenHashMap(expectedCellCount, 0);
+    }
+
+    public int getNonEmptyCellCount() {
+        return cells.size();
+    }
+
+    @Override
+    protected byte readCellKind(int horizontalPosition, int verticalPosition) {
+        return (byte) (cells.get(PackedCoordinates.pack(horizontalPosition, verticalPosition)) & CELL_KIND_MASK);
+    }
+
+    @Override
+    protected int readCellEntity(int horizontalPosition, int verticalPosition) {
+        return cells.get(PackedCoordinates.pack(horizontalPosition, verticalPosition)) >>> CELL_KIND_BITS;
+    }
+
+    @Override
+    protected void writeCell(int horizontalPosition, int verticalPosition, byte cellKind, int cellEntity) {
+        long cell = PackedCoordinates.pack(horizontalPosition, verticalPosition);
+        if (cellKind == TreasureMapCellKind.EMPTY) {
+            cells.remove(cell);
+        } else {
+            cells.put(cell, cellEntity << CELL_KIND_BITS | cellKind);
+        }
+    }
+
+    @Override
+    protected long getCellStorageFootprintInBytes() {
+        return cells.getFootprintInBytes();
+    }
+
+    /**
+     * Estime la mémoire de la table des cellules pour le nombre de cellules non vides attendues.
+     */
+    public static long estimateCellStorageFootprintInBytes(int nonEmptyCellCount) {
+        return LongIntOpenHashMap.estimateFootprintInBytes(nonEmptyCellCount);
+    }
+
+    /**
+     * Ne parcourt que les cellules stockées, triées colonne par colonne puis ligne par ligne.
+     */
+    @Override
+    public void forEachCell(TreasureMapCellVisitor visitor) {
+        long[] nonEmptyCells = cells.keys();
+        Arrays.sort(nonEmptyCells);
+
+        for (long cell : nonEmptyCells) {
+            visitCell(PackedCoordinates.horizontalPosition(cell), PackedCoordinates.verticalPosition(cell), visitor);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package fr.carbon.treasuremap.model.grid;
+
+/**
+ * Drapeaux décrivant le contenu d'une cellule d'une {@link TreasureMapGrid}, combinables entre eux
+ * (un aventurier peut par exemple se trouver sur un trésor).
+ */
+public final class TreasureMapCellKind {
+
+    public static final byte EMPTY = 0;
+    public static final byte MOUNTAIN = 1;
+    public static final byte TREASURE = 1 << 1;
+    public static final byte ADVENTURER = 1 << 2;
+
+    /**
+     * Contenus empêchant un aventurier d'entrer dans la cellule.
+     */
+    public static final byte OBSTACLE = MOUNTAIN | ADVENTURER;
+
+    private TreasureMapCellKind() {
+    }
+
+    public static boolean isObstacle(byte cellKind) {
+        return (cellKind & OBSTACLE) != 0;
+    }
+
+    public static boolean hasMountain(byte cellKind) {
+        return (cellKind & MOUNTAIN) != 0;
+    }
+
+    public static boolean hasTreasure(byte cellKind) {
+        return (cellKind & TREASURE) != 0;
+    }
+
+    public static boolean hasAdventurer(byte cellKind) {
+        return (cellKind & ADVENTURER) != 0;
+    }
+}
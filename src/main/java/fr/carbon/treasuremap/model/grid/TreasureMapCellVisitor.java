@@ -0,0 +1,18 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.Mountain;
+import fr.carbon.treasuremap.model.Treasure;
+
+/**
+ * Callback appelé pour chaque cellule non vide lors du parcours d'une {@link TreasureMapGrid}.
+ */
+@FunctionalInterface
+public interface TreasureMapCellVisitor {
+
+    void visit(int horizontalPosition,
+               int verticalPosition,
+               Mountain mountain,
+               Treasure treasure,
+               Adventurer adventurer);
+}
@@ -0,0 +1,28 @@
+package fr.carbon.treasuremap.model.grid;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Nombre de lignes de chaque type d'entité lues dans le fichier en entrée, avant la construction de la carte, ainsi
+ * que le nombre de tuiles de {@link ChunkedGrid} qu'elles occupent (0 s'il n'a pas été calculé).
+ */
+@AllArgsConstructor
+@Getter
+public class TreasureMapEntityCounts {
+
+    public static final TreasureMapEntityCounts NONE = new TreasureMapEntityCounts(0, 0, 0);
+
+    private final int mountainCount;
+    private final int treasureCount;
+    private final int adventurerCount;
+    private final int occupiedTileCount;
+
+    public TreasureMapEntityCounts(int mountainCount, int treasureCount, int adventurerCount) {
+        this(mountainCount, treasureCount, adventurerCount, 0);
+    }
+
+    public int getEntityCount() {
+        return mountainCount + treasureCount + adventurerCount;
+    }
+}
@@ -0,0 +1,100 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.Mountain;
+import fr.carbon.treasuremap.model.Treasure;
+
+/**
+ * Représentation du contenu des cellules de la carte aux trésors, indépendante de son stockage en mémoire.
+ * Les cellules sont adressées par leur position horizontale (colonne) puis verticale (ligne).
+ */
+public interface TreasureMapGrid {
+
+    int getColumnCount();
+
+    int getRowCount();
+
+    /**
+     * Lit en une seule fois le contenu d'une cellule.
+     *
+     * @param horizontalPosition : position x de la cellule.
+     * @param verticalPosition   : position y de la cellule.
+     * @return une combinaison des drapeaux de {@link TreasureMapCellKind}.
+     */
+    byte getCellKind(int horizontalPosition, int verticalPosition);
+
+    Mountain getMountain(int horizontalPosition, int verticalPosition);
+
+    Treasure getTreasure(int horizontalPosition, int verticalPosition);
+
+    Adventurer getAdventurer(int horizontalPosition, int verticalPosition);
+
+    void setMountain(int horizontalPosition, int verticalPosition, Mountain mountain);
+
+    void setTreasure(int horizontalPosition, int verticalPosition, Treasure treasure);
+
+    void setAdventurer(int horizontalPosition, int verticalPosition, Adventurer adventurer);
+
+    /**
+     * Déplace un aventurier d'une cellule vers une autre, sans contrôle de la cellule d'arrivée.
+     *
+     * @param horizontalPosition     : position x de la cellule de départ.
+     * @param verticalPosition       : position y de la cellule de départ.
+     * @param nextHorizontalPosition : position x de la cellule d'arrivée.
+     * @param nextVerticalPosition   : position y de la cellule d'arrivée.
+     * @param adventurer             : l'aventurier déplacé.
+     */
+    default void moveAdventurer(int horizontalPosition,
+                                int verticalPosition,
+                                int nextHorizontalPosition,
+                                int nextVerticalPosition,
+                                Adventurer adventurer) {
+        setAdventurer(nextHorizontalPosition, nextVerticalPosition, adventurer);
+        setAdventurer(horizontalPosition, verticalPosition, null);
+    }
+
+    /**
+     * Parcourt les cellules non vides, colonne par colonne puis ligne par ligne.
+     *
+     * @param visitor : le traitement appliqué à chaque cellule.
+     */
+    void forEachCell(TreasureMapCellVisitor visitor);
+
+    /**
+     * @return la mémoire occupée par la structure de la grille en octets, hors objets montagnes, trésors et
+     * aventuriers.
+     */
+    long getFootprintInBytes();
+
+    /**
+     * @return true si des threads distincts peuvent modifier en même temps des cellules distinctes, sans autre
+     * synchronisation que celle de chaque cellule. Les représentations partageant des tables annexes entre cellules
+     * ne le permettent pas.
+     */
+    default boolean supportsConcurrentCellUpdates() {
+        return false;
+    }
+
+    /**
+     * @return la hauteur des bandes de lignes que des threads distincts peuvent modifier en même temps, chaque bande
+     * n'étant modifiée que par un seul thread à la fois, ou 0 si la représentation ne le permet pas. Seuls les
+     * déplacements d'aventuriers et le ramassage de trésors sont concernés.
+     */
+    default int getConcurrentRowBandHeight() {
+        return 0;
+    }
+
+    /**
+     * @return true si la cellule existe et ne contient ni montagne, ni trésor, ni aventurier.
+     */
+    default boolean isCellAvailable(int horizontalPosition, int verticalPosition) {
+        return getCellKind(horizontalPosition, verticalPosition) == TreasureMapCellKind.EMPTY;
+    }
+
+    default boolean isOutOfBounds(int horizontalPosition, int verticalPosition) {
+        return horizontalPosition < 0
+                || horizontalPosition >= getColumnCount()
+                || verticalPosition < 0
+                || verticalPosition >= getRowCount();
+    }
+}
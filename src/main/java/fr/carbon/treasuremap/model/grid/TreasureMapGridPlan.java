@@ -0,0 +1,20 @@
+package fr.carbon.treasuremap.model.grid;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Choix de la représentation {@link TreasureMapGridType} d'une carte aux trésors, accompagné des estimations de
+ * mémoire ayant conduit à ce choix.
+ */
+@AllArgsConstructor
+@Getter
+public class TreasureMapGridPlan {
+
+    private final TreasureMapGridType gridType;
+    private final long estimatedFootprintInBytes;
+    private final Map<TreasureMapGridType, Long> estimatedFootprintsInBytes;
+    private final TreasureMapEntityCounts entityCounts;
+}
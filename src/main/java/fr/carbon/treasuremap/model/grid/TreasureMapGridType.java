@@ -0,0 +1,73 @@
+package fr.carbon.treasuremap.model.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Représentations disponibles pour le contenu des cellules de la carte aux trésors.
+ */
+public enum TreasureMapGridType {
+    OBJECT_MATRIX,
+    PACKED_DENSE,
+    SPARSE,
+    CHUNKED,
+    MAPPED_FILE;
+
+    /**
+     * Créé une grille vide de ce type.
+     *
+     * @param columnCount : le nombre de colonnes.
+     * @param rowCount    : le nombre de lignes.
+     * @return la grille construite.
+     */
+    public TreasureMapGrid createGrid(int columnCount, int rowCount) {
+        return createGrid(columnCount, rowCount, TreasureMapEntityCounts.NONE);
+    }
+
+    /**
+     * Créé une grille vide de ce type, dimensionnée pour le nombre d'entités attendues.
+     *
+     * @param columnCount  : le nombre de colonnes.
+     * @param rowCount     : le nombre de lignes.
+     * @param entityCounts : le nombre de montagnes, trésors et aventuriers attendus.
+     * @return la grille construite.
+     */
+    public TreasureMapGrid createGrid(int columnCount, int rowCount, TreasureMapEntityCounts entityCounts) {
+        return createGrid(columnCount, rowCount, entityCounts, null);
+    }
+
+    /**
+     * Créé une grille vide de ce type, dimensionnée pour le nombre d'entités attendues.
+     *
+     * @param columnCount  : le nombre de colonnes.
+     * @param rowCount     : le nombre de lignes.
+     * @param entityCounts : le nombre de montagnes, trésors et aventuriers attendus.
+     * @param mappedFile   : le fichier support d'une {@link MappedFileGrid}, null pour un fichier temporaire. Ignoré
+     *                     par les autres représentations.
+     * @return la grille construite.
+     * @throws UncheckedIOException si le fichier support ne peut pas être créé.
+     */
+    public TreasureMapGrid createGrid(int columnCount,
+                                      int rowCount,
+                                      TreasureMapEntityCounts entityCounts,
+                                      Path mappedFile) {
+        return switch (this) {
+            case OBJECT_MATRIX -> new ObjectMatrixGrid(columnCount, rowCount);
+            case PACKED_DENSE -> new PackedDenseGrid(columnCount, rowCount);
+            case SPARSE -> new SparseGrid(columnCount, rowCount, entityCounts.getEntityCount());
+            case CHUNKED -> new ChunkedGrid(columnCount, rowCount);
+            case MAPPED_FILE -> createMappedFileGrid(columnCount, rowCount, mappedFile);
+        };
+    }
+
+    private static MappedFileGrid createMappedFileGrid(int columnCount, int rowCount, Path mappedFile) {
+        try {
+            return mappedFile != null
+                    ? new MappedFileGrid(mappedFile, columnCount, rowCount)
+                    : MappedFileGrid.createTemporary(columnCount, rowCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
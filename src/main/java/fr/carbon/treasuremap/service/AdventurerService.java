@@ -3,8 +3,16 @@ package fr.carbon.treasuremap.service;
 import fr.carbon.treasuremap.exception.ParseAdventurerLineException;
 import fr.carbon.treasuremap.exception.ParseLineException;
 import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.service.scheduler.AdventurerScheduler;
+import fr.carbon.treasuremap.service.scheduler.AdventurerSchedulerType;
+import fr.carbon.treasuremap.service.scheduler.EventDrivenScheduler;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -18,6 +26,27 @@ public class AdventurerService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AdventurerService.class);
 
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final AdventurerScheduler adventurerScheduler;
+
+    public AdventurerService() {
+        this(AdventurerSchedulerType.PRIORITY.name(), DEFAULT_BATCH_SIZE, false);
+    }
+
+    /**
+     * @param schedulerType : l'ordonnancement {@link AdventurerSchedulerType} des déplacements.
+     * @param batchSize     : le nombre de déplacements par tour de l'ordonnancement par lots.
+     * @param batchStepping : true pour calculer par lot les pas de l'ordonnancement tour par tour.
+     */
+    @Autowired
+    public AdventurerService(@Value("${treasuremap.simulation.scheduler:PRIORITY}") String schedulerType,
+                             @Value("${treasuremap.simulation.batch-size:" + DEFAULT_BATCH_SIZE + "}") int batchSize,
+                             @Value("${treasuremap.simulation.batch-stepping:false}") boolean batchStepping) {
+        this.adventurerScheduler = AdventurerSchedulerType.valueOf(schedulerType.strip().toUpperCase())
+                .createScheduler(batchSize, batchStepping);
+    }
+
     /**
      * Créé un nouvel aventurier {@link Adventurer} à partir des informations lues dans le fichier en entrée.
      *
@@ -47,49 +76,92 @@ public class AdventurerService {
                 getAdventurerOrientation(adventurerDetails[4]),
                 getAdventurerMovements(adventurerDetails[5].toCharArray()),
                 0,
-                0
+                0,
+                adventurerDetails.length > 6 ? getAdventurerStartTime(adventurerDetails[6]) : 0,
+                adventurerDetails.length > 7 ? getAdventurerMovementDuration(adventurerDetails[7]) : 1
         );
     }
 
     /**
-     * Pour chaque aventurier présent sur la carte aux trésors, applique les différentes déplacements {@link Movement}.
+     * Récupère l'instant de départ facultatif de l'aventurier, 7e information de sa ligne dans le fichier en entrée.
+     *
+     * @param adventurerStartTime : l'instant de départ dans le fichier.
+     * @return l'instant de départ, positif ou nul.
+     * @throws ParseAdventurerLineException si l'instant n'est pas un entier positif ou nul.
+     */
+    protected int getAdventurerStartTime(String adventurerStartTime) throws ParseAdventurerLineException {
+        int startTime = parseAdventurerTiming(adventurerStartTime);
+        if (startTime < 0) {
+            throw new ParseAdventurerLineException(ERROR_WHEN_READING_DETAILS +
+                    "de l'aventurier : l'instant de départ doit être un entier positif ou nul.");
+        }
+        return startTime;
+    }
+
+    /**
+     * Récupère la durée facultative d'un déplacement de l'aventurier, 8e information de sa ligne dans le fichier en
+     * entrée.
+     *
+     * @param adventurerMovementDuration : la durée d'un déplacement dans le fichier.
+     * @return la durée d'un déplacement, strictement positive.
+     * @throws ParseAdventurerLineException si la durée n'est pas un entier strictement positif.
+     */
+    protected int getAdventurerMovementDuration(String adventurerMovementDuration)
+            throws ParseAdventurerLineException {
+        int movementDuration = parseAdventurerTiming(adventurerMovementDuration);
+        if (movementDuration < 1) {
+            throw new ParseAdventurerLineException(ERROR_WHEN_READING_DETAILS +
+                    "de l'aventurier : la durée d'un déplacement doit être un entier strictement positif.");
+        }
+        return movementDuration;
+    }
+
+    private int parseAdventurerTiming(String adventurerTiming) throws ParseAdventurerLineException {
+        try {
+            return Integer.parseInt(adventurerTiming.strip());
+        } catch (NumberFormatException e) {
+            throw new ParseAdventurerLineException(ERROR_WHEN_READING_DETAILS +
+                    "de l'aventurier : l'instant de départ et la durée d'un déplacement doivent être numériques.");
+        }
+    }
+
+    /**
+     * Pour chaque aventurier présent sur la carte aux trésors, applique les différentes déplacements {@link Movement}
+     * selon l'ordonnancement configuré, ou selon leur instant de départ et leur durée de déplacement lorsqu'au moins
+     * un aventurier en déclare ({@link EventDrivenScheduler}).
      *
      * @param treasureMap : la carte aux trésors {@link TreasureMap}.
      * @return la carte aux trésors mise à jour.
      */
     public TreasureMap moveAdventurersOnTreasureMap(TreasureMap treasureMap) {
         List<Adventurer> adventurers = getAdventurersFromTreasureMap(treasureMap);
-        TreasureMapCell[][] treasureMapCells = treasureMap.getTreasureMapCells();
-
-        for (Adventurer adventurer : adventurers) {
-            for (Movement movement : adventurer.getMovements()) {
-                switch (movement) {
-                    case FORWARD -> {
-                        Position currentPosition = adventurer.getPosition();
-                        Position nextPosition = getAdventurerNextPosition(currentPosition, adventurer.getOrientation());
-                        if (isNextPositionUnreachable(nextPosition, treasureMap)) {
-                            logWhenNextPositionIsUnreachable(adventurer, nextPosition, movement, treasureMap);
-                            break;
-                        }
-
-                        updateAdventurerCollectedTreasures(treasureMap, adventurer, nextPosition);
-                        adventurer.setPosition(nextPosition);
+        AdventurerScheduler scheduler = adventurerScheduler;
+        if (!(scheduler instanceof EventDrivenScheduler)
+                && adventurers.stream().anyMatch(Adventurer::hasCustomTiming)) {
+            LOGGER.info("Des aventuriers ont un instant de départ ou une durée de déplacement : la simulation est "
+                    + "dirigée par les événements.");
+            scheduler = new EventDrivenScheduler();
+        }
+        return moveAdventurersOnTreasureMap(treasureMap, scheduler, adventurers);
+    }
 
-                        treasureMapCells[nextPosition.getHorizontalPosition()][nextPosition.getVerticalPosition()]
-                                .setAdventurer(adventurer);
+    /**
+     * Pour chaque aventurier présent sur la carte aux trésors, applique les différentes déplacements {@link Movement}
+     * selon l'ordonnancement donné.
+     *
+     * @param treasureMap         : la carte aux trésors {@link TreasureMap}.
+     * @param adventurerScheduler : l'ordonnancement {@link AdventurerScheduler} des déplacements.
+     * @return la carte aux trésors mise à jour.
+     */
+    public TreasureMap moveAdventurersOnTreasureMap(TreasureMap treasureMap, AdventurerScheduler adventurerScheduler) {
+        return moveAdventurersOnTreasureMap(treasureMap, adventurerScheduler, getAdventurersFromTreasureMap(treasureMap));
+    }
 
-                        treasureMapCells[currentPosition.getHorizontalPosition()][nextPosition.getVerticalPosition()]
-                                .setAdventurer(null);
-                    }
-                    case TURN_RIGHT -> adventurer.setOrientation(
-                            getNextOrientationAfterRightTurn(adventurer.getOrientation())
-                    );
-                    case TURN_LEFT -> adventurer.setOrientation(
-                            getNextOrientationAfterLeftTurn(adventurer.getOrientation())
-                    );
-                }
-            }
-        }
+    private TreasureMap moveAdventurersOnTreasureMap(TreasureMap treasureMap,
+                                                     AdventurerScheduler adventurerScheduler,
+                                                     List<Adventurer> adventurers) {
+        adventurerScheduler.moveAdventurers(treasureMap, adventurers);
+        treasureMap.removeDepletedTreasures();
         return treasureMap;
     }
 
@@ -102,27 +174,31 @@ public class AdventurerService {
      * @param nextPosition : la prochaine prosition de l'aventurier selon les éventuels obstacles.
      */
     protected void updateAdventurerCollectedTreasures(TreasureMap treasureMap, Adventurer adventurer, Position nextPosition) {
-        if (isNextPositionOnTreasure(nextPosition, treasureMap.getTreasureMapCells())) {
-            Treasure treasure = treasureMap.getTreasureMapCells()[nextPosition.getHorizontalPosition()]
-                    [nextPosition.getVerticalPosition()].getTreasure();
-            int count = treasure.getCount();
-            if (count > 0) {
-                adventurer.setCollectedTreasuresCount(adventurer.getCollectedTreasuresCount() + 1);
-                treasure.setCount(treasure.getCount() - 1);
-            }
+        if (isNextPositionOnTreasure(nextPosition, treasureMap.getGrid())) {
+            Treasure treasure = treasureMap.getGrid().getTreasure(nextPosition.getHorizontalPosition(),
+                    nextPosition.getVerticalPosition());
+            adventurer.collectTreasure(treasure);
         }
     }
 
+    /**
+     * Récupère les aventuriers de la carte aux trésors dans leur ordre d'apparition, depuis son
+     * {@link AdventurerRegistry} ou, pour une carte remplie sans passer par la lecture du fichier en entrée, en
+     * parcourant la grille.
+     *
+     * @param treasureMap : la carte aux trésors {@link TreasureMap}.
+     * @return les aventuriers triés par ordre d'apparition.
+     */
     protected List<Adventurer> getAdventurersFromTreasureMap(TreasureMap treasureMap) {
         List<Adventurer> adventurers = new ArrayList<>();
-        if (treasureMap == null || treasureMap.getTreasureMapCells() == null) return adventurers;
-        for (TreasureMapCell[] treasureMapCells : treasureMap.getTreasureMapCells()) {
-            for (TreasureMapCell treasureMapCell : treasureMapCells) {
-                if (treasureMapCell.getAdventurer() != null) {
-                    adventurers.add(treasureMapCell.getAdventurer());
-                }
+        if (treasureMap == null || treasureMap.getGrid() == null) return adventurers;
+        if (!treasureMap.getAdventurerRegistry().isEmpty()) return treasureMap.getAdventurerRegistry().getAdventurers();
+
+        treasureMap.getGrid().forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+            if (adventurer != null) {
+                adventurers.add(adventurer);
             }
-        }
+        });
         return adventurers.stream().sorted(Comparator.comparing(Adventurer::getApparitionOrder)).toList();
     }
 
@@ -150,25 +226,21 @@ public class AdventurerService {
     }
 
     /**
-     * Récupère la liste des {@link Movement} à effectuer d'un {@link Adventurer}.
+     * Récupère la liste des {@link Movement} à effectuer d'un {@link Adventurer}, codée sous forme de
+     * {@link MovementProgram}.
      *
      * @param adventurerMovements : la liste des mouvements dans le fichier en entrée.
      * @return la liste des mouvements.
      * @throws ParseAdventurerLineException en cas d'erreur de lecture des informations de l'aventurier dans le fichier.
      */
-    protected List<Movement> getAdventurerMovements(char[] adventurerMovements)
+    protected MovementProgram getAdventurerMovements(char[] adventurerMovements)
             throws ParseAdventurerLineException {
-        List<Movement> movements = new ArrayList<>();
-        for (char movement : adventurerMovements) {
-            switch (movement) {
-                case 'A' -> movements.add(Movement.FORWARD);
-                case 'D' -> movements.add(Movement.TURN_RIGHT);
-                case 'G' -> movements.add(Movement.TURN_LEFT);
-                default -> throw new ParseAdventurerLineException(ERROR_WHEN_READING_DETAILS +
-                        "de l'aventurier : les mouvements possibles sont A, D et G uniquement.");
-            }
+        try {
+            return MovementProgram.fromValues(adventurerMovements);
+        } catch (IllegalArgumentException iae) {
+            throw new ParseAdventurerLineException(ERROR_WHEN_READING_DETAILS +
+                    "de l'aventurier : les mouvements possibles sont A, D et G uniquement.");
         }
-        return movements;
     }
 
     /**
@@ -179,49 +251,20 @@ public class AdventurerService {
      * @return : la prochaine position de l'aventurier
      */
     protected Position getAdventurerNextPosition(Position currentAdventurerPosition, Orientation adventurerOrientation) {
-        Position nextPosition = new Position();
-
-        switch (adventurerOrientation) {
-            case NORTH -> {
-                nextPosition.setHorizontalPosition(currentAdventurerPosition.getHorizontalPosition());
-                nextPosition.setVerticalPosition(currentAdventurerPosition.getVerticalPosition() - 1);
-            }
-            case SOUTH -> {
-                nextPosition.setHorizontalPosition(currentAdventurerPosition.getHorizontalPosition());
-                nextPosition.setVerticalPosition(currentAdventurerPosition.getVerticalPosition() + 1);
-            }
-            case EAST -> {
-                nextPosition.setHorizontalPosition(currentAdventurerPosition.getHorizontalPosition() + 1);
-                nextPosition.setVerticalPosition(currentAdventurerPosition.getVerticalPosition());
-            }
-            case WEST -> {
-                nextPosition.setHorizontalPosition(currentAdventurerPosition.getHorizontalPosition() - 1);
-                nextPosition.setVerticalPosition(currentAdventurerPosition.getVerticalPosition());
-            }
-        }
-        return nextPosition;
+        return new Position(
+                currentAdventurerPosition.getHorizontalPosition()
+                        + OrientationDeltas.horizontalDelta(adventurerOrientation.ordinal()),
+                currentAdventurerPosition.getVerticalPosition()
+                        + OrientationDeltas.verticalDelta(adventurerOrientation.ordinal())
+        );
     }
 
     protected Orientation getNextOrientationAfterRightTurn(Orientation orientation) {
-        Orientation nextOrientation = orientation;
-        switch (orientation) {
-            case NORTH -> nextOrientation = Orientation.EAST;
-            case SOUTH -> nextOrientation = Orientation.WEST;
-            case EAST -> nextOrientation = Orientation.SOUTH;
-            case WEST -> nextOrientation = Orientation.NORTH;
-        }
-        return nextOrientation;
+        return OrientationDeltas.orientation(OrientationDeltas.turnRight(orientation.ordinal()));
     }
 
     protected Orientation getNextOrientationAfterLeftTurn(Orientation orientation) {
-        Orientation nextOrientation = orientation;
-        switch (orientation) {
-            case NORTH -> nextOrientation = Orientation.WEST;
-            case SOUTH -> nextOrientation = Orientation.EAST;
-            case EAST -> nextOrientation = Orientation.NORTH;
-            case WEST -> nextOrientation = Orientation.SOUTH;
-        }
-        return nextOrientation;
+        return OrientationDeltas.orientation(OrientationDeltas.turnLeft(orientation.ordinal()));
     }
 
     protected boolean isNextPositionNegativeOrOutOfBounds(Position nextPosition, TreasureMap treasureMap) {
@@ -231,40 +274,31 @@ public class AdventurerService {
                 || nextPosition.getVerticalPosition() >= treasureMap.getRowCount();
     }
 
-    protected boolean isNextPositionOnMoutain(Position nextPosition, TreasureMapCell[][] treasureMapCells) {
-        return treasureMapCells[nextPosition.getHorizontalPosition()][nextPosition.getVerticalPosition()]
-                .getMountain() != null;
+    protected boolean isNextPositionOnMoutain(Position nextPosition, TreasureMapGrid grid) {
+        return TreasureMapCellKind.hasMountain(
+                grid.getCellKind(nextPosition.getHorizontalPosition(), nextPosition.getVerticalPosition())
+        );
     }
 
-    protected boolean isNextPositionOnTreasure(Position nextPosition, TreasureMapCell[][] treasureMapCells) {
-        return treasureMapCells[nextPosition.getHorizontalPosition()][nextPosition.getVerticalPosition()]
-                .getTreasure() != null;
-
+    protected boolean isNextPositionOnTreasure(Position nextPosition, TreasureMapGrid grid) {
+        return TreasureMapCellKind.hasTreasure(
+                grid.getCellKind(nextPosition.getHorizontalPosition(), nextPosition.getVerticalPosition())
+        );
     }
 
-    protected boolean isNextPositionOnAdventurer(Position nextPosition, TreasureMapCell[][] treasureMapCells) {
-        return treasureMapCells[nextPosition.getHorizontalPosition()][nextPosition.getVerticalPosition()]
-                .getAdventurer() != null;
+    protected boolean isNextPositionOnAdventurer(Position nextPosition, TreasureMapGrid grid) {
+        return TreasureMapCellKind.hasAdventurer(
+                grid.getCellKind(nextPosition.getHorizontalPosition(), nextPosition.getVerticalPosition())
+        );
     }
 
+    /**
+     * Vérifie si la prochaine position est hors limites ou occupée par une montagne ou un autre aventurier, en une
+     * seule lecture de la cellule.
+     */
     protected boolean isNextPositionUnreachable(Position position, TreasureMap treasureMap) {
         return isNextPositionNegativeOrOutOfBounds(position, treasureMap)
-                || isNextPositionOnMoutain(position, treasureMap.getTreasureMapCells())
-                || isNextPositionOnAdventurer(position, treasureMap.getTreasureMapCells());
-    }
-
-    private void logWhenNextPositionIsUnreachable(Adventurer adventurer,
-                                                  Position nextPosition,
-                                                  Movement movement,
-                                                  TreasureMap treasureMap) {
-        if (isNextPositionNegativeOrOutOfBounds(nextPosition, treasureMap)) {
-            LOGGER.warn("Hors limites. Le déplacement " + movement.getValue() + " de l'aventurier : "
-                    + adventurer.getName() + " est ignoré.");
-            return;
-        }
-        if (isNextPositionOnMoutain(nextPosition, treasureMap.getTreasureMapCells())) {
-            LOGGER.warn("Une montagne bloque l'aventurier : " + adventurer.getName() +
-                    ". Le déplacement " + movement.getValue() + " est ignoré.");
-        }
+                || TreasureMapCellKind.isObstacle(treasureMap.getGrid()
+                .getCellKind(position.getHorizontalPosition(), position.getVerticalPosition()));
     }
 }
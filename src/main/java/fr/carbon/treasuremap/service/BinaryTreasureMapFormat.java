@@ -0,0 +1,147 @@
+package fr.carbon.treasuremap.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Format binaire compact de la carte aux trésors, versionné :
+ * <ul>
+ *     <li>en-tête : {@link #MAGIC}, {@link #VERSION}, nombre de colonnes et de lignes, nombre de montagnes, de trésors
+ *     et d'aventuriers, nombre de tuiles occupées ;</li>
+ *     <li>montagnes : numéros de case (x * lignes + y) triés, codés par leur écart au précédent ;</li>
+ *     <li>trésors : numéros de case triés codés de la même façon, chacun suivi du nombre de trésors ;</li>
+ *     <li>aventuriers, dans leur ordre d'apparition : nom, position, orientation, trésors ramassés, instant de départ,
+ *     durée de déplacement, puis déplacements codés sur 2 bits ({@link fr.carbon.treasuremap.model.MovementProgram}).
+ *     </li>
+ * </ul>
+ * Les entiers sont codés en varint (7 bits par octet, bit de poids fort indiquant une suite), de sorte que les écarts
+ * entre cases voisines tiennent le plus souvent sur un octet.
+ */
+final class BinaryTreasureMapFormat {
+
+    static final byte[] MAGIC = {'T', 'M', 'A', 'P'};
+    static final int VERSION = 1;
+
+    private BinaryTreasureMapFormat() {
+    }
+
+    /**
+     * @return true si le contenu commence par {@link #MAGIC}.
+     */
+    static boolean hasMagic(ByteBuffer buffer) {
+        if (buffer.remaining() < MAGIC.length) return false;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(buffer.position() + i) != MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ecriture tamponnée des valeurs du format.
+     */
+    static final class Encoder {
+
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        private final OutputStream outputStream;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int size;
+
+        Encoder(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        void writeByte(int value) throws IOException {
+            if (size == buffer.length) {
+                flush();
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] values) throws IOException {
+            for (byte value : values) {
+                writeByte(value);
+            }
+        }
+
+        /**
+         * @param value : une valeur positive ou nulle.
+         */
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void flush() throws IOException {
+            outputStream.write(buffer, 0, size);
+            size = 0;
+        }
+    }
+
+    /**
+     * Lecture des valeurs du format. Un contenu tronqué lève une {@link BufferUnderflowException}.
+     */
+    static final class Decoder {
+
+        private final ByteBuffer buffer;
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int readByte() {
+            return buffer.get() & 0xFF;
+        }
+
+        byte[] readBytes(int length) {
+            if (length > buffer.remaining()) throw new BufferUnderflowException();
+            byte[] values = new byte[length];
+            buffer.get(values);
+            return values;
+        }
+
+        /**
+         * @throws IllegalArgumentException si la valeur dépasse 63 bits.
+         */
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE - 1; shift += 7) {
+                int current = buffer.get();
+                value |= (long) (current & 0x7F) << shift;
+                if (current >= 0) return value;
+            }
+            throw new IllegalArgumentException("entier trop grand.");
+        }
+
+        /**
+         * @throws IllegalArgumentException si la valeur dépasse les bornes d'un int.
+         */
+        int readVarInt() {
+            long value = readVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("entier trop grand : " + value + ".");
+            }
+            return (int) value;
+        }
+
+        String readString() {
+            return new String(readBytes(readVarInt()), StandardCharsets.UTF_8);
+        }
+
+        boolean hasRemaining() {
+            return buffer.hasRemaining();
+        }
+    }
+}
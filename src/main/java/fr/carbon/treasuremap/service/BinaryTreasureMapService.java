@@ -0,0 +1,247 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapEntityCounts;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridType;
+import fr.carbon.treasuremap.utils.CompressionCodec;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Conversion et chargement des cartes aux trésors au format binaire {@link BinaryTreasureMapFormat}. Une carte
+ * convertie une fois se recharge sans découpage ni lecture de texte : les entités sont décodées depuis la projection
+ * en mémoire du fichier et placées directement sur la carte. Un fichier binaire compressé ({@link CompressionCodec})
+ * est décompressé en mémoire.
+ */
+@Service
+public class BinaryTreasureMapService {
+
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    private final InputFileReaderService inputFileReaderService;
+    private final TreasureMapService treasureMapService;
+    private final OutputFileWriterService outputFileWriterService;
+
+    public BinaryTreasureMapService(InputFileReaderService inputFileReaderService,
+                                    TreasureMapService treasureMapService,
+                                    OutputFileWriterService outputFileWriterService) {
+        this.inputFileReaderService = inputFileReaderService;
+        this.treasureMapService = treasureMapService;
+        this.outputFileWriterService = outputFileWriterService;
+    }
+
+    /**
+     * Convertit un fichier en entrée au format texte en fichier binaire. La carte écrite est celle obtenue après
+     * lecture du fichier texte : les entités hors limites ou placées sur une case déjà prise en sont absentes.
+     *
+     * @param inputFileLocation  : emplacement du fichier texte.
+     * @param inputFileName      : nom du fichier texte.
+     * @param binaryFileLocation : emplacement du fichier binaire à écrire.
+     * @param binaryFileName     : nom du fichier binaire à écrire.
+     * @throws ParseLineException en cas d'erreur de lecture du fichier texte ou d'écriture du fichier binaire.
+     */
+    public void convertInputFileToBinary(String inputFileLocation,
+                                         String inputFileName,
+                                         String binaryFileLocation,
+                                         String binaryFileName) throws ParseLineException {
+        TreasureMap treasureMap = treasureMapService.createTreasureMapFromInputFile(
+                inputFileReaderService.getInputFileLineSource(inputFileLocation, inputFileName), null, null);
+        outputFileWriterService.writeBinaryTreasureMap(treasureMap, Paths.get(binaryFileLocation + binaryFileName),
+                true);
+    }
+
+    /**
+     * @param inputFileLocation : emplacement du fichier en entrée.
+     * @param inputFileName     : nom du fichier en entrée.
+     * @return true si le fichier commence par l'en-tête du format binaire.
+     */
+    public boolean isBinaryFile(String inputFileLocation, String inputFileName) {
+        try (InputStream inputStream = CompressionCodec.openInputStream(Paths.get(inputFileLocation + inputFileName))) {
+            return BinaryTreasureMapFormat.hasMagic(
+                    ByteBuffer.wrap(inputStream.readNBytes(BinaryTreasureMapFormat.MAGIC.length)));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Créé la carte aux trésors à partir d'un fichier binaire.
+     *
+     * @param inputFileLocation : emplacement du fichier binaire.
+     * @param inputFileName     : nom du fichier binaire.
+     * @param gridType          : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                          {@link TreasureMapGridPlannerService} la choisir.
+     * @param mappedFile        : le fichier support d'une grille projetée en mémoire, null pour un fichier temporaire.
+     * @return la carte aux trésors {@link TreasureMap}.
+     * @throws ParseLineException si le fichier ne peut être lu, n'est pas au format binaire, est d'une version non
+     *                            supportée ou est invalide.
+     */
+    public TreasureMap createTreasureMapFromBinaryFile(String inputFileLocation,
+                                                       String inputFileName,
+                                                       TreasureMapGridType gridType,
+                                                       Path mappedFile) throws ParseLineException {
+        Path inputFile = Paths.get(inputFileLocation + inputFileName);
+        try {
+            if (CompressionCodec.detect(inputFile) != null) {
+                return createTreasureMapFromCompressedFile(inputFile, gridType, mappedFile);
+            }
+        } catch (IOException e) {
+            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : " + e.getMessage());
+        }
+
+        try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ParseLineException("Le fichier binaire dépasse " + Integer.MAX_VALUE + " octets.");
+            }
+            return createTreasureMapFromBinaryContent(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), gridType, mappedFile);
+        } catch (IOException e) {
+            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Décompresse le fichier en mémoire, sans fichier intermédiaire, avant d'en lire le contenu.
+     */
+    private TreasureMap createTreasureMapFromCompressedFile(Path inputFile,
+                                                           TreasureMapGridType gridType,
+                                                           Path mappedFile) throws ParseLineException {
+        byte[] content;
+        try (InputStream inputStream = CompressionCodec.openInputStream(inputFile)) {
+            content = inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : " + e.getMessage());
+        }
+        return createTreasureMapFromBinaryContent(ByteBuffer.wrap(content), gridType, mappedFile);
+    }
+
+    /**
+     * Créé la carte aux trésors à partir d'un contenu au format binaire.
+     *
+     * @param content    : le contenu, lu à partir de sa position courante.
+     * @param gridType   : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                   {@link TreasureMapGridPlannerService} la choisir.
+     * @param mappedFile : le fichier support d'une grille projetée en mémoire, null pour un fichier temporaire.
+     * @return la carte aux trésors {@link TreasureMap}.
+     * @throws ParseLineException si le contenu n'est pas au format binaire, est d'une version non supportée ou est
+     *                            invalide.
+     */
+    public TreasureMap createTreasureMapFromBinaryContent(ByteBuffer content,
+                                                          TreasureMapGridType gridType,
+                                                          Path mappedFile) throws ParseLineException {
+        if (!BinaryTreasureMapFormat.hasMagic(content)) {
+            throw new ParseLineException("Le fichier fourni en entrée n'est pas une carte aux trésors binaire.");
+        }
+        content.position(content.position() + BinaryTreasureMapFormat.MAGIC.length);
+
+        BinaryTreasureMapFormat.Decoder decoder = new BinaryTreasureMapFormat.Decoder(content);
+        try {
+            int version = decoder.readByte();
+            if (version != BinaryTreasureMapFormat.VERSION) {
+                throw new ParseLineException("Version du format binaire non supportée : " + version + ".");
+            }
+
+            int columnCount = decoder.readVarInt();
+            int rowCount = decoder.readVarInt();
+            int mountainCount = decoder.readVarInt();
+            int treasureCount = decoder.readVarInt();
+            int adventurerCount = decoder.readVarInt();
+            int occupiedTileCount = decoder.readVarInt();
+            TreasureMap treasureMap = treasureMapService.createTreasureMap(columnCount, rowCount,
+                    new TreasureMapEntityCounts(mountainCount, treasureCount, adventurerCount, occupiedTileCount),
+                    gridType, mappedFile);
+
+            long cellCount = (long) columnCount * rowCount;
+            long cellNumber = -1;
+            for (int i = 0; i < mountainCount; i++) {
+                cellNumber = readNextCellNumber(decoder, cellNumber, cellCount);
+                treasureMapService.putMountainOnTreasureMapCell(
+                        new Mountain(getPosition(cellNumber, rowCount)), treasureMap);
+            }
+            cellNumber = -1;
+            for (int i = 0; i < treasureCount; i++) {
+                cellNumber = readNextCellNumber(decoder, cellNumber, cellCount);
+                treasureMapService.putTreasureOnTreasureMapCell(
+                        new Treasure(getPosition(cellNumber, rowCount), decoder.readVarInt()), treasureMap);
+            }
+            for (int apparitionOrder = 1; apparitionOrder <= adventurerCount; apparitionOrder++) {
+                putAdventurerOnTreasureMapCell(readAdventurer(decoder), treasureMap, apparitionOrder);
+            }
+            if (decoder.hasRemaining()) {
+                throw new IllegalArgumentException("données inattendues en fin de fichier.");
+            }
+
+            treasureMapService.logTreasureMapFootprint(treasureMap);
+            return treasureMap;
+        } catch (BufferUnderflowException e) {
+            throw new ParseLineException("Le fichier binaire fourni en entrée est invalide : fichier tronqué.");
+        } catch (IllegalArgumentException e) {
+            throw new ParseLineException("Le fichier binaire fourni en entrée est invalide : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Place un aventurier comme lors de la lecture du fichier texte, à ceci près qu'une carte écrite en fin de jeu
+     * peut contenir un aventurier arrêté sur un trésor.
+     */
+    private void putAdventurerOnTreasureMapCell(Adventurer adventurer, TreasureMap treasureMap, int apparitionOrder) {
+        TreasureMapGrid grid = treasureMap.getGrid();
+        int horizontalPosition = adventurer.getPosition().getHorizontalPosition();
+        int verticalPosition = adventurer.getPosition().getVerticalPosition();
+        if (grid.isOutOfBounds(horizontalPosition, verticalPosition)
+                || grid.getCellKind(horizontalPosition, verticalPosition) != TreasureMapCellKind.TREASURE) {
+            treasureMapService.putAdventurerOnTreasureMapCell(adventurer, treasureMap, apparitionOrder);
+            return;
+        }
+
+        adventurer.setApparitionOrder(apparitionOrder);
+        grid.setAdventurer(horizontalPosition, verticalPosition, adventurer);
+        treasureMap.getAdventurerRegistry().register(adventurer);
+    }
+
+    private static long readNextCellNumber(BinaryTreasureMapFormat.Decoder decoder,
+                                           long previousCellNumber,
+                                           long cellCount) {
+        long cellNumber = previousCellNumber + 1 + decoder.readVarLong();
+        if (cellNumber >= cellCount) {
+            throw new IllegalArgumentException("case " + cellNumber + " hors limites de la carte.");
+        }
+        return cellNumber;
+    }
+
+    private static Position getPosition(long cellNumber, int rowCount) {
+        return new Position((int) (cellNumber / rowCount), (int) (cellNumber % rowCount));
+    }
+
+    private static Adventurer readAdventurer(BinaryTreasureMapFormat.Decoder decoder) {
+        String name = decoder.readString();
+        Position position = new Position(decoder.readVarInt(), decoder.readVarInt());
+        int orientation = decoder.readByte();
+        if (orientation >= ORIENTATIONS.length) {
+            throw new IllegalArgumentException("orientation inconnue : " + orientation + ".");
+        }
+        int collectedTreasuresCount = decoder.readVarInt();
+        int startTime = decoder.readVarInt();
+        int movementDuration = decoder.readVarInt();
+        if (movementDuration < 1) {
+            throw new IllegalArgumentException("durée de déplacement nulle.");
+        }
+        int movementCount = decoder.readVarInt();
+        MovementProgram movements = MovementProgram.fromPackedCodes(
+                decoder.readBytes(MovementProgram.getPackedCodeByteCount(movementCount)), movementCount);
+
+        return new Adventurer(name, position, ORIENTATIONS[orientation], movements, collectedTreasuresCount, 0,
+                startTime, movementDuration);
+    }
+}
@@ -0,0 +1,47 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+import fr.carbon.treasuremap.utils.CompressionCodec;
+import fr.carbon.treasuremap.utils.ReadAheadInputStream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Source des lignes d'un fichier en entrée compressé, décompressé à la volée à chaque parcours sans fichier
+ * intermédiaire. La lecture et la décompression du fichier sont confiées à un fil dédié ({@link ReadAheadInputStream})
+ * qui prépare les blocs suivants pendant la lecture des lignes.
+ * <p>
+ * Les lignes sont délimitées et filtrées comme par {@link InputFileReaderService#getInputFileLines(String, String)}.
+ */
+class CompressedInputFileLineSource implements TreasureMapLineSource {
+
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final int READ_AHEAD_BLOCK_COUNT = 4;
+
+    private final Path inputFile;
+
+    CompressedInputFileLineSource(Path inputFile) {
+        this.inputFile = inputFile;
+    }
+
+    @Override
+    public void forEachLine(LineConsumer lineConsumer) throws ParseLineException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ReadAheadInputStream(
+                CompressionCodec.openInputStream(inputFile), BLOCK_SIZE, READ_AHEAD_BLOCK_COUNT,
+                "decompression-" + inputFile.getFileName()), StandardCharsets.UTF_8), CompressionCodec.BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (!line.startsWith("#")) {
+                    lineConsumer.accept(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : " + e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package fr.carbon.treasuremap.service;
 
 import fr.carbon.treasuremap.exception.ParseLineException;
+import fr.carbon.treasuremap.utils.CompressionCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -16,15 +21,37 @@ public class InputFileReaderService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InputFileReaderService.class);
 
+    private final int parseParallelism;
+
+    public InputFileReaderService() {
+        this(1);
+    }
+
+    /**
+     * @param parseParallelism : le nombre de fils de lecture des gros fichiers en entrée, 0 pour un fil par cœur.
+     */
+    @Autowired
+    public InputFileReaderService(@Value("${treasuremap.input.parse-parallelism:0}") int parseParallelism) {
+        this.parseParallelism = parseParallelism > 0 ? parseParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
     public List<String> getInputFileLines(String inputFileLocation, String inputFileName) throws ParseLineException {
+        Path inputFile = Paths.get(inputFileLocation + inputFileName);
         List<String> inputFileLines;
-        try (Stream<String> stream = Files.lines(Paths.get(inputFileLocation + inputFileName))) {
-            inputFileLines = stream
-                    .map(String::strip)
-                    .filter(line -> !line.startsWith("#"))
-                    .toList();
-        } catch (IOException e) {
-            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : " + e.getMessage());
+        if (isCompressed(inputFile)) {
+            List<String> decompressedLines = new ArrayList<>();
+            new CompressedInputFileLineSource(inputFile).forEachLine(decompressedLines::add);
+            inputFileLines = decompressedLines;
+        } else {
+            try (Stream<String> stream = Files.lines(inputFile)) {
+                inputFileLines = stream
+                        .map(String::strip)
+                        .filter(line -> !line.startsWith("#"))
+                        .toList();
+            } catch (IOException e) {
+                throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : "
+                        + e.getMessage());
+            }
         }
 
         if (inputFileLines.size() == 0) {
@@ -32,4 +59,38 @@ public class InputFileReaderService {
         }
         return inputFileLines;
     }
+
+    /**
+     * Ouvre le fichier en entrée en lecture continue : à chaque parcours, le fichier est relu dans sa projection en
+     * mémoire et chaque ligne est transmise dès sa lecture, sans que le fichier soit chargé en mémoire ni découpé en
+     * {@link String}. Les lignes sont filtrées comme par {@link #getInputFileLines(String, String)}. Les gros fichiers
+     * sont lus en parallèle par morceaux, leurs lignes restant transmises dans l'ordre du fichier.
+     * <p>
+     * Un fichier compressé ({@link CompressionCodec}), reconnu à ses premiers octets, est décompressé à la volée par
+     * un fil dédié à chaque parcours, sans fichier intermédiaire.
+     *
+     * @param inputFileLocation : emplacement du fichier en entrée.
+     * @param inputFileName     : nom du fichier en entrée.
+     * @return la source des lignes du fichier.
+     */
+    public TreasureMapLineSource getInputFileLineSource(String inputFileLocation, String inputFileName) {
+        Path inputFile = Paths.get(inputFileLocation + inputFileName);
+        if (isCompressed(inputFile)) {
+            return new CompressedInputFileLineSource(inputFile);
+        }
+        return new MappedInputFileLineSource(inputFile, MappedInputFileLineSource.WINDOW_SIZE, parseParallelism,
+                MappedInputFileLineSource.CHUNK_SIZE);
+    }
+
+    /**
+     * @return true si le fichier est compressé, false s'il ne l'est pas ou ne peut être lu, l'erreur étant alors
+     * levée lors de sa lecture.
+     */
+    private boolean isCompressed(Path inputFile) {
+        try {
+            return CompressionCodec.detect(inputFile) != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
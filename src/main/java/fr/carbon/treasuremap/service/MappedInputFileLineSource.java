@@ -0,0 +1,252 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+import fr.carbon.treasuremap.utils.LineTokenizer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Source des lignes du fichier en entrée lues dans sa projection en mémoire, sans {@link String} intermédiaire : chaque
+ * ligne est découpée en place par un {@link LineTokenizer}.
+ * <p>
+ * Le fichier est projeté par fenêtres d'au plus {@value #WINDOW_SIZE} octets, chaque fenêtre commençant au début
+ * d'une ligne, afin de lire des fichiers de plusieurs gigaoctets. Les lignes sont délimitées et filtrées comme par
+ * {@link InputFileReaderService#getInputFileLines(String, String)} : fins de ligne \n, \r ou \r\n, espaces de début et
+ * de fin retirés, lignes commençant par # ignorées.
+ * <p>
+ * Avec plusieurs fils de lecture, {@link #forEachParsedLine(ParsedLineConsumer)} découpe chaque fenêtre en morceaux
+ * d'environ {@value #CHUNK_SIZE} octets, coupés en fin de ligne, lus en parallèle dans des {@link ParsedLineBatch}.
+ * Les morceaux sont ensuite transmis un à un dans l'ordre du fichier : le consommateur reçoit les mêmes lignes, dans
+ * le même ordre, qu'avec une lecture séquentielle.
+ */
+class MappedInputFileLineSource implements TreasureMapLineSource {
+
+    static final int WINDOW_SIZE = 1 << 28;
+    static final int CHUNK_SIZE = 1 << 20;
+    private static final byte COMMENT_CHAR = '#';
+
+    private final Path inputFile;
+    private final int windowSize;
+    private final int parallelism;
+    private final int chunkSize;
+
+    MappedInputFileLineSource(Path inputFile) {
+        this(inputFile, WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize : la taille maximale d'une fenêtre de projection, qui borne la longueur d'une ligne.
+     */
+    MappedInputFileLineSource(Path inputFile, int windowSize) {
+        this(inputFile, windowSize, 1, CHUNK_SIZE);
+    }
+
+    /**
+     * @param windowSize  : la taille maximale d'une fenêtre de projection, qui borne la longueur d'une ligne.
+     * @param parallelism : le nombre de fils de lecture, 1 pour une lecture séquentielle.
+     * @param chunkSize   : la taille visée d'un morceau lu par un fil.
+     */
+    MappedInputFileLineSource(Path inputFile, int windowSize, int parallelism, int chunkSize) {
+        this.inputFile = inputFile;
+        this.windowSize = windowSize;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void forEachLine(LineConsumer lineConsumer) throws ParseLineException {
+        forEachTokenizedLine(line -> lineConsumer.accept(line.toString()));
+    }
+
+    @Override
+    public void forEachTokenizedLine(TokenizedLineConsumer lineConsumer) throws ParseLineException {
+        LineTokenizer lineTokenizer = new LineTokenizer();
+        forEachWindow((window, from, to) -> scanLines(window, from, to, lineTokenizer, lineConsumer));
+    }
+
+    @Override
+    public void forEachParsedLine(ParsedLineConsumer lineConsumer) throws ParseLineException {
+        if (parallelism <= 1) {
+            TreasureMapLineSource.super.forEachParsedLine(lineConsumer);
+            return;
+        }
+
+        // Les fils ne sont créés qu'au premier morceau soumis : un petit fichier est lu sans fil supplémentaire.
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            LineTokenizer lineTokenizer = new LineTokenizer();
+            forEachWindow((window, from, to) -> {
+                if (to - from <= chunkSize) {
+                    scanLines(window, from, to, lineTokenizer, lineConsumer::accept);
+                } else {
+                    parseChunks(window, from, to, executor, lineConsumer);
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lit en parallèle les morceaux d'une fenêtre et les transmet dans l'ordre. Au plus deux morceaux par fil sont
+     * lus d'avance, afin de borner la mémoire occupée par les lignes en attente.
+     */
+    private void parseChunks(MappedByteBuffer window,
+                             int from,
+                             int to,
+                             ExecutorService executor,
+                             ParsedLineConsumer lineConsumer) throws ParseLineException {
+        Deque<Future<ParsedLineBatch>> pendingBatches = new ArrayDeque<>();
+        int maxPendingBatches = parallelism * 2;
+        int chunkStart = from;
+        while (chunkStart < to || !pendingBatches.isEmpty()) {
+            while (chunkStart < to && pendingBatches.size() < maxPendingBatches) {
+                int start = chunkStart;
+                int end = findChunkEnd(window, start, to);
+                pendingBatches.add(executor.submit(() -> {
+                    ParsedLineBatch batch = new ParsedLineBatch();
+                    scanLines(window, start, end, new LineTokenizer(), batch::accept);
+                    return batch;
+                }));
+                chunkStart = end;
+            }
+            awaitBatch(pendingBatches.poll()).replay(lineConsumer);
+        }
+    }
+
+    /**
+     * @return l'indice suivant la première fin de ligne située après {@link #chunkSize} octets, une fin de ligne \r\n
+     * n'étant jamais coupée.
+     */
+    private int findChunkEnd(MappedByteBuffer window, int chunkStart, int to) {
+        if (to - chunkStart <= chunkSize) return to;
+        int index = chunkStart + chunkSize - 1;
+        while (index < to) {
+            byte value = window.get(index);
+            if (value == '\n') return index + 1;
+            if (value == '\r') {
+                return index + 1 < to && window.get(index + 1) == '\n' ? index + 2 : index + 1;
+            }
+            index++;
+        }
+        return to;
+    }
+
+    private static ParsedLineBatch awaitBatch(Future<ParsedLineBatch> batch) throws ParseLineException {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : "
+                    + "lecture interrompue.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : "
+                    + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Projette le fichier fenêtre par fenêtre et transmet de chacune la zone formée de lignes complètes : la fin d'une
+     * fenêtre après sa dernière fin de ligne est relue au début de la suivante.
+     */
+    private void forEachWindow(WindowConsumer windowConsumer) throws ParseLineException {
+        try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long windowStart = 0;
+            boolean skipLeadingLineFeed = false;
+            while (windowStart < fileSize) {
+                int windowLength = (int) Math.min(windowSize, fileSize - windowStart);
+                boolean lastWindow = windowStart + windowLength == fileSize;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+
+                // Un \r terminant la fenêtre précédente forme une seule fin de ligne avec un \n en tête de celle-ci.
+                int from = skipLeadingLineFeed && window.get(0) == '\n' ? 1 : 0;
+                int to = lastWindow ? windowLength : lastLineEnd(window, from, windowLength);
+                if (to == 0) {
+                    throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : une ligne "
+                            + "dépasse " + windowSize + " octets.");
+                }
+                windowConsumer.accept(window, from, to);
+                if (lastWindow) return;
+
+                skipLeadingLineFeed = to == windowLength && window.get(to - 1) == '\r';
+                windowStart += to;
+            }
+        } catch (IOException e) {
+            throw new ParseLineException("Une erreur est survenue lors de la lecture du fichier : " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return l'indice suivant la dernière fin de ligne de la fenêtre, ou from si elle n'en contient aucune.
+     */
+    private static int lastLineEnd(MappedByteBuffer window, int from, int windowLength) {
+        for (int index = windowLength - 1; index >= from; index--) {
+            byte value = window.get(index);
+            if (value == '\n' || value == '\r') return index + 1;
+        }
+        return from;
+    }
+
+    /**
+     * Transmet les lignes d'une zone commençant en début de ligne. Une ligne non terminée en fin de zone est
+     * transmise telle quelle.
+     */
+    private static void scanLines(MappedByteBuffer window,
+                                  int from,
+                                  int to,
+                                  LineTokenizer lineTokenizer,
+                                  TokenizedLineConsumer lineConsumer) throws ParseLineException {
+        int index = from;
+        int lineStart = from;
+        while (index < to) {
+            byte value = window.get(index);
+            if (value != '\n' && value != '\r') {
+                index++;
+                continue;
+            }
+            acceptLine(window, lineStart, index, lineTokenizer, lineConsumer);
+            if (value == '\r' && index + 1 < to && window.get(index + 1) == '\n') {
+                index++;
+            }
+            lineStart = ++index;
+        }
+        if (lineStart < to) {
+            acceptLine(window, lineStart, to, lineTokenizer, lineConsumer);
+        }
+    }
+
+    private static void acceptLine(MappedByteBuffer window,
+                                   int lineStart,
+                                   int lineEnd,
+                                   LineTokenizer lineTokenizer,
+                                   TokenizedLineConsumer lineConsumer) throws ParseLineException {
+        while (lineStart < lineEnd && isWhitespace(window.get(lineStart))) {
+            lineStart++;
+        }
+        while (lineEnd > lineStart && isWhitespace(window.get(lineEnd - 1))) {
+            lineEnd--;
+        }
+        if (lineStart < lineEnd && window.get(lineStart) == COMMENT_CHAR) return;
+        lineConsumer.accept(lineTokenizer.reset(window, lineStart, lineEnd));
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value >= 0 && Character.isWhitespace(value);
+    }
+
+    private interface WindowConsumer {
+        void accept(MappedByteBuffer window, int from, int to) throws ParseLineException;
+    }
+}
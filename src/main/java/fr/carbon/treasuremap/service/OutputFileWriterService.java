@@ -2,12 +2,21 @@ package fr.carbon.treasuremap.service;
 
 import fr.carbon.treasuremap.exception.ParseLineException;
 import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.ChunkedGrid;
+import fr.carbon.treasuremap.utils.CompressionCodec;
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static fr.carbon.treasuremap.utils.TreasureMapGameUtils.*;
@@ -16,7 +25,8 @@ import static fr.carbon.treasuremap.utils.TreasureMapGameUtils.*;
 public class OutputFileWriterService {
 
     /**
-     * Construit le fichier de sortie en fin de jeu.
+     * Construit le fichier de sortie en fin de jeu, compressé à la volée si son nom se termine par l'extension d'un
+     * {@link CompressionCodec} (.gz).
      *
      * @param treasureMap        : la matrice représentant la carte aux trésors {@link TreasureMap}.
      * @param outputFileLocation : emplacement du fichier de sortie désiré.
@@ -45,7 +55,7 @@ public class OutputFileWriterService {
         }
 
         try {
-            Files.write(Paths.get(outputFileLocation + outputFileName), lines);
+            writeLines(Paths.get(outputFileLocation + outputFileName), lines);
         } catch (IOException e) {
             throw new ParseLineException(
                     "Une erreur est survenue lors de l'écriture des données dans le fichier de sortie' du fichier : "
@@ -54,30 +64,163 @@ public class OutputFileWriterService {
         }
     }
 
+    /**
+     * Construit le fichier de sortie en fin de jeu dans le format binaire compact {@link BinaryTreasureMapFormat}, à
+     * la place du format texte. Comme dans ce dernier, les déplacements des aventuriers, déjà effectués, ne sont pas
+     * écrits.
+     *
+     * @param treasureMap        : la matrice représentant la carte aux trésors {@link TreasureMap}.
+     * @param outputFileLocation : emplacement du fichier de sortie désiré.
+     * @param outputFileName     : nom du fichier de sortie désiré.
+     */
+    public void writeTreasureMapToBinaryOutputFile(TreasureMap treasureMap,
+                                                   String outputFileLocation,
+                                                   String outputFileName) throws ParseLineException {
+        writeBinaryTreasureMap(treasureMap, Paths.get(outputFileLocation + outputFileName), false);
+    }
 
+    /**
+     * Ecrit la carte aux trésors dans le format binaire {@link BinaryTreasureMapFormat}.
+     *
+     * @param treasureMap    : la carte aux trésors {@link TreasureMap}.
+     * @param binaryFile     : le fichier à écrire.
+     * @param withMovements  : true pour écrire les déplacements des aventuriers, false pour des séquences vides.
+     */
+    protected void writeBinaryTreasureMap(TreasureMap treasureMap, Path binaryFile, boolean withMovements)
+            throws ParseLineException {
+        List<Mountain> mountains = new ArrayList<>();
+        List<Treasure> treasures = new ArrayList<>();
+        List<Adventurer> adventurers = new ArrayList<>();
+        getTreasureMapContent(treasureMap, mountains, treasures, adventurers);
+
+        long rowCount = treasureMap.getRowCount();
+
+        LongIntOpenHashMap occupiedTiles = new LongIntOpenHashMap(0);
+        mountains.forEach(mountain -> addOccupiedTile(mountain.getPosition(), occupiedTiles));
+        treasures.forEach(treasure -> addOccupiedTile(treasure.getPosition(), occupiedTiles));
+        adventurers.forEach(adventurer -> addOccupiedTile(adventurer.getPosition(), occupiedTiles));
+
+        try (OutputStream outputStream = CompressionCodec.openOutputStream(binaryFile)) {
+            BinaryTreasureMapFormat.Encoder encoder = new BinaryTreasureMapFormat.Encoder(outputStream);
+            encoder.writeBytes(BinaryTreasureMapFormat.MAGIC);
+            encoder.writeByte(BinaryTreasureMapFormat.VERSION);
+            encoder.writeVarLong(treasureMap.getColumnCount());
+            encoder.writeVarLong(rowCount);
+            encoder.writeVarLong(mountains.size());
+            encoder.writeVarLong(treasures.size());
+            encoder.writeVarLong(adventurers.size());
+            encoder.writeVarLong(occupiedTiles.size());
+
+            long previousCellNumber = -1;
+            for (Mountain mountain : mountains) {
+                long cellNumber = getCellNumber(mountain.getPosition(), rowCount);
+                encoder.writeVarLong(cellNumber - previousCellNumber - 1);
+                previousCellNumber = cellNumber;
+            }
+            previousCellNumber = -1;
+            for (Treasure treasure : treasures) {
+                long cellNumber = getCellNumber(treasure.getPosition(), rowCount);
+                encoder.writeVarLong(cellNumber - previousCellNumber - 1);
+                encoder.writeVarLong(treasure.getCount());
+                previousCellNumber = cellNumber;
+            }
+            for (Adventurer adventurer : adventurers) {
+                MovementProgram movementProgram = withMovements && adventurer.getMovements() != null
+                        ? MovementProgram.of(adventurer.getMovements())
+                        : MovementProgram.EMPTY;
+                encoder.writeString(adventurer.getName());
+                encoder.writeVarLong(adventurer.getPosition().getHorizontalPosition());
+                encoder.writeVarLong(adventurer.getPosition().getVerticalPosition());
+                encoder.writeByte(adventurer.getOrientation().ordinal());
+                encoder.writeVarLong(adventurer.getCollectedTreasuresCount());
+                encoder.writeVarLong(adventurer.getStartTime());
+                encoder.writeVarLong(adventurer.getMovementDuration());
+                encoder.writeVarLong(movementProgram.size());
+                encoder.writeBytes(movementProgram.toPackedCodes());
+            }
+            encoder.flush();
+        } catch (IOException e) {
+            throw new ParseLineException(
+                    "Une erreur est survenue lors de l'écriture des données dans le fichier de sortie : "
+                            + e.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Ecrit les lignes du fichier de sortie, compressé à la volée si son extension correspond à un
+     * {@link CompressionCodec}.
+     */
+    private static void writeLines(Path outputFile, List<String> lines) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                CompressionCodec.openOutputStream(outputFile), StandardCharsets.UTF_8), CompressionCodec.BUFFER_SIZE)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    private static long getCellNumber(Position position, long rowCount) {
+        return position.getHorizontalPosition() * rowCount + position.getVerticalPosition();
+    }
+
+    private static void addOccupiedTile(Position position, LongIntOpenHashMap occupiedTiles) {
+        occupiedTiles.put(PackedCoordinates.pack(
+                position.getHorizontalPosition() >> ChunkedGrid.TILE_SHIFT,
+                position.getVerticalPosition() >> ChunkedGrid.TILE_SHIFT
+        ), 1);
+    }
+
+    /**
+     * Récupère le contenu de la carte aux trésors. Lorsque la carte a été remplie à partir du fichier en entrée, les
+     * entités sont lues dans ses index sans parcourir la grille. Les montagnes et les trésors sont rendus dans l'ordre
+     * de la carte, colonne par colonne puis ligne par ligne, quelle que soit leur provenance ; les aventuriers le sont
+     * dans leur ordre d'apparition.
+     *
+     * @param treasureMap : la carte aux trésors {@link TreasureMap}.
+     * @param mountains   : les montagnes trouvées.
+     * @param treasures   : les trésors non épuisés trouvés.
+     * @param adventurers : les aventuriers trouvés.
+     */
     protected void getTreasureMapContent(TreasureMap treasureMap,
                                          List<Mountain> mountains,
                                          List<Treasure> treasures,
                                          List<Adventurer> adventurers) {
 
-        if (treasureMap == null || treasureMap.getTreasureMapCells() == null) return;
-        for (TreasureMapCell[] treasureMapCells : treasureMap.getTreasureMapCells()) {
-            for (TreasureMapCell treasureMapCell : treasureMapCells) {
-                if (treasureMapCell != null) {
-                    Mountain mountain = treasureMapCell.getMountain();
-                    Treasure treasure = treasureMapCell.getTreasure();
-                    Adventurer adventurer = treasureMapCell.getAdventurer();
-
-                    if (mountain != null) {
-                        mountains.add(mountain);
-                    } else if (treasure != null && treasure.getCount() >  0) {
-                        treasures.add(treasure);
-                    } else if (adventurer != null) {
-                        adventurers.add(adventurer);
-                    }
+        if (treasureMap == null || treasureMap.getGrid() == null) return;
+        if (treasureMap.hasEntityIndexes()) {
+            treasureMap.getMountainIndex().forEach(mountains::add);
+            treasureMap.getTreasureIndex().forEach(treasure -> {
+                if (treasure.getCount() > 0) {
+                    treasures.add(treasure);
                 }
-            }
+            });
+            adventurers.addAll(treasureMap.getAdventurerRegistry().getAdventurers());
+            sortInMapOrder(treasureMap, mountains, treasures);
+            return;
         }
+        treasureMap.getGrid().forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+            if (mountain != null) {
+                mountains.add(mountain);
+            }
+            if (treasure != null && treasure.getCount() > 0) {
+                treasures.add(treasure);
+            }
+            if (adventurer != null) {
+                adventurers.add(adventurer);
+            }
+        });
+        sortInMapOrder(treasureMap, mountains, treasures);
+    }
+
+    /**
+     * Trie les montagnes et les trésors dans l'ordre de la carte : par numéro de cellule x * lignes + y.
+     */
+    private static void sortInMapOrder(TreasureMap treasureMap, List<Mountain> mountains, List<Treasure> treasures) {
+        long rowCount = treasureMap.getRowCount();
+        mountains.sort(Comparator.comparingLong(mountain -> getCellNumber(mountain.getPosition(), rowCount)));
+        treasures.sort(Comparator.comparingLong(treasure -> getCellNumber(treasure.getPosition(), rowCount)));
     }
 
     protected void formatAndAddTreasureMapLine(TreasureMap treasureMap, List<String> lines) {
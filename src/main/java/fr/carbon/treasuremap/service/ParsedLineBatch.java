@@ -0,0 +1,94 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+
+import java.util.Arrays;
+
+/**
+ * Lignes lues d'un morceau du fichier en entrée, conservées dans leur ordre afin d'être transmises plus tard à un
+ * autre {@link TreasureMapLineSource.ParsedLineConsumer}. Les montagnes et trésors sont rangés sous forme d'entiers
+ * dans des tableaux, sans objet par ligne ; seules les autres lignes conservent leur texte.
+ */
+class ParsedLineBatch implements TreasureMapLineSource.ParsedLineConsumer {
+
+    private static final byte MOUNTAIN = 0;
+    private static final byte TREASURE = 1;
+    private static final byte LINE = 2;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY * 3];
+    private String[] lines = new String[INITIAL_CAPACITY];
+    private int size;
+    private int valueCount;
+    private int lineCount;
+
+    @Override
+    public void acceptMountain(int horizontalPosition, int verticalPosition) {
+        addKind(MOUNTAIN);
+        addValues(horizontalPosition, verticalPosition);
+    }
+
+    @Override
+    public void acceptTreasure(int horizontalPosition, int verticalPosition, int count) {
+        addKind(TREASURE);
+        addValues(horizontalPosition, verticalPosition);
+        addValue(count);
+    }
+
+    @Override
+    public void acceptLine(String line) {
+        addKind(LINE);
+        if (lineCount == lines.length) {
+            lines = Arrays.copyOf(lines, lineCount * 2);
+        }
+        lines[lineCount++] = line;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Transmet les lignes conservées, dans leur ordre de lecture.
+     *
+     * @param lineConsumer : le consommateur des lignes.
+     * @throws ParseLineException si le consommateur rejette une ligne.
+     */
+    public void replay(TreasureMapLineSource.ParsedLineConsumer lineConsumer) throws ParseLineException {
+        int valueIndex = 0;
+        int lineIndex = 0;
+        for (int i = 0; i < size; i++) {
+            switch (kinds[i]) {
+                case MOUNTAIN -> {
+                    lineConsumer.acceptMountain(values[valueIndex], values[valueIndex + 1]);
+                    valueIndex += 2;
+                }
+                case TREASURE -> {
+                    lineConsumer.acceptTreasure(values[valueIndex], values[valueIndex + 1], values[valueIndex + 2]);
+                    valueIndex += 3;
+                }
+                default -> lineConsumer.acceptLine(lines[lineIndex++]);
+            }
+        }
+    }
+
+    private void addKind(byte kind) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+        }
+        kinds[size++] = kind;
+    }
+
+    private void addValues(int horizontalPosition, int verticalPosition) {
+        addValue(horizontalPosition);
+        addValue(verticalPosition);
+    }
+
+    private void addValue(int value) {
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, valueCount * 2);
+        }
+        values[valueCount++] = value;
+    }
+}
@@ -0,0 +1,112 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+import fr.carbon.treasuremap.model.Mountain;
+import fr.carbon.treasuremap.model.Position;
+import fr.carbon.treasuremap.model.Treasure;
+import fr.carbon.treasuremap.model.TreasureMap;
+import fr.carbon.treasuremap.model.grid.TreasureMapEntityCounts;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridType;
+
+import java.nio.file.Path;
+
+import static fr.carbon.treasuremap.utils.TreasureMapGameUtils.*;
+
+/**
+ * Construit la carte aux trésors ligne par ligne : chaque ligne lue du fichier en entrée est placée sur la carte dès
+ * sa réception, sans que les lignes ne soient conservées. La première ligne crée la carte, les suivantes y ajoutent
+ * montagnes, trésors et aventuriers, ces derniers dans leur ordre d'apparition. Les montagnes et trésors dont les
+ * informations sont des entiers sont reçus déjà lus ({@link TreasureMapLineSource.ParsedLineConsumer}).
+ */
+public class TreasureMapBuilder implements TreasureMapLineSource.ParsedLineConsumer {
+
+    private final TreasureMapService treasureMapService;
+    private final TreasureMapEntityCounts entityCounts;
+    private final TreasureMapGridType gridType;
+    private final Path mappedFile;
+
+    private TreasureMap treasureMap;
+    private int apparitionOrder = 1;
+
+    /**
+     * @param treasureMapService : le service de remplissage de la carte.
+     * @param entityCounts       : le nombre d'entités annoncées dans le fichier, pour estimer la mémoire nécessaire.
+     * @param gridType           : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                           {@link TreasureMapGridPlannerService} la choisir.
+     * @param mappedFile         : le fichier support d'une grille projetée en mémoire, null pour un fichier temporaire.
+     */
+    TreasureMapBuilder(TreasureMapService treasureMapService,
+                       TreasureMapEntityCounts entityCounts,
+                       TreasureMapGridType gridType,
+                       Path mappedFile) {
+        this.treasureMapService = treasureMapService;
+        this.entityCounts = entityCounts;
+        this.gridType = gridType;
+        this.mappedFile = mappedFile;
+    }
+
+    @Override
+    public void acceptMountain(int horizontalPosition, int verticalPosition) throws ParseLineException {
+        treasureMapService.putMountainOnTreasureMapCell(
+                new Mountain(new Position(horizontalPosition, verticalPosition)), getStartedTreasureMap());
+    }
+
+    @Override
+    public void acceptTreasure(int horizontalPosition, int verticalPosition, int count) throws ParseLineException {
+        treasureMapService.putTreasureOnTreasureMapCell(
+                new Treasure(new Position(horizontalPosition, verticalPosition), count), getStartedTreasureMap());
+    }
+
+    /**
+     * Place sur la carte les informations d'une ligne du fichier en entrée, lue par {@link MountainService},
+     * {@link TreasureService} ou {@link AdventurerService}, qui en lèvent les erreurs habituelles.
+     *
+     * @param line : la ligne suivante du fichier.
+     * @throws ParseLineException en cas de problème de lecture des informations contenues dans la ligne.
+     */
+    @Override
+    public void acceptLine(String line) throws ParseLineException {
+        if (treasureMap == null) {
+            if (line.toUpperCase().charAt(0) != TREASURE_MAP_LINE_CHAR) {
+                throw new ParseLineException("Erreur lors de l'initialisation de la carte aux trésors : " +
+                        "la première ligne du fichier d'entrée doit commencer par la lettre C.");
+            }
+            treasureMap = treasureMapService.getTreasureMapDetailsFromInputFileLine(line, entityCounts, gridType,
+                    mappedFile);
+            return;
+        }
+
+        char treasureMapObject = line.toUpperCase().charAt(0);
+        switch (treasureMapObject) {
+            case MOUNTAIN_LINE_CHAR -> treasureMapService.putMountainOnTreasureMapCell(line, treasureMap);
+            case TREASURE_LINE_CHAR -> treasureMapService.putTreasureOnTreasureMapCell(line, treasureMap);
+            case ADVENTURER_LINE_CHAR -> {
+                treasureMapService.putAdventurerOnTreasureMapCell(line, treasureMap, apparitionOrder);
+                apparitionOrder++;
+            }
+            default -> throw new ParseLineException("Erreur lors du remplissage de la carte aux trésors : " +
+                    "chaque ligne du fichier en entrée après la première doit commencer par la lettre A, M, ou T."
+            );
+        }
+    }
+
+    private TreasureMap getStartedTreasureMap() throws ParseLineException {
+        if (treasureMap == null) {
+            throw new ParseLineException("Erreur lors de l'initialisation de la carte aux trésors : " +
+                    "la première ligne du fichier d'entrée doit commencer par la lettre C.");
+        }
+        return treasureMap;
+    }
+
+    /**
+     * @return la carte aux trésors remplie.
+     * @throws ParseLineException si aucune ligne n'a été reçue.
+     */
+    public TreasureMap build() throws ParseLineException {
+        if (treasureMap == null) {
+            throw new ParseLineException("Erreur lors de l'initialisation de la carte aux trésors : " +
+                    "le fichier fourni en entrée ne contient aucune donnée.");
+        }
+        return treasureMap;
+    }
+}
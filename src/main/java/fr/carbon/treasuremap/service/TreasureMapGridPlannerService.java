@@ -0,0 +1,139 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.model.grid.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class TreasureMapGridPlannerService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TreasureMapGridPlannerService.class);
+
+    /**
+     * Part maximale de la mémoire de la JVM que la grille peut occuper.
+     */
+    private static final double HEAP_BUDGET_RATIO = 0.5;
+
+    /**
+     * La grille dense reste préférée à la grille creuse tant qu'elle ne consomme pas plus de fois cette quantité de
+     * mémoire : ses accès sont directs, sans calcul de hachage.
+     */
+    private static final int DENSE_OVER_SPARSE_MAX_RATIO = 4;
+
+    private final long heapBudgetInBytes;
+
+    public TreasureMapGridPlannerService() {
+        this((long) (Runtime.getRuntime().maxMemory() * HEAP_BUDGET_RATIO));
+    }
+
+    public TreasureMapGridPlannerService(long heapBudgetInBytes) {
+        this.heapBudgetInBytes = heapBudgetInBytes;
+    }
+
+    /**
+     * Choisit la représentation de la carte aux trésors à partir de ses dimensions et du nombre d'entités annoncées
+     * dans le fichier en entrée.
+     *
+     * @param columnCount   : le nombre de colonnes.
+     * @param rowCount      : le nombre de lignes.
+     * @param entityCounts  : le nombre de montagnes, trésors et aventuriers.
+     * @param requestedType : la représentation imposée, null pour la choisir selon les estimations.
+     * @return le plan {@link TreasureMapGridPlan} retenu.
+     */
+    public TreasureMapGridPlan planTreasureMapGrid(int columnCount,
+                                                   int rowCount,
+                                                   TreasureMapEntityCounts entityCounts,
+                                                   TreasureMapGridType requestedType) {
+        Map<TreasureMapGridType, Long> estimatedFootprints =
+                estimateFootprintsInBytes(columnCount, rowCount, entityCounts);
+        TreasureMapGridType gridType = requestedType != null
+                ? requestedType
+                : chooseGridType(columnCount, rowCount, estimatedFootprints);
+
+        TreasureMapGridPlan gridPlan = new TreasureMapGridPlan(
+                gridType,
+                estimatedFootprints.get(gridType),
+                estimatedFootprints,
+                entityCounts
+        );
+        LOGGER.info("Carte aux trésors " + columnCount + "x" + rowCount + " (" + entityCounts.getEntityCount()
+                + " entités) : représentation " + gridType + " retenue, mémoire estimée "
+                + gridPlan.getEstimatedFootprintInBytes() + " octets " + estimatedFootprints + ".");
+        return gridPlan;
+    }
+
+    /**
+     * Estime la mémoire occupée par chacune des représentations possibles de la carte.
+     * Une représentation impossible (carte trop grande pour un tableau) est estimée à {@link Long#MAX_VALUE}. Seules
+     * les tables annexes de la grille projetée depuis un fichier sont comptées, ses cellules étant hors du tas.
+     */
+    protected Map<TreasureMapGridType, Long> estimateFootprintsInBytes(int columnCount,
+                                                                       int rowCount,
+                                                                       TreasureMapEntityCounts entityCounts) {
+        boolean fitsInArray = (long) columnCount * rowCount <= PackedDenseGrid.MAX_CELL_COUNT;
+        long sideTablesFootprint = AbstractPackedGrid.estimateSideTablesFootprintInBytes(
+                rowCount,
+                entityCounts.getTreasureCount(),
+                entityCounts.getAdventurerCount()
+        );
+
+        Map<TreasureMapGridType, Long> estimatedFootprints = new EnumMap<>(TreasureMapGridType.class);
+        estimatedFootprints.put(TreasureMapGridType.OBJECT_MATRIX, fitsInArray
+                ? ObjectMatrixGrid.estimateFootprintInBytes(columnCount, rowCount)
+                : Long.MAX_VALUE);
+        estimatedFootprints.put(TreasureMapGridType.PACKED_DENSE, fitsInArray
+                ? PackedDenseGrid.estimateCellStorageFootprintInBytes(columnCount, rowCount) + sideTablesFootprint
+                : Long.MAX_VALUE);
+        estimatedFootprints.put(TreasureMapGridType.SPARSE,
+                SparseGrid.estimateCellStorageFootprintInBytes(entityCounts.getEntityCount()) + sideTablesFootprint);
+        long chunkedFootprint = ChunkedGrid.estimateCellStorageFootprintInBytes(
+                columnCount,
+                rowCount,
+                entityCounts.getEntityCount(),
+                entityCounts.getOccupiedTileCount()
+        );
+        estimatedFootprints.put(TreasureMapGridType.CHUNKED, chunkedFootprint == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : chunkedFootprint + sideTablesFootprint);
+        estimatedFootprints.put(TreasureMapGridType.MAPPED_FILE, sideTablesFootprint);
+        return estimatedFootprints;
+    }
+
+    /**
+     * La grille dense est retenue si elle tient dans le budget mémoire sans être disproportionnée face à la grille
+     * creuse. Sinon, la représentation la plus économe parmi les grilles dense, creuse et en tuiles est retenue.
+     * La matrice d'objets, toujours plus coûteuse que la grille dense dès que la carte dépasse quelques cases, et la
+     * grille projetée depuis un fichier, qui ne consomme du tas que pour ses tables annexes, ne sont utilisées que sur
+     * demande explicite.
+     */
+    protected TreasureMapGridType chooseGridType(int columnCount,
+                                                 int rowCount,
+                                                 Map<TreasureMapGridType, Long> estimatedFootprints) {
+        long denseFootprint = estimatedFootprints.get(TreasureMapGridType.PACKED_DENSE);
+        long sparseFootprint = estimatedFootprints.get(TreasureMapGridType.SPARSE);
+
+        if (denseFootprint <= heapBudgetInBytes
+                && denseFootprint / DENSE_OVER_SPARSE_MAX_RATIO <= sparseFootprint) {
+            return TreasureMapGridType.PACKED_DENSE;
+        }
+
+        TreasureMapGridType gridType = TreasureMapGridType.SPARSE;
+        for (TreasureMapGridType candidateType :
+                List.of(TreasureMapGridType.CHUNKED, TreasureMapGridType.PACKED_DENSE)) {
+            if (estimatedFootprints.get(candidateType) < estimatedFootprints.get(gridType)) {
+                gridType = candidateType;
+            }
+        }
+        if (estimatedFootprints.get(gridType) > heapBudgetInBytes) {
+            LOGGER.warn("La carte aux trésors " + columnCount + "x" + rowCount + " dépasse le budget mémoire de "
+                    + heapBudgetInBytes + " octets quelle que soit sa représentation en mémoire : la représentation "
+                    + TreasureMapGridType.MAPPED_FILE + " permet de la stocker hors du tas.");
+        }
+        return gridType;
+    }
+}
@@ -0,0 +1,122 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+import fr.carbon.treasuremap.utils.LineTokenizer;
+
+import java.util.List;
+
+import static fr.carbon.treasuremap.utils.TreasureMapGameUtils.MOUNTAIN_LINE_CHAR;
+import static fr.carbon.treasuremap.utils.TreasureMapGameUtils.TREASURE_LINE_CHAR;
+
+/**
+ * Source des lignes du fichier en entrée, parcourues une à une et relisibles : la carte aux trésors est construite en
+ * deux passes (comptage des entités, puis remplissage), sans jamais conserver toutes les lignes en mémoire.
+ */
+@FunctionalInterface
+public interface TreasureMapLineSource {
+
+    /**
+     * Transmet chaque ligne utile du fichier, dans l'ordre, au consommateur.
+     *
+     * @param lineConsumer : le consommateur des lignes.
+     * @throws ParseLineException en cas d'erreur de lecture, ou si le consommateur rejette une ligne.
+     */
+    void forEachLine(LineConsumer lineConsumer) throws ParseLineException;
+
+    /**
+     * Transmet chaque ligne utile du fichier, dans l'ordre, découpée par un {@link LineTokenizer} réutilisé d'une
+     * ligne à l'autre. Par défaut, chaque ligne lue est découpée après coup ; une source qui lit directement les
+     * octets du fichier les découpe sans créer de {@link String}.
+     *
+     * @param lineConsumer : le consommateur des lignes découpées, qui ne doit pas conserver le découpage.
+     * @throws ParseLineException en cas d'erreur de lecture, ou si le consommateur rejette une ligne.
+     */
+    default void forEachTokenizedLine(TokenizedLineConsumer lineConsumer) throws ParseLineException {
+        LineTokenizer lineTokenizer = new LineTokenizer();
+        forEachLine(line -> lineConsumer.accept(lineTokenizer.reset(line)));
+    }
+
+    /**
+     * Transmet chaque ligne utile du fichier, dans l'ordre, lue par {@link ParsedLineConsumer#accept(LineTokenizer)}.
+     * Par défaut les lignes sont lues l'une après l'autre ; une source peut les lire en parallèle, tant qu'elle les
+     * transmet dans l'ordre du fichier.
+     *
+     * @param lineConsumer : le consommateur des lignes lues.
+     * @throws ParseLineException en cas d'erreur de lecture, ou si le consommateur rejette une ligne.
+     */
+    default void forEachParsedLine(ParsedLineConsumer lineConsumer) throws ParseLineException {
+        forEachTokenizedLine(lineConsumer::accept);
+    }
+
+    /**
+     * @param lines : des lignes déjà lues.
+     * @return la source parcourant ces lignes.
+     */
+    static TreasureMapLineSource of(List<String> lines) {
+        return lineConsumer -> {
+            for (String line : lines) {
+                lineConsumer.accept(line);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface LineConsumer {
+
+        void accept(String line) throws ParseLineException;
+    }
+
+    @FunctionalInterface
+    interface TokenizedLineConsumer {
+
+        void accept(LineTokenizer line) throws ParseLineException;
+    }
+
+    /**
+     * Consommateur de lignes lues : les montagnes et trésors dont les informations sont des entiers sont transmis
+     * sous forme de valeurs, toute autre ligne (carte, aventurier, ligne invalide) sous forme de texte.
+     */
+    interface ParsedLineConsumer {
+
+        void acceptMountain(int horizontalPosition, int verticalPosition) throws ParseLineException;
+
+        void acceptTreasure(int horizontalPosition, int verticalPosition, int count) throws ParseLineException;
+
+        void acceptLine(String line) throws ParseLineException;
+
+        /**
+         * Lit une ligne découpée et la transmet à la méthode correspondant à son contenu.
+         */
+        default void accept(LineTokenizer line) throws ParseLineException {
+            switch (line.getKind()) {
+                case MOUNTAIN_LINE_CHAR -> {
+                    if (line.getFieldCount() >= 3) {
+                        long horizontalPosition = line.parseIntField(1);
+                        long verticalPosition = line.parseIntField(2);
+                        if (horizontalPosition != LineTokenizer.NOT_AN_INT
+                                && verticalPosition != LineTokenizer.NOT_AN_INT) {
+                            acceptMountain((int) horizontalPosition, (int) verticalPosition);
+                            return;
+                        }
+                    }
+                }
+                case TREASURE_LINE_CHAR -> {
+                    if (line.getFieldCount() >= 4) {
+                        long horizontalPosition = line.parseIntField(1);
+                        long verticalPosition = line.parseIntField(2);
+                        long count = line.parseIntField(3);
+                        if (horizontalPosition != LineTokenizer.NOT_AN_INT
+                                && verticalPosition != LineTokenizer.NOT_AN_INT
+                                && count != LineTokenizer.NOT_AN_INT) {
+                            acceptTreasure((int) horizontalPosition, (int) verticalPosition, (int) count);
+                            return;
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+            acceptLine(line.toString());
+        }
+    }
+}
@@ -2,10 +2,21 @@ package fr.carbon.treasuremap.service;
 
 import fr.carbon.treasuremap.exception.*;
 import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.ChunkedGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapEntityCounts;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridPlan;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridType;
+import fr.carbon.treasuremap.utils.LineTokenizer;
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
 
 import static fr.carbon.treasuremap.utils.TreasureMapGameUtils.*;
@@ -18,13 +29,23 @@ public class TreasureMapService {
     private final AdventurerService adventurerService;
     private final MountainService mountainService;
     private final TreasureService treasureService;
+    private final TreasureMapGridPlannerService treasureMapGridPlannerService;
 
     public TreasureMapService(AdventurerService adventurerService,
                               MountainService mountainService,
                               TreasureService treasureService) {
+        this(adventurerService, mountainService, treasureService, new TreasureMapGridPlannerService());
+    }
+
+    @Autowired
+    public TreasureMapService(AdventurerService adventurerService,
+                              MountainService mountainService,
+                              TreasureService treasureService,
+                              TreasureMapGridPlannerService treasureMapGridPlannerService) {
         this.adventurerService = adventurerService;
         this.mountainService = mountainService;
         this.treasureService = treasureService;
+        this.treasureMapGridPlannerService = treasureMapGridPlannerService;
     }
 
     /**
@@ -35,40 +56,183 @@ public class TreasureMapService {
      * @throws ParseLineException en cas de problème de lecture des informations contenues dans le fichier.
      */
     public TreasureMap createTreasureMapFromInputFile(List<String> inputFileLines) throws ParseLineException {
-        if (inputFileLines.get(0).toUpperCase().charAt(0) != TREASURE_MAP_LINE_CHAR) {
-            throw new ParseLineException("Erreur lors de l'initialisation de la carte aux trésors : " +
-                    "la première ligne du fichier d'entrée doit commencer par la lettre C.");
+        return createTreasureMapFromInputFile(inputFileLines, null);
+    }
+
+    /**
+     * Créé et remplit la carte aux trésors à partir des informations fournies dans le fichier en entrée, en imposant
+     * la représentation des cellules de la carte.
+     *
+     * @param inputFileLines : les lignes du fichier.
+     * @param gridType       : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                       {@link TreasureMapGridPlannerService} la choisir.
+     * @return la carte aux trésors {@link TreasureMap}.
+     * @throws ParseLineException en cas de problème de lecture des informations contenues dans le fichier.
+     */
+    public TreasureMap createTreasureMapFromInputFile(List<String> inputFileLines, TreasureMapGridType gridType)
+            throws ParseLineException {
+        return createTreasureMapFromInputFile(inputFileLines, gridType, null);
+    }
+
+    /**
+     * Créé et remplit la carte aux trésors à partir des informations fournies dans le fichier en entrée, en imposant
+     * la représentation des cellules de la carte et, pour {@link TreasureMapGridType#MAPPED_FILE}, son fichier support.
+     *
+     * @param inputFileLines : les lignes du fichier.
+     * @param gridType       : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                       {@link TreasureMapGridPlannerService} la choisir.
+     * @param mappedFile     : le fichier support d'une grille projetée en mémoire, null pour un fichier temporaire.
+     * @return la carte aux trésors {@link TreasureMap}.
+     * @throws ParseLineException en cas de problème de lecture des informations contenues dans le fichier.
+     */
+    public TreasureMap createTreasureMapFromInputFile(List<String> inputFileLines,
+                                                      TreasureMapGridType gridType,
+                                                      Path mappedFile) throws ParseLineException {
+        return createTreasureMapFromInputFile(TreasureMapLineSource.of(inputFileLines), gridType, mappedFile);
+    }
+
+    /**
+     * Créé et remplit la carte aux trésors en parcourant deux fois les lignes du fichier en entrée : la première passe
+     * compte les entités afin de choisir la représentation de la grille, la seconde transmet chaque ligne à un
+     * {@link TreasureMapBuilder}. Seule la ligne courante est en mémoire, quelle que soit la taille du fichier.
+     *
+     * @param lineSource : la source des lignes du fichier.
+     * @param gridType   : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                   {@link TreasureMapGridPlannerService} la choisir.
+     * @param mappedFile : le fichier support d'une grille projetée en mémoire, null pour un fichier temporaire.
+     * @return la carte aux trésors {@link TreasureMap}.
+     * @throws ParseLineException en cas de problème de lecture des informations contenues dans le fichier.
+     */
+    public TreasureMap createTreasureMapFromInputFile(TreasureMapLineSource lineSource,
+                                                      TreasureMapGridType gridType,
+                                                      Path mappedFile) throws ParseLineException {
+        EntityLineCounter entityLineCounter = new EntityLineCounter();
+        lineSource.forEachParsedLine(entityLineCounter);
+
+        TreasureMapBuilder treasureMapBuilder =
+                new TreasureMapBuilder(this, entityLineCounter.getEntityCounts(), gridType, mappedFile);
+        lineSource.forEachParsedLine(treasureMapBuilder);
+        TreasureMap treasureMap = treasureMapBuilder.build();
+        logTreasureMapFootprint(treasureMap);
+        return treasureMap;
+    }
+
+    /**
+     * Compte les lignes de chaque type d'entité et les tuiles de {@link ChunkedGrid} qu'elles occupent, afin d'estimer
+     * la mémoire nécessaire avant de construire la carte. Les lignes invalides sont ignorées, leur erreur étant levée
+     * lors du remplissage de la carte.
+     *
+     * @param inputFileLines : les lignes du fichier, y compris la ligne de la carte.
+     * @return le nombre de montagnes, trésors et aventuriers annoncés.
+     */
+    protected TreasureMapEntityCounts countEntityLines(List<String> inputFileLines) {
+        EntityLineCounter entityLineCounter = new EntityLineCounter();
+        for (String line : inputFileLines) {
+            entityLineCounter.acceptLine(line);
         }
+        return entityLineCounter.getEntityCounts();
+    }
+
+    /**
+     * Compteur des entités annoncées, alimenté ligne par ligne. La ligne de la carte et les lignes invalides sont
+     * ignorées.
+     */
+    protected static class EntityLineCounter implements TreasureMapLineSource.ParsedLineConsumer {
+
+        private int mountainCount;
+        private int treasureCount;
+        private int adventurerCount;
+        private final LongIntOpenHashMap occupiedTiles = new LongIntOpenHashMap(0);
+        private final LineTokenizer lineTokenizer = new LineTokenizer();
 
-        TreasureMap treasureMap = getTreasureMapDetailsFromInputFileLine(inputFileLines.get(0));
-        TreasureMapCell[][] treasureMapCells = treasureMap.getTreasureMapCells();
+        @Override
+        public void acceptMountain(int horizontalPosition, int verticalPosition) {
+            mountainCount++;
+            addOccupiedTile(horizontalPosition, verticalPosition);
+        }
+
+        @Override
+        public void acceptTreasure(int horizontalPosition, int verticalPosition, int count) {
+            treasureCount++;
+            addOccupiedTile(horizontalPosition, verticalPosition);
+        }
+
+        @Override
+        public void acceptLine(String line) {
+            countLine(lineTokenizer.reset(line));
+        }
 
-        int apparitionOrder = 1;
-        for (String line : inputFileLines.stream().skip(1).toList()) {
-            char treasureMapObject = line.toUpperCase().charAt(0);
-            switch (treasureMapObject) {
-                case MOUNTAIN_LINE_CHAR -> putMountainOnTreasureMapCell(line, treasureMap, treasureMapCells);
-                case TREASURE_LINE_CHAR -> putTreasureOnTreasureMapCell(line, treasureMap, treasureMapCells);
+        private void countLine(LineTokenizer line) {
+            int positionFieldIndex;
+            switch (line.getKind()) {
+                case MOUNTAIN_LINE_CHAR -> {
+                    mountainCount++;
+                    positionFieldIndex = 1;
+                }
+                case TREASURE_LINE_CHAR -> {
+                    treasureCount++;
+                    positionFieldIndex = 1;
+                }
                 case ADVENTURER_LINE_CHAR -> {
-                    putAdventurerOnTreasureMapCell(line, treasureMap, treasureMapCells, apparitionOrder);
-                    apparitionOrder++;
+                    adventurerCount++;
+                    positionFieldIndex = 2;
+                }
+                default -> {
+                    return;
                 }
-                default -> throw new ParseLineException("Erreur lors du remplissage de la carte aux trésors : " +
-                        "chaque ligne du fichier en entrée après la première doit commencer par la lettre A, M, ou T."
-                );
             }
+            addOccupiedTile(line, positionFieldIndex);
+        }
+
+        public TreasureMapEntityCounts getEntityCounts() {
+            return new TreasureMapEntityCounts(mountainCount, treasureCount, adventurerCount, occupiedTiles.size());
+        }
+
+        private void addOccupiedTile(LineTokenizer line, int positionFieldIndex) {
+            if (line.getFieldCount() <= positionFieldIndex + 1) return;
+            long horizontalPosition = line.parseIntField(positionFieldIndex);
+            long verticalPosition = line.parseIntField(positionFieldIndex + 1);
+            if (horizontalPosition < 0 || verticalPosition < 0) return;
+            addOccupiedTile((int) horizontalPosition, (int) verticalPosition);
+        }
+
+        private void addOccupiedTile(int horizontalPosition, int verticalPosition) {
+            if (horizontalPosition < 0 || verticalPosition < 0) return;
+            occupiedTiles.put(PackedCoordinates.pack(
+                    horizontalPosition >> ChunkedGrid.TILE_SHIFT,
+                    verticalPosition >> ChunkedGrid.TILE_SHIFT
+            ), 1);
         }
-        return treasureMap;
     }
 
     /**
      * Récupère les informations de la carte aux trésors depuis la ligne correspondante dans le fichier en entrée.
      *
      * @param line : ligne du fichier.
-     * @return un objet carte aux Trésors {@link TreasureMapCell}.
+     * @return un objet carte aux Trésors {@link TreasureMap}.
      * @throws ParseTreasureMapLineException en cas d'erreur lors de la lecture des informations du fichier.
      */
     protected TreasureMap getTreasureMapDetailsFromInputFileLine(String line) throws ParseTreasureMapLineException {
+        return getTreasureMapDetailsFromInputFileLine(line, TreasureMapEntityCounts.NONE, null, null);
+    }
+
+    /**
+     * Récupère les informations de la carte aux trésors depuis la ligne correspondante dans le fichier en entrée.
+     *
+     * @param line         : ligne du fichier.
+     * @param entityCounts : le nombre d'entités annoncées dans le fichier, pour estimer la mémoire nécessaire.
+     * @param gridType     : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                     {@link TreasureMapGridPlannerService} la choisir.
+     * @param mappedFile   : le fichier support d'une grille projetée en mémoire, null pour un fichier temporaire.
+     * @return un objet carte aux Trésors {@link TreasureMap}.
+     * @throws ParseTreasureMapLineException en cas d'erreur lors de la lecture des informations du fichier ou de
+     *                                       création du fichier support de la grille.
+     */
+    protected TreasureMap getTreasureMapDetailsFromInputFileLine(String line,
+                                                               TreasureMapEntityCounts entityCounts,
+                                                               TreasureMapGridType gridType,
+                                                               Path mappedFile)
+            throws ParseTreasureMapLineException {
         String[] treasureMapDetails = splitLine(line);
         if (treasureMapDetails.length < 3) {
             throw new ParseTreasureMapLineException(ERROR_WHEN_READING_DETAILS +
@@ -83,7 +247,47 @@ public class TreasureMapService {
             throw new ParseTreasureMapLineException(ple.getMessage());
         }
 
-        return new TreasureMap(Integer.parseInt(columnCount), Integer.parseInt(rowCount));
+        return createTreasureMap(Integer.parseInt(columnCount), Integer.parseInt(rowCount), entityCounts, gridType,
+                mappedFile);
+    }
+
+    /**
+     * Créé une carte aux trésors vide, dont la représentation est choisie selon ses dimensions et le nombre d'entités
+     * qu'elle recevra.
+     *
+     * @param columns      : le nombre de colonnes de la carte.
+     * @param rows         : le nombre de lignes de la carte.
+     * @param entityCounts : le nombre d'entités à placer, pour estimer la mémoire nécessaire.
+     * @param gridType     : la représentation {@link TreasureMapGridType} à utiliser, null pour laisser
+     *                     {@link TreasureMapGridPlannerService} la choisir.
+     * @param mappedFile   : le fichier support d'une grille projetée en mémoire, null pour un fichier temporaire.
+     * @return la carte aux trésors vide.
+     * @throws ParseTreasureMapLineException en cas d'erreur de création du fichier support de la grille.
+     */
+    protected TreasureMap createTreasureMap(int columns,
+                                            int rows,
+                                            TreasureMapEntityCounts entityCounts,
+                                            TreasureMapGridType gridType,
+                                            Path mappedFile) throws ParseTreasureMapLineException {
+        TreasureMapGridPlan gridPlan =
+                treasureMapGridPlannerService.planTreasureMapGrid(columns, rows, entityCounts, gridType);
+        try {
+            return new TreasureMap(
+                    gridPlan.getGridType().createGrid(columns, rows, entityCounts, mappedFile),
+                    gridPlan
+            );
+        } catch (UncheckedIOException e) {
+            throw new ParseTreasureMapLineException("Impossible de créer le fichier support de la carte aux trésors : "
+                    + e.getCause().getMessage());
+        }
+    }
+
+    protected void logTreasureMapFootprint(TreasureMap treasureMap) {
+        TreasureMapGridPlan gridPlan = treasureMap.getGridPlan();
+        LOGGER.info("Carte aux trésors construite avec la représentation " + gridPlan.getGridType()
+                + " : mémoire estimée " + gridPlan.getEstimatedFootprintInBytes()
+                + " octets, mémoire réelle " + treasureMap.getGrid().getFootprintInBytes() + " octets."
+        );
     }
 
     protected boolean isPositionNegativeOrOutOfBounds(Position position, TreasureMap treasureMap) {
@@ -96,17 +300,13 @@ public class TreasureMapService {
     /**
      * Permet de s'assurer qu'une case de la carte aux trésors est libre.
      *
-     * @param position         : la position de la case dans la carte.
-     * @param treasureMapCells : La carte aux trésors {@link TreasureMapCell} sous forme de matrice.
+     * @param position : la position de la case dans la carte.
+     * @param grid     : le contenu des cellules de la carte aux trésors {@link TreasureMapGrid}.
      * @return true si la case est libre.
      */
-    protected boolean isPositionNullOrEmptyTakenOnTreasureMap(Position position,
-                                                              TreasureMapCell[][] treasureMapCells) {
+    protected boolean isPositionNullOrEmptyTakenOnTreasureMap(Position position, TreasureMapGrid grid) {
         return position == null
-                || treasureMapCells[position.getHorizontalPosition()][position.getVerticalPosition()] == null
-                || treasureMapCells[position.getHorizontalPosition()][position.getVerticalPosition()].getMountain() != null
-                || treasureMapCells[position.getHorizontalPosition()][position.getVerticalPosition()].getTreasure() != null
-                || treasureMapCells[position.getHorizontalPosition()][position.getVerticalPosition()].getAdventurer() != null;
+                || !grid.isCellAvailable(position.getHorizontalPosition(), position.getVerticalPosition());
     }
 
     private void logWhenPositionIsNegativeOrOutOfBounds(Position position,
@@ -125,9 +325,9 @@ public class TreasureMapService {
     }
 
     private void logWhenPositionIsTaken(Position position,
-                                        TreasureMapCell[][] treasureMapCells,
+                                        TreasureMapGrid grid,
                                         String objectToAdd) {
-        if (isPositionNullOrEmptyTakenOnTreasureMap(position, treasureMapCells)) {
+        if (isPositionNullOrEmptyTakenOnTreasureMap(position, grid)) {
             LOGGER.warn("L'emplacement ("
                     + position.getHorizontalPosition()
                     + ","
@@ -140,98 +340,120 @@ public class TreasureMapService {
     /**
      * Ajoute une {@link Mountain} dans un emplacement de la carte aux trésors {@link TreasureMap}.
      *
-     * @param line             ligne du fichier en entrée contenant les informations de la montagne.
-     * @param treasureMap      : la carte aux trésors.
-     * @param treasureMapCells : matrice de {@link TreasureMapCell} représentant la carte aux trésors.
+     * @param line        ligne du fichier en entrée contenant les informations de la montagne.
+     * @param treasureMap : la carte aux trésors.
      * @throws ParseMountainLineException en cas d'erreur de lecture des informations.
      */
-    protected void putMountainOnTreasureMapCell(String line,
-                                                TreasureMap treasureMap,
-                                                TreasureMapCell[][] treasureMapCells)
+    protected void putMountainOnTreasureMapCell(String line, TreasureMap treasureMap)
             throws ParseMountainLineException {
         Mountain mountain = mountainService.createMountainFromInputFileLine(line);
         if (mountain == null) return;
 
+        putMountainOnTreasureMapCell(mountain, treasureMap);
+    }
+
+    /**
+     * Ajoute une {@link Mountain} déjà lue dans un emplacement de la carte aux trésors {@link TreasureMap}, si cet
+     * emplacement est dans la carte et libre.
+     *
+     * @param mountain    : la montagne.
+     * @param treasureMap : la carte aux trésors.
+     */
+    protected void putMountainOnTreasureMapCell(Mountain mountain, TreasureMap treasureMap) {
+        TreasureMapGrid grid = treasureMap.getGrid();
         Position mountainPosition = mountain.getPosition();
         if (isPositionNegativeOrOutOfBounds(mountainPosition, treasureMap)) {
             logWhenPositionIsNegativeOrOutOfBounds(mountainPosition, treasureMap, "Montagne");
             return;
         }
-        if (isPositionNullOrEmptyTakenOnTreasureMap(mountainPosition, treasureMapCells)) {
-            logWhenPositionIsTaken(mountainPosition, treasureMapCells, "Montagne");
+        if (isPositionNullOrEmptyTakenOnTreasureMap(mountainPosition, grid)) {
+            logWhenPositionIsTaken(mountainPosition, grid, "Montagne");
             return;
         }
 
-        TreasureMapCell treasureMapCell = new TreasureMapCell();
-        treasureMapCell.setMountain(mountain);
-
-        treasureMapCells[mountainPosition.getHorizontalPosition()][mountainPosition.getVerticalPosition()]
-                = treasureMapCell;
+        grid.setMountain(mountainPosition.getHorizontalPosition(), mountainPosition.getVerticalPosition(), mountain);
+        treasureMap.getMountainIndex().add(mountainPosition.getHorizontalPosition(),
+                mountainPosition.getVerticalPosition(), mountain);
     }
 
     /**
      * Ajoute un {@link Treasure} dans un emplacement de la carte aux trésors {@link TreasureMap}.
      *
-     * @param line             ligne du fichier en entrée contenant les informations du trésor.
-     * @param treasureMap      : la carte aux trésors.
-     * @param treasureMapCells : matrice de {@link TreasureMapCell} représentant la carte aux trésors.
+     * @param line        ligne du fichier en entrée contenant les informations du trésor.
+     * @param treasureMap : la carte aux trésors.
      * @throws ParseTreasureLineException en cas d'erreur de lecture des informations.
      */
-    protected void putTreasureOnTreasureMapCell(String line,
-                                                TreasureMap treasureMap,
-                                                TreasureMapCell[][] treasureMapCells) throws ParseTreasureLineException {
+    protected void putTreasureOnTreasureMapCell(String line, TreasureMap treasureMap)
+            throws ParseTreasureLineException {
         Treasure treasure = treasureService.createTreasureFromInputFileLine(line);
         if (treasure == null) return;
 
+        putTreasureOnTreasureMapCell(treasure, treasureMap);
+    }
+
+    /**
+     * Ajoute un {@link Treasure} déjà lu dans un emplacement de la carte aux trésors {@link TreasureMap}, si cet
+     * emplacement est dans la carte et libre.
+     *
+     * @param treasure    : le trésor.
+     * @param treasureMap : la carte aux trésors.
+     */
+    protected void putTreasureOnTreasureMapCell(Treasure treasure, TreasureMap treasureMap) {
+        TreasureMapGrid grid = treasureMap.getGrid();
         Position treasurePosition = treasure.getPosition();
         if (isPositionNegativeOrOutOfBounds(treasurePosition, treasureMap)) {
             logWhenPositionIsNegativeOrOutOfBounds(treasurePosition, treasureMap, "Trésor");
             return;
         }
-        if (isPositionNullOrEmptyTakenOnTreasureMap(treasurePosition, treasureMapCells)) {
-            logWhenPositionIsTaken(treasurePosition, treasureMapCells, "Trésor");
+        if (isPositionNullOrEmptyTakenOnTreasureMap(treasurePosition, grid)) {
+            logWhenPositionIsTaken(treasurePosition, grid, "Trésor");
             return;
         }
 
-        TreasureMapCell treasureMapCell = new TreasureMapCell();
-        treasureMapCell.setTreasure(treasure);
-
-        treasureMapCells[treasurePosition.getHorizontalPosition()][treasurePosition.getVerticalPosition()]
-                = treasureMapCell;
+        grid.setTreasure(treasurePosition.getHorizontalPosition(), treasurePosition.getVerticalPosition(), treasure);
+        treasureMap.getTreasureIndex().add(treasurePosition.getHorizontalPosition(),
+                treasurePosition.getVerticalPosition(), treasure);
     }
 
     /**
      * Ajoute un {@link Adventurer} dans un emplacement de la carte aux trésors {@link TreasureMap}.
      *
-     * @param line             ligne du fichier en entrée contenant les informations de l'aventurier.
-     * @param treasureMap      : la carte aux trésors.
-     * @param treasureMapCells : matrice de {@link TreasureMapCell} représentant la carte aux trésors.
-     * @param apparitionOrder  : ordre d'apparition de l'aventurier dans le fichier en entrée.
+     * @param line            ligne du fichier en entrée contenant les informations de l'aventurier.
+     * @param treasureMap     : la carte aux trésors.
+     * @param apparitionOrder : ordre d'apparition de l'aventurier dans le fichier en entrée.
      * @throws ParseAdventurerLineException en cas d'erreur de lecture des informations.
      */
-    protected void putAdventurerOnTreasureMapCell(String line,
-                                                  TreasureMap treasureMap,
-                                                  TreasureMapCell[][] treasureMapCells,
-                                                  int apparitionOrder)
+    protected void putAdventurerOnTreasureMapCell(String line, TreasureMap treasureMap, int apparitionOrder)
             throws ParseAdventurerLineException {
         Adventurer adventurer = adventurerService.createAdventurerFromInputFileLine(line);
         if (adventurer == null) return;
 
+        putAdventurerOnTreasureMapCell(adventurer, treasureMap, apparitionOrder);
+    }
+
+    /**
+     * Ajoute un {@link Adventurer} déjà lu dans un emplacement de la carte aux trésors {@link TreasureMap}, si cet
+     * emplacement est dans la carte et libre.
+     *
+     * @param adventurer      : l'aventurier.
+     * @param treasureMap     : la carte aux trésors.
+     * @param apparitionOrder : ordre d'apparition de l'aventurier dans le fichier en entrée.
+     */
+    protected void putAdventurerOnTreasureMapCell(Adventurer adventurer, TreasureMap treasureMap, int apparitionOrder) {
+        TreasureMapGrid grid = treasureMap.getGrid();
         Position adventurerPosition = adventurer.getPosition();
         if (isPositionNegativeOrOutOfBounds(adventurerPosition, treasureMap)) {
             logWhenPositionIsNegativeOrOutOfBounds(adventurerPosition, treasureMap, "Montagne");
             return;
         }
-        if (isPositionNullOrEmptyTakenOnTreasureMap(adventurerPosition, treasureMapCells)) {
-            logWhenPositionIsTaken(adventurerPosition, treasureMapCells, "Aventurier");
+        if (isPositionNullOrEmptyTakenOnTreasureMap(adventurerPosition, grid)) {
+            logWhenPositionIsTaken(adventurerPosition, grid, "Aventurier");
             return;
         }
 
-        TreasureMapCell treasureMapCell = new TreasureMapCell();
         adventurer.setApparitionOrder(apparitionOrder);
-        treasureMapCell.setAdventurer(adventurer);
-
-        treasureMapCells[adventurerPosition.getHorizontalPosition()][adventurerPosition.getVerticalPosition()]
-                = treasureMapCell;
+        grid.setAdventurer(adventurerPosition.getHorizontalPosition(), adventurerPosition.getVerticalPosition(),
+                adventurer);
+        treasureMap.getAdventurerRegistry().register(adventurer);
     }
 }
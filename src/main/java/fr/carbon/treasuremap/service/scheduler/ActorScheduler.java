@@ -0,0 +1,93 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.MovementProgram;
+import fr.carbon.treasuremap.model.TreasureMap;
+import fr.carbon.treasuremap.model.grid.SparseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Ordonnancement par acteurs : chaque aventurier est un acteur d'un {@link AdventurerActorSystem}, auquel ses
+ * déplacements sont envoyés un à un, tour par tour, comme s'ils arrivaient d'un flux. L'ordre entre aventuriers n'est
+ * pas garanti, le résultat peut donc varier d'une exécution à l'autre.
+ * <p>
+ * Sur une représentation qui ne supporte pas les modifications concurrentes ({@link SparseGrid}), un seul verrou
+ * protège toute la carte et les acteurs sont appliqués l'un après l'autre.
+ */
+public class ActorScheduler implements AdventurerScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActorScheduler.class);
+
+    private static final int MAILBOX_CAPACITY = 16;
+    private static final int STRIPES_PER_PROCESSOR = 4;
+
+    @Override
+    public void moveAdventurers(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        int stripeCount = getStripeCount(treasureMap.getGrid());
+        try (AdventurerActorSystem actorSystem = new AdventurerActorSystem(treasureMap.getGrid(), stripeCount,
+                MAILBOX_CAPACITY)) {
+            long start = System.nanoTime();
+            long movementCount = sendMovements(actorSystem, adventurers);
+            actorSystem.awaitQuiescence();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            treasureMap.getSimulationReport().addBlockedMovements(actorSystem.getRefusedMovementCount());
+            LOGGER.info("Simulation par acteurs (" + actorSystem.getExecutor().getClass().getSimpleName() + ") : "
+                    + movementCount + " déplacement(s) de " + adventurers.size() + " aventurier(s) en "
+                    + elapsedMillis + " ms, " + actorSystem.getRefusedMovementCount() + " déplacement(s) refusé(s).");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La simulation par acteurs a été interrompue.", e);
+        }
+    }
+
+    private static int getStripeCount(TreasureMapGrid grid) {
+        if (!grid.supportsConcurrentCellUpdates() && grid.getConcurrentRowBandHeight() == 0) {
+            LOGGER.warn("La représentation " + grid.getClass().getSimpleName() + " ne supporte pas les modifications "
+                    + "concurrentes : les déplacements des acteurs sont appliqués sous un seul verrou.");
+            return 1;
+        }
+        return STRIPES_PER_PROCESSOR * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Envoie le i-ème déplacement de chaque aventurier avant le suivant, en retirant de la file les aventuriers dont
+     * la séquence est terminée.
+     *
+     * @return le nombre de déplacements envoyés.
+     */
+    private long sendMovements(AdventurerActorSystem actorSystem, List<Adventurer> adventurers)
+            throws InterruptedException {
+        int adventurerCount = adventurers.size();
+        AdventurerActorSystem.AdventurerActor[] actors = new AdventurerActorSystem.AdventurerActor[adventurerCount];
+        MovementProgram[] movementPrograms = new MovementProgram[adventurerCount];
+        int[] activeAdventurerIds = new int[adventurerCount];
+        int activeCount = 0;
+        for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+            actors[adventurerId] = actorSystem.spawn(adventurers.get(adventurerId));
+            movementPrograms[adventurerId] = MovementProgram.of(adventurers.get(adventurerId).getMovements());
+            if (!movementPrograms[adventurerId].isEmpty()) {
+                activeAdventurerIds[activeCount++] = adventurerId;
+            }
+        }
+
+        long movementCount = 0;
+        for (int movementIndex = 0; activeCount > 0; movementIndex++) {
+            int stillActiveCount = 0;
+            for (int i = 0; i < activeCount; i++) {
+                int adventurerId = activeAdventurerIds[i];
+                actors[adventurerId].send(movementPrograms[adventurerId].get(movementIndex));
+                movementCount++;
+                if (movementIndex + 1 < movementPrograms[adventurerId].size()) {
+                    activeAdventurerIds[stillActiveCount++] = adventurerId;
+                }
+            }
+            activeCount = stillActiveCount;
+        }
+        return movementCount;
+    }
+}
@@ -0,0 +1,211 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.Movement;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Système d'acteurs : chaque aventurier est un {@link AdventurerActor} doté d'une boîte aux lettres bornée de
+ * déplacements, qui peuvent lui être envoyés au fil de l'eau depuis n'importe quel thread.
+ * <p>
+ * Un acteur n'a pas de thread propre : lorsqu'il reçoit des déplacements, il est planifié sur l'{@link Executor} du
+ * système, vide une partie de sa boîte aux lettres puis rend la main. Des centaines de milliers d'acteurs se partagent
+ * ainsi quelques threads. Les déplacements sont appliqués par un {@link StripedMovementExecutor}, qui coordonne les
+ * acteurs par verrouillage des régions de départ et d'arrivée.
+ * <p>
+ * Un déplacement qui échoue compte comme traité, afin que {@link #awaitQuiescence()} ne reste pas bloqué : l'acteur
+ * concerné ignore alors les déplacements suivants de sa boîte aux lettres, et la première erreur est relancée par
+ * {@link #awaitQuiescence()}.
+ */
+public class AdventurerActorSystem implements AutoCloseable {
+
+    private static final int MOVEMENTS_PER_DRAIN = 64;
+    private static final Movement[] MOVEMENTS = Movement.values();
+
+    private final StripedMovementExecutor stripedMovementExecutor;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final int mailboxCapacity;
+
+    private final AtomicLong pendingMovementCount = new AtomicLong();
+    private final LongAdder refusedMovementCount = new LongAdder();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private final Object quiescenceMonitor = new Object();
+
+    /**
+     * @param grid            : le contenu de la carte aux trésors.
+     * @param stripeCount     : le nombre de verrous de régions souhaité.
+     * @param mailboxCapacity : le nombre maximal de déplacements en attente par acteur.
+     */
+    public AdventurerActorSystem(TreasureMapGrid grid, int stripeCount, int mailboxCapacity) {
+        this(grid, stripeCount, mailboxCapacity, null);
+    }
+
+    /**
+     * @param executor : l'exécuteur des acteurs, ou null pour des threads virtuels lorsque la JVM en dispose, le
+     *                 {@link ForkJoinPool#commonPool()} sinon.
+     */
+    public AdventurerActorSystem(TreasureMapGrid grid, int stripeCount, int mailboxCapacity, Executor executor) {
+        if (mailboxCapacity < 1) {
+            throw new IllegalArgumentException("La capacité d'une boîte aux lettres doit être strictement positive.");
+        }
+        this.stripedMovementExecutor = new StripedMovementExecutor(grid, stripeCount);
+        this.mailboxCapacity = mailboxCapacity;
+        this.ownsExecutor = executor == null;
+        this.executor = executor != null ? executor : createDefaultExecutor();
+    }
+
+    /**
+     * Les threads virtuels n'existent qu'à partir de Java 21 : ils sont recherchés par réflexion afin que le projet
+     * reste compilable en Java 17.
+     */
+    static Executor createDefaultExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return ForkJoinPool.commonPool();
+        }
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public AdventurerActor spawn(Adventurer adventurer) {
+        return new AdventurerActor(adventurer);
+    }
+
+    /**
+     * @return le nombre de déplacements en avant refusés depuis la création du système.
+     */
+    public long getRefusedMovementCount() {
+        return refusedMovementCount.sum();
+    }
+
+    /**
+     * Attend que tous les déplacements envoyés aient été traités.
+     *
+     * @throws RuntimeException la première erreur levée par un déplacement, le cas échéant.
+     */
+    public void awaitQuiescence() throws InterruptedException {
+        synchronized (quiescenceMonitor) {
+            while (pendingMovementCount.get() > 0) {
+                quiescenceMonitor.wait();
+            }
+        }
+        Throwable failure = firstFailure.get();
+        if (failure instanceof Error error) throw error;
+        if (failure != null) throw (RuntimeException) failure;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor && executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void onMovementApplied() {
+        if (pendingMovementCount.decrementAndGet() == 0) {
+            synchronized (quiescenceMonitor) {
+                quiescenceMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Acteur d'un aventurier. Sa boîte aux lettres est un tampon circulaire de codes de déplacements, protégé par le
+     * moniteur de l'acteur.
+     */
+    public final class AdventurerActor {
+
+        private final Adventurer adventurer;
+        private final byte[] mailbox = new byte[mailboxCapacity];
+        private int mailboxHead;
+        private int mailboxSize;
+        private boolean scheduled;
+        private boolean failed;
+
+        private AdventurerActor(Adventurer adventurer) {
+            this.adventurer = adventurer;
+        }
+
+        public Adventurer getAdventurer() {
+            return adventurer;
+        }
+
+        /**
+         * Dépose un déplacement sans attendre.
+         *
+         * @return false si la boîte aux lettres est pleine.
+         */
+        public boolean offer(Movement movement) {
+            synchronized (this) {
+                if (mailboxSize == mailbox.length) return false;
+                enqueue(movement);
+            }
+            return true;
+        }
+
+        /**
+         * Dépose un déplacement, en attendant qu'une place se libère si la boîte aux lettres est pleine.
+         */
+        public void send(Movement movement) throws InterruptedException {
+            synchronized (this) {
+                while (mailboxSize == mailbox.length) {
+                    wait();
+                }
+                enqueue(movement);
+            }
+        }
+
+        private void enqueue(Movement movement) {
+            pendingMovementCount.incrementAndGet();
+            mailbox[(mailboxHead + mailboxSize) % mailbox.length] = (byte) movement.ordinal();
+            mailboxSize++;
+            if (!scheduled) {
+                scheduled = true;
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Applique au plus {@value #MOVEMENTS_PER_DRAIN} déplacements, puis se replanifie s'il en reste, afin de ne
+         * pas monopoliser un thread.
+         */
+        private void drain() {
+            for (int i = 0; i < MOVEMENTS_PER_DRAIN; i++) {
+                Movement movement;
+                synchronized (this) {
+                    if (mailboxSize == 0) {
+                        scheduled = false;
+                        return;
+                    }
+                    movement = MOVEMENTS[mailbox[mailboxHead]];
+                    mailboxHead = (mailboxHead + 1) % mailbox.length;
+                    mailboxSize--;
+                    notifyAll();
+                }
+                try {
+                    if (!failed && !stripedMovementExecutor.applyMovement(adventurer, movement)) {
+                        refusedMovementCount.increment();
+                    }
+                } catch (RuntimeException | Error e) {
+                    failed = true;
+                    firstFailure.compareAndSet(null, e);
+                } finally {
+                    onMovementApplied();
+                }
+            }
+            executor.execute(this::drain);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.TreasureMap;
+
+import java.util.List;
+
+/**
+ * Ordonnancement des déplacements des aventuriers sur la carte aux trésors : décide quel aventurier joue, dans quel
+ * ordre et combien de déplacements à la fois.
+ */
+public interface AdventurerScheduler {
+
+    /**
+     * Applique les déplacements de tous les aventuriers et renseigne le
+     * {@link fr.carbon.treasuremap.model.SimulationReport} de la carte.
+     *
+     * @param treasureMap : la carte aux trésors {@link TreasureMap}.
+     * @param adventurers : les aventuriers de la carte, triés par ordre d'apparition.
+     */
+    void moveAdventurers(TreasureMap treasureMap, List<Adventurer> adventurers);
+}
@@ -0,0 +1,67 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+/**
+ * Ordonnancements disponibles pour la simulation des déplacements.
+ */
+public enum AdventurerSchedulerType {
+    /**
+     * Chaque aventurier effectue toute sa séquence, par ordre d'apparition.
+     */
+    PRIORITY,
+    /**
+     * Résultat identique à {@link #PRIORITY}, les groupes d'aventuriers indépendants étant simulés en parallèle.
+     */
+    PARALLEL,
+    /**
+     * Tour par tour, chaque aventurier effectue un déplacement par tour, par ordre d'apparition.
+     */
+    ROUND_ROBIN,
+    /**
+     * Résultat identique à {@link #ROUND_ROBIN}, les déplacements de chaque tour étant évalués en parallèle.
+     */
+    SPECULATIVE,
+    /**
+     * Tour par tour, chaque aventurier effectue un lot de déplacements par tour, par ordre d'apparition.
+     */
+    BATCHED,
+    /**
+     * Tous les aventuriers effectuent leur séquence en même temps, sans ordre garanti entre eux.
+     */
+    FREE_FOR_ALL,
+    /**
+     * Chaque aventurier est un acteur auquel ses déplacements sont envoyés un à un, sans ordre garanti entre eux.
+     */
+    ACTOR,
+    /**
+     * Chaque aventurier se déplace selon son instant de départ et sa durée de déplacement, les déplacements
+     * simultanés étant joués par ordre d'apparition.
+     */
+    EVENT_DRIVEN;
+
+    /**
+     * @param batchSize : le nombre de déplacements par tour de l'ordonnancement {@link #BATCHED}.
+     * @return l'ordonnanceur correspondant.
+     */
+    public AdventurerScheduler createScheduler(int batchSize) {
+        return createScheduler(batchSize, false);
+    }
+
+    /**
+     * @param batchSize     : le nombre de déplacements par tour de l'ordonnancement {@link #BATCHED}.
+     * @param batchStepping : true pour calculer par lot les pas de l'ordonnancement {@link #ROUND_ROBIN}, sans effet
+     *                      sur les autres ordonnancements.
+     * @return l'ordonnanceur correspondant.
+     */
+    public AdventurerScheduler createScheduler(int batchSize, boolean batchStepping) {
+        return switch (this) {
+            case PRIORITY -> new PriorityScheduler();
+            case PARALLEL -> new PartitionedScheduler();
+            case ROUND_ROBIN -> batchStepping ? new BatchSteppingScheduler() : new TurnBasedScheduler(1);
+            case SPECULATIVE -> new SpeculativeScheduler();
+            case BATCHED -> new TurnBasedScheduler(batchSize);
+            case FREE_FOR_ALL -> new FreeForAllScheduler();
+            case ACTOR -> new ActorScheduler();
+            case EVENT_DRIVEN -> new EventDrivenScheduler();
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+/**
+ * Calcul par lot des prochaines positions d'aventuriers rangés en tableaux parallèles (un tableau par attribut), et
+ * des pas refusés d'avance : sortie de carte ou montagne.
+ * <p>
+ * Les déplacements des orientations sont calculés plutôt que lus dans
+ * {@link fr.carbon.treasuremap.utils.OrientationDeltas} : avec NORTH = 0, SOUTH = 1, EAST = 2 et WEST = 3, le sens
+ * vaut -1 ou 1 selon la parité de {@code o ^ (o >> 1)}, et l'axe est horizontal lorsque {@code o >> 1} vaut 1. Les
+ * montagnes sont lues dans un masque d'un bit par cellule, rangées ligne par ligne dans des mots de 32 bits.
+ * <p>
+ * Le calcul est confié à {@link VectorBatchStepKernel} lorsque le module incubateur {@code jdk.incubator.vector} est
+ * chargé ({@code --add-modules jdk.incubator.vector}). La boucle scalaire de cette classe traite alors les derniers
+ * aventuriers d'un lot qui ne remplissent pas un vecteur ; sans le module, elle traite tout le lot.
+ */
+final class BatchStepKernel {
+
+    static final boolean VECTOR_API_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private BatchStepKernel() {
+    }
+
+    /**
+     * @param fromIndex               : le premier aventurier du lot.
+     * @param toIndex                 : l'aventurier qui suit le dernier du lot.
+     * @param horizontalPositions     : les positions x actuelles.
+     * @param verticalPositions       : les positions y actuelles.
+     * @param orientations            : les orientations actuelles.
+     * @param columnCount             : le nombre de colonnes de la carte.
+     * @param rowCount                : le nombre de lignes de la carte.
+     * @param mountainMask            : un bit par cellule, à 1 pour une montagne, ou null pour ne tester que les
+     *                                bords de la carte.
+     * @param nextHorizontalPositions : reçoit les positions x après un pas en avant.
+     * @param nextVerticalPositions   : reçoit les positions y après un pas en avant.
+     * @param blockedMasks            : reçoit 1 si la position suivante sort de la carte ou est une montagne, 0 sinon.
+     */
+    static void computeNextPositions(int fromIndex,
+                                     int toIndex,
+                                     int[] horizontalPositions,
+                                     int[] verticalPositions,
+                                     int[] orientations,
+                                     int columnCount,
+                                     int rowCount,
+                                     int[] mountainMask,
+                                     int[] nextHorizontalPositions,
+                                     int[] nextVerticalPositions,
+                                     int[] blockedMasks) {
+        int scalarFromIndex = VECTOR_API_AVAILABLE
+                ? VectorBatchStepKernel.computeNextPositions(fromIndex, toIndex, horizontalPositions,
+                        verticalPositions, orientations, columnCount, rowCount, mountainMask,
+                        nextHorizontalPositions, nextVerticalPositions, blockedMasks)
+                : fromIndex;
+        computeNextPositionsScalar(scalarFromIndex, toIndex, horizontalPositions, verticalPositions, orientations,
+                columnCount, rowCount, mountainMask, nextHorizontalPositions, nextVerticalPositions, blockedMasks);
+    }
+
+    /**
+     * Variante scalaire de {@link #computeNextPositions}, aux mêmes paramètres.
+     */
+    static void computeNextPositionsScalar(int fromIndex,
+                                           int toIndex,
+                                           int[] horizontalPositions,
+                                           int[] verticalPositions,
+                                           int[] orientations,
+                                           int columnCount,
+                                           int rowCount,
+                                           int[] mountainMask,
+                                           int[] nextHorizontalPositions,
+                                           int[] nextVerticalPositions,
+                                           int[] blockedMasks) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            int orientation = orientations[i];
+            int horizontalAxis = orientation >> 1;
+            int direction = (((orientation ^ horizontalAxis) & 1) << 1) - 1;
+            int nextHorizontalPosition = horizontalPositions[i] + direction * horizontalAxis;
+            int nextVerticalPosition = verticalPositions[i] + direction * (1 - horizontalAxis);
+            nextHorizontalPositions[i] = nextHorizontalPosition;
+            nextVerticalPositions[i] = nextVerticalPosition;
+            int outOfBounds = (nextHorizontalPosition | nextVerticalPosition
+                    | (columnCount - 1 - nextHorizontalPosition) | (rowCount - 1 - nextVerticalPosition)) >>> 31;
+            if (outOfBounds != 0 || mountainMask == null) {
+                blockedMasks[i] = outOfBounds;
+            } else {
+                int cell = nextVerticalPosition * columnCount + nextHorizontalPosition;
+                blockedMasks[i] = (mountainMask[cell >>> 5] >>> cell) & 1;
+            }
+        }
+    }
+
+    /**
+     * @return le nombre de mots de 32 bits d'un masque de montagnes couvrant ce nombre de cellules.
+     */
+    static int getMountainMaskLength(int cellCount) {
+        return (cellCount + Integer.SIZE - 1) >>> 5;
+    }
+
+    static void addMountain(int[] mountainMask, int columnCount, int horizontalPosition, int verticalPosition) {
+        int cell = verticalPosition * columnCount + horizontalPosition;
+        mountainMask[cell >>> 5] |= 1 << cell;
+    }
+}
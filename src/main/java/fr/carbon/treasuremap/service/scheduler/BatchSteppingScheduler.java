@@ -0,0 +1,130 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.TreasureMap;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+
+import java.util.List;
+
+/**
+ * Ordonnancement tour par tour à un déplacement par tour, au résultat identique à
+ * {@link AdventurerSchedulerType#ROUND_ROBIN}, dont les prochaines positions et les pas refusés d'avance sont calculés
+ * par lot.
+ * <p>
+ * Au début de chaque tour, {@link BatchStepKernel} calcule d'un bloc les positions suivantes des aventuriers de la
+ * file, et marque les pas qui sortent de la carte ou butent sur une montagne. Tant que la file occupe au moins la
+ * moitié de la plage de rangs d'apparition comprise entre son premier et son dernier aventurier, le calcul porte
+ * directement sur cette plage des tableaux de la simulation. Lorsque la plupart des séquences sont terminées, les
+ * aventuriers de la file sont d'abord rassemblés dans des voies contiguës, afin que le coût d'un tour suive le nombre
+ * d'aventuriers actifs et non leur nombre total. Les montagnes ne bougeant pas, elles
+ * sont lues dans un masque d'un bit par cellule construit au départ, lorsque ce masque n'occupe pas plus de mémoire
+ * que la grille elle-même. Les déplacements sont ensuite appliqués un à un par ordre d'apparition, comme avec
+ * {@link TurnBasedScheduler} qui reste la référence : seule la cellule d'arrivée d'un pas qui n'est pas refusé
+ * d'avance est lue, car un autre aventurier a pu l'occuper ou la libérer plus tôt dans le tour.
+ */
+public class BatchSteppingScheduler extends TurnBasedScheduler {
+
+    public BatchSteppingScheduler() {
+        super(1);
+    }
+
+    @Override
+    protected Simulation createSimulation(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        return new BatchSteppingSimulation(treasureMap, adventurers);
+    }
+
+    /**
+     * Construit le masque des montagnes de la carte, depuis son index de montagnes lorsqu'elle en a un.
+     *
+     * @return le masque, ou null si la carte compte trop de cellules pour un masque indexé par un entier, ou si le
+     * masque occuperait plus de mémoire que la grille.
+     */
+    static int[] buildMountainMask(TreasureMap treasureMap) {
+        int columnCount = treasureMap.getColumnCount();
+        long cellCount = (long) columnCount * treasureMap.getRowCount();
+        if (cellCount > Integer.MAX_VALUE || cellCount / Byte.SIZE > treasureMap.getGrid().getFootprintInBytes()) {
+            return null;
+        }
+
+        int[] mountainMask = new int[BatchStepKernel.getMountainMaskLength((int) cellCount)];
+        if (treasureMap.hasEntityIndexes()) {
+            treasureMap.getMountainIndex().forEach(mountain -> BatchStepKernel.addMountain(mountainMask, columnCount,
+                    mountain.getPosition().getHorizontalPosition(), mountain.getPosition().getVerticalPosition()));
+        } else {
+            TreasureMapGrid grid = treasureMap.getGrid();
+            grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+                if (mountain != null) {
+                    BatchStepKernel.addMountain(mountainMask, columnCount, horizontalPosition, verticalPosition);
+                }
+            });
+        }
+        return mountainMask;
+    }
+
+    private final class BatchSteppingSimulation extends Simulation {
+
+        private final int[] mountainMask;
+        private final int[] nextHorizontalPositions;
+        private final int[] nextVerticalPositions;
+        private final int[] blockedMasks;
+
+        private final int[] gatheredHorizontalPositions;
+        private final int[] gatheredVerticalPositions;
+        private final int[] gatheredOrientations;
+        private final int[] lanes;
+        private boolean gathered;
+
+        private BatchSteppingSimulation(TreasureMap treasureMap, List<Adventurer> adventurerList) {
+            super(treasureMap, adventurerList);
+            int adventurerCount = adventurers.length;
+            this.mountainMask = buildMountainMask(treasureMap);
+            this.nextHorizontalPositions = new int[adventurerCount];
+            this.nextVerticalPositions = new int[adventurerCount];
+            this.blockedMasks = new int[adventurerCount];
+            this.gatheredHorizontalPositions = new int[adventurerCount];
+            this.gatheredVerticalPositions = new int[adventurerCount];
+            this.gatheredOrientations = new int[adventurerCount];
+            this.lanes = new int[adventurerCount];
+        }
+
+        /**
+         * La file restant triée par ordre d'apparition, ses aventuriers sont compris entre son premier et son dernier
+         * élément. Le lot couvre cette plage sans copie tant qu'elle est dense, sinon les aventuriers de la file sont
+         * rassemblés dans les voies 0 à {@code runQueueSize - 1}.
+         */
+        @Override
+        protected void beforeTurn() {
+            int fromIndex = runQueue[0];
+            int toIndex = runQueue[runQueueSize - 1] + 1;
+            gathered = toIndex - fromIndex > 2 * runQueueSize;
+            if (!gathered) {
+                BatchStepKernel.computeNextPositions(fromIndex, toIndex, horizontalPositions, verticalPositions,
+                        orientations, grid.getColumnCount(), grid.getRowCount(), mountainMask,
+                        nextHorizontalPositions, nextVerticalPositions, blockedMasks);
+                return;
+            }
+
+            for (int lane = 0; lane < runQueueSize; lane++) {
+                int adventurerId = runQueue[lane];
+                gatheredHorizontalPositions[lane] = horizontalPositions[adventurerId];
+                gatheredVerticalPositions[lane] = verticalPositions[adventurerId];
+                gatheredOrientations[lane] = orientations[adventurerId];
+                lanes[adventurerId] = lane;
+            }
+            BatchStepKernel.computeNextPositions(0, runQueueSize, gatheredHorizontalPositions,
+                    gatheredVerticalPositions, gatheredOrientations, grid.getColumnCount(), grid.getRowCount(),
+                    mountainMask, nextHorizontalPositions, nextVerticalPositions, blockedMasks);
+        }
+
+        /**
+         * Un aventurier ne joue qu'un déplacement par tour : sa position et son orientation n'ont pas changé depuis
+         * le calcul du lot, et les montagnes ne bougent jamais.
+         */
+        @Override
+        protected int resolveForwardStep(int adventurerId, int nextHorizontalPosition, int nextVerticalPosition) {
+            int lane = gathered ? lanes[adventurerId] : adventurerId;
+            if (blockedMasks[lane] != 0) return FORWARD_STEP_BLOCKED;
+            return evaluateForwardStepInBounds(grid, nextHorizontalPositions[lane], nextVerticalPositions[lane]);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.EventQueue;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Ordonnancement dirigé par les événements : chaque aventurier effectue son premier déplacement à son instant de
+ * départ ({@link Adventurer#getStartTime()}), puis un déplacement à chaque intervalle de sa durée de déplacement
+ * ({@link Adventurer#getMovementDuration()}). Les déplacements simultanés sont joués par ordre d'apparition.
+ * <p>
+ * Le prochain déplacement de chaque aventurier est un événement d'une {@link EventQueue}. Un aventurier qui n'est pas
+ * encore parti ou qui attend la fin de son déplacement ne coûte rien, et un aventurier qui a terminé sa séquence
+ * quitte la file : le coût de la simulation dépend du nombre de déplacements et non de la durée simulée. Lorsque tous
+ * les aventuriers partent à l'instant 0 avec des déplacements d'une unité, le résultat est celui de
+ * {@link AdventurerSchedulerType#ROUND_ROBIN}.
+ */
+public class EventDrivenScheduler implements AdventurerScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventDrivenScheduler.class);
+
+    @Override
+    public void moveAdventurers(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        TreasureMapGrid grid = treasureMap.getGrid();
+        SimulationReport simulationReport = treasureMap.getSimulationReport();
+
+        int adventurerCount = adventurers.size();
+        MovementProgram[] movementPrograms = new MovementProgram[adventurerCount];
+        int[] movementIndexes = new int[adventurerCount];
+        EventQueue eventQueue = new EventQueue(adventurerCount);
+        for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+            Adventurer adventurer = adventurers.get(adventurerId);
+            movementPrograms[adventurerId] = MovementProgram.of(adventurer.getMovements());
+            if (!movementPrograms[adventurerId].isEmpty()) {
+                eventQueue.add(adventurer.getStartTime(), adventurerId);
+            }
+        }
+
+        long eventCount = 0;
+        long blockedMovementCount = 0;
+        long lastEventTime = 0;
+        while (!eventQueue.isEmpty()) {
+            long time = eventQueue.peekTime();
+            int adventurerId = eventQueue.peekId();
+            Adventurer adventurer = adventurers.get(adventurerId);
+            MovementProgram movementProgram = movementPrograms[adventurerId];
+            int movementIndex = movementIndexes[adventurerId]++;
+            eventCount++;
+            lastEventTime = time;
+
+            boolean finished = movementIndex + 1 == movementProgram.size();
+            switch (movementProgram.getCode(movementIndex)) {
+                case MovementProgram.FORWARD_CODE -> {
+                    if (!moveForward(grid, adventurer)) {
+                        blockedMovementCount++;
+                        Position position = adventurer.getPosition();
+                        if (!finished && TurnBasedScheduler.isWalledIn(grid, position.getHorizontalPosition(),
+                                position.getVerticalPosition())) {
+                            skipRemainingMovements(adventurer, movementProgram, movementIndex + 1, simulationReport);
+                            finished = true;
+                        }
+                    }
+                }
+                case MovementProgram.TURN_RIGHT_CODE -> adventurer.setOrientation(
+                        OrientationDeltas.orientation(OrientationDeltas.turnRight(adventurer.getOrientation().ordinal())));
+                case MovementProgram.TURN_LEFT_CODE -> adventurer.setOrientation(
+                        OrientationDeltas.orientation(OrientationDeltas.turnLeft(adventurer.getOrientation().ordinal())));
+            }
+
+            if (finished) {
+                eventQueue.removeFirst();
+            } else {
+                eventQueue.rescheduleFirst(time + adventurer.getMovementDuration());
+            }
+        }
+
+        simulationReport.addBlockedMovements(blockedMovementCount);
+        LOGGER.info("Simulation par événements : " + eventCount + " événement(s) jusqu'à l'instant " + lastEventTime
+                + ", " + blockedMovementCount + " déplacement(s) refusé(s).");
+    }
+
+    /**
+     * @return false si le déplacement en avant est refusé.
+     */
+    private boolean moveForward(TreasureMapGrid grid, Adventurer adventurer) {
+        Position position = adventurer.getPosition();
+        int orientation = adventurer.getOrientation().ordinal();
+        int horizontalPosition = position.getHorizontalPosition();
+        int verticalPosition = position.getVerticalPosition();
+        int nextHorizontalPosition = horizontalPosition + OrientationDeltas.horizontalDelta(orientation);
+        int nextVerticalPosition = verticalPosition + OrientationDeltas.verticalDelta(orientation);
+
+        int forwardStep = TurnBasedScheduler.evaluateForwardStep(grid, nextHorizontalPosition, nextVerticalPosition);
+        if (forwardStep == TurnBasedScheduler.FORWARD_STEP_BLOCKED) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Le déplacement " + Movement.FORWARD.getValue() + " de l'aventurier : "
+                        + adventurer.getName() + " est ignoré.");
+            }
+            return false;
+        }
+
+        TurnBasedScheduler.applyForwardStep(grid, adventurer, forwardStep, horizontalPosition, verticalPosition,
+                nextHorizontalPosition, nextVerticalPosition);
+        position.setHorizontalPosition(nextHorizontalPosition);
+        position.setVerticalPosition(nextVerticalPosition);
+        return true;
+    }
+
+    private void skipRemainingMovements(Adventurer adventurer,
+                                        MovementProgram movementProgram,
+                                        int fromMovementIndex,
+                                        SimulationReport simulationReport) {
+        adventurer.setOrientation(OrientationDeltas.orientation(OrientationDeltas.rotateRight(
+                adventurer.getOrientation().ordinal(), movementProgram.getNetRotation(fromMovementIndex))));
+        simulationReport.addStuckAdventurer(movementProgram.size() - fromMovementIndex);
+    }
+}
@@ -0,0 +1,359 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Ordonnancement libre : tous les aventuriers effectuent leur séquence en même temps, sur un {@link ForkJoinPool}, sans
+ * ordre garanti entre eux. Le résultat dépend donc de l'entrelacement des threads.
+ * <p>
+ * Un aventurier réserve sa cellule d'arrivée avant de libérer sa cellule de départ, deux aventuriers ne peuvent donc
+ * jamais occuper la même cellule. L'occupation des cellules est dimensionnée par le nombre d'aventuriers et non par la
+ * surface de la carte :
+ * <ul>
+ *     <li>lorsque la carte compte au plus {@value #DENSE_CELLS_PER_ADVENTURER} cellules par aventurier, dans un
+ *     {@link AtomicIntegerArray} indexé par cellule, la réservation se faisant par compare-and-set sans aucun verrou ;
+ *     </li>
+ *     <li>sinon, dans des tables de hachage primitives indexées par cellule, réparties en {@value #STRIPE_COUNT}
+ *     bandes verrouillées séparément : une réservation ne verrouille que la bande de sa cellule, le temps d'une
+ *     recherche dans la table.</li>
+ * </ul>
+ * Les quantités de trésors sont décrémentées par compare-and-set, aucun trésor n'est ramassé deux fois.
+ * <p>
+ * La grille n'est que lue pendant la simulation ; les trésors et les aventuriers y sont mis à jour en une passe
+ * séquentielle finale, les représentations de la carte n'étant pas sûres entre threads.
+ */
+public class FreeForAllScheduler implements AdventurerScheduler {
+
+    /**
+     * Nombre de cellules par aventurier jusqu'auquel l'occupation est tenue dans un tableau indexé par cellule.
+     */
+    public static final int DENSE_CELLS_PER_ADVENTURER = 16;
+
+    /**
+     * Nombre de bandes de l'occupation tenue dans des tables de hachage.
+     */
+    public static final int STRIPE_COUNT = 64;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreeForAllScheduler.class);
+
+    private static final int FREE_CELL = 0;
+    private static final int NO_TREASURE = -1;
+    private static final int ADVENTURERS_PER_TASK = 64;
+
+    private final ForkJoinPool forkJoinPool;
+
+    public FreeForAllScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param forkJoinPool : le pool de threads sur lequel les aventuriers sont déplacés.
+     */
+    public FreeForAllScheduler(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    @Override
+    public void moveAdventurers(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        if (adventurers.isEmpty()) return;
+        new Simulation(treasureMap, adventurers).run();
+    }
+
+    private final class Simulation {
+
+        private final TreasureMapGrid grid;
+        private final SimulationReport simulationReport;
+
+        private final Adventurer[] adventurers;
+        private final int[] startHorizontalPositions;
+        private final int[] startVerticalPositions;
+        private final int[] blockedMovementCounts;
+        private final int[] skippedMovementCounts;
+
+        private final CellOccupancy cellOccupancy;
+
+        private final Treasure[] treasures;
+        private final AtomicIntegerArray treasureCounts;
+        private final LongIntOpenHashMap treasureIndexesByCell = new LongIntOpenHashMap(NO_TREASURE);
+
+        private Simulation(TreasureMap treasureMap, List<Adventurer> adventurerList) {
+            this.grid = treasureMap.getGrid();
+            this.simulationReport = treasureMap.getSimulationReport();
+
+            int adventurerCount = adventurerList.size();
+            long cellCount = (long) grid.getColumnCount() * grid.getRowCount();
+            this.cellOccupancy = cellCount <= (long) DENSE_CELLS_PER_ADVENTURER * adventurerCount
+                    ? new DenseCellOccupancy(grid.getColumnCount(), (int) cellCount)
+                    : new StripedCellOccupancy(adventurerCount);
+
+            this.adventurers = adventurerList.toArray(new Adventurer[0]);
+            this.startHorizontalPositions = new int[adventurerCount];
+            this.startVerticalPositions = new int[adventurerCount];
+            this.blockedMovementCounts = new int[adventurerCount];
+            this.skippedMovementCounts = new int[adventurerCount];
+            for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+                Position position = adventurers[adventurerId].getPosition();
+                startHorizontalPositions[adventurerId] = position.getHorizontalPosition();
+                startVerticalPositions[adventurerId] = position.getVerticalPosition();
+                cellOccupancy.claim(position.getHorizontalPosition(), position.getVerticalPosition(),
+                        adventurerId + 1);
+            }
+
+            List<Treasure> treasureList = new ArrayList<>();
+            treasureMap.forEachTreasure(treasure -> {
+                treasureIndexesByCell.put(PackedCoordinates.pack(treasure.getPosition().getHorizontalPosition(),
+                        treasure.getPosition().getVerticalPosition()), treasureList.size());
+                treasureList.add(treasure);
+            });
+            this.treasures = treasureList.toArray(new Treasure[0]);
+            this.treasureCounts = new AtomicIntegerArray(treasures.length);
+            for (int treasureIndex = 0; treasureIndex < treasures.length; treasureIndex++) {
+                treasureCounts.set(treasureIndex, treasures[treasureIndex].getCount());
+            }
+        }
+
+        private void run() {
+            forkJoinPool.invoke(new AdventurersTask(this, 0, adventurers.length));
+
+            for (int treasureIndex = 0; treasureIndex < treasures.length; treasureIndex++) {
+                treasures[treasureIndex].setCount(treasureCounts.get(treasureIndex));
+            }
+            placeAdventurersOnGrid();
+
+            long blockedMovementCount = 0;
+            for (int adventurerId = 0; adventurerId < adventurers.length; adventurerId++) {
+                blockedMovementCount += blockedMovementCounts[adventurerId];
+                if (skippedMovementCounts[adventurerId] > 0) {
+                    simulationReport.addStuckAdventurer(skippedMovementCounts[adventurerId]);
+                }
+            }
+            simulationReport.addBlockedMovements(blockedMovementCount);
+            LOGGER.info("Simulation libre sur " + forkJoinPool.getParallelism() + " thread(s) : "
+                    + blockedMovementCount + " déplacement(s) refusé(s), "
+                    + simulationReport.getSkippedMovementCount() + " déplacement(s) ignoré(s) sans simulation.");
+        }
+
+        private void moveAdventurer(int adventurerId) {
+            Adventurer adventurer = adventurers[adventurerId];
+            MovementProgram.Cursor operations = MovementProgram.of(adventurer.getMovements()).cursor();
+            int horizontalPosition = startHorizontalPositions[adventurerId];
+            int verticalPosition = startVerticalPositions[adventurerId];
+            int orientation = adventurer.getOrientation().ordinal();
+
+            for (int operation = operations.nextOp(); operation != 0; operation = operations.nextOp()) {
+                if (operation < 0) {
+                    orientation = OrientationDeltas.rotateRight(orientation, -operation);
+                    continue;
+                }
+
+                int horizontalDelta = OrientationDeltas.horizontalDelta(orientation);
+                int verticalDelta = OrientationDeltas.verticalDelta(orientation);
+                boolean blockedByWall = false;
+                for (int step = 0; step < operation; step++) {
+                    int nextHorizontalPosition = horizontalPosition + horizontalDelta;
+                    int nextVerticalPosition = verticalPosition + verticalDelta;
+                    if (isWall(nextHorizontalPosition, nextVerticalPosition)) {
+                        blockedMovementCounts[adventurerId] += operation - step;
+                        blockedByWall = true;
+                        break;
+                    }
+                    if (!claimCell(adventurerId, horizontalPosition, verticalPosition,
+                            nextHorizontalPosition, nextVerticalPosition)) {
+                        blockedMovementCounts[adventurerId]++;
+                        continue;
+                    }
+                    horizontalPosition = nextHorizontalPosition;
+                    verticalPosition = nextVerticalPosition;
+                    if (takeTreasure(horizontalPosition, verticalPosition)) {
+                        adventurer.setCollectedTreasuresCount(adventurer.getCollectedTreasuresCount() + 1);
+                    }
+                }
+
+                if (blockedByWall && TurnBasedScheduler.isWalledIn(grid, horizontalPosition, verticalPosition)) {
+                    skippedMovementCounts[adventurerId] = operations.getRemainingMovementCount();
+                    orientation = OrientationDeltas.rotateRight(orientation, operations.skipRemaining());
+                    break;
+                }
+            }
+
+            adventurer.getPosition().setHorizontalPosition(horizontalPosition);
+            adventurer.getPosition().setVerticalPosition(verticalPosition);
+            adventurer.setOrientation(OrientationDeltas.orientation(orientation));
+        }
+
+        /**
+         * Réserve la cellule d'arrivée si elle est libre, puis libère la cellule de départ.
+         *
+         * @return false si un autre aventurier occupe déjà la cellule d'arrivée.
+         */
+        private boolean claimCell(int adventurerId,
+                                  int horizontalPosition,
+                                  int verticalPosition,
+                                  int nextHorizontalPosition,
+                                  int nextVerticalPosition) {
+            if (!cellOccupancy.claim(nextHorizontalPosition, nextVerticalPosition, adventurerId + 1)) {
+                return false;
+            }
+            cellOccupancy.release(horizontalPosition, verticalPosition);
+            return true;
+        }
+
+        /**
+         * @return true si un trésor de la cellule a été ramassé, false si la cellule n'a pas ou plus de trésor.
+         */
+        private boolean takeTreasure(int horizontalPosition, int verticalPosition) {
+            if (!TreasureMapCellKind.hasTreasure(grid.getCellKind(horizontalPosition, verticalPosition))) return false;
+
+            int treasureIndex = treasureIndexesByCell.get(PackedCoordinates.pack(horizontalPosition, verticalPosition));
+            int count;
+            do {
+                count = treasureCounts.get(treasureIndex);
+                if (count == 0) return false;
+            } while (!treasureCounts.compareAndSet(treasureIndex, count, count - 1));
+            return true;
+        }
+
+        /**
+         * Hors de la carte ou montagne : les seuls obstacles qui ne bougent pas pendant la simulation.
+         */
+        private boolean isWall(int horizontalPosition, int verticalPosition) {
+            return grid.isOutOfBounds(horizontalPosition, verticalPosition)
+                    || TreasureMapCellKind.hasMountain(grid.getCellKind(horizontalPosition, verticalPosition));
+        }
+
+        private void placeAdventurersOnGrid() {
+            for (int adventurerId = 0; adventurerId < adventurers.length; adventurerId++) {
+                grid.setAdventurer(startHorizontalPositions[adventurerId], startVerticalPositions[adventurerId], null);
+            }
+            for (Adventurer adventurer : adventurers) {
+                grid.setAdventurer(adventurer.getPosition().getHorizontalPosition(),
+                        adventurer.getPosition().getVerticalPosition(), adventurer);
+            }
+        }
+    }
+
+    /**
+     * Occupation des cellules pendant la simulation : chaque cellule occupée porte le rang d'apparition + 1 de son
+     * aventurier.
+     */
+    private interface CellOccupancy {
+
+        /**
+         * @return false si la cellule est déjà occupée.
+         */
+        boolean claim(int horizontalPosition, int verticalPosition, int occupant);
+
+        void release(int horizontalPosition, int verticalPosition);
+    }
+
+    /**
+     * Occupation tenue dans un tableau indexé par cellule, 0 pour une cellule libre, réservée sans verrou.
+     */
+    private static final class DenseCellOccupancy implements CellOccupancy {
+
+        private final int columnCount;
+        private final AtomicIntegerArray cellOccupants;
+
+        private DenseCellOccupancy(int columnCount, int cellCount) {
+            this.columnCount = columnCount;
+            this.cellOccupants = new AtomicIntegerArray(cellCount);
+        }
+
+        @Override
+        public boolean claim(int horizontalPosition, int verticalPosition, int occupant) {
+            return cellOccupants.compareAndSet(getCellIndex(horizontalPosition, verticalPosition), FREE_CELL, occupant);
+        }
+
+        @Override
+        public void release(int horizontalPosition, int verticalPosition) {
+            cellOccupants.set(getCellIndex(horizontalPosition, verticalPosition), FREE_CELL);
+        }
+
+        private int getCellIndex(int horizontalPosition, int verticalPosition) {
+            return verticalPosition * columnCount + horizontalPosition;
+        }
+    }
+
+    /**
+     * Occupation tenue dans des tables de hachage primitives indexées par cellule, réparties en bandes selon le hachage
+     * de la cellule. Chaque table est verrouillée séparément et ne contient que les cellules occupées de sa bande.
+     */
+    private static final class StripedCellOccupancy implements CellOccupancy {
+
+        private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPE_COUNT);
+
+        private final LongIntOpenHashMap[] stripes = new LongIntOpenHashMap[STRIPE_COUNT];
+
+        private StripedCellOccupancy(int adventurerCount) {
+            for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+                stripes[stripe] = new LongIntOpenHashMap(adventurerCount / STRIPE_COUNT + 1, FREE_CELL);
+            }
+        }
+
+        @Override
+        public boolean claim(int horizontalPosition, int verticalPosition, int occupant) {
+            long cell = PackedCoordinates.pack(horizontalPosition, verticalPosition);
+            LongIntOpenHashMap stripe = getStripe(cell);
+            synchronized (stripe) {
+                if (stripe.containsKey(cell)) return false;
+                stripe.put(cell, occupant);
+                return true;
+            }
+        }
+
+        @Override
+        public void release(int horizontalPosition, int verticalPosition) {
+            long cell = PackedCoordinates.pack(horizontalPosition, verticalPosition);
+            LongIntOpenHashMap stripe = getStripe(cell);
+            synchronized (stripe) {
+                stripe.remove(cell);
+            }
+        }
+
+        private LongIntOpenHashMap getStripe(long cell) {
+            return stripes[(int) ((cell * 0x9E3779B97F4A7C15L) >>> STRIPE_SHIFT)];
+        }
+    }
+
+    /**
+     * Déplace une plage d'aventuriers, en la divisant tant qu'elle dépasse {@value #ADVENTURERS_PER_TASK} aventuriers.
+     */
+    private static final class AdventurersTask extends RecursiveAction {
+
+        private final transient Simulation simulation;
+        private final int firstAdventurerId;
+        private final int lastAdventurerId;
+
+        private AdventurersTask(Simulation simulation, int firstAdventurerId, int lastAdventurerId) {
+            this.simulation = simulation;
+            this.firstAdventurerId = firstAdventurerId;
+            this.lastAdventurerId = lastAdventurerId;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastAdventurerId - firstAdventurerId <= ADVENTURERS_PER_TASK) {
+                for (int adventurerId = firstAdventurerId; adventurerId < lastAdventurerId; adventurerId++) {
+                    simulation.moveAdventurer(adventurerId);
+                }
+                return;
+            }
+            int middleAdventurerId = (firstAdventurerId + lastAdventurerId) >>> 1;
+            invokeAll(new AdventurersTask(simulation, firstAdventurerId, middleAdventurerId),
+                    new AdventurersTask(simulation, middleAdventurerId, lastAdventurerId));
+        }
+    }
+}
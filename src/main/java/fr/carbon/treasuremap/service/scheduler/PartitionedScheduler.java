@@ -0,0 +1,352 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ordonnancement par priorité d'apparition exécuté en parallèle, au résultat identique à {@link PriorityScheduler}.
+ * <p>
+ * Un aventurier ne peut pas s'éloigner de sa position de départ de plus de cases qu'il n'a de déplacements en avant :
+ * toutes les cellules qu'il lit ou traverse sont dans ce rectangle d'atteinte. La carte est découpée en régions
+ * carrées, et les aventuriers dont les rectangles touchent une même région sont regroupés (union-find). Deux groupes
+ * distincts ne partagent aucune cellule : ils sont simulés en parallèle sur un {@link ForkJoinPool}, les aventuriers
+ * d'un même groupe étant simulés à la suite par ordre d'apparition.
+ * <p>
+ * Pendant la simulation, la grille n'est que lue : chaque groupe suit la position de ses aventuriers dans sa propre
+ * table. Les aventuriers sont déplacés sur la grille en une passe séquentielle finale, de sorte que toutes les
+ * représentations de la carte conviennent, même celles dont les écritures ne sont pas sûres entre threads.
+ */
+public class PartitionedScheduler implements AdventurerScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedScheduler.class);
+
+    private static final int NO_ADVENTURER = -1;
+    private static final int COMPONENTS_PER_TASK = 16;
+
+    private final ForkJoinPool forkJoinPool;
+
+    public PartitionedScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param forkJoinPool : le pool de threads sur lequel les groupes d'aventuriers sont simulés.
+     */
+    public PartitionedScheduler(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    @Override
+    public void moveAdventurers(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        if (adventurers.isEmpty()) return;
+        new Simulation(treasureMap, adventurers).run();
+    }
+
+    private final class Simulation {
+
+        private final TreasureMapGrid grid;
+        private final SimulationReport simulationReport;
+
+        private final Adventurer[] adventurers;
+        private final MovementProgram[] movementPrograms;
+        private final int[] startHorizontalPositions;
+        private final int[] startVerticalPositions;
+        private final int[] skippedMovementCounts;
+        private final long[] blockedMovementCounts;
+
+        private final int[] parents;
+        private int[] componentStarts;
+        private int[] componentMembers;
+
+        private Simulation(TreasureMap treasureMap, List<Adventurer> adventurerList) {
+            this.grid = treasureMap.getGrid();
+            this.simulationReport = treasureMap.getSimulationReport();
+
+            int adventurerCount = adventurerList.size();
+            this.adventurers = adventurerList.toArray(new Adventurer[0]);
+            this.movementPrograms = new MovementProgram[adventurerCount];
+            this.startHorizontalPositions = new int[adventurerCount];
+            this.startVerticalPositions = new int[adventurerCount];
+            this.skippedMovementCounts = new int[adventurerCount];
+            this.blockedMovementCounts = new long[adventurerCount];
+            this.parents = new int[adventurerCount];
+
+            for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+                Adventurer adventurer = adventurers[adventurerId];
+                movementPrograms[adventurerId] = MovementProgram.of(adventurer.getMovements());
+                startHorizontalPositions[adventurerId] = adventurer.getPosition().getHorizontalPosition();
+                startVerticalPositions[adventurerId] = adventurer.getPosition().getVerticalPosition();
+                parents[adventurerId] = adventurerId;
+            }
+        }
+
+        private void run() {
+            int componentCount = partition();
+            forkJoinPool.invoke(new ComponentsTask(this, 0, componentCount));
+            placeAdventurersOnGrid();
+
+            for (int adventurerId = 0; adventurerId < adventurers.length; adventurerId++) {
+                if (skippedMovementCounts[adventurerId] > 0) {
+                    simulationReport.addStuckAdventurer(skippedMovementCounts[adventurerId]);
+                }
+                simulationReport.addBlockedMovements(blockedMovementCounts[adventurerId]);
+            }
+            LOGGER.info("Simulation parallèle : " + adventurers.length + " aventurier(s) répartis en " + componentCount
+                    + " groupe(s) indépendant(s) sur " + forkJoinPool.getParallelism() + " thread(s), "
+                    + simulationReport.getBlockedMovementCount() + " déplacement(s) refusé(s), "
+                    + simulationReport.getSkippedMovementCount() + " déplacement(s) ignoré(s) sans simulation.");
+        }
+
+        /**
+         * Regroupe les aventuriers dont les rectangles d'atteinte touchent une même région de la carte. Le côté des
+         * régions est au moins la taille moyenne des rectangles, de sorte qu'un aventurier ne touche en moyenne que
+         * quelques régions.
+         *
+         * @return le nombre de groupes.
+         */
+        private int partition() {
+            int adventurerCount = adventurers.length;
+            int[] reaches = new int[adventurerCount];
+            long totalReachSide = 0;
+            for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+                reaches[adventurerId] = Math.min(movementPrograms[adventurerId].getForwardMovementCount(),
+                        Math.max(grid.getColumnCount(), grid.getRowCount()));
+                totalReachSide += 2L * reaches[adventurerId] + 1;
+            }
+
+            long cellCount = (long) grid.getColumnCount() * grid.getRowCount();
+            int regionSide = (int) Math.max(Math.ceil(Math.sqrt((double) cellCount / adventurerCount)),
+                    totalReachSide / adventurerCount);
+            int regionColumnCount = (grid.getColumnCount() + regionSide - 1) / regionSide;
+            int regionRowCount = (grid.getRowCount() + regionSide - 1) / regionSide;
+            int[] regionOwners = new int[regionColumnCount * regionRowCount];
+            Arrays.fill(regionOwners, NO_ADVENTURER);
+
+            for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+                int horizontalPosition = startHorizontalPositions[adventurerId];
+                int verticalPosition = startVerticalPositions[adventurerId];
+                int reach = reaches[adventurerId];
+                int firstRegionColumn = Math.max(0, horizontalPosition - reach) / regionSide;
+                int lastRegionColumn = Math.min(grid.getColumnCount() - 1, horizontalPosition + reach) / regionSide;
+                int firstRegionRow = Math.max(0, verticalPosition - reach) / regionSide;
+                int lastRegionRow = Math.min(grid.getRowCount() - 1, verticalPosition + reach) / regionSide;
+                for (int regionRow = firstRegionRow; regionRow <= lastRegionRow; regionRow++) {
+                    for (int regionColumn = firstRegionColumn; regionColumn <= lastRegionColumn; regionColumn++) {
+                        int regionIndex = regionRow * regionColumnCount + regionColumn;
+                        if (regionOwners[regionIndex] == NO_ADVENTURER) {
+                            regionOwners[regionIndex] = adventurerId;
+                        } else {
+                            union(regionOwners[regionIndex], adventurerId);
+                        }
+                    }
+                }
+            }
+            return groupComponentMembers();
+        }
+
+        /**
+         * Range les aventuriers groupe par groupe, dans l'ordre d'apparition au sein de chaque groupe.
+         */
+        private int groupComponentMembers() {
+            int adventurerCount = adventurers.length;
+            int[] componentIndexes = new int[adventurerCount];
+            Arrays.fill(componentIndexes, NO_ADVENTURER);
+            int[] memberCounts = new int[adventurerCount];
+            int componentCount = 0;
+            for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+                int root = find(adventurerId);
+                if (componentIndexes[root] == NO_ADVENTURER) {
+                    componentIndexes[root] = componentCount++;
+                }
+                memberCounts[componentIndexes[root]]++;
+            }
+
+            componentStarts = new int[componentCount + 1];
+            for (int component = 0; component < componentCount; component++) {
+                componentStarts[component + 1] = componentStarts[component] + memberCounts[component];
+            }
+            componentMembers = new int[adventurerCount];
+            int[] nextMemberIndexes = Arrays.copyOf(componentStarts, componentCount);
+            for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+                componentMembers[nextMemberIndexes[componentIndexes[find(adventurerId)]]++] = adventurerId;
+            }
+            return componentCount;
+        }
+
+        private void simulateComponent(int component) {
+            int firstMember = componentStarts[component];
+            int lastMember = componentStarts[component + 1];
+            LongIntOpenHashMap occupiedCells = null;
+            if (lastMember - firstMember > 1) {
+                occupiedCells = new LongIntOpenHashMap(lastMember - firstMember, NO_ADVENTURER);
+                for (int member = firstMember; member < lastMember; member++) {
+                    int adventurerId = componentMembers[member];
+                    occupiedCells.put(PackedCoordinates.pack(startHorizontalPositions[adventurerId],
+                            startVerticalPositions[adventurerId]), adventurerId);
+                }
+            }
+            for (int member = firstMember; member < lastMember; member++) {
+                moveAdventurer(componentMembers[member], occupiedCells);
+            }
+        }
+
+        /**
+         * Applique toute la séquence d'un aventurier, avec les mêmes règles que {@link PriorityScheduler}, sans écrire
+         * dans la grille. Seuls les aventuriers du groupe peuvent occuper le rectangle d'atteinte de l'aventurier.
+         *
+         * @param adventurerId  : le rang d'apparition de l'aventurier.
+         * @param occupiedCells : les cellules occupées par les aventuriers du groupe, ou null si l'aventurier est seul.
+         */
+        private void moveAdventurer(int adventurerId, LongIntOpenHashMap occupiedCells) {
+            Adventurer adventurer = adventurers[adventurerId];
+            MovementProgram.Cursor operations = movementPrograms[adventurerId].cursor();
+            int horizontalPosition = startHorizontalPositions[adventurerId];
+            int verticalPosition = startVerticalPositions[adventurerId];
+            int orientation = adventurer.getOrientation().ordinal();
+
+            for (int operation = operations.nextOp(); operation != 0; operation = operations.nextOp()) {
+                if (operation < 0) {
+                    orientation = OrientationDeltas.rotateRight(orientation, -operation);
+                    continue;
+                }
+
+                int horizontalDelta = OrientationDeltas.horizontalDelta(orientation);
+                int verticalDelta = OrientationDeltas.verticalDelta(orientation);
+                int distance = 0;
+                for (; distance < operation; distance++) {
+                    int nextHorizontalPosition = horizontalPosition + (distance + 1) * horizontalDelta;
+                    int nextVerticalPosition = verticalPosition + (distance + 1) * verticalDelta;
+                    if (isBlocked(nextHorizontalPosition, nextVerticalPosition, occupiedCells)) break;
+                    if (TreasureMapCellKind.hasTreasure(grid.getCellKind(nextHorizontalPosition, nextVerticalPosition))) {
+                        adventurer.collectTreasure(grid.getTreasure(nextHorizontalPosition, nextVerticalPosition));
+                    }
+                }
+
+                if (distance > 0) {
+                    if (occupiedCells != null) {
+                        occupiedCells.remove(PackedCoordinates.pack(horizontalPosition, verticalPosition));
+                    }
+                    horizontalPosition += distance * horizontalDelta;
+                    verticalPosition += distance * verticalDelta;
+                    if (occupiedCells != null) {
+                        occupiedCells.put(PackedCoordinates.pack(horizontalPosition, verticalPosition), adventurerId);
+                    }
+                }
+                if (distance < operation) {
+                    blockedMovementCounts[adventurerId] += operation - distance;
+                    if (isEnclosed(horizontalPosition, verticalPosition, occupiedCells)) {
+                        skippedMovementCounts[adventurerId] = operations.getRemainingMovementCount();
+                        orientation = OrientationDeltas.rotateRight(orientation, operations.skipRemaining());
+                        break;
+                    }
+                }
+            }
+
+            adventurer.getPosition().setHorizontalPosition(horizontalPosition);
+            adventurer.getPosition().setVerticalPosition(verticalPosition);
+            adventurer.setOrientation(OrientationDeltas.orientation(orientation));
+        }
+
+        /**
+         * Le drapeau aventurier de la grille, figé pendant la simulation, est ignoré au profit de la table du groupe.
+         */
+        private boolean isBlocked(int horizontalPosition, int verticalPosition, LongIntOpenHashMap occupiedCells) {
+            return grid.isOutOfBounds(horizontalPosition, verticalPosition)
+                    || TreasureMapCellKind.hasMountain(grid.getCellKind(horizontalPosition, verticalPosition))
+                    || occupiedCells != null
+                    && occupiedCells.containsKey(PackedCoordinates.pack(horizontalPosition, verticalPosition));
+        }
+
+        private boolean isEnclosed(int horizontalPosition, int verticalPosition, LongIntOpenHashMap occupiedCells) {
+            for (int orientation = 0; orientation < OrientationDeltas.ORIENTATION_COUNT; orientation++) {
+                if (!isBlocked(horizontalPosition + OrientationDeltas.horizontalDelta(orientation),
+                        verticalPosition + OrientationDeltas.verticalDelta(orientation), occupiedCells)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Retire d'abord tous les aventuriers déplacés de leur cellule de départ, puis les place sur leur cellule
+         * d'arrivée, qui peut être la cellule de départ d'un autre aventurier.
+         */
+        private void placeAdventurersOnGrid() {
+            for (int adventurerId = 0; adventurerId < adventurers.length; adventurerId++) {
+                if (hasMoved(adventurerId)) {
+                    grid.setAdventurer(startHorizontalPositions[adventurerId], startVerticalPositions[adventurerId],
+                            null);
+                }
+            }
+            for (int adventurerId = 0; adventurerId < adventurers.length; adventurerId++) {
+                if (hasMoved(adventurerId)) {
+                    Position position = adventurers[adventurerId].getPosition();
+                    grid.setAdventurer(position.getHorizontalPosition(), position.getVerticalPosition(),
+                            adventurers[adventurerId]);
+                }
+            }
+        }
+
+        private boolean hasMoved(int adventurerId) {
+            Position position = adventurers[adventurerId].getPosition();
+            return position.getHorizontalPosition() != startHorizontalPositions[adventurerId]
+                    || position.getVerticalPosition() != startVerticalPositions[adventurerId];
+        }
+
+        private int find(int adventurerId) {
+            while (parents[adventurerId] != adventurerId) {
+                parents[adventurerId] = parents[parents[adventurerId]];
+                adventurerId = parents[adventurerId];
+            }
+            return adventurerId;
+        }
+
+        private void union(int firstAdventurerId, int secondAdventurerId) {
+            int firstRoot = find(firstAdventurerId);
+            int secondRoot = find(secondAdventurerId);
+            if (firstRoot != secondRoot) {
+                parents[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+            }
+        }
+    }
+
+    /**
+     * Simule une plage de groupes, en la divisant tant qu'elle dépasse {@value #COMPONENTS_PER_TASK} groupes.
+     */
+    private static final class ComponentsTask extends RecursiveAction {
+
+        private final transient Simulation simulation;
+        private final int firstComponent;
+        private final int lastComponent;
+
+        private ComponentsTask(Simulation simulation, int firstComponent, int lastComponent) {
+            this.simulation = simulation;
+            this.firstComponent = firstComponent;
+            this.lastComponent = lastComponent;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastComponent - firstComponent <= COMPONENTS_PER_TASK) {
+                for (int component = firstComponent; component < lastComponent; component++) {
+                    simulation.simulateComponent(component);
+                }
+                return;
+            }
+            int middleComponent = (firstComponent + lastComponent) >>> 1;
+            invokeAll(new ComponentsTask(simulation, firstComponent, middleComponent),
+                    new ComponentsTask(simulation, middleComponent, lastComponent));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.RayCastIndex;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Ordonnancement par priorité d'apparition : chaque aventurier effectue toute sa séquence avant le suivant. Les autres
+ * aventuriers étant immobiles pendant une séquence, celle-ci peut être exécutée par blocs d'opérations compilées.
+ */
+public class PriorityScheduler implements AdventurerScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriorityScheduler.class);
+
+    @Override
+    public void moveAdventurers(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        RayCastIndex rayCastIndex = RayCastIndex.build(treasureMap);
+        SimulationReport simulationReport = treasureMap.getSimulationReport();
+        for (Adventurer adventurer : adventurers) {
+            moveAdventurer(treasureMap.getGrid(), rayCastIndex, adventurer, simulationReport);
+        }
+        LOGGER.info("Simulation par priorité : " + simulationReport.getBlockedMovementCount()
+                + " déplacement(s) refusé(s), " + simulationReport.getStuckAdventurerCount()
+                + " aventurier(s) bloqué(s) de toutes parts, " + simulationReport.getSkippedMovementCount()
+                + " déplacement(s) ignoré(s) sans simulation.");
+    }
+
+    /**
+     * Applique l'ensemble des déplacements d'un aventurier sans allocation. Les opérations compilées par
+     * {@link MovementProgram.Cursor} sont exécutées d'un bloc : une rotation nette par série de rotations, une avancée
+     * de N cases par série de déplacements en avant.
+     * <p>
+     * Une avancée est résolue par {@link RayCastIndex} : la distance libre jusqu'au prochain obstacle ou bord de la
+     * carte, puis les trésors rencontrés dans l'ordre, sont obtenus par recherche dichotomique, sans lire les cellules
+     * traversées. L'aventurier est ensuite déplacé en une fois sur la grille et dans l'index. La position et
+     * l'orientation de l'aventurier sont mises à jour en fin de séquence.
+     * <p>
+     * Un aventurier bloqué de toutes parts ne peut plus changer de case, les autres aventuriers restant immobiles
+     * pendant sa séquence : la fin de celle-ci est ignorée et seule sa rotation nette est appliquée.
+     *
+     * @param grid             : le contenu de la carte aux trésors.
+     * @param rayCastIndex     : l'index des obstacles et trésors de la carte, tenu à jour par le déplacement.
+     * @param adventurer       : l'aventurier à déplacer.
+     * @param simulationReport : reçoit les déplacements refusés, et ceux ignorés si l'aventurier se retrouve bloqué
+     *                         de toutes parts.
+     */
+    protected void moveAdventurer(TreasureMapGrid grid,
+                                  RayCastIndex rayCastIndex,
+                                  Adventurer adventurer,
+                                  SimulationReport simulationReport) {
+        MovementProgram.Cursor operations = MovementProgram.of(adventurer.getMovements()).cursor();
+        Position position = adventurer.getPosition();
+        int horizontalPosition = position.getHorizontalPosition();
+        int verticalPosition = position.getVerticalPosition();
+        int orientation = adventurer.getOrientation().ordinal();
+        long blockedMovementCount = 0;
+
+        for (int operation = operations.nextOp(); operation != 0; operation = operations.nextOp()) {
+            if (operation < 0) {
+                orientation = OrientationDeltas.rotateRight(orientation, -operation);
+                continue;
+            }
+
+            int distance = rayCastIndex.getFreeDistance(horizontalPosition, verticalPosition, orientation, operation);
+            int horizontalDelta = OrientationDeltas.horizontalDelta(orientation);
+            int verticalDelta = OrientationDeltas.verticalDelta(orientation);
+            for (int treasureDistance = rayCastIndex.getNextTreasureDistance(horizontalPosition, verticalPosition,
+                    orientation, 0, distance);
+                 treasureDistance > 0;
+                 treasureDistance = rayCastIndex.getNextTreasureDistance(horizontalPosition, verticalPosition,
+                         orientation, treasureDistance, distance)) {
+                adventurer.collectTreasure(grid.getTreasure(horizontalPosition + treasureDistance * horizontalDelta,
+                        verticalPosition + treasureDistance * verticalDelta));
+            }
+
+            int nextHorizontalPosition = horizontalPosition + distance * horizontalDelta;
+            int nextVerticalPosition = verticalPosition + distance * verticalDelta;
+            if (distance > 0) {
+                grid.moveAdventurer(horizontalPosition, verticalPosition,
+                        nextHorizontalPosition, nextVerticalPosition, adventurer);
+                rayCastIndex.moveObstacle(horizontalPosition, verticalPosition,
+                        nextHorizontalPosition, nextVerticalPosition);
+                horizontalPosition = nextHorizontalPosition;
+                verticalPosition = nextVerticalPosition;
+            }
+            if (distance < operation) {
+                blockedMovementCount += operation - distance;
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug((operation - distance) + " déplacement(s) " + Movement.FORWARD.getValue()
+                            + " de l'aventurier : " + adventurer.getName() + " ignoré(s).");
+                }
+                if (rayCastIndex.isEnclosed(horizontalPosition, verticalPosition)) {
+                    int skippedMovementCount = operations.getRemainingMovementCount();
+                    orientation = OrientationDeltas.rotateRight(orientation, operations.skipRemaining());
+                    if (skippedMovementCount > 0) {
+                        simulationReport.addStuckAdventurer(skippedMovementCount);
+                    }
+                    break;
+                }
+            }
+        }
+
+        position.setHorizontalPosition(horizontalPosition);
+        position.setVerticalPosition(verticalPosition);
+        adventurer.setOrientation(OrientationDeltas.orientation(orientation));
+        simulationReport.addBlockedMovements(blockedMovementCount);
+    }
+}
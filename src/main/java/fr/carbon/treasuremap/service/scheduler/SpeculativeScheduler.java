@@ -0,0 +1,246 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.MovementProgram;
+import fr.carbon.treasuremap.model.TreasureMap;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.utils.LongIntOpenHashMap;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ordonnancement tour par tour à un déplacement par tour, au résultat identique à
+ * {@link AdventurerSchedulerType#ROUND_ROBIN}, dont les déplacements sont évalués de manière spéculative en parallèle
+ * par lots de {@value #SPECULATED_TURNS} tours.
+ * <p>
+ * Au début de chaque lot, les {@value #SPECULATED_TURNS} prochains déplacements de chaque aventurier actif sont
+ * simulés sur un {@link ForkJoinPool} d'après l'état de la carte en début de lot, comme si l'aventurier était seul à
+ * bouger, sans rien y écrire. Chaque simulation enregistre l'issue de ses déplacements en avant et l'ensemble des
+ * cellules qu'elle a lues ou occupées : sa cellule de départ et chaque cellule d'arrivée évaluée.
+ * <p>
+ * Une cellule lue ou occupée par plusieurs simulations est partagée. Un aventurier dont aucune cellule n'est partagée
+ * ne peut ni gêner ni être gêné par les spéculations des autres : ses issues sont rejouées telles quelles. Les autres
+ * sont réexécutés sur l'état courant de la carte, tour par tour et par ordre d'apparition. Dès qu'un aventurier
+ * réexécuté quitte ou occupe une cellule lue par une spéculation encore valide, cette dernière est abandonnée et
+ * l'aventurier concerné est à son tour réexécuté jusqu'à la fin du lot.
+ */
+public class SpeculativeScheduler extends TurnBasedScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpeculativeScheduler.class);
+
+    private static final int SPECULATED_TURNS = 8;
+
+    private static final int NO_ADVENTURER = -1;
+    private static final int SHARED_CELL = -2;
+    private static final int FOOTPRINT_CAPACITY = SPECULATED_TURNS + 1;
+    private static final int ADVENTURERS_PER_TASK = 1024;
+
+    private final ForkJoinPool forkJoinPool;
+
+    public SpeculativeScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param forkJoinPool : le pool de threads sur lequel les déplacements sont évalués.
+     */
+    public SpeculativeScheduler(ForkJoinPool forkJoinPool) {
+        super(1);
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    @Override
+    protected Simulation createSimulation(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        return new SpeculativeSimulation(treasureMap, adventurers);
+    }
+
+    private final class SpeculativeSimulation extends Simulation {
+
+        private final byte[] forwardSteps;
+        private final int[] forwardStepCursors;
+        private final long[] footprints;
+        private final int[] footprintSizes;
+        private final boolean[] speculationValid;
+        private final LongIntOpenHashMap footprintOwners;
+        private int turnCount;
+
+        private long speculatedStepCount;
+        private long reexecutedStepCount;
+
+        private SpeculativeSimulation(TreasureMap treasureMap, List<Adventurer> adventurerList) {
+            super(treasureMap, adventurerList);
+            this.forwardSteps = new byte[adventurers.length * SPECULATED_TURNS];
+            this.forwardStepCursors = new int[adventurers.length];
+            this.footprints = new long[adventurers.length * FOOTPRINT_CAPACITY];
+            this.footprintSizes = new int[adventurers.length];
+            this.speculationValid = new boolean[adventurers.length];
+            this.footprintOwners = new LongIntOpenHashMap(NO_ADVENTURER);
+        }
+
+        @Override
+        protected void run() {
+            super.run();
+            LOGGER.info("Simulation spéculative : " + speculatedStepCount + " déplacement(s) en avant validé(s) par "
+                    + "spéculation, " + reexecutedStepCount + " réexécuté(s) après un conflit.");
+        }
+
+        /**
+         * Au premier tour de chaque lot, oublie les cellules du lot précédent, spécule en parallèle les
+         * {@value #SPECULATED_TURNS} prochains déplacements de chaque aventurier, puis valide les spéculations dont
+         * aucune cellule n'est partagée.
+         */
+        @Override
+        protected void beforeTurn() {
+            if (turnCount++ % SPECULATED_TURNS != 0) return;
+
+            footprintOwners.clear();
+
+            if (runQueueSize <= ADVENTURERS_PER_TASK) {
+                speculate(0, runQueueSize);
+            } else {
+                forkJoinPool.invoke(new SpeculationTask(this, 0, runQueueSize));
+            }
+
+            for (int i = 0; i < runQueueSize; i++) {
+                int adventurerId = runQueue[i];
+                int footprintStart = adventurerId * FOOTPRINT_CAPACITY;
+                for (int j = footprintStart; j < footprintStart + footprintSizes[adventurerId]; j++) {
+                    int owner = footprintOwners.get(footprints[j]);
+                    if (owner == NO_ADVENTURER) {
+                        footprintOwners.put(footprints[j], adventurerId);
+                    } else if (owner != adventurerId) {
+                        footprintOwners.put(footprints[j], SHARED_CELL);
+                    }
+                }
+            }
+            for (int i = 0; i < runQueueSize; i++) {
+                int adventurerId = runQueue[i];
+                int footprintStart = adventurerId * FOOTPRINT_CAPACITY;
+                boolean valid = true;
+                for (int j = footprintStart; valid && j < footprintStart + footprintSizes[adventurerId]; j++) {
+                    valid = footprintOwners.get(footprints[j]) == adventurerId;
+                }
+                speculationValid[adventurerId] = valid;
+                forwardStepCursors[adventurerId] = 0;
+            }
+        }
+
+        @Override
+        protected int resolveForwardStep(int adventurerId, int nextHorizontalPosition, int nextVerticalPosition) {
+            if (speculationValid[adventurerId]) {
+                speculatedStepCount++;
+                return forwardSteps[adventurerId * SPECULATED_TURNS + forwardStepCursors[adventurerId]++];
+            }
+
+            reexecutedStepCount++;
+            int forwardStep = evaluateForwardStep(grid, nextHorizontalPosition, nextVerticalPosition);
+            if (forwardStep != FORWARD_STEP_BLOCKED) {
+                invalidateSpeculation(PackedCoordinates.pack(horizontalPositions[adventurerId],
+                        verticalPositions[adventurerId]));
+                invalidateSpeculation(PackedCoordinates.pack(nextHorizontalPosition, nextVerticalPosition));
+            }
+            return forwardStep;
+        }
+
+        /**
+         * Abandonne la spéculation de l'aventurier qui a seul lu ou occupé cette cellule pendant le lot.
+         */
+        private void invalidateSpeculation(long cell) {
+            int owner = footprintOwners.get(cell);
+            if (owner >= 0) {
+                speculationValid[owner] = false;
+            }
+        }
+
+        private void speculate(int firstQueueIndex, int lastQueueIndex) {
+            for (int queueIndex = firstQueueIndex; queueIndex < lastQueueIndex; queueIndex++) {
+                speculate(runQueue[queueIndex]);
+            }
+        }
+
+        /**
+         * Simule les prochains déplacements d'un aventurier seul sur la carte en début de lot. Sa cellule de départ,
+         * qu'il a pu quitter puis retrouver, est lue sans lui.
+         */
+        private void speculate(int adventurerId) {
+            MovementProgram movementProgram = movementPrograms[adventurerId];
+            int movementIndex = movementIndexes[adventurerId];
+            int batchEnd = Math.min(movementProgram.size(), movementIndex + SPECULATED_TURNS);
+            int horizontalPosition = horizontalPositions[adventurerId];
+            int verticalPosition = verticalPositions[adventurerId];
+            int orientation = orientations[adventurerId];
+            long startCell = PackedCoordinates.pack(horizontalPosition, verticalPosition);
+
+            int footprintStart = adventurerId * FOOTPRINT_CAPACITY;
+            int footprintSize = 0;
+            footprints[footprintStart + footprintSize++] = startCell;
+            int forwardStepIndex = adventurerId * SPECULATED_TURNS;
+
+            for (; movementIndex < batchEnd; movementIndex++) {
+                switch (movementProgram.getCode(movementIndex)) {
+                    case MovementProgram.FORWARD_CODE -> {
+                        int nextHorizontalPosition = horizontalPosition
+                                + OrientationDeltas.horizontalDelta(orientation);
+                        int nextVerticalPosition = verticalPosition + OrientationDeltas.verticalDelta(orientation);
+                        int forwardStep = FORWARD_STEP_BLOCKED;
+                        if (!grid.isOutOfBounds(nextHorizontalPosition, nextVerticalPosition)) {
+                            long nextCell = PackedCoordinates.pack(nextHorizontalPosition, nextVerticalPosition);
+                            byte nextCellKind = grid.getCellKind(nextHorizontalPosition, nextVerticalPosition);
+                            if (nextCell == startCell) {
+                                nextCellKind = (byte) (nextCellKind & ~TreasureMapCellKind.ADVENTURER);
+                            }
+                            if (!TreasureMapCellKind.isObstacle(nextCellKind)) {
+                                forwardStep = TreasureMapCellKind.hasTreasure(nextCellKind)
+                                        ? FORWARD_STEP_ONTO_TREASURE
+                                        : FORWARD_STEP_ALLOWED;
+                            }
+                            footprints[footprintStart + footprintSize++] = nextCell;
+                        }
+                        forwardSteps[forwardStepIndex++] = (byte) forwardStep;
+                        if (forwardStep != FORWARD_STEP_BLOCKED) {
+                            horizontalPosition = nextHorizontalPosition;
+                            verticalPosition = nextVerticalPosition;
+                        }
+                    }
+                    case MovementProgram.TURN_RIGHT_CODE -> orientation = OrientationDeltas.turnRight(orientation);
+                    case MovementProgram.TURN_LEFT_CODE -> orientation = OrientationDeltas.turnLeft(orientation);
+                }
+            }
+            footprintSizes[adventurerId] = footprintSize;
+        }
+    }
+
+    /**
+     * Spécule une plage de la file des aventuriers actifs, en la divisant tant qu'elle dépasse
+     * {@value #ADVENTURERS_PER_TASK} aventuriers.
+     */
+    private static final class SpeculationTask extends RecursiveAction {
+
+        private final transient SpeculativeSimulation simulation;
+        private final int firstQueueIndex;
+        private final int lastQueueIndex;
+
+        private SpeculationTask(SpeculativeSimulation simulation, int firstQueueIndex, int lastQueueIndex) {
+            this.simulation = simulation;
+            this.firstQueueIndex = firstQueueIndex;
+            this.lastQueueIndex = lastQueueIndex;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastQueueIndex - firstQueueIndex <= ADVENTURERS_PER_TASK) {
+                simulation.speculate(firstQueueIndex, lastQueueIndex);
+                return;
+            }
+            int middleQueueIndex = (firstQueueIndex + lastQueueIndex) >>> 1;
+            invokeAll(new SpeculationTask(simulation, firstQueueIndex, middleQueueIndex),
+                    new SpeculationTask(simulation, middleQueueIndex, lastQueueIndex));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.Movement;
+import fr.carbon.treasuremap.model.Position;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Application thread-safe de déplacements injectés depuis plusieurs threads à la fois.
+ * <p>
+ * La carte est découpée en régions, chacune protégée par son propre verrou. Un déplacement en avant ne
+ * verrouille que la région de départ et la région d'arrivée, toujours dans l'ordre croissant de leur indice, ce qui
+ * exclut tout interblocage. Deux déplacements dans des régions différentes ne se disputent donc jamais un verrou.
+ * L'aventurier déplacé est lui-même verrouillé en premier, afin que deux déplacements d'un même aventurier ne
+ * s'entrelacent pas.
+ * <p>
+ * Les régions sont carrées lorsque la représentation supporte la modification concurrente de cellules distinctes
+ * ({@link TreasureMapGrid#supportsConcurrentCellUpdates()}). Sur une représentation compacte, elles couvrent toute la
+ * largeur de la carte et un nombre entier de bandes de lignes ({@link TreasureMapGrid#getConcurrentRowBandHeight()}),
+ * chaque bande n'étant ainsi modifiée que sous un seul verrou. Une représentation qui ne supporte ni l'un ni l'autre
+ * est refusée dès que plusieurs verrous sont demandés.
+ */
+public class StripedMovementExecutor {
+
+    private final TreasureMapGrid grid;
+    private final int regionWidth;
+    private final int regionHeight;
+    private final int regionColumnCount;
+    private final ReentrantLock[] stripes;
+
+    private final LongAdder appliedMovementCount = new LongAdder();
+    private final LongAdder contendedLockCount = new LongAdder();
+
+    /**
+     * @param grid                 : le contenu de la carte aux trésors.
+     * @param requestedStripeCount : le nombre de régions souhaité, arrondi au découpage de la carte en carrés ou en
+     *                             bandes de lignes.
+     * @throws IllegalArgumentException si plusieurs régions sont demandées sur une représentation qui ne supporte pas
+     *                                  les modifications concurrentes.
+     */
+    public StripedMovementExecutor(TreasureMapGrid grid, int requestedStripeCount) {
+        if (requestedStripeCount < 1) {
+            throw new IllegalArgumentException("Le nombre de verrous doit être strictement positif.");
+        }
+        this.grid = grid;
+
+        int columnCount = Math.max(1, grid.getColumnCount());
+        int rowCount = Math.max(1, grid.getRowCount());
+        int rowBandHeight = grid.getConcurrentRowBandHeight();
+        if (requestedStripeCount == 1) {
+            this.regionWidth = columnCount;
+            this.regionHeight = rowCount;
+        } else if (grid.supportsConcurrentCellUpdates()) {
+            long cellCount = (long) columnCount * rowCount;
+            this.regionWidth = (int) Math.max(1, Math.ceil(Math.sqrt((double) cellCount / requestedStripeCount)));
+            this.regionHeight = regionWidth;
+        } else if (rowBandHeight > 0) {
+            long rowBandCount = (rowCount + rowBandHeight - 1L) / rowBandHeight;
+            this.regionWidth = columnCount;
+            this.regionHeight = (int) Math.min(rowCount,
+                    (rowBandCount + requestedStripeCount - 1) / requestedStripeCount * rowBandHeight);
+        } else {
+            throw new IllegalArgumentException("La représentation " + grid.getClass().getSimpleName()
+                    + " ne supporte pas les modifications concurrentes : un seul verrou peut être utilisé.");
+        }
+        this.regionColumnCount = (columnCount + regionWidth - 1) / regionWidth;
+        int regionRowCount = (rowCount + regionHeight - 1) / regionHeight;
+
+        this.stripes = new ReentrantLock[regionColumnCount * regionRowCount];
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            stripes[stripe] = new ReentrantLock();
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    public long getAppliedMovementCount() {
+        return appliedMovementCount.sum();
+    }
+
+    /**
+     * @return le nombre d'acquisitions de verrou qui ont dû attendre un autre thread.
+     */
+    public long getContendedLockCount() {
+        return contendedLockCount.sum();
+    }
+
+    /**
+     * Applique un déplacement à un aventurier, avec les règles habituelles : un déplacement en avant hors de la carte,
+     * sur une montagne ou sur un autre aventurier est refusé, un trésor est ramassé à l'arrivée.
+     *
+     * @param adventurer : l'aventurier concerné.
+     * @param movement   : le déplacement à appliquer.
+     * @return false si le déplacement en avant a été refusé.
+     */
+    public boolean applyMovement(Adventurer adventurer, Movement movement) {
+        synchronized (adventurer) {
+            appliedMovementCount.increment();
+            int orientation = adventurer.getOrientation().ordinal();
+            return switch (movement) {
+                case FORWARD -> moveForward(adventurer, orientation);
+                case TURN_RIGHT -> {
+                    adventurer.setOrientation(OrientationDeltas.orientation(OrientationDeltas.turnRight(orientation)));
+                    yield true;
+                }
+                case TURN_LEFT -> {
+                    adventurer.setOrientation(OrientationDeltas.orientation(OrientationDeltas.turnLeft(orientation)));
+                    yield true;
+                }
+            };
+        }
+    }
+
+    private boolean moveForward(Adventurer adventurer, int orientation) {
+        Position position = adventurer.getPosition();
+        int horizontalPosition = position.getHorizontalPosition();
+        int verticalPosition = position.getVerticalPosition();
+        int nextHorizontalPosition = horizontalPosition + OrientationDeltas.horizontalDelta(orientation);
+        int nextVerticalPosition = verticalPosition + OrientationDeltas.verticalDelta(orientation);
+        if (grid.isOutOfBounds(nextHorizontalPosition, nextVerticalPosition)) return false;
+
+        int stripe = getStripe(horizontalPosition, verticalPosition);
+        int nextStripe = getStripe(nextHorizontalPosition, nextVerticalPosition);
+        ReentrantLock firstLock = stripes[Math.min(stripe, nextStripe)];
+        ReentrantLock secondLock = stripes[Math.max(stripe, nextStripe)];
+        lock(firstLock);
+        try {
+            if (secondLock != firstLock) {
+                lock(secondLock);
+            }
+            try {
+                int forwardStep = TurnBasedScheduler.evaluateForwardStepInBounds(grid, nextHorizontalPosition,
+                        nextVerticalPosition);
+                if (forwardStep == TurnBasedScheduler.FORWARD_STEP_BLOCKED) return false;
+
+                TurnBasedScheduler.applyForwardStep(grid, adventurer, forwardStep, horizontalPosition,
+                        verticalPosition, nextHorizontalPosition, nextVerticalPosition);
+                position.setHorizontalPosition(nextHorizontalPosition);
+                position.setVerticalPosition(nextVerticalPosition);
+                return true;
+            } finally {
+                if (secondLock != firstLock) {
+                    secondLock.unlock();
+                }
+            }
+        } finally {
+            firstLock.unlock();
+        }
+    }
+
+    private void lock(ReentrantLock stripe) {
+        if (!stripe.tryLock()) {
+            contendedLockCount.increment();
+            stripe.lock();
+        }
+    }
+
+    private int getStripe(int horizontalPosition, int verticalPosition) {
+        return verticalPosition / regionHeight * regionColumnCount + horizontalPosition / regionWidth;
+    }
+}
@@ -0,0 +1,263 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Ordonnancement tour par tour : à chaque tour, les aventuriers qui ont encore des déplacements effectuent chacun au
+ * plus {@code movementsPerTurn} déplacements, par ordre d'apparition. Avec un déplacement par tour, c'est un tourniquet
+ * strict. Des lots plus grands échangent l'équité contre le débit.
+ * <p>
+ * L'état de la simulation est rangé dans des tableaux primitifs indexés par le rang d'apparition des aventuriers, et la
+ * file des aventuriers actifs est un tableau d'entiers compacté sur place à chaque tour. Aucun objet n'est alloué par
+ * tour ni par déplacement, quel que soit le nombre d'aventuriers.
+ */
+public class TurnBasedScheduler implements AdventurerScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TurnBasedScheduler.class);
+
+    private final int movementsPerTurn;
+
+    public TurnBasedScheduler(int movementsPerTurn) {
+        if (movementsPerTurn < 1) {
+            throw new IllegalArgumentException("Le nombre de déplacements par tour doit être strictement positif.");
+        }
+        this.movementsPerTurn = movementsPerTurn;
+    }
+
+    public int getMovementsPerTurn() {
+        return movementsPerTurn;
+    }
+
+    static final int FORWARD_STEP_BLOCKED = 0;
+    static final int FORWARD_STEP_ALLOWED = 1;
+    static final int FORWARD_STEP_ONTO_TREASURE = 2;
+
+    @Override
+    public void moveAdventurers(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        createSimulation(treasureMap, adventurers).run();
+    }
+
+    protected Simulation createSimulation(TreasureMap treasureMap, List<Adventurer> adventurers) {
+        return new Simulation(treasureMap, adventurers);
+    }
+
+    /**
+     * Règles d'un déplacement en avant d'une case : refusé hors de la carte, sur une montagne ou sur un autre
+     * aventurier, accompagné d'une collecte sur un trésor. La cellule d'arrivée n'est lue qu'une fois.
+     *
+     * @return {@link #FORWARD_STEP_BLOCKED}, {@link #FORWARD_STEP_ALLOWED} ou {@link #FORWARD_STEP_ONTO_TREASURE}.
+     */
+    static int evaluateForwardStep(TreasureMapGrid grid, int nextHorizontalPosition, int nextVerticalPosition) {
+        if (grid.isOutOfBounds(nextHorizontalPosition, nextVerticalPosition)) return FORWARD_STEP_BLOCKED;
+        return evaluateForwardStepInBounds(grid, nextHorizontalPosition, nextVerticalPosition);
+    }
+
+    /**
+     * Variante de {@link #evaluateForwardStep(TreasureMapGrid, int, int)} pour une cellule d'arrivée dont on sait
+     * déjà qu'elle est dans la carte.
+     */
+    static int evaluateForwardStepInBounds(TreasureMapGrid grid, int nextHorizontalPosition, int nextVerticalPosition) {
+        byte nextCellKind = grid.getCellKind(nextHorizontalPosition, nextVerticalPosition);
+        if (TreasureMapCellKind.isObstacle(nextCellKind)) return FORWARD_STEP_BLOCKED;
+        return TreasureMapCellKind.hasTreasure(nextCellKind) ? FORWARD_STEP_ONTO_TREASURE : FORWARD_STEP_ALLOWED;
+    }
+
+    /**
+     * Applique un déplacement en avant accepté par {@link #evaluateForwardStep(TreasureMapGrid, int, int)} : ramasse
+     * le trésor de la cellule d'arrivée s'il y en a un, puis déplace l'aventurier sur la grille. La position portée
+     * par l'aventurier, ou par la simulation qui la recopie, reste à mettre à jour par l'appelant.
+     *
+     * @param forwardStep : {@link #FORWARD_STEP_ALLOWED} ou {@link #FORWARD_STEP_ONTO_TREASURE}.
+     */
+    static void applyForwardStep(TreasureMapGrid grid,
+                                 Adventurer adventurer,
+                                 int forwardStep,
+                                 int horizontalPosition,
+                                 int verticalPosition,
+                                 int nextHorizontalPosition,
+                                 int nextVerticalPosition) {
+        if (forwardStep == FORWARD_STEP_ONTO_TREASURE) {
+            adventurer.collectTreasure(grid.getTreasure(nextHorizontalPosition, nextVerticalPosition));
+        }
+        grid.moveAdventurer(horizontalPosition, verticalPosition, nextHorizontalPosition, nextVerticalPosition,
+                adventurer);
+    }
+
+    /**
+     * Un aventurier entouré de montagnes et de bords de carte ne pourra plus jamais bouger. Un voisin aventurier ne
+     * compte pas : il peut encore se déplacer.
+     */
+    static boolean isWalledIn(TreasureMapGrid grid, int horizontalPosition, int verticalPosition) {
+        for (int orientation = 0; orientation < OrientationDeltas.ORIENTATION_COUNT; orientation++) {
+            int neighbourHorizontalPosition = horizontalPosition + OrientationDeltas.horizontalDelta(orientation);
+            int neighbourVerticalPosition = verticalPosition + OrientationDeltas.verticalDelta(orientation);
+            if (grid.isOutOfBounds(neighbourHorizontalPosition, neighbourVerticalPosition)) continue;
+            if (!TreasureMapCellKind.hasMountain(grid.getCellKind(neighbourHorizontalPosition,
+                    neighbourVerticalPosition))) return false;
+        }
+        return true;
+    }
+
+    protected class Simulation {
+
+        protected final TreasureMapGrid grid;
+        protected final SimulationReport simulationReport;
+
+        protected final Adventurer[] adventurers;
+        protected final MovementProgram[] movementPrograms;
+        protected final int[] movementIndexes;
+        protected final int[] horizontalPositions;
+        protected final int[] verticalPositions;
+        protected final int[] orientations;
+
+        protected final int[] runQueue;
+        protected int runQueueSize;
+        private long blockedMovementCount;
+
+        protected Simulation(TreasureMap treasureMap, List<Adventurer> adventurerList) {
+            this.grid = treasureMap.getGrid();
+            this.simulationReport = treasureMap.getSimulationReport();
+
+            int adventurerCount = adventurerList.size();
+            this.adventurers = adventurerList.toArray(new Adventurer[0]);
+            this.movementPrograms = new MovementProgram[adventurerCount];
+            this.movementIndexes = new int[adventurerCount];
+            this.horizontalPositions = new int[adventurerCount];
+            this.verticalPositions = new int[adventurerCount];
+            this.orientations = new int[adventurerCount];
+            this.runQueue = new int[adventurerCount];
+
+            for (int adventurerId = 0; adventurerId < adventurerCount; adventurerId++) {
+                Adventurer adventurer = adventurers[adventurerId];
+                movementPrograms[adventurerId] = MovementProgram.of(adventurer.getMovements());
+                horizontalPositions[adventurerId] = adventurer.getPosition().getHorizontalPosition();
+                verticalPositions[adventurerId] = adventurer.getPosition().getVerticalPosition();
+                orientations[adventurerId] = adventurer.getOrientation().ordinal();
+                if (!movementPrograms[adventurerId].isEmpty()) {
+                    runQueue[runQueueSize++] = adventurerId;
+                }
+            }
+        }
+
+        protected void run() {
+            while (runQueueSize > 0) {
+                beforeTurn();
+                int activeCount = 0;
+                for (int i = 0; i < runQueueSize; i++) {
+                    int adventurerId = runQueue[i];
+                    if (playTurn(adventurerId)) {
+                        runQueue[activeCount++] = adventurerId;
+                    }
+                }
+                runQueueSize = activeCount;
+                simulationReport.addTurn();
+            }
+
+            for (int adventurerId = 0; adventurerId < adventurers.length; adventurerId++) {
+                Position position = adventurers[adventurerId].getPosition();
+                position.setHorizontalPosition(horizontalPositions[adventurerId]);
+                position.setVerticalPosition(verticalPositions[adventurerId]);
+                adventurers[adventurerId].setOrientation(OrientationDeltas.orientation(orientations[adventurerId]));
+            }
+            simulationReport.addBlockedMovements(blockedMovementCount);
+            LOGGER.info("Simulation tour par tour (" + movementsPerTurn + " déplacement(s) par tour) : "
+                    + simulationReport.getTurnCount() + " tour(s), " + blockedMovementCount
+                    + " déplacement(s) refusé(s), " + simulationReport.getSkippedMovementCount()
+                    + " déplacement(s) ignoré(s) sans simulation.");
+        }
+
+        /**
+         * Appelé au début de chaque tour, avant que les aventuriers de la file ne jouent.
+         */
+        protected void beforeTurn() {
+        }
+
+        /**
+         * Applique les règles d'un déplacement en avant à l'état courant de la carte.
+         *
+         * @param adventurerId : le rang d'apparition de l'aventurier qui avance.
+         * @return l'issue du déplacement, voir {@link #evaluateForwardStep(TreasureMapGrid, int, int)}.
+         */
+        protected int resolveForwardStep(int adventurerId, int nextHorizontalPosition, int nextVerticalPosition) {
+            return evaluateForwardStep(grid, nextHorizontalPosition, nextVerticalPosition);
+        }
+
+        /**
+         * Joue le lot de déplacements d'un aventurier pour le tour courant.
+         *
+         * @return true s'il lui reste des déplacements à jouer.
+         */
+        private boolean playTurn(int adventurerId) {
+            MovementProgram movementProgram = movementPrograms[adventurerId];
+            int movementIndex = movementIndexes[adventurerId];
+            int turnEnd = movementIndex + Math.min(movementsPerTurn, movementProgram.size() - movementIndex);
+
+            for (; movementIndex < turnEnd; movementIndex++) {
+                switch (movementProgram.getCode(movementIndex)) {
+                    case MovementProgram.FORWARD_CODE -> {
+                        if (!stepForward(adventurerId) && isWalledIn(grid, horizontalPositions[adventurerId],
+                                verticalPositions[adventurerId])) {
+                            skipRemainingMovements(adventurerId, movementIndex + 1);
+                            return false;
+                        }
+                    }
+                    case MovementProgram.TURN_RIGHT_CODE ->
+                            orientations[adventurerId] = OrientationDeltas.turnRight(orientations[adventurerId]);
+                    case MovementProgram.TURN_LEFT_CODE ->
+                            orientations[adventurerId] = OrientationDeltas.turnLeft(orientations[adventurerId]);
+                }
+            }
+            movementIndexes[adventurerId] = movementIndex;
+            return movementIndex < movementProgram.size();
+        }
+
+        /**
+         * Avance d'une case selon {@link #resolveForwardStep(int, int, int)}.
+         *
+         * @return false si le déplacement est refusé.
+         */
+        private boolean stepForward(int adventurerId) {
+            int horizontalPosition = horizontalPositions[adventurerId];
+            int verticalPosition = verticalPositions[adventurerId];
+            int nextHorizontalPosition = horizontalPosition + OrientationDeltas.horizontalDelta(orientations[adventurerId]);
+            int nextVerticalPosition = verticalPosition + OrientationDeltas.verticalDelta(orientations[adventurerId]);
+
+            int forwardStep = resolveForwardStep(adventurerId, nextHorizontalPosition, nextVerticalPosition);
+            if (forwardStep == FORWARD_STEP_BLOCKED) {
+                return refuseForwardMovement(adventurerId);
+            }
+
+            applyForwardStep(grid, adventurers[adventurerId], forwardStep, horizontalPosition, verticalPosition,
+                    nextHorizontalPosition, nextVerticalPosition);
+            horizontalPositions[adventurerId] = nextHorizontalPosition;
+            verticalPositions[adventurerId] = nextVerticalPosition;
+            return true;
+        }
+
+        private boolean refuseForwardMovement(int adventurerId) {
+            blockedMovementCount++;
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Le déplacement " + Movement.FORWARD.getValue() + " de l'aventurier : "
+                        + adventurers[adventurerId].getName() + " est ignoré.");
+            }
+            return false;
+        }
+
+        private void skipRemainingMovements(int adventurerId, int fromMovementIndex) {
+            MovementProgram movementProgram = movementPrograms[adventurerId];
+            orientations[adventurerId] = OrientationDeltas.rotateRight(orientations[adventurerId],
+                    movementProgram.getNetRotation(fromMovementIndex));
+            movementIndexes[adventurerId] = movementProgram.size();
+            if (fromMovementIndex < movementProgram.size()) {
+                simulationReport.addStuckAdventurer(movementProgram.size() - fromMovementIndex);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Version de {@link BatchStepKernel} écrite avec l'API Vector : chaque itération traite autant d'aventuriers que le
+ * processeur a de voies entières ({@link IntVector#SPECIES_PREFERRED}). Les sorties de carte sont un masque de
+ * comparaisons. Les mots du masque de montagnes sont lus voie par voie dans un petit tableau intermédiaire puis
+ * testés d'un bloc : la lecture indexée de l'API ({@code IntVector.fromArray} avec un tableau d'indices) fait
+ * planter le code compilé par C2 sous Java 17.
+ * <p>
+ * Cette classe ne doit être chargée que si le module {@code jdk.incubator.vector} l'est aussi
+ * ({@link BatchStepKernel#VECTOR_API_AVAILABLE}).
+ */
+final class VectorBatchStepKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorBatchStepKernel() {
+    }
+
+    /**
+     * Traite les aventuriers du lot par vecteurs complets, aux mêmes paramètres que
+     * {@link BatchStepKernel#computeNextPositions}.
+     *
+     * @return le premier aventurier non traité, à confier à la boucle scalaire.
+     */
+    static int computeNextPositions(int fromIndex,
+                                    int toIndex,
+                                    int[] horizontalPositions,
+                                    int[] verticalPositions,
+                                    int[] orientations,
+                                    int columnCount,
+                                    int rowCount,
+                                    int[] mountainMask,
+                                    int[] nextHorizontalPositions,
+                                    int[] nextVerticalPositions,
+                                    int[] blockedMasks) {
+        int[] cells = new int[SPECIES.length()];
+        int[] mountainWords = new int[SPECIES.length()];
+        IntVector zero = IntVector.zero(SPECIES);
+        int upperBound = fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+        int i = fromIndex;
+        for (; i < upperBound; i += SPECIES.length()) {
+            IntVector orientation = IntVector.fromArray(SPECIES, orientations, i);
+            IntVector horizontalAxis = orientation.lanewise(VectorOperators.ASHR, 1);
+            IntVector direction = orientation.lanewise(VectorOperators.XOR, horizontalAxis)
+                    .and(1)
+                    .lanewise(VectorOperators.LSHL, 1)
+                    .sub(1);
+            IntVector nextHorizontalPosition = IntVector.fromArray(SPECIES, horizontalPositions, i)
+                    .add(direction.mul(horizontalAxis));
+            IntVector nextVerticalPosition = IntVector.fromArray(SPECIES, verticalPositions, i)
+                    .add(direction.sub(direction.mul(horizontalAxis)));
+            nextHorizontalPosition.intoArray(nextHorizontalPositions, i);
+            nextVerticalPosition.intoArray(nextVerticalPositions, i);
+
+            VectorMask<Integer> blocked = nextHorizontalPosition.lt(0)
+                    .or(nextVerticalPosition.lt(0))
+                    .or(nextHorizontalPosition.compare(VectorOperators.GE, columnCount))
+                    .or(nextVerticalPosition.compare(VectorOperators.GE, rowCount));
+            if (mountainMask != null) {
+                IntVector cell = nextVerticalPosition.mul(columnCount).add(nextHorizontalPosition).blend(0, blocked);
+                cell.intoArray(cells, 0);
+                for (int lane = 0; lane < cells.length; lane++) {
+                    mountainWords[lane] = mountainMask[cells[lane] >>> 5];
+                }
+                blocked = blocked.or(IntVector.fromArray(SPECIES, mountainWords, 0)
+                        .lanewise(VectorOperators.LSHR, cell.and(Integer.SIZE - 1))
+                        .and(1)
+                        .compare(VectorOperators.NE, 0));
+            }
+            zero.blend(1, blocked).intoArray(blockedMasks, i);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,133 @@
+package fr.carbon.treasuremap.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formats de compression des fichiers en entrée et en sortie. Un fichier en entrée est reconnu à ses premiers
+ * octets, un fichier de sortie à son extension ; les fichiers sont compressés et décompressés à la volée, sans fichier
+ * intermédiaire.
+ * <p>
+ * Un nouveau format s'ajoute en déclarant ses premiers octets, son extension et ses flux de compression.
+ */
+public enum CompressionCodec {
+
+    GZIP(new byte[]{(byte) 0x1F, (byte) 0x8B}, ".gz") {
+        @Override
+        public InputStream decompress(InputStream inputStream) throws IOException {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+    };
+
+    /**
+     * Taille des tampons de lecture et d'écriture des fichiers et des flux de compression.
+     */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    private static final CompressionCodec[] CODECS = values();
+
+    private final byte[] magic;
+    private final String extension;
+
+    CompressionCodec(byte[] magic, String extension) {
+        this.magic = magic;
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public abstract InputStream decompress(InputStream inputStream) throws IOException;
+
+    public abstract OutputStream compress(OutputStream outputStream) throws IOException;
+
+    /**
+     * @param file : le fichier à examiner.
+     * @return le format de compression reconnu aux premiers octets du fichier, null si le fichier n'est pas compressé.
+     * @throws IOException si le fichier ne peut être lu.
+     */
+    public static CompressionCodec detect(Path file) throws IOException {
+        byte[] header;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            header = inputStream.readNBytes(getMaxMagicLength());
+        }
+        for (CompressionCodec codec : CODECS) {
+            if (header.length >= codec.magic.length
+                    && Arrays.equals(header, 0, codec.magic.length, codec.magic, 0, codec.magic.length)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param fileName : le nom d'un fichier.
+     * @return le format de compression correspondant à l'extension du fichier, null s'il n'en a aucun.
+     */
+    public static CompressionCodec fromFileName(String fileName) {
+        for (CompressionCodec codec : CODECS) {
+            if (fileName.endsWith(codec.extension)) return codec;
+        }
+        return null;
+    }
+
+    /**
+     * Ouvre un fichier en lecture, décompressé à la volée s'il est compressé.
+     *
+     * @param file : le fichier à lire.
+     * @return le contenu décompressé du fichier.
+     * @throws IOException si le fichier ne peut être lu.
+     */
+    public static InputStream openInputStream(Path file) throws IOException {
+        CompressionCodec codec = detect(file);
+        InputStream inputStream = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        if (codec == null) return inputStream;
+        try {
+            return codec.decompress(inputStream);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Ouvre un fichier en écriture, compressé à la volée si son extension correspond à un format de compression.
+     *
+     * @param file : le fichier à écrire.
+     * @return le flux d'écriture du fichier.
+     * @throws IOException si le fichier ne peut être écrit.
+     */
+    public static OutputStream openOutputStream(Path file) throws IOException {
+        CompressionCodec codec = fromFileName(file.getFileName().toString());
+        OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+        if (codec == null) return outputStream;
+        try {
+            return codec.compress(outputStream);
+        } catch (IOException e) {
+            outputStream.close();
+            throw e;
+        }
+    }
+
+    private static int getMaxMagicLength() {
+        int maxMagicLength = 0;
+        for (CompressionCodec codec : CODECS) {
+            maxMagicLength = Math.max(maxMagicLength, codec.magic.length);
+        }
+        return maxMagicLength;
+    }
+}
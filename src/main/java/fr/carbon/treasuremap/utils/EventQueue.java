@@ -0,0 +1,122 @@
+package fr.carbon.treasuremap.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * File de priorité d'événements datés (tas binaire minimum), chaque événement associant un instant long à un
+ * identifiant int, rangés dans deux tableaux parallèles sans objet par événement contrairement à une
+ * {@code PriorityQueue}.
+ * <p>
+ * Les événements sont ordonnés par instant puis, à instant égal, par identifiant croissant.
+ */
+public class EventQueue {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] times;
+    private int[] ids;
+    private int size;
+
+    /**
+     * @param expectedSize : nombre d'événements simultanément attendus, afin d'éviter les redimensionnements.
+     */
+    public EventQueue(int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        this.times = new long[capacity];
+        this.ids = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(long time, int id) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        siftUp(size++, time, id);
+    }
+
+    /**
+     * @return l'instant du prochain événement.
+     */
+    public long peekTime() {
+        checkNotEmpty();
+        return times[0];
+    }
+
+    /**
+     * @return l'identifiant du prochain événement.
+     */
+    public int peekId() {
+        checkNotEmpty();
+        return ids[0];
+    }
+
+    /**
+     * Retire le prochain événement.
+     */
+    public void removeFirst() {
+        checkNotEmpty();
+        size--;
+        if (size > 0) {
+            siftDown(0, times[size], ids[size]);
+        }
+    }
+
+    /**
+     * Reporte le prochain événement à un instant ultérieur, en une seule descente dans le tas au lieu d'un retrait
+     * suivi d'un ajout.
+     *
+     * @param time : le nouvel instant, supérieur ou égal à celui du prochain événement.
+     */
+    public void rescheduleFirst(long time) {
+        checkNotEmpty();
+        siftDown(0, time, ids[0]);
+    }
+
+    private void siftUp(int index, long time, int id) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBefore(time, id, times[parent], ids[parent])) break;
+            times[index] = times[parent];
+            ids[index] = ids[parent];
+            index = parent;
+        }
+        times[index] = time;
+        ids[index] = id;
+    }
+
+    private void siftDown(int index, long time, int id) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && isBefore(times[right], ids[right], times[child], ids[child])) {
+                child = right;
+            }
+            if (!isBefore(times[child], ids[child], time, id)) break;
+            times[index] = times[child];
+            ids[index] = ids[child];
+            index = child;
+        }
+        times[index] = time;
+        ids[index] = id;
+    }
+
+    private static boolean isBefore(long time, int id, long otherTime, int otherId) {
+        return time < otherTime || (time == otherTime && id < otherId);
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("La file d'événements est vide.");
+        }
+    }
+}
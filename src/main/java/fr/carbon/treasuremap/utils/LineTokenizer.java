@@ -0,0 +1,180 @@
+package fr.carbon.treasuremap.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Découpage sans copie d'une ligne du fichier en entrée, lue directement dans un {@link ByteBuffer} (typiquement la
+ * projection en mémoire du fichier, encodé en UTF-8).
+ * <p>
+ * Les informations sont séparées par {@link TreasureMapGameUtils#LINE_DELIMITER}, comme avec
+ * {@link TreasureMapGameUtils#splitLine(String)}, mais seules leurs bornes sont relevées : aucune {@link String} n'est
+ * créée tant que {@link #getField(int)} ou {@link #toString()} ne sont pas appelés, et les entiers sont lus en place en
+ * un seul parcours. Une même instance est réutilisée d'une ligne à l'autre.
+ */
+public final class LineTokenizer {
+
+    /**
+     * Valeur retournée par {@link #parseIntField(int)} pour une information qui n'est pas un entier int.
+     */
+    public static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private static final byte[] DELIMITER = TreasureMapGameUtils.LINE_DELIMITER.getBytes(StandardCharsets.UTF_8);
+    private static final int INITIAL_FIELD_CAPACITY = 8;
+
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+    private String line;
+
+    private int[] fieldStarts = new int[INITIAL_FIELD_CAPACITY];
+    private int[] fieldEnds = new int[INITIAL_FIELD_CAPACITY];
+    private int fieldCount;
+
+    /**
+     * Positionne le découpage sur une ligne déjà débarrassée de ses espaces de début et de fin.
+     *
+     * @param buffer : le contenu, lu par accès absolus.
+     * @param start  : l'indice du premier octet de la ligne.
+     * @param end    : l'indice suivant le dernier octet de la ligne.
+     * @return cette instance.
+     */
+    public LineTokenizer reset(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.line = null;
+        tokenize();
+        return this;
+    }
+
+    /**
+     * Positionne le découpage sur une ligne déjà lue.
+     *
+     * @param line : la ligne.
+     * @return cette instance.
+     */
+    public LineTokenizer reset(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        reset(ByteBuffer.wrap(bytes), 0, bytes.length);
+        this.line = line;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    /**
+     * @return le premier caractère de la ligne, en majuscule, ou 0 si la ligne est vide.
+     */
+    public char getKind() {
+        return isEmpty() ? 0 : Character.toUpperCase((char) (buffer.get(start) & 0xFF));
+    }
+
+    /**
+     * @return le nombre d'informations de la ligne, égal à la taille du tableau retourné par
+     * {@link TreasureMapGameUtils#splitLine(String)}.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Lit en place une information entière : un signe moins facultatif suivi de chiffres, dans les bornes d'un int.
+     * Comme avec {@link org.apache.commons.lang3.math.NumberUtils#isParsable(String)}, un signe plus n'est pas admis :
+     * la ligne est alors confiée aux services de lecture, qui lèvent l'erreur attendue.
+     *
+     * @param field : l'indice de l'information.
+     * @return la valeur, ou {@link #NOT_AN_INT} si l'information n'est pas un entier int.
+     */
+    public long parseIntField(int field) {
+        int index = fieldStarts[field];
+        int fieldEnd = fieldEnds[field];
+        if (index == fieldEnd) return NOT_AN_INT;
+
+        boolean negative = false;
+        byte first = buffer.get(index);
+        if (first == '-') {
+            negative = true;
+            index++;
+            if (index == fieldEnd) return NOT_AN_INT;
+        }
+
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for (; index < fieldEnd; index++) {
+            int digit = buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) return NOT_AN_INT;
+            value = value * 10 + digit;
+            if (value > limit) return NOT_AN_INT;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @param field : l'indice de l'information.
+     * @return l'information, décodée dans une nouvelle chaîne.
+     */
+    public String getField(int field) {
+        return decode(fieldStarts[field], fieldEnds[field]);
+    }
+
+    /**
+     * @return la ligne entière, décodée une seule fois.
+     */
+    @Override
+    public String toString() {
+        if (line == null) {
+            line = decode(start, end);
+        }
+        return line;
+    }
+
+    /**
+     * Relève les bornes des informations, à la manière de {@link String#split(String)} : les séparateurs sont
+     * recherchés de gauche à droite sans chevauchement, et les informations vides en fin de ligne sont écartées.
+     */
+    private void tokenize() {
+        fieldCount = 0;
+        int fieldStart = start;
+        int index = start;
+        while (index <= end - DELIMITER.length) {
+            if (isDelimiterAt(index)) {
+                addField(fieldStart, index);
+                index += DELIMITER.length;
+                fieldStart = index;
+            } else {
+                index++;
+            }
+        }
+        addField(fieldStart, end);
+        while (fieldCount > 1 && fieldStarts[fieldCount - 1] == fieldEnds[fieldCount - 1]) {
+            fieldCount--;
+        }
+    }
+
+    private boolean isDelimiterAt(int index) {
+        for (int i = 0; i < DELIMITER.length; i++) {
+            if (buffer.get(index + i) != DELIMITER[i]) return false;
+        }
+        return true;
+    }
+
+    private void addField(int fieldStart, int fieldEnd) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = fieldStart;
+        fieldEnds[fieldCount] = fieldEnd;
+        fieldCount++;
+    }
+
+    private String decode(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,191 @@
+package fr.carbon.treasuremap.utils;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à adressage ouvert (sondage linéaire) associant une clé long à une valeur int, sans objet
+ * intermédiaire par entrée contrairement à une {@code HashMap<Long, Integer>}.
+ * <p>
+ * La valeur {@link Long#MIN_VALUE} est réservée pour marquer les emplacements libres et ne peut pas être utilisée
+ * comme clé.
+ */
+public class LongIntOpenHashMap {
+
+    private static final long FREE_KEY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int resizeThreshold;
+
+    public LongIntOpenHashMap(int missingValue) {
+        this(0, missingValue);
+    }
+
+    /**
+     * @param expectedSize : nombre d'entrées attendues, afin d'éviter les redimensionnements.
+     * @param missingValue : valeur retournée par {@link #get(long)} pour une clé absente.
+     */
+    public LongIntOpenHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return keys[findSlot(key)] != FREE_KEY;
+    }
+
+    public int get(long key) {
+        int slot = findSlot(key);
+        return keys[slot] == FREE_KEY ? missingValue : values[slot];
+    }
+
+    /**
+     * @return la valeur précédemment associée à la clé, ou la valeur d'absence.
+     */
+    public int put(long key, int value) {
+        if (key == FREE_KEY) {
+            throw new IllegalArgumentException("La clé " + key + " est réservée.");
+        }
+        int slot = findSlot(key);
+        if (keys[slot] != FREE_KEY) {
+            int previousValue = values[slot];
+            values[slot] = value;
+            return previousValue;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Supprime la clé en décalant les entrées suivantes de sa séquence de sondage, sans marqueur de suppression.
+     *
+     * @return la valeur supprimée, ou la valeur d'absence.
+     */
+    public int remove(long key) {
+        int slot = findSlot(key);
+        if (keys[slot] == FREE_KEY) return missingValue;
+
+        int removedValue = values[slot];
+        int mask = keys.length - 1;
+        int freeSlot = slot;
+        int currentSlot = (slot + 1) & mask;
+        while (keys[currentSlot] != FREE_KEY) {
+            int idealSlot = hash(keys[currentSlot]) & mask;
+            if (((currentSlot - idealSlot) & mask) >= ((currentSlot - freeSlot) & mask)) {
+                keys[freeSlot] = keys[currentSlot];
+                values[freeSlot] = values[currentSlot];
+                freeSlot = currentSlot;
+            }
+            currentSlot = (currentSlot + 1) & mask;
+        }
+        keys[freeSlot] = FREE_KEY;
+        size--;
+        return removedValue;
+    }
+
+    /**
+     * Vide la table en conservant sa capacité, pour la réutiliser sans la redimensionner de nouveau.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        size = 0;
+    }
+
+    /**
+     * Parcourt les entrées dans l'ordre interne de la table.
+     */
+    public void forEach(LongIntConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE_KEY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return les clés présentes, dans l'ordre interne de la table.
+     */
+    public long[] keys() {
+        long[] presentKeys = new long[size];
+        int keyCount = 0;
+        for (long key : keys) {
+            if (key != FREE_KEY) {
+                presentKeys[keyCount++] = key;
+            }
+        }
+        return presentKeys;
+    }
+
+    /**
+     * @return une estimation de la mémoire occupée par les tableaux de la table, en octets.
+     */
+    public long getFootprintInBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * Estime la mémoire occupée par une table dimensionnée pour le nombre d'entrées attendues.
+     */
+    public static long estimateFootprintInBytes(int expectedSize) {
+        return (long) capacityFor(expectedSize) * (Long.BYTES + Integer.BYTES);
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != FREE_KEY) {
+                int newSlot = findSlot(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE_KEY);
+        values = new int[capacity];
+        resizeThreshold = capacity >> 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity >> 1 < expectedSize && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,78 @@
+package fr.carbon.treasuremap.utils;
+
+import fr.carbon.treasuremap.model.Orientation;
+
+/**
+ * Tables précalculées, indexées par {@link Orientation#ordinal()}, du déplacement d'un pas en avant et des rotations
+ * d'un aventurier. Remplacent les {@code switch} et l'allocation d'une {@link fr.carbon.treasuremap.model.Position}
+ * à chaque pas.
+ */
+public final class OrientationDeltas {
+
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    public static final int ORIENTATION_COUNT = ORIENTATIONS.length;
+
+    private static final int[] HORIZONTAL_DELTAS = new int[ORIENTATIONS.length];
+    private static final int[] VERTICAL_DELTAS = new int[ORIENTATIONS.length];
+    private static final int[] RIGHT_TURNS = new int[ORIENTATIONS.length];
+    private static final int[] LEFT_TURNS = new int[ORIENTATIONS.length];
+    private static final int[][] RIGHT_ROTATIONS = new int[ORIENTATIONS.length][ORIENTATIONS.length];
+
+    static {
+        setOrientation(Orientation.NORTH, 0, -1, Orientation.EAST, Orientation.WEST);
+        setOrientation(Orientation.SOUTH, 0, 1, Orientation.WEST, Orientation.EAST);
+        setOrientation(Orientation.EAST, 1, 0, Orientation.SOUTH, Orientation.NORTH);
+        setOrientation(Orientation.WEST, -1, 0, Orientation.NORTH, Orientation.SOUTH);
+        for (int orientation = 0; orientation < ORIENTATION_COUNT; orientation++) {
+            int[] rotations = RIGHT_ROTATIONS[orientation];
+            rotations[0] = orientation;
+            for (int quarterTurns = 1; quarterTurns < ORIENTATION_COUNT; quarterTurns++) {
+                rotations[quarterTurns] = RIGHT_TURNS[rotations[quarterTurns - 1]];
+            }
+        }
+    }
+
+    private OrientationDeltas() {
+    }
+
+    public static int horizontalDelta(int orientation) {
+        return HORIZONTAL_DELTAS[orientation];
+    }
+
+    public static int verticalDelta(int orientation) {
+        return VERTICAL_DELTAS[orientation];
+    }
+
+    public static int turnRight(int orientation) {
+        return RIGHT_TURNS[orientation];
+    }
+
+    public static int turnLeft(int orientation) {
+        return LEFT_TURNS[orientation];
+    }
+
+    /**
+     * @param orientation  : l'orientation de départ.
+     * @param quarterTurns : le nombre de quarts de tour à droite, de 0 à 3.
+     * @return l'orientation après rotation.
+     */
+    public static int rotateRight(int orientation, int quarterTurns) {
+        return RIGHT_ROTATIONS[orientation][quarterTurns];
+    }
+
+    public static Orientation orientation(int orientation) {
+        return ORIENTATIONS[orientation];
+    }
+
+    private static void setOrientation(Orientation orientation,
+                                       int horizontalDelta,
+                                       int verticalDelta,
+                                       Orientation rightTurn,
+                                       Orientation leftTurn) {
+        HORIZONTAL_DELTAS[orientation.ordinal()] = horizontalDelta;
+        VERTICAL_DELTAS[orientation.ordinal()] = verticalDelta;
+        RIGHT_TURNS[orientation.ordinal()] = rightTurn.ordinal();
+        LEFT_TURNS[orientation.ordinal()] = leftTurn.ordinal();
+    }
+}
@@ -0,0 +1,23 @@
+package fr.carbon.treasuremap.utils;
+
+/**
+ * Encodage d'une position (x, y) de la carte aux trésors dans un seul long : x sur les 32 bits de poids fort, y sur
+ * les 32 bits de poids faible. Evite l'allocation d'une {@link fr.carbon.treasuremap.model.Position} par cellule.
+ */
+public final class PackedCoordinates {
+
+    private PackedCoordinates() {
+    }
+
+    public static long pack(int horizontalPosition, int verticalPosition) {
+        return ((long) horizontalPosition << 32) | (verticalPosition & 0xFFFFFFFFL);
+    }
+
+    public static int horizontalPosition(long packedCoordinates) {
+        return (int) (packedCoordinates >> 32);
+    }
+
+    public static int verticalPosition(long packedCoordinates) {
+        return (int) packedCoordinates;
+    }
+}
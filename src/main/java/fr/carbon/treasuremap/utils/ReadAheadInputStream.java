@@ -0,0 +1,126 @@
+package fr.carbon.treasuremap.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Flux lisant sa source par anticipation dans un fil dédié : les blocs lus (et, pour un flux compressé, décompressés)
+ * sont mis à disposition dans une file bornée, de sorte que la lecture de la source se poursuit pendant que le
+ * consommateur traite les blocs précédents.
+ * <p>
+ * Une erreur de lecture de la source, quelle qu'elle soit, est levée par le consommateur lorsqu'il atteint la fin des
+ * blocs déjà lus : la fin des blocs est toujours signalée, de sorte que le consommateur n'attend jamais un fil de
+ * lecture arrêté. La fermeture du flux interrompt le fil de lecture.
+ */
+public final class ReadAheadInputStream extends InputStream {
+
+    private static final byte[] END = new byte[0];
+
+    private final int blockSize;
+    private final BlockingQueue<byte[]> blocks;
+    private final Thread readerThread;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    private byte[] block;
+    private int position;
+    private boolean ended;
+
+    /**
+     * @param source     : le flux à lire, fermé par le fil de lecture en fin de lecture.
+     * @param blockSize  : la taille d'un bloc.
+     * @param blockCount : le nombre maximal de blocs lus d'avance.
+     * @param threadName : le nom du fil de lecture.
+     */
+    public ReadAheadInputStream(InputStream source, int blockSize, int blockCount, String threadName) {
+        this.blockSize = blockSize;
+        this.blocks = new ArrayBlockingQueue<>(blockCount + 1);
+        this.readerThread = new Thread(() -> readBlocks(source), threadName);
+        this.readerThread.setDaemon(true);
+        this.readerThread.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextBlock() ? block[position++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (!nextBlock()) return -1;
+
+        int count = Math.min(length, block.length - position);
+        System.arraycopy(block, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        readerThread.interrupt();
+        ended = true;
+    }
+
+    /**
+     * @return false si la fin de la source est atteinte.
+     */
+    private boolean nextBlock() throws IOException {
+        while (!ended && (block == null || position == block.length)) {
+            try {
+                block = blocks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Lecture interrompue.");
+            }
+            position = 0;
+            if (block == END) {
+                ended = true;
+                if (failure != null) throw failure;
+            }
+        }
+        return !ended;
+    }
+
+    private void readBlocks(InputStream source) {
+        try (source) {
+            byte[] nextBlock;
+            do {
+                nextBlock = source.readNBytes(blockSize);
+                if (nextBlock.length > 0) {
+                    blocks.put(nextBlock);
+                }
+            } while (nextBlock.length == blockSize);
+        } catch (InterruptedException e) {
+            // Flux fermé par le consommateur : aucune erreur à lui transmettre.
+        } catch (IOException e) {
+            failure = e;
+        } catch (Throwable e) {
+            failure = new IOException("Erreur lors de la lecture de la source : " + e, e);
+        } finally {
+            putEnd();
+        }
+    }
+
+    /**
+     * Signale la fin des blocs. Une fois le flux fermé, les blocs en attente ne sont plus lus et sont écartés pour
+     * que le signal ne bloque pas le fil de lecture.
+     */
+    private void putEnd() {
+        while (true) {
+            if (closed) {
+                blocks.clear();
+            }
+            try {
+                blocks.put(END);
+                return;
+            } catch (InterruptedException e) {
+                // Flux fermé par le consommateur pendant l'attente : les blocs sont écartés au tour suivant.
+            }
+        }
+    }
+}
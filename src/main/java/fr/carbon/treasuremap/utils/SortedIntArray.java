@@ -0,0 +1,71 @@
+package fr.carbon.treasuremap.utils;
+
+import java.util.Arrays;
+
+/**
+ * Ensemble trié d'entiers sur un tableau primitif, pour les recherches du voisin strictement supérieur ou inférieur
+ * par dichotomie. Les insertions et suppressions décalent les éléments en place, sans allocation tant que la capacité
+ * suffit.
+ */
+public final class SortedIntArray {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /**
+     * @return false si la valeur était déjà présente.
+     */
+    public boolean add(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) return false;
+
+        int insertionIndex = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, insertionIndex, values, insertionIndex + 1, size - insertionIndex);
+        values[insertionIndex] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return false si la valeur était absente.
+     */
+    public boolean remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) return false;
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * @return la plus petite valeur strictement supérieure à la valeur donnée, ou la valeur d'absence.
+     */
+    public int higher(int value, int missingValue) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        int higherIndex = index >= 0 ? index + 1 : -index - 1;
+        return higherIndex < size ? values[higherIndex] : missingValue;
+    }
+
+    /**
+     * @return la plus grande valeur strictement inférieure à la valeur donnée, ou la valeur d'absence.
+     */
+    public int lower(int value, int missingValue) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        int lowerIndex = index >= 0 ? index - 1 : -index - 2;
+        return lowerIndex >= 0 ? values[lowerIndex] : missingValue;
+    }
+}
@@ -0,0 +1,45 @@
+package fr.carbon.treasuremap.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdventurerRegistryTest {
+
+    @Test
+    public void should_register_adventurers_in_apparition_order() {
+        //Given
+        AdventurerRegistry adventurerRegistry = new AdventurerRegistry();
+
+        //When
+        for (int i = 0; i < 40; i++) {
+            adventurerRegistry.register(createAdventurer("Adventurer" + i, i, 2 * i, i + 1));
+        }
+
+        //Then
+        assertEquals(40, adventurerRegistry.size());
+        for (int id = 0; id < 40; id++) {
+            assertEquals(id + 1, adventurerRegistry.getAdventurer(id).getApparitionOrder());
+        }
+        assertEquals("Adventurer39", adventurerRegistry.getAdventurers().get(39).getName());
+    }
+
+    @Test
+    public void should_refuse_adventurer_appearing_before_last_registered_one() {
+        //Given
+        AdventurerRegistry adventurerRegistry = new AdventurerRegistry();
+        adventurerRegistry.register(createAdventurer("Bob", 0, 0, 2));
+
+        //When //Then
+        assertThrows(IllegalArgumentException.class,
+                () -> adventurerRegistry.register(createAdventurer("John", 1, 1, 1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> adventurerRegistry.getAdventurer(1));
+    }
+
+    private Adventurer createAdventurer(String name, int horizontalPosition, int verticalPosition, int apparitionOrder) {
+        return new Adventurer(name, new Position(horizontalPosition, verticalPosition), Orientation.EAST,
+                List.of(Movement.FORWARD), 0, apparitionOrder);
+    }
+}
@@ -0,0 +1,59 @@
+package fr.carbon.treasuremap.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityIndexTest {
+
+    @Test
+    public void should_keep_insertion_order_when_removing_entities() {
+        //Given
+        EntityIndex<Treasure> treasureIndex = new EntityIndex<>();
+        for (int i = 0; i < 40; i++) {
+            treasureIndex.add(39 - i, i, new Treasure(new Position(39 - i, i), i));
+        }
+
+        //When
+        Treasure firstTreasure = treasureIndex.remove(39, 0);
+        Treasure middleTreasure = treasureIndex.remove(20, 19);
+        Treasure lastTreasure = treasureIndex.remove(0, 39);
+        List<Integer> counts = new ArrayList<>();
+        treasureIndex.forEach(treasure -> counts.add(treasure.getCount()));
+
+        //Then
+        assertEquals(0, firstTreasure.getCount());
+        assertEquals(19, middleTreasure.getCount());
+        assertEquals(39, lastTreasure.getCount());
+        assertEquals(37, treasureIndex.size());
+        assertEquals(37, counts.size());
+        assertEquals(1, counts.get(0));
+        assertEquals(18, counts.get(17));
+        assertEquals(20, counts.get(18));
+        assertEquals(38, counts.get(36));
+        assertNull(treasureIndex.remove(39, 0));
+        assertNull(treasureIndex.get(20, 19));
+        assertEquals(5, treasureIndex.get(34, 5).getCount());
+    }
+
+    @Test
+    public void should_remove_visited_entity_while_iterating() {
+        //Given
+        EntityIndex<Mountain> mountainIndex = new EntityIndex<>();
+        for (int i = 0; i < 5; i++) {
+            mountainIndex.add(i, 0, new Mountain(new Position(i, 0)));
+        }
+
+        //When
+        mountainIndex.forEach(mountain -> mountainIndex.remove(mountain.getPosition().getHorizontalPosition(), 0));
+
+        //Then
+        assertTrue(mountainIndex.isEmpty());
+        mountainIndex.add(2, 2, new Mountain(new Position(2, 2)));
+        assertEquals(1, mountainIndex.size());
+        assertThrows(IllegalArgumentException.class, () -> mountainIndex.add(2, 2, new Mountain(new Position(2, 2))));
+    }
+}
@@ -0,0 +1,140 @@
+package fr.carbon.treasuremap.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovementProgramTest {
+
+    @Test
+    public void should_encode_movements_across_several_words() {
+        //Given
+        char[] movementValues = "ADGGDAAAGDADGGDAAAGDADGGDAAAGDADGGDAAAGD".toCharArray();
+
+        //When
+        MovementProgram movementProgram = MovementProgram.fromValues(movementValues);
+
+        //Then
+        assertEquals(movementValues.length, movementProgram.size());
+        for (int i = 0; i < movementValues.length; i++) {
+            assertEquals(movementValues[i], movementProgram.get(i).getValue());
+        }
+        assertEquals(2 * Long.BYTES, movementProgram.getFootprintInBytes());
+    }
+
+    @Test
+    public void should_fold_turns_and_fuse_forward_movements() {
+        //Given
+        MovementProgram.Cursor cursor = MovementProgram.fromValues("DDDGAAAAAGGDADGAGGGGA".toCharArray()).cursor();
+
+        //When
+        List<Integer> operations = new ArrayList<>();
+        for (int operation = cursor.nextOp(); operation != 0; operation = cursor.nextOp()) {
+            operations.add(operation);
+        }
+
+        //Then
+        assertEquals(List.of(-2, 5, -3, 3), operations);
+    }
+
+    @Test
+    public void should_fuse_forward_movements_across_words() {
+        //Given
+        List<Movement> movements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            movements.add(Movement.FORWARD);
+        }
+        for (int i = 0; i < 41; i++) {
+            movements.add(Movement.TURN_LEFT);
+        }
+        movements.add(Movement.FORWARD);
+        MovementProgram.Cursor cursor = MovementProgram.of(movements).cursor();
+
+        //When
+        List<Integer> operations = new ArrayList<>();
+        for (int operation = cursor.nextOp(); operation != 0; operation = cursor.nextOp()) {
+            operations.add(operation);
+        }
+
+        //Then
+        assertEquals(List.of(100, -3, 1), operations);
+    }
+
+    @Test
+    public void should_compute_net_rotation_of_skipped_movements() {
+        //Given
+        MovementProgram.Cursor cursor = MovementProgram.fromValues(("AA" + "DGD".repeat(50) + "A").toCharArray())
+                .cursor();
+        int firstOperation = cursor.nextOp();
+
+        //When
+        int remainingMovementCount = cursor.getRemainingMovementCount();
+        int rotation = cursor.skipRemaining();
+
+        //Then
+        assertEquals(2, firstOperation);
+        assertEquals(151, remainingMovementCount);
+        assertEquals(2, rotation);
+        assertEquals(0, cursor.getRemainingMovementCount());
+        assertEquals(0, cursor.nextOp());
+    }
+
+    @Test
+    public void should_be_equal_to_list_with_same_movements() {
+        //Given
+        List<Movement> movements = List.of(Movement.FORWARD, Movement.TURN_RIGHT, Movement.TURN_LEFT);
+
+        //When
+        MovementProgram movementProgram = MovementProgram.fromValues("ADG".toCharArray());
+
+        //Then
+        assertEquals(movements, movementProgram);
+        assertEquals(movementProgram, movements);
+        assertEquals(movements.hashCode(), movementProgram.hashCode());
+        assertSame(movementProgram, MovementProgram.of(movementProgram));
+    }
+
+    @Test
+    public void should_throw_when_movement_value_is_unknown() {
+        //Given
+        char[] movementValues = "ADX".toCharArray();
+
+        //When //Then
+        assertThrows(IllegalArgumentException.class, () -> MovementProgram.fromValues(movementValues));
+        assertThrows(IndexOutOfBoundsException.class, () -> MovementProgram.EMPTY.get(0));
+    }
+
+    @Test
+    public void should_count_forward_movements() {
+        //Given
+        MovementProgram movementProgram = MovementProgram.fromValues(("AAD" + "G".repeat(40) + "A").toCharArray());
+
+        //When
+        int forwardMovementCount = movementProgram.getForwardMovementCount();
+
+        //Then
+        assertEquals(3, forwardMovementCount);
+        assertEquals(0, MovementProgram.EMPTY.getForwardMovementCount());
+    }
+
+    @Test
+    public void should_round_trip_packed_codes() {
+        //Given
+        MovementProgram movementProgram = MovementProgram.fromValues("ADGGDAAAGDADGGDAAAGDADGGDAAAGDADGGDAAAGDA"
+                .toCharArray());
+
+        //When
+        byte[] packedCodes = movementProgram.toPackedCodes();
+        MovementProgram decodedMovementProgram = MovementProgram.fromPackedCodes(packedCodes, movementProgram.size());
+
+        //Then
+        assertEquals(11, packedCodes.length);
+        assertEquals(movementProgram, decodedMovementProgram);
+        assertEquals(0, MovementProgram.EMPTY.toPackedCodes().length);
+        assertThrows(IllegalArgumentException.class, () -> MovementProgram.fromPackedCodes(new byte[]{0x03}, 1));
+        assertThrows(IllegalArgumentException.class, () -> MovementProgram.fromPackedCodes(new byte[0], 1));
+    }
+}
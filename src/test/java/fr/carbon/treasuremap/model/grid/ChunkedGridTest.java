@@ -0,0 +1,68 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedGridTest {
+
+    @Test
+    public void should_materialize_tiles_only_when_touched() {
+        //Given
+        ChunkedGrid grid = new ChunkedGrid(100_000, 100_000);
+        Treasure treasure = new Treasure(new Position(99_999, 99_999), 2);
+
+        //When
+        grid.setMountain(0, 0, new Mountain(new Position(0, 0)));
+        grid.setMountain(63, 63, new Mountain(new Position(63, 63)));
+        grid.setTreasure(99_999, 99_999, treasure);
+
+        //Then
+        assertEquals(2, grid.getMaterializedTileCount());
+        assertEquals(TreasureMapCellKind.MOUNTAIN, grid.getCellKind(63, 63));
+        assertEquals(TreasureMapCellKind.EMPTY, grid.getCellKind(64, 64));
+        assertSame(treasure, grid.getTreasure(99_999, 99_999));
+        assertTrue(grid.isCellAvailable(50_000, 50_000));
+    }
+
+    @Test
+    public void should_release_tile_when_it_becomes_empty() {
+        //Given
+        ChunkedGrid grid = new ChunkedGrid(256, 256);
+        Adventurer adventurer = new Adventurer("Lara", new Position(63, 10), Orientation.EAST, List.of(), 0, 1);
+        grid.setAdventurer(63, 10, adventurer);
+        long footprintWithOneTile = grid.getFootprintInBytes();
+
+        //When
+        grid.setAdventurer(64, 10, adventurer);
+        grid.setAdventurer(63, 10, null);
+
+        //Then
+        assertEquals(1, grid.getMaterializedTileCount());
+        assertEquals(footprintWithOneTile, grid.getFootprintInBytes());
+        assertSame(adventurer, grid.getAdventurer(64, 10));
+        assertNull(grid.getAdventurer(63, 10));
+    }
+
+    @Test
+    public void should_visit_non_empty_cells_column_by_column_across_tiles() {
+        //Given
+        ChunkedGrid grid = new ChunkedGrid(200, 200);
+        grid.setMountain(70, 5, new Mountain(new Position(70, 5)));
+        grid.setMountain(3, 150, new Mountain(new Position(3, 150)));
+        grid.setMountain(3, 2, new Mountain(new Position(3, 2)));
+        List<String> visitedCells = new ArrayList<>();
+
+        //When
+        grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) ->
+                visitedCells.add(horizontalPosition + "-" + verticalPosition)
+        );
+
+        //Then
+        assertEquals(List.of("3-2", "3-150", "70-5"), visitedCells);
+    }
+}
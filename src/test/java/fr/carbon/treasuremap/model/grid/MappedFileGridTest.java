@@ -0,0 +1,81 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.service.AdventurerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileGridTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void should_store_cells_in_mapped_file() throws IOException {
+        //Given
+        Path file = temporaryDirectory.resolve("treasureMap.grid");
+        Treasure treasure = new Treasure(new Position(1, 0), 2);
+        Adventurer adventurer = new Adventurer("Lara", new Position(2, 1), Orientation.SOUTH, List.of(), 0, 1);
+
+        //When
+        try (MappedFileGrid grid = new MappedFileGrid(file, 3, 2)) {
+            grid.setMountain(0, 1, new Mountain(new Position(0, 1)));
+            grid.setTreasure(1, 0, treasure);
+            grid.setAdventurer(2, 1, adventurer);
+
+            //Then
+            assertEquals(TreasureMapCellKind.MOUNTAIN, grid.getCellKind(0, 1));
+            assertSame(treasure, grid.getTreasure(1, 0));
+            assertSame(adventurer, grid.getAdventurer(2, 1));
+            assertTrue(grid.isCellAvailable(0, 0));
+            assertEquals(6 * Integer.BYTES, grid.getMappedSizeInBytes());
+        }
+        assertEquals(16 + 6 * Integer.BYTES, Files.size(file));
+    }
+
+    @Test
+    public void should_reload_snapshot_of_simulated_treasure_map() throws IOException {
+        //Given
+        Path file = temporaryDirectory.resolve("treasureMap.grid");
+        MappedFileGrid grid = new MappedFileGrid(file, 3, 4);
+        grid.setMountain(1, 0, new Mountain(new Position(1, 0)));
+        grid.setTreasure(0, 3, new Treasure(new Position(0, 3), 2));
+        grid.setTreasure(1, 3, new Treasure(new Position(1, 3), 3));
+        grid.setAdventurer(1, 1, new Adventurer("Lara", new Position(1, 1), Orientation.SOUTH,
+                List.of(Movement.FORWARD, Movement.FORWARD), 0, 1));
+        new AdventurerService().moveAdventurersOnTreasureMap(new TreasureMap(grid));
+
+        //When
+        grid.writeSnapshot();
+        grid.close();
+
+        //Then
+        try (MappedFileGrid reloadedGrid = MappedFileGrid.openSnapshot(file)) {
+            assertEquals(3, reloadedGrid.getColumnCount());
+            assertEquals(4, reloadedGrid.getRowCount());
+            assertNotNull(reloadedGrid.getMountain(1, 0));
+            assertEquals(2, reloadedGrid.getTreasure(0, 3).getCount());
+            assertEquals(2, reloadedGrid.getTreasure(1, 3).getCount());
+            assertEquals("Lara", reloadedGrid.getAdventurer(1, 3).getName());
+            assertEquals(1, reloadedGrid.getAdventurer(1, 3).getCollectedTreasuresCount());
+            assertTrue(reloadedGrid.isCellAvailable(1, 1));
+        }
+    }
+
+    @Test
+    public void should_throw_when_file_is_not_a_snapshot() throws IOException {
+        //Given
+        Path file = temporaryDirectory.resolve("data.txt");
+        Files.writeString(file, "C - 3 - 4 - pas un instantané");
+
+        //When //Then
+        assertThrows(IOException.class, () -> MappedFileGrid.openSnapshot(file));
+    }
+}
@@ -0,0 +1,104 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedDenseGridTest {
+
+    @Test
+    public void should_store_mountain_treasure_and_adventurer() {
+        //Given
+        PackedDenseGrid grid = new PackedDenseGrid(3, 2);
+        Treasure treasure = new Treasure(new Position(1, 0), 2);
+        Adventurer adventurer = new Adventurer("Lara", new Position(2, 1), Orientation.SOUTH, List.of(), 0, 1);
+
+        //When
+        grid.setMountain(0, 1, new Mountain(new Position(0, 1)));
+        grid.setTreasure(1, 0, treasure);
+        grid.setAdventurer(2, 1, adventurer);
+
+        //Then
+        assertEquals(TreasureMapCellKind.MOUNTAIN, grid.getCellKind(0, 1));
+        assertEquals(0, grid.getMountain(0, 1).getPosition().getHorizontalPosition());
+        assertEquals(1, grid.getMountain(0, 1).getPosition().getVerticalPosition());
+        assertSame(treasure, grid.getTreasure(1, 0));
+        assertSame(adventurer, grid.getAdventurer(2, 1));
+        assertTrue(grid.isCellAvailable(0, 0));
+        assertFalse(grid.isCellAvailable(2, 1));
+    }
+
+    @Test
+    public void should_keep_treasure_under_adventurer() {
+        //Given
+        PackedDenseGrid grid = new PackedDenseGrid(2, 2);
+        Treasure treasure = new Treasure(new Position(1, 1), 3);
+        Adventurer adventurer = new Adventurer("Indiana", new Position(0, 1), Orientation.EAST, List.of(), 0, 1);
+        grid.setTreasure(1, 1, treasure);
+        grid.setAdventurer(0, 1, adventurer);
+
+        //When
+        grid.setAdventurer(1, 1, adventurer);
+        grid.setAdventurer(0, 1, null);
+
+        //Then
+        assertEquals(TreasureMapCellKind.TREASURE | TreasureMapCellKind.ADVENTURER, grid.getCellKind(1, 1));
+        assertSame(treasure, grid.getTreasure(1, 1));
+        assertSame(adventurer, grid.getAdventurer(1, 1));
+        assertEquals(TreasureMapCellKind.EMPTY, grid.getCellKind(0, 1));
+
+        //When
+        grid.setAdventurer(1, 1, null);
+
+        //Then
+        assertEquals(TreasureMapCellKind.TREASURE, grid.getCellKind(1, 1));
+        assertSame(treasure, grid.getTreasure(1, 1));
+    }
+
+    @Test
+    public void should_reuse_adventurer_id_of_released_cell() {
+        //Given
+        PackedDenseGrid grid = new PackedDenseGrid(100, 1);
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST, List.of(), 0, 1);
+        grid.setAdventurer(0, 0, adventurer);
+
+        //When
+        for (int i = 1; i < 100; i++) {
+            grid.setAdventurer(i, 0, adventurer);
+            grid.setAdventurer(i - 1, 0, null);
+        }
+
+        //Then
+        assertSame(adventurer, grid.getAdventurer(99, 0));
+        assertNull(grid.getAdventurer(98, 0));
+        assertEquals(2, grid.getAdventurerCount());
+        assertEquals(1, grid.getFreeAdventurerIdCount());
+    }
+
+    @Test
+    public void should_visit_non_empty_cells_column_by_column() {
+        //Given
+        PackedDenseGrid grid = new PackedDenseGrid(2, 2);
+        grid.setMountain(1, 0, new Mountain(new Position(1, 0)));
+        grid.setMountain(0, 1, new Mountain(new Position(0, 1)));
+        List<String> visitedCells = new ArrayList<>();
+
+        //When
+        grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) ->
+                visitedCells.add(horizontalPosition + "-" + verticalPosition)
+        );
+
+        //Then
+        assertEquals(List.of("0-1", "1-0"), visitedCells);
+    }
+
+    @Test
+    public void should_throw_when_grid_is_too_large() {
+        //When - Then
+        assertThrows(IllegalArgumentException.class, () -> new PackedDenseGrid(100_000, 100_000));
+    }
+}
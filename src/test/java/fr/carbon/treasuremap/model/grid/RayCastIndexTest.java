@@ -0,0 +1,94 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RayCastIndexTest {
+
+    @Test
+    public void should_compute_free_distance_until_obstacle_or_edge() {
+        //Given
+        TreasureMapGrid grid = new SparseGrid(1_000, 1_000);
+        grid.setMountain(600, 10, new Mountain(new Position(600, 10)));
+        grid.setAdventurer(10, 3, new Adventurer("Lara", new Position(10, 3), Orientation.SOUTH, List.of(), 0, 1));
+
+        //When
+        RayCastIndex rayCastIndex = RayCastIndex.build(grid);
+
+        //Then
+        assertEquals(589, rayCastIndex.getFreeDistance(10, 10, Orientation.EAST.ordinal(), 1_000));
+        assertEquals(10, rayCastIndex.getFreeDistance(10, 10, Orientation.WEST.ordinal(), 1_000));
+        assertEquals(6, rayCastIndex.getFreeDistance(10, 10, Orientation.NORTH.ordinal(), 1_000));
+        assertEquals(989, rayCastIndex.getFreeDistance(10, 10, Orientation.SOUTH.ordinal(), 1_000));
+        assertEquals(50, rayCastIndex.getFreeDistance(10, 10, Orientation.SOUTH.ordinal(), 50));
+    }
+
+    @Test
+    public void should_build_from_entity_indexes_without_scanning_grid() {
+        //Given
+        TreasureMapGrid grid = new SparseGrid(1_000_000, 1_000_000) {
+            @Override
+            public void forEachCell(TreasureMapCellVisitor visitor) {
+                fail("La grille ne doit pas être parcourue.");
+            }
+        };
+        TreasureMap treasureMap = new TreasureMap(grid);
+        Mountain mountain = new Mountain(new Position(600, 10));
+        Treasure treasure = new Treasure(new Position(300, 10), 1);
+        Adventurer adventurer = new Adventurer("Lara", new Position(10, 3), Orientation.SOUTH, List.of(), 0, 1);
+        grid.setMountain(600, 10, mountain);
+        grid.setTreasure(300, 10, treasure);
+        grid.setAdventurer(10, 3, adventurer);
+        treasureMap.getMountainIndex().add(600, 10, mountain);
+        treasureMap.getTreasureIndex().add(300, 10, treasure);
+        treasureMap.getAdventurerRegistry().register(adventurer);
+
+        //When
+        RayCastIndex rayCastIndex = RayCastIndex.build(treasureMap);
+
+        //Then
+        assertEquals(589, rayCastIndex.getFreeDistance(10, 10, Orientation.EAST.ordinal(), 1_000));
+        assertEquals(6, rayCastIndex.getFreeDistance(10, 10, Orientation.NORTH.ordinal(), 1_000));
+        assertEquals(290, rayCastIndex.getNextTreasureDistance(10, 10, Orientation.EAST.ordinal(), 0, 589));
+    }
+
+    @Test
+    public void should_find_treasures_in_order_along_trajectory() {
+        //Given
+        RayCastIndex rayCastIndex = new RayCastIndex(100, 100);
+        rayCastIndex.addTreasure(50, 20);
+        rayCastIndex.addTreasure(50, 40);
+        rayCastIndex.addTreasure(50, 90);
+
+        //When
+        int firstTreasureDistance = rayCastIndex.getNextTreasureDistance(50, 0, Orientation.SOUTH.ordinal(), 0, 60);
+        int secondTreasureDistance = rayCastIndex.getNextTreasureDistance(50, 0, Orientation.SOUTH.ordinal(),
+                firstTreasureDistance, 60);
+        int thirdTreasureDistance = rayCastIndex.getNextTreasureDistance(50, 0, Orientation.SOUTH.ordinal(),
+                secondTreasureDistance, 60);
+
+        //Then
+        assertEquals(20, firstTreasureDistance);
+        assertEquals(40, secondTreasureDistance);
+        assertEquals(0, thirdTreasureDistance);
+        assertEquals(50, rayCastIndex.getNextTreasureDistance(50, 90, Orientation.NORTH.ordinal(), 0, 90));
+    }
+
+    @Test
+    public void should_follow_moved_obstacle() {
+        //Given
+        RayCastIndex rayCastIndex = new RayCastIndex(10, 10);
+        rayCastIndex.addObstacle(5, 5);
+
+        //When
+        rayCastIndex.moveObstacle(5, 5, 5, 8);
+
+        //Then
+        assertEquals(9, rayCastIndex.getFreeDistance(0, 5, Orientation.EAST.ordinal(), 20));
+        assertEquals(7, rayCastIndex.getFreeDistance(5, 0, Orientation.SOUTH.ordinal(), 20));
+    }
+}
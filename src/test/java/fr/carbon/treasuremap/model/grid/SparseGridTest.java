@@ -0,0 +1,76 @@
+package fr.carbon.treasuremap.model.grid;
+
+import fr.carbon.treasuremap.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SparseGridTest {
+
+    @Test
+    public void should_store_only_non_empty_cells_of_huge_map() {
+        //Given
+        SparseGrid grid = new SparseGrid(1_000_000, 1_000_000);
+        Treasure treasure = new Treasure(new Position(999_999, 999_999), 4);
+        Adventurer adventurer = new Adventurer("Lara", new Position(500_000, 3), Orientation.NORTH, List.of(), 0, 1);
+
+        //When
+        grid.setMountain(0, 0, new Mountain(new Position(0, 0)));
+        grid.setTreasure(999_999, 999_999, treasure);
+        grid.setAdventurer(500_000, 3, adventurer);
+
+        //Then
+        assertEquals(3, grid.getNonEmptyCellCount());
+        assertEquals(TreasureMapCellKind.MOUNTAIN, grid.getCellKind(0, 0));
+        assertSame(treasure, grid.getTreasure(999_999, 999_999));
+        assertSame(adventurer, grid.getAdventurer(500_000, 3));
+        assertTrue(grid.isCellAvailable(123_456, 654_321));
+    }
+
+    @Test
+    public void should_remove_cell_when_it_becomes_empty() {
+        //Given
+        SparseGrid grid = new SparseGrid(10, 10);
+        Treasure treasure = new Treasure(new Position(2, 2), 1);
+        Adventurer adventurer = new Adventurer("Indiana", new Position(1, 2), Orientation.EAST, List.of(), 0, 1);
+        grid.setTreasure(2, 2, treasure);
+        grid.setAdventurer(1, 2, adventurer);
+
+        //When
+        grid.setAdventurer(2, 2, adventurer);
+        grid.setAdventurer(1, 2, null);
+
+        //Then
+        assertEquals(1, grid.getNonEmptyCellCount());
+        assertSame(treasure, grid.getTreasure(2, 2));
+        assertSame(adventurer, grid.getAdventurer(2, 2));
+
+        //When
+        grid.setTreasure(2, 2, null);
+        grid.setAdventurer(2, 2, null);
+
+        //Then
+        assertEquals(0, grid.getNonEmptyCellCount());
+    }
+
+    @Test
+    public void should_visit_non_empty_cells_column_by_column() {
+        //Given
+        SparseGrid grid = new SparseGrid(5, 5);
+        grid.setMountain(3, 0, new Mountain(new Position(3, 0)));
+        grid.setMountain(0, 4, new Mountain(new Position(0, 4)));
+        grid.setMountain(0, 1, new Mountain(new Position(0, 1)));
+        List<String> visitedCells = new ArrayList<>();
+
+        //When
+        grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) ->
+                visitedCells.add(horizontalPosition + "-" + verticalPosition)
+        );
+
+        //Then
+        assertEquals(List.of("0-1", "0-4", "3-0"), visitedCells);
+    }
+}
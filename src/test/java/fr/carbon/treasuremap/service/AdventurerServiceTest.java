@@ -1,7 +1,11 @@
 package fr.carbon.treasuremap.service;
 
 import fr.carbon.treasuremap.exception.ParseAdventurerLineException;
+import fr.carbon.treasuremap.exception.ParseLineException;
 import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.model.grid.SparseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -80,6 +84,133 @@ public class AdventurerServiceTest {
         assertEquals(1, secondTreasure.getCount());
     }
 
+    @Test
+    public void should_update_treasure_map_on_packed_dense_grid() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 3));
+        TreasureMapGrid grid = treasureMap.getGrid();
+
+        Treasure treasure = new Treasure(new Position(0, 2), 1);
+        Adventurer firstAdventurer = new Adventurer(
+                "Jeanne",
+                new Position(0, 0),
+                Orientation.SOUTH,
+                List.of(Movement.FORWARD, Movement.FORWARD, Movement.TURN_LEFT, Movement.FORWARD),
+                0,
+                1
+        );
+        Adventurer secondAdventurer = new Adventurer(
+                "Pascal",
+                new Position(2, 2),
+                Orientation.WEST,
+                List.of(Movement.FORWARD, Movement.FORWARD),
+                0,
+                2
+        );
+
+        grid.setMountain(1, 1, new Mountain(new Position(1, 1)));
+        grid.setTreasure(0, 2, treasure);
+        grid.setAdventurer(0, 0, firstAdventurer);
+        grid.setAdventurer(2, 2, secondAdventurer);
+
+        //When
+        adventurerService.moveAdventurersOnTreasureMap(treasureMap);
+
+        //Then
+        assertEquals(1, firstAdventurer.getCollectedTreasuresCount());
+        assertEquals(1, firstAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(2, firstAdventurer.getPosition().getVerticalPosition());
+        assertEquals(Orientation.EAST, firstAdventurer.getOrientation());
+        assertSame(firstAdventurer, grid.getAdventurer(1, 2));
+        assertNull(grid.getAdventurer(0, 0));
+
+        assertEquals(2, secondAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(2, secondAdventurer.getPosition().getVerticalPosition());
+        assertEquals(0, treasure.getCount());
+    }
+
+    @Test
+    public void should_move_adventurer_on_sparse_grid() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new SparseGrid(1_000_000, 1_000_000));
+        TreasureMapGrid grid = treasureMap.getGrid();
+        Treasure treasure = new Treasure(new Position(999_999, 2), 2);
+        Adventurer adventurer = new Adventurer(
+                "Lara",
+                new Position(999_999, 0),
+                Orientation.SOUTH,
+                List.of(Movement.FORWARD, Movement.FORWARD, Movement.TURN_LEFT, Movement.FORWARD),
+                0,
+                1
+        );
+        grid.setTreasure(999_999, 2, treasure);
+        grid.setAdventurer(999_999, 0, adventurer);
+
+        //When
+        adventurerService.moveAdventurersOnTreasureMap(treasureMap);
+
+        //Then
+        assertEquals(999_999, adventurer.getPosition().getHorizontalPosition());
+        assertEquals(2, adventurer.getPosition().getVerticalPosition());
+        assertEquals(Orientation.EAST, adventurer.getOrientation());
+        assertEquals(1, adventurer.getCollectedTreasuresCount());
+        assertEquals(1, treasure.getCount());
+        assertSame(adventurer, grid.getAdventurer(999_999, 2));
+        assertSame(treasure, grid.getTreasure(999_999, 2));
+        assertNull(grid.getAdventurer(999_999, 0));
+    }
+
+    @Test
+    public void should_collect_treasures_crossed_along_long_corridor() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(10_000, 3));
+        TreasureMapGrid grid = treasureMap.getGrid();
+        Treasure firstTreasure = new Treasure(new Position(2_000, 1), 1);
+        Treasure secondTreasure = new Treasure(new Position(7_000, 1), 2);
+        Treasure unreachedTreasure = new Treasure(new Position(9_000, 1), 1);
+        grid.setTreasure(2_000, 1, firstTreasure);
+        grid.setTreasure(7_000, 1, secondTreasure);
+        grid.setTreasure(9_000, 1, unreachedTreasure);
+        grid.setMountain(8_000, 1, new Mountain(new Position(8_000, 1)));
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 1), Orientation.EAST,
+                MovementProgram.fromValues("A".repeat(9_999).toCharArray()), 0, 1);
+        grid.setAdventurer(0, 1, adventurer);
+
+        //When
+        adventurerService.moveAdventurersOnTreasureMap(treasureMap);
+
+        //Then
+        assertEquals(7_999, adventurer.getPosition().getHorizontalPosition());
+        assertEquals(2, adventurer.getCollectedTreasuresCount());
+        assertEquals(0, firstTreasure.getCount());
+        assertEquals(1, secondTreasure.getCount());
+        assertEquals(1, unreachedTreasure.getCount());
+        assertSame(adventurer, grid.getAdventurer(7_999, 1));
+        assertNull(grid.getAdventurer(0, 1));
+    }
+
+    @Test
+    public void should_skip_remaining_movements_of_enclosed_adventurer() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 3));
+        TreasureMapGrid grid = treasureMap.getGrid();
+        grid.setMountain(1, 0, new Mountain(new Position(1, 0)));
+        grid.setMountain(0, 1, new Mountain(new Position(0, 1)));
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 0), Orientation.SOUTH,
+                MovementProgram.fromValues(("A" + "DA".repeat(1_000) + "D").toCharArray()), 0, 1);
+        grid.setAdventurer(0, 0, adventurer);
+
+        //When
+        adventurerService.moveAdventurersOnTreasureMap(treasureMap);
+
+        //Then
+        assertEquals(0, adventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, adventurer.getPosition().getVerticalPosition());
+        assertEquals(Orientation.WEST, adventurer.getOrientation());
+        assertEquals(1, treasureMap.getSimulationReport().getStuckAdventurerCount());
+        assertEquals(2_001, treasureMap.getSimulationReport().getSkippedMovementCount());
+    }
+
     @Test
     public void should_update_adventurer_collected_treasures_count() {
         //Given
@@ -105,6 +236,28 @@ public class AdventurerServiceTest {
         assertEquals(0, treasure.getCount());
     }
 
+    @Test
+    public void should_remove_depleted_treasure_from_treasure_index_after_moves() throws ParseLineException {
+        //Given
+        TreasureMapService treasureMapService =
+                new TreasureMapService(adventurerService, new MountainService(), new TreasureService());
+        TreasureMap treasureMap = treasureMapService.createTreasureMapFromInputFile(List.of(
+                "C - 2 - 3",
+                "T - 0 - 1 - 1",
+                "T - 1 - 2 - 1",
+                "A - Jean - 0 - 0 - S - A"
+        ));
+
+        //When
+        adventurerService.moveAdventurersOnTreasureMap(treasureMap);
+
+        //Then
+        assertEquals(1, treasureMap.getAdventurerRegistry().getAdventurer(0).getCollectedTreasuresCount());
+        assertEquals(1, treasureMap.getTreasureIndex().size());
+        assertNull(treasureMap.getTreasureIndex().get(0, 1));
+        assertNotNull(treasureMap.getTreasureIndex().get(1, 2));
+    }
+
     @Test
     public void should_get_adventurers_sorted_by_apparition_order_from_treasure_map() {
         //Given
@@ -161,6 +314,42 @@ public class AdventurerServiceTest {
         assertEquals(movements.get(2), adventurer.getMovements().get(2));
     }
 
+    @Test
+    public void should_create_adventurer_with_start_time_and_movement_duration_from_input_file_line()
+            throws ParseAdventurerLineException {
+        //Given
+        String lineWithStartTime = "A - Antoine - 0 - 0 - S - ADG - 0";
+        String lineWithTiming = "A - Arnold - 0 - 0 - E - ADA - 4 - 3";
+
+        //When
+        Adventurer adventurerWithStartTime = adventurerService.createAdventurerFromInputFileLine(lineWithStartTime);
+        Adventurer adventurerWithTiming = adventurerService.createAdventurerFromInputFileLine(lineWithTiming);
+
+        //Then
+        assertEquals(0, adventurerWithStartTime.getStartTime());
+        assertEquals(1, adventurerWithStartTime.getMovementDuration());
+        assertFalse(adventurerWithStartTime.hasCustomTiming());
+        assertEquals(4, adventurerWithTiming.getStartTime());
+        assertEquals(3, adventurerWithTiming.getMovementDuration());
+        assertTrue(adventurerWithTiming.hasCustomTiming());
+    }
+
+    @Test
+    public void should_throw_when_adventurer_timing_is_invalid() {
+        //Given
+        String negativeStartTimeLine = "A - Arnold - 0 - 0 - E - ADA - -1";
+        String zeroDurationLine = "A - Arnold - 0 - 0 - E - ADA - 0 - 0";
+        String nonNumericDurationLine = "A - Arnold - 0 - 0 - E - ADA - 0 - X";
+
+        //When - Then
+        assertThrows(ParseAdventurerLineException.class,
+                () -> adventurerService.createAdventurerFromInputFileLine(negativeStartTimeLine));
+        assertThrows(ParseAdventurerLineException.class,
+                () -> adventurerService.createAdventurerFromInputFileLine(zeroDurationLine));
+        assertThrows(ParseAdventurerLineException.class,
+                () -> adventurerService.createAdventurerFromInputFileLine(nonNumericDurationLine));
+    }
+
     @Test
     public void should_throw_when_not_enough_adventurer_details_from_input_file_line() {
         //Given
@@ -328,7 +517,7 @@ public class AdventurerServiceTest {
         treasureMapCells[1][1].setMountain(mountain);
 
         //When - Then
-        assertTrue(adventurerService.isNextPositionOnMoutain(onMountainPosition, treasureMapCells));
+        assertTrue(adventurerService.isNextPositionOnMoutain(onMountainPosition, treasureMap.getGrid()));
     }
 
     @Test
@@ -341,7 +530,7 @@ public class AdventurerServiceTest {
         treasureMapCells[1][1].setTreasure(treasure);
 
         //When - Then
-        assertTrue(adventurerService.isNextPositionOnTreasure(onTreasurePosition, treasureMapCells));
+        assertTrue(adventurerService.isNextPositionOnTreasure(onTreasurePosition, treasureMap.getGrid()));
     }
 
     @Test
@@ -361,7 +550,7 @@ public class AdventurerServiceTest {
         treasureMapCells[1][1].setAdventurer(adventurer);
 
         //When - Then
-        assertTrue(adventurerService.isNextPositionOnAdventurer(onAdventurerPosition, treasureMapCells));
+        assertTrue(adventurerService.isNextPositionOnAdventurer(onAdventurerPosition, treasureMap.getGrid()));
     }
 
     @Test
@@ -0,0 +1,149 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+import fr.carbon.treasuremap.model.Adventurer;
+import fr.carbon.treasuremap.model.TreasureMap;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryTreasureMapServiceTest {
+
+    private final InputFileReaderService inputFileReaderService = new InputFileReaderService();
+    private final AdventurerService adventurerService = new AdventurerService();
+    private final TreasureMapService treasureMapService =
+            new TreasureMapService(adventurerService, new MountainService(), new TreasureService());
+    private final OutputFileWriterService outputFileWriterService = new OutputFileWriterService();
+    private final BinaryTreasureMapService binaryTreasureMapService =
+            new BinaryTreasureMapService(inputFileReaderService, treasureMapService, outputFileWriterService);
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void should_load_converted_binary_file_as_text_file() throws IOException, ParseLineException {
+        //Given
+        Files.write(temporaryDirectory.resolve("input.txt"), List.of(
+                "C - 4 - 5",
+                "T - 3 - 4 - 1",
+                "M - 1 - 0",
+                "M - 2 - 1",
+                "M - 1 - 0",
+                "T - 0 - 3 - 2",
+                "T - 9 - 9 - 2",
+                "A - Lara - 1 - 1 - S - AADADAGGA",
+                "A - Léa - 0 - 4 - N - AAAAD - 2 - 3"
+        ));
+        String directory = temporaryDirectory + "/";
+
+        //When
+        binaryTreasureMapService.convertInputFileToBinary(directory, "input.txt", directory, "input.bin");
+        TreasureMap binaryTreasureMap =
+                binaryTreasureMapService.createTreasureMapFromBinaryFile(directory, "input.bin", null, null);
+        TreasureMap textTreasureMap = treasureMapService.createTreasureMapFromInputFile(
+                inputFileReaderService.getInputFileLines(directory, "input.txt"));
+
+        //Then
+        assertTrue(binaryTreasureMapService.isBinaryFile(directory, "input.bin"));
+        assertFalse(binaryTreasureMapService.isBinaryFile(directory, "input.txt"));
+        assertEquals(2, binaryTreasureMap.getMountainIndex().size());
+        assertTrue(TreasureMapCellKind.hasMountain(binaryTreasureMap.getGrid().getCellKind(2, 1)));
+        assertEquals(2, binaryTreasureMap.getGrid().getTreasure(0, 3).getCount());
+        Adventurer lea = binaryTreasureMap.getAdventurerRegistry().getAdventurer(1);
+        assertEquals("Léa", lea.getName());
+        assertEquals(2, lea.getApparitionOrder());
+        assertEquals(2, lea.getStartTime());
+        assertEquals(3, lea.getMovementDuration());
+        assertEquals(textTreasureMap.getAdventurerRegistry().getAdventurer(1).getMovements(), lea.getMovements());
+
+        adventurerService.moveAdventurersOnTreasureMap(binaryTreasureMap);
+        adventurerService.moveAdventurersOnTreasureMap(textTreasureMap);
+        outputFileWriterService.writeTreasureMapLinesToOutputFile(binaryTreasureMap, directory, "binary.txt");
+        outputFileWriterService.writeTreasureMapLinesToOutputFile(textTreasureMap, directory, "text.txt");
+        assertEquals(sortedLines(temporaryDirectory.resolve("text.txt")),
+                sortedLines(temporaryDirectory.resolve("binary.txt")));
+    }
+
+    @Test
+    public void should_write_final_state_without_movements_to_binary_output_file()
+            throws IOException, ParseLineException {
+        //Given
+        TreasureMap treasureMap = treasureMapService.createTreasureMapFromInputFile(List.of(
+                "C - 3 - 3",
+                "T - 1 - 0 - 2",
+                "A - Lara - 1 - 2 - N - AAD"
+        ));
+        adventurerService.moveAdventurersOnTreasureMap(treasureMap);
+        String directory = temporaryDirectory + "/";
+
+        //When
+        outputFileWriterService.writeTreasureMapToBinaryOutputFile(treasureMap, directory, "output.bin");
+        TreasureMap loadedTreasureMap =
+                binaryTreasureMapService.createTreasureMapFromBinaryFile(directory, "output.bin", null, null);
+
+        //Then
+        Adventurer lara = loadedTreasureMap.getAdventurerRegistry().getAdventurer(0);
+        assertEquals(1, lara.getCollectedTreasuresCount());
+        assertEquals(1, lara.getPosition().getHorizontalPosition());
+        assertEquals(0, lara.getPosition().getVerticalPosition());
+        assertTrue(lara.getMovements().isEmpty());
+        assertEquals(1, loadedTreasureMap.getGrid().getTreasure(1, 0).getCount());
+    }
+
+    @Test
+    public void should_load_gzip_compressed_binary_file() throws IOException, ParseLineException {
+        //Given
+        TreasureMap treasureMap = treasureMapService.createTreasureMapFromInputFile(List.of(
+                "C - 3 - 3",
+                "M - 0 - 1",
+                "T - 1 - 0 - 2",
+                "A - Lara - 1 - 2 - N - AAD"
+        ));
+        String directory = temporaryDirectory + "/";
+
+        //When
+        outputFileWriterService.writeTreasureMapToBinaryOutputFile(treasureMap, directory, "output.bin.gz");
+        TreasureMap loadedTreasureMap =
+                binaryTreasureMapService.createTreasureMapFromBinaryFile(directory, "output.bin.gz", null, null);
+
+        //Then
+        assertTrue(binaryTreasureMapService.isBinaryFile(directory, "output.bin.gz"));
+        assertTrue(TreasureMapCellKind.hasMountain(loadedTreasureMap.getGrid().getCellKind(0, 1)));
+        assertEquals(2, loadedTreasureMap.getGrid().getTreasure(1, 0).getCount());
+        assertEquals("Lara", loadedTreasureMap.getAdventurerRegistry().getAdventurer(0).getName());
+    }
+
+    @Test
+    public void should_throw_when_binary_content_is_invalid() throws IOException, ParseLineException {
+        //Given
+        Files.write(temporaryDirectory.resolve("input.txt"), List.of("C - 3 - 3", "M - 1 - 1"));
+        String directory = temporaryDirectory + "/";
+        binaryTreasureMapService.convertInputFileToBinary(directory, "input.txt", directory, "input.bin");
+        byte[] content = Files.readAllBytes(temporaryDirectory.resolve("input.bin"));
+        byte[] otherVersionContent = content.clone();
+        otherVersionContent[BinaryTreasureMapFormat.MAGIC.length] = BinaryTreasureMapFormat.VERSION + 1;
+        byte[] truncatedContent = Arrays.copyOf(content, content.length - 1);
+        byte[] textContent = Files.readAllBytes(temporaryDirectory.resolve("input.txt"));
+
+        //When - Then
+        assertThrows(ParseLineException.class, () -> binaryTreasureMapService
+                .createTreasureMapFromBinaryContent(ByteBuffer.wrap(otherVersionContent), null, null));
+        assertThrows(ParseLineException.class, () -> binaryTreasureMapService
+                .createTreasureMapFromBinaryContent(ByteBuffer.wrap(truncatedContent), null, null));
+        assertThrows(ParseLineException.class, () -> binaryTreasureMapService
+                .createTreasureMapFromBinaryContent(ByteBuffer.wrap(textContent), null, null));
+    }
+
+    private static List<String> sortedLines(Path file) throws IOException {
+        return Files.readAllLines(file).stream().sorted().toList();
+    }
+}
@@ -2,10 +2,20 @@ package fr.carbon.treasuremap.service;
 
 import fr.carbon.treasuremap.exception.ParseLineException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -61,4 +71,81 @@ public class InputFileReaderServiceTest {
                 inputFileReaderService.getInputFileLines(inputFileLocation, inputFileName)
         );
     }
+
+    @Test
+    public void should_stream_lines_without_comments_when_reading_input_file() throws ParseLineException {
+        //Given
+        String inputFileLocation = "src/test/resources/";
+        String inputFileName = "inputFileTest.txt";
+        List<String> expectedLines = inputFileReaderService.getInputFileLines(inputFileLocation, inputFileName);
+        TreasureMapLineSource lineSource = inputFileReaderService.getInputFileLineSource(inputFileLocation, inputFileName);
+
+        //When
+        List<String> firstPassLines = new ArrayList<>();
+        lineSource.forEachLine(firstPassLines::add);
+        List<String> secondPassLines = new ArrayList<>();
+        lineSource.forEachLine(secondPassLines::add);
+
+        //Then
+        assertEquals(expectedLines, firstPassLines);
+        assertEquals(expectedLines, secondPassLines);
+    }
+
+    @Test
+    public void should_throw_when_streamed_file_not_found() {
+        //Given
+        TreasureMapLineSource lineSource = inputFileReaderService.getInputFileLineSource("src/test/resources/",
+                "inputFile.txt");
+
+        //When - Then
+        assertThrows(ParseLineException.class, () -> lineSource.forEachLine(line -> {
+        }));
+    }
+
+    @Test
+    public void should_stream_lines_of_gzip_compressed_input_file(@TempDir Path temporaryDirectory)
+            throws IOException, ParseLineException {
+        //Given
+        String inputFileLocation = "src/test/resources/";
+        String inputFileName = "inputFileTest.txt";
+        List<String> expectedLines = inputFileReaderService.getInputFileLines(inputFileLocation, inputFileName);
+        try (OutputStream outputStream = new GZIPOutputStream(
+                Files.newOutputStream(temporaryDirectory.resolve("inputFileTest.gz")))) {
+            Files.copy(Paths.get(inputFileLocation + inputFileName), outputStream);
+        }
+        String compressedFileLocation = temporaryDirectory + "/";
+
+        //When
+        List<String> inputFileLines =
+                inputFileReaderService.getInputFileLines(compressedFileLocation, "inputFileTest.gz");
+        TreasureMapLineSource lineSource =
+                inputFileReaderService.getInputFileLineSource(compressedFileLocation, "inputFileTest.gz");
+        List<String> firstPassLines = new ArrayList<>();
+        lineSource.forEachLine(firstPassLines::add);
+        List<String> secondPassLines = new ArrayList<>();
+        lineSource.forEachLine(secondPassLines::add);
+
+        //Then
+        assertEquals(expectedLines, inputFileLines);
+        assertEquals(expectedLines, firstPassLines);
+        assertEquals(expectedLines, secondPassLines);
+    }
+
+    @Test
+    public void should_throw_when_gzip_compressed_input_file_is_truncated(@TempDir Path temporaryDirectory)
+            throws IOException {
+        //Given
+        ByteArrayOutputStream compressedContent = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(compressedContent)) {
+            outputStream.write("C - 3 - 4\nM - 1 - 0\n".repeat(100).getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] truncatedContent = Arrays.copyOf(compressedContent.toByteArray(), compressedContent.size() / 2);
+        Files.write(temporaryDirectory.resolve("truncated.gz"), truncatedContent);
+        TreasureMapLineSource lineSource =
+                inputFileReaderService.getInputFileLineSource(temporaryDirectory + "/", "truncated.gz");
+
+        //When - Then
+        assertThrows(ParseLineException.class, () -> lineSource.forEachLine(line -> {
+        }));
+    }
 }
@@ -0,0 +1,51 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.exception.ParseLineException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedInputFileLineSourceTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void should_read_same_lines_as_input_file_reader_across_windows() throws IOException, ParseLineException {
+        //Given
+        Path inputFile = temporaryDirectory.resolve("input.txt");
+        Files.writeString(inputFile, "C - 3 - 4\r\n# commentaire\n  M - 1 - 0  \rT - 0 - 3 - 2\r\n\n"
+                + "A - Léa - 2 - 1 - W - ADA", StandardCharsets.UTF_8);
+        List<String> expectedLines = new InputFileReaderService()
+                .getInputFileLines(temporaryDirectory + "/", "input.txt");
+
+        for (int windowSize = 28; windowSize <= 80; windowSize++) {
+            //When
+            List<String> lines = new ArrayList<>();
+            new MappedInputFileLineSource(inputFile, windowSize).forEachLine(lines::add);
+
+            //Then
+            assertEquals(expectedLines, lines, "fenêtre de " + windowSize + " octets");
+        }
+    }
+
+    @Test
+    public void should_throw_when_line_exceeds_window() throws IOException {
+        //Given
+        Path inputFile = temporaryDirectory.resolve("input.txt");
+        Files.writeString(inputFile, "C - 3 - 4\nA - Un nom bien trop long - 2 - 1 - W - ADA\n");
+
+        //When - Then
+        assertThrows(ParseLineException.class,
+                () -> new MappedInputFileLineSource(inputFile, 16).forEachLine(line -> {
+                }));
+    }
+}
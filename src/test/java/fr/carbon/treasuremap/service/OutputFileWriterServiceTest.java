@@ -6,13 +6,17 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -118,6 +122,38 @@ public class OutputFileWriterServiceTest {
         );
     }
 
+    @Test
+    public void should_get_treasure_map_content_from_entity_indexes_in_map_order() throws ParseLineException {
+        //Given
+        TreasureMapService treasureMapService =
+                new TreasureMapService(new AdventurerService(), new MountainService(), new TreasureService());
+        TreasureMap treasureMap = treasureMapService.createTreasureMapFromInputFile(List.of(
+                "C - 3 - 3",
+                "M - 2 - 2",
+                "T - 1 - 0 - 1",
+                "M - 0 - 1",
+                "T - 0 - 2 - 2",
+                "A - Laura - 0 - 0 - E - A"
+        ));
+        new AdventurerService().moveAdventurersOnTreasureMap(treasureMap);
+        List<Mountain> mountains = new ArrayList<>();
+        List<Treasure> treasures = new ArrayList<>();
+        List<Adventurer> adventurers = new ArrayList<>();
+
+        //When
+        outputFileWriterService.getTreasureMapContent(treasureMap, mountains, treasures, adventurers);
+
+        //Then
+        assertEquals(2, mountains.size());
+        assertEquals(0, mountains.get(0).getPosition().getHorizontalPosition());
+        assertEquals(1, mountains.get(0).getPosition().getVerticalPosition());
+        assertEquals(2, mountains.get(1).getPosition().getHorizontalPosition());
+        assertEquals(1, treasures.size());
+        assertEquals(2, treasures.get(0).getPosition().getVerticalPosition());
+        assertEquals(1, treasureMap.getTreasureIndex().size());
+        assertEquals(1, adventurers.get(0).getCollectedTreasuresCount());
+    }
+
     @Test
     public void should_get_treasure_map_content() {
         //Given
@@ -219,4 +255,22 @@ public class OutputFileWriterServiceTest {
         //Then
         assertEquals(expectedLine, expectedLines.get(0));
     }
+
+    @Test
+    public void should_write_gzip_compressed_output_file_when_name_ends_with_gz(@TempDir Path temporaryDirectory)
+            throws ParseLineException, IOException {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(2, 3);
+
+        //When
+        outputFileWriterService.writeTreasureMapLinesToOutputFile(treasureMap, temporaryDirectory + "/",
+                "outputFileTest.txt.gz");
+
+        //Then
+        try (InputStream inputStream = new GZIPInputStream(
+                Files.newInputStream(temporaryDirectory.resolve("outputFileTest.txt.gz")))) {
+            assertEquals("C - 2 - 3" + System.lineSeparator(),
+                    new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package fr.carbon.treasuremap.service;
+
+import fr.carbon.treasuremap.model.grid.TreasureMapEntityCounts;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridPlan;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreasureMapGridPlannerServiceTest {
+
+    private static final long ONE_GIGABYTE = 1L << 30;
+
+    private final TreasureMapGridPlannerService treasureMapGridPlannerService =
+            new TreasureMapGridPlannerService(ONE_GIGABYTE);
+
+    @Test
+    public void should_choose_packed_dense_grid_for_small_map() {
+        //Given
+        TreasureMapEntityCounts entityCounts = new TreasureMapEntityCounts(2, 2, 1);
+
+        //When
+        TreasureMapGridPlan gridPlan =
+                treasureMapGridPlannerService.planTreasureMapGrid(3, 4, entityCounts, null);
+
+        //Then
+        assertEquals(TreasureMapGridType.PACKED_DENSE, gridPlan.getGridType());
+        assertEquals(gridPlan.getEstimatedFootprintsInBytes().get(TreasureMapGridType.PACKED_DENSE),
+                gridPlan.getEstimatedFootprintInBytes());
+    }
+
+    @Test
+    public void should_choose_sparse_grid_for_huge_and_almost_empty_map() {
+        //Given
+        TreasureMapEntityCounts entityCounts = new TreasureMapEntityCounts(100_000, 100_000, 1_000);
+
+        //When
+        TreasureMapGridPlan gridPlan =
+                treasureMapGridPlannerService.planTreasureMapGrid(1_000_000, 1_000_000, entityCounts, null);
+
+        //Then
+        assertEquals(TreasureMapGridType.SPARSE, gridPlan.getGridType());
+        assertEquals(Long.MAX_VALUE, gridPlan.getEstimatedFootprintsInBytes().get(TreasureMapGridType.PACKED_DENSE));
+    }
+
+    @Test
+    public void should_choose_sparse_grid_when_dense_grid_exceeds_heap_budget() {
+        //Given
+        TreasureMapEntityCounts entityCounts = new TreasureMapEntityCounts(1_000, 1_000, 10);
+
+        //When
+        TreasureMapGridPlan gridPlan =
+                treasureMapGridPlannerService.planTreasureMapGrid(20_000, 20_000, entityCounts, null);
+
+        //Then
+        assertEquals(TreasureMapGridType.SPARSE, gridPlan.getGridType());
+    }
+
+    @Test
+    public void should_keep_packed_dense_grid_for_crowded_map() {
+        //Given
+        TreasureMapEntityCounts entityCounts = new TreasureMapEntityCounts(4_000, 3_000, 1_000);
+
+        //When
+        TreasureMapGridPlan gridPlan =
+                treasureMapGridPlannerService.planTreasureMapGrid(100, 100, entityCounts, null);
+
+        //Then
+        assertEquals(TreasureMapGridType.PACKED_DENSE, gridPlan.getGridType());
+        assertTrue(gridPlan.getEstimatedFootprintsInBytes().get(TreasureMapGridType.OBJECT_MATRIX)
+                > gridPlan.getEstimatedFootprintInBytes());
+    }
+
+    @Test
+    public void should_choose_chunked_grid_when_entities_are_clustered() {
+        //Given
+        TreasureMapEntityCounts entityCounts = new TreasureMapEntityCounts(300_000, 100_000, 10, 200);
+
+        //When
+        TreasureMapGridPlan gridPlan =
+                treasureMapGridPlannerService.planTreasureMapGrid(20_000, 20_000, entityCounts, null);
+
+        //Then
+        assertEquals(TreasureMapGridType.CHUNKED, gridPlan.getGridType());
+    }
+
+    @Test
+    public void should_keep_requested_grid_type() {
+        //When
+        TreasureMapGridPlan gridPlan = treasureMapGridPlannerService
+                .planTreasureMapGrid(3, 4, TreasureMapEntityCounts.NONE, TreasureMapGridType.OBJECT_MATRIX);
+
+        //Then
+        assertEquals(TreasureMapGridType.OBJECT_MATRIX, gridPlan.getGridType());
+    }
+}
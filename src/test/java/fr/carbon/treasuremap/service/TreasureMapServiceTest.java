@@ -2,9 +2,21 @@ package fr.carbon.treasuremap.service;
 
 import fr.carbon.treasuremap.exception.*;
 import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.ObjectMatrixGrid;
+import fr.carbon.treasuremap.model.grid.SparseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapEntityCounts;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridType;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,6 +25,9 @@ public class TreasureMapServiceTest {
     private final TreasureMapService treasureMapService =
             new TreasureMapService(new AdventurerService(), new MountainService(), new TreasureService());
 
+    @TempDir
+    Path temporaryDirectory;
+
     @Test
     public void should_create_treasure_map_from_line() throws ParseLineException {
         //Given
@@ -36,11 +51,11 @@ public class TreasureMapServiceTest {
 
         //When
         TreasureMap createdTreasureMap = treasureMapService.createTreasureMapFromInputFile(fileLinesTest);
-        TreasureMapCell[][] createdTreasureMapCells = createdTreasureMap.getTreasureMapCells();
+        TreasureMapGrid createdGrid = createdTreasureMap.getGrid();
 
-        Mountain createdMountain = createdTreasureMapCells[0][0].getMountain();
-        Treasure createdTreasure = createdTreasureMapCells[0][1].getTreasure();
-        Adventurer createdAdventurer = createdTreasureMapCells[1][1].getAdventurer();
+        Mountain createdMountain = createdGrid.getMountain(0, 0);
+        Treasure createdTreasure = createdGrid.getTreasure(0, 1);
+        Adventurer createdAdventurer = createdGrid.getAdventurer(1, 1);
 
         //Then
         assertEquals(expectedMountain.getPosition().getHorizontalPosition(),
@@ -61,6 +76,86 @@ public class TreasureMapServiceTest {
         assertEquals(expectedAdventurer.getMovements(), createdAdventurer.getMovements());
     }
 
+    @Test
+    public void should_create_sparse_treasure_map_when_map_is_too_large_for_dense_grid() throws ParseLineException {
+        //Given
+        List<String> fileLines = List.of(
+                "C - 1000000 - 1000000",
+                "M - 999999 - 0",
+                "T - 0 - 999999 - 2",
+                "A - Lara - 500000 - 500000 - S - AA"
+        );
+
+        //When
+        TreasureMap createdTreasureMap = treasureMapService.createTreasureMapFromInputFile(fileLines);
+        TreasureMapGrid createdGrid = createdTreasureMap.getGrid();
+
+        //Then
+        assertInstanceOf(SparseGrid.class, createdGrid);
+        assertNotNull(createdGrid.getMountain(999_999, 0));
+        assertEquals(2, createdGrid.getTreasure(0, 999_999).getCount());
+        assertEquals("Lara", createdGrid.getAdventurer(500_000, 500_000).getName());
+    }
+
+    @Test
+    public void should_create_treasure_map_with_requested_grid_type() throws ParseLineException {
+        //Given
+        List<String> fileLines = List.of("C - 3 - 3", "M - 1 - 1");
+
+        //When
+        TreasureMap createdTreasureMap =
+                treasureMapService.createTreasureMapFromInputFile(fileLines, TreasureMapGridType.SPARSE);
+
+        //Then
+        assertInstanceOf(SparseGrid.class, createdTreasureMap.getGrid());
+        assertNotNull(createdTreasureMap.getGrid().getMountain(1, 1));
+    }
+
+    @Test
+    public void should_throw_when_mapped_file_cannot_be_created() {
+        //Given
+        List<String> fileLines = List.of("C - 3 - 3", "M - 1 - 1");
+        Path mappedFile = Path.of("dossier/inexistant/treasureMap.grid");
+
+        //When //Then
+        assertThrows(ParseTreasureMapLineException.class, () -> treasureMapService
+                .createTreasureMapFromInputFile(fileLines, TreasureMapGridType.MAPPED_FILE, mappedFile));
+    }
+
+    @Test
+    public void should_expose_grid_plan_and_footprint_of_created_treasure_map() throws ParseLineException {
+        //Given
+        List<String> fileLines = List.of("C - 3 - 4", "M - 1 - 0", "M - 2 - 1", "T - 0 - 3 - 2",
+                "A - Lara - 1 - 1 - S - AADADAGGA");
+
+        //When
+        TreasureMap createdTreasureMap = treasureMapService.createTreasureMapFromInputFile(fileLines);
+
+        //Then
+        assertNotNull(createdTreasureMap.getGridPlan());
+        assertEquals(2, createdTreasureMap.getGridPlan().getEntityCounts().getMountainCount());
+        assertEquals(1, createdTreasureMap.getGridPlan().getEntityCounts().getTreasureCount());
+        assertEquals(1, createdTreasureMap.getGridPlan().getEntityCounts().getAdventurerCount());
+        assertEquals(TreasureMapGridType.PACKED_DENSE, createdTreasureMap.getGridPlan().getGridType());
+        assertTrue(createdTreasureMap.getGrid().getFootprintInBytes() > 0);
+    }
+
+    @Test
+    public void should_count_entity_lines_and_occupied_tiles() {
+        //Given
+        List<String> fileLines = List.of("C - 1000 - 1000", "M - 1 - 0", "M - 2 - 1", "T - 500 - 500 - 2",
+                "A - Lara - 1 - 1 - S - AADADAGGA", "M - invalide - 0");
+
+        //When
+        TreasureMapEntityCounts entityCounts = treasureMapService.countEntityLines(fileLines);
+
+        //Then
+        assertEquals(3, entityCounts.getMountainCount());
+        assertEquals(1, entityCounts.getTreasureCount());
+        assertEquals(1, entityCounts.getAdventurerCount());
+        assertEquals(2, entityCounts.getOccupiedTileCount());
+    }
+
     @Test
     public void should_throw_when_first_line_is_invalid() {
         //Given
@@ -136,11 +231,11 @@ public class TreasureMapServiceTest {
     @Test
     public void should_return_true_when_position_is_null() {
         //Given
-        TreasureMapCell[][] treasureMapCells = new TreasureMapCell[1][1];
+        ObjectMatrixGrid grid = new ObjectMatrixGrid(new TreasureMapCell[1][1]);
         Position position = new Position(0, 0);
 
         //When - Then
-        assertTrue(treasureMapService.isPositionNullOrEmptyTakenOnTreasureMap(position, treasureMapCells));
+        assertTrue(treasureMapService.isPositionNullOrEmptyTakenOnTreasureMap(position, grid));
     }
 
     @Test
@@ -153,7 +248,7 @@ public class TreasureMapServiceTest {
         treasureMapCells[0][0].setMountain(new Mountain(position));
 
         //When - Then
-        assertTrue(treasureMapService.isPositionNullOrEmptyTakenOnTreasureMap(position, treasureMapCells));
+        assertTrue(treasureMapService.isPositionNullOrEmptyTakenOnTreasureMap(position, treasureMap.getGrid()));
     }
 
     @Test
@@ -166,7 +261,7 @@ public class TreasureMapServiceTest {
         Mountain testMountain = new Mountain(new Position(0, 0));
 
         //When
-        treasureMapService.putMountainOnTreasureMapCell(testLine, treasureMap, treasureMapCells);
+        treasureMapService.putMountainOnTreasureMapCell(testLine, treasureMap);
         Mountain createdMountain = treasureMapCells[0][0].getMountain();
 
         //Then
@@ -189,7 +284,7 @@ public class TreasureMapServiceTest {
         treasureMapCells[0][0].setTreasure(treasure);
 
         //When
-        treasureMapService.putMountainOnTreasureMapCell(line, treasureMap, treasureMapCells);
+        treasureMapService.putMountainOnTreasureMapCell(line, treasureMap);
         Mountain createdMountain = treasureMapCells[0][0].getMountain();
 
         //Then
@@ -207,7 +302,7 @@ public class TreasureMapServiceTest {
         treasureMapCells[0][0].setTreasure(treasure);
 
         //When
-        treasureMapService.putMountainOnTreasureMapCell(line, treasureMap, treasureMapCells);
+        treasureMapService.putMountainOnTreasureMapCell(line, treasureMap);
         Mountain createdMountain = treasureMapCells[0][0].getMountain();
 
         //Then
@@ -223,7 +318,7 @@ public class TreasureMapServiceTest {
         Treasure treasure = new Treasure(new Position(0, 0), 0);
 
         //When
-        treasureMapService.putTreasureOnTreasureMapCell(line, treasureMap, treasureMapCells);
+        treasureMapService.putTreasureOnTreasureMapCell(line, treasureMap);
         Treasure createdTreasure = treasureMapCells[0][0].getTreasure();
 
         //Then
@@ -247,7 +342,7 @@ public class TreasureMapServiceTest {
         treasureMapCells[0][0].setMountain(mountain);
 
         //When
-        treasureMapService.putTreasureOnTreasureMapCell(line, treasureMap, treasureMapCells);
+        treasureMapService.putTreasureOnTreasureMapCell(line, treasureMap);
         Treasure createdTreasure = treasureMapCells[0][0].getTreasure();
 
         //Then
@@ -265,7 +360,7 @@ public class TreasureMapServiceTest {
         treasureMapCells[0][0].setMountain(mountain);
 
         //When
-        treasureMapService.putTreasureOnTreasureMapCell(testLine, treasureMap, treasureMapCells);
+        treasureMapService.putTreasureOnTreasureMapCell(testLine, treasureMap);
         Treasure createdTreasure = treasureMapCells[0][0].getTreasure();
 
         //Then
@@ -289,7 +384,7 @@ public class TreasureMapServiceTest {
         );
 
         //When
-        treasureMapService.putAdventurerOnTreasureMapCell(line, treasureMap, treasureMapCells, 1);
+        treasureMapService.putAdventurerOnTreasureMapCell(line, treasureMap, 1);
         Adventurer createdAdventurer = treasureMapCells[0][0].getAdventurer();
 
         //Then
@@ -301,6 +396,156 @@ public class TreasureMapServiceTest {
         assertEquals(adventurer.getCollectedTreasuresCount(), createdAdventurer.getCollectedTreasuresCount());
     }
 
+    @Test
+    public void should_register_adventurers_in_apparition_order_when_creating_treasure_map() throws ParseLineException {
+        //Given
+        List<String> fileLinesTest = List.of(
+                "C - 3 - 3",
+                "A - Bob - 2 - 2 - N - A",
+                "M - 1 - 1",
+                "A - John - 0 - 0 - S - A",
+                "A - Lara - 1 - 1 - S - A"
+        );
+
+        //When
+        TreasureMap treasureMap = treasureMapService.createTreasureMapFromInputFile(fileLinesTest);
+        AdventurerRegistry adventurerRegistry = treasureMap.getAdventurerRegistry();
+
+        //Then
+        assertEquals(2, adventurerRegistry.size());
+        assertEquals("Bob", adventurerRegistry.getAdventurer(0).getName());
+        assertEquals("John", adventurerRegistry.getAdventurer(1).getName());
+        assertSame(adventurerRegistry.getAdventurer(1), treasureMap.getGrid().getAdventurer(0, 0));
+    }
+
+    @Test
+    public void should_create_treasure_map_from_streamed_lines() throws ParseLineException {
+        //Given
+        List<String> fileLines = List.of("C - 3 - 3", "M - 0 - 0", "T - 0 - 1 - 2", "A - Sarah - 1 - 1 - E - DAD");
+        List<String> passes = new ArrayList<>();
+        TreasureMapLineSource lineSource = lineConsumer -> {
+            passes.add("passe");
+            for (String line : fileLines) {
+                lineConsumer.accept(line);
+            }
+        };
+
+        //When
+        TreasureMap treasureMap = treasureMapService.createTreasureMapFromInputFile(lineSource, null, null);
+
+        //Then
+        assertEquals(2, passes.size());
+        assertEquals(1, treasureMap.getGridPlan().getEntityCounts().getMountainCount());
+        assertTrue(TreasureMapCellKind.hasMountain(treasureMap.getGrid().getCellKind(0, 0)));
+        assertEquals(2, treasureMap.getGrid().getTreasure(0, 1).getCount());
+        assertEquals("Sarah", treasureMap.getAdventurerRegistry().getAdventurer(0).getName());
+    }
+
+    @Test
+    public void should_keep_parse_errors_when_reading_tokenized_lines() {
+        //Given
+        List<String> invalidMountainLines = List.of("C - 3 - 3", "M - x - 0");
+        List<String> invalidTreasureLines = List.of("C - 3 - 3", "T - 0 - 1");
+        List<String> decimalMountainLines = List.of("C - 3 - 3", "M - 1.5 - 0");
+
+        //When - Then
+        assertThrows(ParseMountainLineException.class,
+                () -> treasureMapService.createTreasureMapFromInputFile(invalidMountainLines));
+        assertThrows(ParseTreasureLineException.class,
+                () -> treasureMapService.createTreasureMapFromInputFile(invalidTreasureLines));
+        assertThrows(NumberFormatException.class,
+                () -> treasureMapService.createTreasureMapFromInputFile(decimalMountainLines));
+    }
+
+    @Test
+    public void should_throw_when_tokenized_position_has_plus_sign() throws IOException {
+        //Given
+        List<String> mountainLines = List.of("C - 3 - 3", "M - +1 - 2");
+        List<String> treasureLines = List.of("C - 3 - 3", "T - 1 - +1 - 2");
+        Path mountainFile = Files.write(temporaryDirectory.resolve("mountain.txt"), mountainLines);
+        Path treasureFile = Files.write(temporaryDirectory.resolve("treasure.txt"), treasureLines);
+
+        //When - Then
+        assertThrows(ParseMountainLineException.class,
+                () -> treasureMapService.createTreasureMapFromInputFile(mountainLines));
+        assertThrows(ParseTreasureLineException.class,
+                () -> treasureMapService.createTreasureMapFromInputFile(treasureLines));
+        assertThrows(ParseMountainLineException.class, () -> treasureMapService.createTreasureMapFromInputFile(
+                new MappedInputFileLineSource(mountainFile), null, null));
+        assertThrows(ParseTreasureLineException.class, () -> treasureMapService.createTreasureMapFromInputFile(
+                new MappedInputFileLineSource(treasureFile), null, null));
+    }
+
+    @Test
+    public void should_create_same_treasure_map_when_parsing_in_parallel_chunks()
+            throws IOException, ParseLineException {
+        //Given
+        Random random = new Random(42);
+        StringBuilder inputFileContent = new StringBuilder("C - 20 - 20\r\n");
+        for (int i = 0; i < 600; i++) {
+            int horizontalPosition = random.nextInt(22);
+            int verticalPosition = random.nextInt(22);
+            switch (random.nextInt(4)) {
+                case 0 -> inputFileContent.append("M - ").append(horizontalPosition)
+                        .append(" - ").append(verticalPosition);
+                case 1 -> inputFileContent.append("T - ").append(horizontalPosition)
+                        .append(" - ").append(verticalPosition).append(" - ").append(random.nextInt(3));
+                case 2 -> inputFileContent.append("A - Aventurier").append(i).append(" - ").append(horizontalPosition)
+                        .append(" - ").append(verticalPosition).append(" - S - AADAG");
+                default -> inputFileContent.append("# commentaire ").append(i);
+            }
+            inputFileContent.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        Path inputFile = temporaryDirectory.resolve("input.txt");
+        Files.writeString(inputFile, inputFileContent);
+        OutputFileWriterService outputFileWriterService = new OutputFileWriterService();
+
+        TreasureMap sequentialTreasureMap = treasureMapService.createTreasureMapFromInputFile(
+                new MappedInputFileLineSource(inputFile), TreasureMapGridType.OBJECT_MATRIX, null);
+        outputFileWriterService.writeTreasureMapLinesToOutputFile(sequentialTreasureMap,
+                temporaryDirectory + "/", "sequential.txt");
+
+        for (int chunkSize = 16; chunkSize <= 4096; chunkSize *= 4) {
+            //When
+            TreasureMap parallelTreasureMap = treasureMapService.createTreasureMapFromInputFile(
+                    new MappedInputFileLineSource(inputFile, 1 << 28, 4, chunkSize),
+                    TreasureMapGridType.OBJECT_MATRIX, null);
+            outputFileWriterService.writeTreasureMapLinesToOutputFile(parallelTreasureMap,
+                    temporaryDirectory + "/", "parallel.txt");
+
+            //Then
+            assertEquals(Files.readAllLines(temporaryDirectory.resolve("sequential.txt")),
+                    Files.readAllLines(temporaryDirectory.resolve("parallel.txt")),
+                    "morceaux de " + chunkSize + " octets");
+        }
+    }
+
+    @Test
+    public void should_keep_first_parse_error_in_file_order_when_parsing_in_parallel_chunks() throws IOException {
+        //Given
+        StringBuilder inputFileContent = new StringBuilder("C - 3 - 3\n");
+        for (int i = 0; i < 200; i++) {
+            inputFileContent.append("M - 1 - 1\n");
+        }
+        inputFileContent.append("T - 0 - 1\n").append("M - x - 0\n");
+        Path inputFile = temporaryDirectory.resolve("input.txt");
+        Files.writeString(inputFile, inputFileContent);
+
+        //When - Then
+        assertThrows(ParseTreasureLineException.class, () -> treasureMapService.createTreasureMapFromInputFile(
+                new MappedInputFileLineSource(inputFile, 1 << 28, 4, 64), null, null));
+    }
+
+    @Test
+    public void should_throw_when_streamed_lines_are_empty() {
+        //Given
+        TreasureMapLineSource lineSource = TreasureMapLineSource.of(List.of());
+
+        //When - Then
+        assertThrows(ParseLineException.class,
+                () -> treasureMapService.createTreasureMapFromInputFile(lineSource, null, null));
+    }
+
     @Test
     public void should_not_put_adventurer_on_treasure_map_when_position_is_out_of_bounds() throws ParseAdventurerLineException {
         //Given
@@ -312,7 +557,7 @@ public class TreasureMapServiceTest {
         treasureMapCells[0][0].setMountain(mountain);
 
         //When
-        treasureMapService.putAdventurerOnTreasureMapCell(line, treasureMap, treasureMapCells, 1);
+        treasureMapService.putAdventurerOnTreasureMapCell(line, treasureMap, 1);
         Adventurer createdAdventurer = treasureMapCells[0][0].getAdventurer();
 
         //Then
@@ -330,7 +575,7 @@ public class TreasureMapServiceTest {
         treasureMapCells[0][0].setMountain(mountain);
 
         //When
-        treasureMapService.putAdventurerOnTreasureMapCell(line, treasureMap, treasureMapCells, 1);
+        treasureMapService.putAdventurerOnTreasureMapCell(line, treasureMap, 1);
         Adventurer createdAdventurer = treasureMapCells[0][0].getAdventurer();
 
         //Then
@@ -0,0 +1,136 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdventurerActorSystemTest {
+
+    @Test
+    public void should_apply_movements_sent_incrementally() throws InterruptedException {
+        //Given
+        TreasureMapGrid grid = new PackedDenseGrid(3, 3);
+        grid.setTreasure(1, 0, new Treasure(new Position(1, 0), 1));
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.EMPTY, 0, 0);
+        grid.setAdventurer(0, 0, adventurer);
+
+        //When
+        try (AdventurerActorSystem actorSystem = new AdventurerActorSystem(grid, 4, 2)) {
+            AdventurerActorSystem.AdventurerActor actor = actorSystem.spawn(adventurer);
+            for (Movement movement : List.of(Movement.FORWARD, Movement.FORWARD, Movement.FORWARD,
+                    Movement.TURN_RIGHT, Movement.FORWARD)) {
+                actor.send(movement);
+            }
+            actorSystem.awaitQuiescence();
+
+            //Then
+            assertEquals(1, actorSystem.getRefusedMovementCount());
+        }
+        assertEquals(2, adventurer.getPosition().getHorizontalPosition());
+        assertEquals(1, adventurer.getPosition().getVerticalPosition());
+        assertEquals(Orientation.SOUTH, adventurer.getOrientation());
+        assertEquals(1, adventurer.getCollectedTreasuresCount());
+        assertSame(adventurer, grid.getAdventurer(2, 1));
+    }
+
+    @Test
+    public void should_refuse_movement_when_mailbox_is_full() {
+        //Given
+        TreasureMapGrid grid = new PackedDenseGrid(3, 1);
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.EMPTY, 0, 0);
+        grid.setAdventurer(0, 0, adventurer);
+        List<Runnable> scheduledTasks = new ArrayList<>();
+        AdventurerActorSystem actorSystem = new AdventurerActorSystem(grid, 1, 1, scheduledTasks::add);
+        AdventurerActorSystem.AdventurerActor actor = actorSystem.spawn(adventurer);
+
+        //When
+        boolean firstOffered = actor.offer(Movement.FORWARD);
+        boolean secondOffered = actor.offer(Movement.FORWARD);
+        scheduledTasks.remove(0).run();
+
+        //Then
+        assertTrue(firstOffered);
+        assertFalse(secondOffered);
+        assertEquals(1, adventurer.getPosition().getHorizontalPosition());
+        assertTrue(actor.offer(Movement.FORWARD));
+    }
+
+    @Test
+    public void should_rethrow_failed_movement_once_pending_movements_are_processed() throws InterruptedException {
+        //Given
+        TreasureMapGrid grid = new PackedDenseGrid(3, 1) {
+            @Override
+            public void moveAdventurer(int horizontalPosition,
+                                       int verticalPosition,
+                                       int nextHorizontalPosition,
+                                       int nextVerticalPosition,
+                                       Adventurer adventurer) {
+                throw new IllegalStateException("Grille en lecture seule.");
+            }
+        };
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.EMPTY, 0, 0);
+        grid.setAdventurer(0, 0, adventurer);
+
+        try (AdventurerActorSystem actorSystem = new AdventurerActorSystem(grid, 1, 4)) {
+            AdventurerActorSystem.AdventurerActor actor = actorSystem.spawn(adventurer);
+            actor.send(Movement.FORWARD);
+            actor.send(Movement.TURN_RIGHT);
+
+            //When //Then
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    actorSystem::awaitQuiescence);
+            assertEquals("Grille en lecture seule.", exception.getMessage());
+        }
+        assertEquals(Orientation.EAST, adventurer.getOrientation());
+    }
+
+    @Test
+    public void should_move_many_actors_on_packed_grid_like_sequential_loop_up_to_blocking_order() {
+        //Given
+        TreasureMap sequentialTreasureMap = RandomTreasureMaps.create(3, 300, 20_000);
+        TreasureMap treasureMap = RandomTreasureMaps.create(3, 300, 20_000);
+        List<Adventurer> sequentialAdventurers = RandomTreasureMaps.getAdventurers(sequentialTreasureMap);
+        List<Adventurer> adventurers = RandomTreasureMaps.getAdventurers(treasureMap);
+        int treasureCountBefore = countTreasures(treasureMap.getGrid());
+
+        //When
+        new PriorityScheduler().moveAdventurers(sequentialTreasureMap, sequentialAdventurers);
+        new ActorScheduler().moveAdventurers(treasureMap, adventurers);
+
+        //Then
+        int collectedTreasureCount = adventurers.stream().mapToInt(Adventurer::getCollectedTreasuresCount).sum();
+        assertEquals(treasureCountBefore, countTreasures(treasureMap.getGrid()) + collectedTreasureCount);
+        Set<Long> occupiedCells = new HashSet<>();
+        for (int i = 0; i < adventurers.size(); i++) {
+            Adventurer adventurer = adventurers.get(i);
+            Position position = adventurer.getPosition();
+            assertTrue(occupiedCells.add(PackedCoordinates.pack(position.getHorizontalPosition(),
+                    position.getVerticalPosition())));
+            assertSame(adventurer, treasureMap.getGrid().getAdventurer(position.getHorizontalPosition(),
+                    position.getVerticalPosition()));
+            assertEquals(sequentialAdventurers.get(i).getOrientation(), adventurer.getOrientation());
+        }
+    }
+
+    private static int countTreasures(TreasureMapGrid grid) {
+        int[] treasureCount = {0};
+        grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+            if (treasure != null) {
+                treasureCount[0] += treasure.getCount();
+            }
+        });
+        return treasureCount[0];
+    }
+}
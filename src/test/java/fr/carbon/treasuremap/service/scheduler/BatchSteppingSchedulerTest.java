@@ -0,0 +1,97 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.utils.OrientationDeltas;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchSteppingSchedulerTest {
+
+    @Test
+    public void should_compute_next_positions_and_blocked_steps_with_vector_and_scalar_kernels() {
+        //Given
+        int columnCount = 7;
+        int rowCount = 5;
+        int count = 100;
+        Random random = new Random(17);
+        int[] mountainMask = new int[BatchStepKernel.getMountainMaskLength(columnCount * rowCount)];
+        boolean[][] mountains = new boolean[columnCount][rowCount];
+        for (int i = 0; i < 10; i++) {
+            int horizontalPosition = random.nextInt(columnCount);
+            int verticalPosition = random.nextInt(rowCount);
+            mountains[horizontalPosition][verticalPosition] = true;
+            BatchStepKernel.addMountain(mountainMask, columnCount, horizontalPosition, verticalPosition);
+        }
+        int[] horizontalPositions = new int[count];
+        int[] verticalPositions = new int[count];
+        int[] orientations = new int[count];
+        for (int i = 0; i < count; i++) {
+            horizontalPositions[i] = random.nextInt(columnCount);
+            verticalPositions[i] = random.nextInt(rowCount);
+            orientations[i] = random.nextInt(OrientationDeltas.ORIENTATION_COUNT);
+        }
+        int[] nextHorizontalPositions = new int[count];
+        int[] nextVerticalPositions = new int[count];
+        int[] blockedMasks = new int[count];
+        int[] scalarNextHorizontalPositions = new int[count];
+        int[] scalarNextVerticalPositions = new int[count];
+        int[] scalarBlockedMasks = new int[count];
+
+        //When
+        BatchStepKernel.computeNextPositions(3, count, horizontalPositions, verticalPositions, orientations,
+                columnCount, rowCount, mountainMask, nextHorizontalPositions, nextVerticalPositions, blockedMasks);
+        BatchStepKernel.computeNextPositionsScalar(3, count, horizontalPositions, verticalPositions, orientations,
+                columnCount, rowCount, mountainMask, scalarNextHorizontalPositions, scalarNextVerticalPositions,
+                scalarBlockedMasks);
+
+        //Then
+        assertTrue(BatchStepKernel.VECTOR_API_AVAILABLE);
+        for (int i = 3; i < count; i++) {
+            int expectedHorizontalPosition = horizontalPositions[i]
+                    + OrientationDeltas.horizontalDelta(orientations[i]);
+            int expectedVerticalPosition = verticalPositions[i] + OrientationDeltas.verticalDelta(orientations[i]);
+            boolean blocked = expectedHorizontalPosition < 0 || expectedHorizontalPosition >= columnCount
+                    || expectedVerticalPosition < 0 || expectedVerticalPosition >= rowCount
+                    || mountains[expectedHorizontalPosition][expectedVerticalPosition];
+            assertEquals(expectedHorizontalPosition, nextHorizontalPositions[i]);
+            assertEquals(expectedVerticalPosition, nextVerticalPositions[i]);
+            assertEquals(blocked ? 1 : 0, blockedMasks[i]);
+            assertEquals(expectedHorizontalPosition, scalarNextHorizontalPositions[i]);
+            assertEquals(expectedVerticalPosition, scalarNextVerticalPositions[i]);
+            assertEquals(blocked ? 1 : 0, scalarBlockedMasks[i]);
+        }
+        assertEquals(0, blockedMasks[0]);
+        assertEquals(0, nextHorizontalPositions[0]);
+    }
+
+    @Test
+    public void should_gather_remaining_adventurers_when_most_programs_have_ended() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(5, 5));
+        treasureMap.getGrid().setMountain(4, 2, new Mountain(new Position(4, 2)));
+        List<Adventurer> adventurers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String movements = i == 0 ? "AAAAA" : i == 4 ? "AAAA" : "A";
+            Adventurer adventurer = new Adventurer("Aventurier" + i, new Position(i, 0), Orientation.SOUTH,
+                    MovementProgram.fromValues(movements.toCharArray()), 0, i);
+            treasureMap.getGrid().setAdventurer(i, 0, adventurer);
+            adventurers.add(adventurer);
+        }
+
+        //When
+        new BatchSteppingScheduler().moveAdventurers(treasureMap, adventurers);
+
+        //Then
+        assertEquals(4, adventurers.get(0).getPosition().getVerticalPosition());
+        assertEquals(1, adventurers.get(4).getPosition().getVerticalPosition());
+        assertSame(adventurers.get(4), treasureMap.getGrid().getAdventurer(4, 1));
+        assertEquals(5, treasureMap.getSimulationReport().getTurnCount());
+        assertEquals(4, treasureMap.getSimulationReport().getBlockedMovementCount());
+    }
+}
@@ -0,0 +1,37 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventDrivenSchedulerTest {
+
+    @Test
+    public void should_move_adventurers_according_to_start_time_and_movement_duration() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 2));
+        treasureMap.getGrid().setTreasure(2, 0, new Treasure(new Position(2, 0), 1));
+        Adventurer slowAdventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("AA".toCharArray()), 0, 1, 0, 5);
+        Adventurer lateAdventurer = new Adventurer("Indiana", new Position(2, 1), Orientation.NORTH,
+                MovementProgram.fromValues("AD".toCharArray()), 0, 2, 7, 1);
+        treasureMap.getGrid().setAdventurer(0, 0, slowAdventurer);
+        treasureMap.getGrid().setAdventurer(2, 1, lateAdventurer);
+
+        //When
+        new EventDrivenScheduler().moveAdventurers(treasureMap, List.of(slowAdventurer, lateAdventurer));
+
+        //Then
+        assertEquals(2, slowAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(1, slowAdventurer.getCollectedTreasuresCount());
+        assertEquals(1, lateAdventurer.getPosition().getVerticalPosition());
+        assertEquals(Orientation.EAST, lateAdventurer.getOrientation());
+        assertEquals(0, lateAdventurer.getCollectedTreasuresCount());
+        assertSame(slowAdventurer, treasureMap.getGrid().getAdventurer(2, 0));
+        assertEquals(1, treasureMap.getSimulationReport().getBlockedMovementCount());
+    }
+}
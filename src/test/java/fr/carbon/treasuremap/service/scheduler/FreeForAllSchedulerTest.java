@@ -0,0 +1,109 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.model.grid.SparseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FreeForAllSchedulerTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {40, 200})
+    public void should_neither_lose_treasures_nor_share_cells_under_contention(int side) {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(8);
+        for (long seed = 0; seed < 20; seed++) {
+            //Given
+            TreasureMap treasureMap = RandomTreasureMaps.create(seed, side, 600);
+            List<Adventurer> adventurers = RandomTreasureMaps.getAdventurers(treasureMap);
+            int treasureCountBefore = countTreasures(treasureMap.getGrid());
+
+            //When
+            new FreeForAllScheduler(forkJoinPool).moveAdventurers(treasureMap, adventurers);
+
+            //Then
+            int collectedTreasureCount = adventurers.stream().mapToInt(Adventurer::getCollectedTreasuresCount).sum();
+            assertEquals(treasureCountBefore, countTreasures(treasureMap.getGrid()) + collectedTreasureCount);
+
+            Set<Long> occupiedCells = new HashSet<>();
+            for (Adventurer adventurer : adventurers) {
+                int horizontalPosition = adventurer.getPosition().getHorizontalPosition();
+                int verticalPosition = adventurer.getPosition().getVerticalPosition();
+                assertTrue(occupiedCells.add(PackedCoordinates.pack(horizontalPosition, verticalPosition)),
+                        "Cellule " + horizontalPosition + "-" + verticalPosition + " occupée deux fois");
+                assertFalse(TreasureMapCellKind.hasMountain(
+                        treasureMap.getGrid().getCellKind(horizontalPosition, verticalPosition)));
+                assertSame(adventurer, treasureMap.getGrid().getAdventurer(horizontalPosition, verticalPosition));
+            }
+            assertEquals(adventurers.size(), RandomTreasureMaps.getAdventurers(treasureMap).size());
+        }
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    public void should_collect_treasure_once_when_adventurers_contend_for_it() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 1));
+        treasureMap.getGrid().setTreasure(1, 0, new Treasure(new Position(1, 0), 1));
+        Adventurer firstAdventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("A".toCharArray()), 0, 1);
+        Adventurer secondAdventurer = new Adventurer("Indiana", new Position(2, 0), Orientation.WEST,
+                MovementProgram.fromValues("A".toCharArray()), 0, 2);
+        treasureMap.getGrid().setAdventurer(0, 0, firstAdventurer);
+        treasureMap.getGrid().setAdventurer(2, 0, secondAdventurer);
+
+        //When
+        new FreeForAllScheduler().moveAdventurers(treasureMap, List.of(firstAdventurer, secondAdventurer));
+
+        //Then
+        assertEquals(1, firstAdventurer.getCollectedTreasuresCount() + secondAdventurer.getCollectedTreasuresCount());
+        assertEquals(0, treasureMap.getGrid().getTreasure(1, 0).getCount());
+        assertEquals(1, treasureMap.getSimulationReport().getBlockedMovementCount());
+        assertTrue(TreasureMapCellKind.hasAdventurer(treasureMap.getGrid().getCellKind(1, 0)));
+    }
+
+    @Test
+    public void should_move_adventurers_on_huge_sparse_map() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new SparseGrid(1_000_000, 1_000_000));
+        treasureMap.getGrid().setTreasure(999_998, 500_000, new Treasure(new Position(999_998, 500_000), 1));
+        Adventurer firstAdventurer = new Adventurer("Lara", new Position(999_997, 500_000), Orientation.EAST,
+                MovementProgram.fromValues("AAA".toCharArray()), 0, 1);
+        Adventurer secondAdventurer = new Adventurer("Indiana", new Position(999_999, 500_001), Orientation.NORTH,
+                MovementProgram.fromValues("A".toCharArray()), 0, 2);
+        treasureMap.getGrid().setAdventurer(999_997, 500_000, firstAdventurer);
+        treasureMap.getGrid().setAdventurer(999_999, 500_001, secondAdventurer);
+
+        //When
+        new FreeForAllScheduler().moveAdventurers(treasureMap, List.of(firstAdventurer, secondAdventurer));
+
+        //Then
+        assertEquals(1, firstAdventurer.getCollectedTreasuresCount());
+        for (Adventurer adventurer : List.of(firstAdventurer, secondAdventurer)) {
+            assertEquals(999_999, adventurer.getPosition().getHorizontalPosition());
+            assertSame(adventurer, treasureMap.getGrid().getAdventurer(999_999,
+                    adventurer.getPosition().getVerticalPosition()));
+        }
+    }
+
+    private static int countTreasures(TreasureMapGrid grid) {
+        int[] treasureCount = {0};
+        grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+            if (treasure != null) {
+                treasureCount[0] += treasure.getCount();
+            }
+        });
+        return treasureCount[0];
+    }
+}
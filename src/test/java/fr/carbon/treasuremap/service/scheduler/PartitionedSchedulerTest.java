@@ -0,0 +1,36 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedSchedulerTest {
+
+    @Test
+    public void should_move_contending_adventurers_by_apparition_order() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 2));
+        Adventurer firstAdventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("AA".toCharArray()), 0, 1);
+        Adventurer secondAdventurer = new Adventurer("Indiana", new Position(2, 1), Orientation.NORTH,
+                MovementProgram.fromValues("A".toCharArray()), 0, 2);
+        treasureMap.getGrid().setAdventurer(0, 0, firstAdventurer);
+        treasureMap.getGrid().setAdventurer(2, 1, secondAdventurer);
+
+        //When
+        new PartitionedScheduler().moveAdventurers(treasureMap, List.of(firstAdventurer, secondAdventurer));
+
+        //Then
+        assertEquals(2, firstAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, firstAdventurer.getPosition().getVerticalPosition());
+        assertEquals(2, secondAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(1, secondAdventurer.getPosition().getVerticalPosition());
+        assertSame(firstAdventurer, treasureMap.getGrid().getAdventurer(2, 0));
+        assertSame(secondAdventurer, treasureMap.getGrid().getAdventurer(2, 1));
+        assertNull(treasureMap.getGrid().getAdventurer(0, 0));
+    }
+}
@@ -0,0 +1,90 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.model.grid.RayCastIndex;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrioritySchedulerTest {
+
+    private final PriorityScheduler priorityScheduler = new PriorityScheduler();
+
+    @Test
+    public void should_move_adventurers_one_after_the_other() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 2));
+        Adventurer firstAdventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("AA".toCharArray()), 0, 1);
+        Adventurer secondAdventurer = new Adventurer("Indiana", new Position(2, 1), Orientation.NORTH,
+                MovementProgram.fromValues("A".toCharArray()), 0, 2);
+        treasureMap.getGrid().setAdventurer(0, 0, firstAdventurer);
+        treasureMap.getGrid().setAdventurer(2, 1, secondAdventurer);
+
+        //When
+        priorityScheduler.moveAdventurers(treasureMap, List.of(firstAdventurer, secondAdventurer));
+
+        //Then
+        assertEquals(2, firstAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, firstAdventurer.getPosition().getVerticalPosition());
+        assertEquals(2, secondAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(1, secondAdventurer.getPosition().getVerticalPosition());
+    }
+
+    @Test
+    public void should_count_forward_movements_refused_by_mountain_and_map_edge() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(4, 1));
+        treasureMap.getGrid().setMountain(0, 0, new Mountain(new Position(0, 0)));
+        Adventurer adventurer = new Adventurer("Lara", new Position(1, 0), Orientation.EAST,
+                MovementProgram.fromValues("AAAADDAAAA".toCharArray()), 0, 1);
+        treasureMap.getGrid().setAdventurer(1, 0, adventurer);
+
+        //When
+        priorityScheduler.moveAdventurers(treasureMap, List.of(adventurer));
+
+        //Then
+        assertEquals(1, adventurer.getPosition().getHorizontalPosition());
+        assertEquals(Orientation.WEST, adventurer.getOrientation());
+        assertEquals(4, treasureMap.getSimulationReport().getBlockedMovementCount());
+        assertEquals(0, treasureMap.getSimulationReport().getStuckAdventurerCount());
+    }
+
+    @Test
+    public void should_not_allocate_when_moving_adventurer() {
+        //Given
+        TreasureMapGrid grid = new PackedDenseGrid(3, 1);
+        grid.setTreasure(1, 0, new Treasure(new Position(1, 0), 1));
+        List<Movement> movements = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            movements.addAll(List.of(Movement.FORWARD, Movement.TURN_RIGHT, Movement.TURN_RIGHT,
+                    Movement.FORWARD, Movement.TURN_LEFT, Movement.TURN_LEFT));
+        }
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.of(movements), 0, 1);
+        grid.setAdventurer(0, 0, adventurer);
+        RayCastIndex rayCastIndex = RayCastIndex.build(grid);
+        SimulationReport simulationReport = new SimulationReport();
+        priorityScheduler.moveAdventurer(grid, rayCastIndex, adventurer, simulationReport);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        //When
+        long allocatedBytesBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        priorityScheduler.moveAdventurer(grid, rayCastIndex, adventurer, simulationReport);
+        long allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytesBefore;
+
+        //Then
+        assertTrue(allocatedBytes < movements.size(), allocatedBytes + " octets alloués pour "
+                + movements.size() + " mouvements");
+        assertSame(adventurer, grid.getAdventurer(0, 0));
+        assertEquals(Orientation.EAST, adventurer.getOrientation());
+        assertEquals(1, adventurer.getCollectedTreasuresCount());
+    }
+}
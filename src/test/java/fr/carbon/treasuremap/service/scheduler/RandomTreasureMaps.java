@@ -0,0 +1,96 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapCellKind;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cartes aléatoires reproductibles, pour comparer les ordonnancements entre eux.
+ */
+final class RandomTreasureMaps {
+
+    private static final char[] MOVEMENT_VALUES = {'A', 'A', 'A', 'D', 'G'};
+
+    private RandomTreasureMaps() {
+    }
+
+    static TreasureMap create(long seed, int side, int adventurerCount) {
+        return create(seed, new PackedDenseGrid(side, side), adventurerCount);
+    }
+
+    static TreasureMap create(long seed, TreasureMapGrid grid, int adventurerCount) {
+        Random random = new Random(seed);
+        int side = grid.getColumnCount();
+        for (int i = 0; i < side * side / 20; i++) {
+            int horizontalPosition = random.nextInt(side);
+            int verticalPosition = random.nextInt(side);
+            if (grid.isCellAvailable(horizontalPosition, verticalPosition)) {
+                if (random.nextBoolean()) {
+                    grid.setMountain(horizontalPosition, verticalPosition,
+                            new Mountain(new Position(horizontalPosition, verticalPosition)));
+                } else {
+                    grid.setTreasure(horizontalPosition, verticalPosition,
+                            new Treasure(new Position(horizontalPosition, verticalPosition), 1 + random.nextInt(3)));
+                }
+            }
+        }
+        for (int apparitionOrder = 0; apparitionOrder < adventurerCount; apparitionOrder++) {
+            int horizontalPosition = random.nextInt(side);
+            int verticalPosition = random.nextInt(side);
+            if (!grid.isCellAvailable(horizontalPosition, verticalPosition)) continue;
+
+            char[] movementValues = new char[random.nextInt(random.nextInt(10) == 0 ? 400 : 40)];
+            for (int i = 0; i < movementValues.length; i++) {
+                movementValues[i] = MOVEMENT_VALUES[random.nextInt(MOVEMENT_VALUES.length)];
+            }
+            grid.setAdventurer(horizontalPosition, verticalPosition, new Adventurer("Aventurier" + apparitionOrder,
+                    new Position(horizontalPosition, verticalPosition),
+                    Orientation.values()[random.nextInt(Orientation.values().length)],
+                    MovementProgram.fromValues(movementValues), 0, apparitionOrder));
+        }
+        return new TreasureMap(grid);
+    }
+
+    static List<Adventurer> getAdventurers(TreasureMap treasureMap) {
+        List<Adventurer> adventurers = new ArrayList<>();
+        treasureMap.getGrid().forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+            if (adventurer != null) {
+                adventurers.add(adventurer);
+            }
+        });
+        adventurers.sort((first, second) -> Integer.compare(first.getApparitionOrder(), second.getApparitionOrder()));
+        return adventurers;
+    }
+
+    static void assertSameTreasureMap(TreasureMap expectedTreasureMap, TreasureMap treasureMap) {
+        TreasureMapGrid expectedGrid = expectedTreasureMap.getGrid();
+        TreasureMapGrid grid = treasureMap.getGrid();
+        for (int horizontalPosition = 0; horizontalPosition < grid.getColumnCount(); horizontalPosition++) {
+            for (int verticalPosition = 0; verticalPosition < grid.getRowCount(); verticalPosition++) {
+                byte cellKind = grid.getCellKind(horizontalPosition, verticalPosition);
+                assertEquals(expectedGrid.getCellKind(horizontalPosition, verticalPosition), cellKind);
+                if (TreasureMapCellKind.hasTreasure(cellKind)) {
+                    assertEquals(expectedGrid.getTreasure(horizontalPosition, verticalPosition).getCount(),
+                            grid.getTreasure(horizontalPosition, verticalPosition).getCount());
+                }
+                if (TreasureMapCellKind.hasAdventurer(cellKind)) {
+                    Adventurer expectedAdventurer = expectedGrid.getAdventurer(horizontalPosition, verticalPosition);
+                    Adventurer adventurer = grid.getAdventurer(horizontalPosition, verticalPosition);
+                    assertEquals(expectedAdventurer.getName(), adventurer.getName());
+                    assertEquals(expectedAdventurer.getOrientation(), adventurer.getOrientation());
+                    assertEquals(expectedAdventurer.getCollectedTreasuresCount(),
+                            adventurer.getCollectedTreasuresCount());
+                    assertEquals(horizontalPosition, adventurer.getPosition().getHorizontalPosition());
+                    assertEquals(verticalPosition, adventurer.getPosition().getVerticalPosition());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Mesures comparées des ordonnancements, exclues des tests unitaires. Elles ne sont lancées que par le profil Maven
+ * {@code benchmark} : {@code mvn test -Pbenchmark}.
+ * <p>
+ * Chaque mesure est répétée afin d'écarter les premières exécutions, pendant lesquelles le code n'est pas encore
+ * compilé ; seule la meilleure durée est tracée.
+ */
+public class SchedulerBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchedulerBenchmark.class);
+
+    private static final int REPETITION_COUNT = 5;
+
+    private static final int STRIPED_MOVEMENTS_PER_ADVENTURER = 50_000;
+
+    @Test
+    public void should_measure_actor_scheduler_against_sequential_loop() {
+        measure("Boucle séquentielle", PriorityScheduler::new, 300, 20_000);
+        measure("Acteurs", ActorScheduler::new, 300, 20_000);
+    }
+
+    @Test
+    public void should_measure_speculative_scheduler_against_round_robin() {
+        measure("Tourniquet", () -> AdventurerSchedulerType.ROUND_ROBIN.createScheduler(1), 2_000, 200_000);
+        measure("Spéculation par lots", SpeculativeScheduler::new, 2_000, 200_000);
+    }
+
+    @Test
+    public void should_measure_batch_stepping_against_round_robin() {
+        measure("Tourniquet", () -> AdventurerSchedulerType.ROUND_ROBIN.createScheduler(1, false), 2_000, 200_000);
+        measure("Tourniquet, pas calculés par lot", () -> AdventurerSchedulerType.ROUND_ROBIN.createScheduler(1, true),
+                2_000, 200_000);
+    }
+
+    @Test
+    public void should_measure_striped_movement_executor_for_each_stripe_count() throws InterruptedException {
+        for (int stripeCount : new int[]{1, 4, 16, 64}) {
+            long bestNanos = Long.MAX_VALUE;
+            long contendedLockCount = 0;
+            for (int repetition = 0; repetition < REPETITION_COUNT; repetition++) {
+                TreasureMapGrid grid = new PackedDenseGrid(256, 256);
+                List<Adventurer> adventurers = new ArrayList<>();
+                for (int apparitionOrder = 0; apparitionOrder < 8; apparitionOrder++) {
+                    Adventurer adventurer = new Adventurer("Aventurier" + apparitionOrder,
+                            new Position(32 * apparitionOrder, 32 * apparitionOrder), Orientation.SOUTH,
+                            MovementProgram.EMPTY, 0, apparitionOrder);
+                    grid.setAdventurer(32 * apparitionOrder, 32 * apparitionOrder, adventurer);
+                    adventurers.add(adventurer);
+                }
+                StripedMovementExecutor stripedMovementExecutor = new StripedMovementExecutor(grid, stripeCount);
+
+                long start = System.nanoTime();
+                StripedMovementExecutorTest.runConcurrently(adventurers, adventurer -> {
+                    Random movementRandom = new Random(adventurer.getApparitionOrder());
+                    for (int i = 0; i < STRIPED_MOVEMENTS_PER_ADVENTURER; i++) {
+                        stripedMovementExecutor.applyMovement(adventurer,
+                                StripedMovementExecutorTest.MOVEMENTS[movementRandom.nextInt(
+                                        StripedMovementExecutorTest.MOVEMENTS.length)]);
+                    }
+                });
+                long elapsedNanos = System.nanoTime() - start;
+                if (elapsedNanos < bestNanos) {
+                    bestNanos = elapsedNanos;
+                    contendedLockCount = stripedMovementExecutor.getContendedLockCount();
+                }
+            }
+            long movementCount = 8L * STRIPED_MOVEMENTS_PER_ADVENTURER;
+            LOGGER.info(stripeCount + " verrou(s) demandé(s) : " + movementCount + " déplacement(s) en "
+                    + bestNanos / 1_000_000 + " ms au mieux, soit " + movementCount * 1_000_000_000L / bestNanos
+                    + " déplacement(s)/s, " + contendedLockCount + " acquisition(s) contestée(s).");
+        }
+    }
+
+    private static void measure(String label, Supplier<AdventurerScheduler> schedulerFactory, int side,
+                                int adventurerCount) {
+        long bestNanos = Long.MAX_VALUE;
+        for (int repetition = 0; repetition < REPETITION_COUNT; repetition++) {
+            TreasureMap treasureMap = RandomTreasureMaps.create(repetition, side, adventurerCount);
+            List<Adventurer> adventurers = RandomTreasureMaps.getAdventurers(treasureMap);
+            AdventurerScheduler scheduler = schedulerFactory.get();
+
+            long start = System.nanoTime();
+            scheduler.moveAdventurers(treasureMap, adventurers);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        LOGGER.info(label + " : " + bestNanos / 1_000_000 + " ms au mieux pour " + adventurerCount
+                + " aventurier(s) sur une carte " + side + "x" + side + ".");
+    }
+}
@@ -0,0 +1,89 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.SimulationReport;
+import fr.carbon.treasuremap.model.TreasureMap;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Vérifie que chaque ordonnanceur déterministe déplace les aventuriers exactement comme l'ordonnanceur séquentiel
+ * qui lui sert de référence, sur une carte encombrée et sur une carte clairsemée.
+ */
+public class SchedulerEquivalenceTest {
+
+    private static ForkJoinPool forkJoinPool;
+
+    @BeforeAll
+    public static void createForkJoinPool() {
+        forkJoinPool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void shutdownForkJoinPool() {
+        forkJoinPool.shutdown();
+    }
+
+    static Stream<Arguments> equivalentSchedulers() {
+        return Stream.of(
+                onCrowdedAndSparseMaps(AdventurerSchedulerType.PRIORITY, PartitionedScheduler.class,
+                        PartitionedScheduler::new),
+                onCrowdedAndSparseMaps(AdventurerSchedulerType.ROUND_ROBIN, SpeculativeScheduler.class,
+                        SpeculativeScheduler::new),
+                onCrowdedAndSparseMaps(AdventurerSchedulerType.ROUND_ROBIN, BatchSteppingScheduler.class,
+                        pool -> AdventurerSchedulerType.ROUND_ROBIN.createScheduler(64, true)),
+                onCrowdedAndSparseMaps(AdventurerSchedulerType.ROUND_ROBIN, EventDrivenScheduler.class,
+                        pool -> AdventurerSchedulerType.EVENT_DRIVEN.createScheduler(64))
+        ).flatMap(Function.identity());
+    }
+
+    private static Stream<Arguments> onCrowdedAndSparseMaps(AdventurerSchedulerType referenceSchedulerType,
+                                                           Class<? extends AdventurerScheduler> schedulerClass,
+                                                           Function<ForkJoinPool, AdventurerScheduler> factory) {
+        return Stream.of(
+                Arguments.of(referenceSchedulerType, schedulerClass, factory, 11L, 100, 3_000),
+                Arguments.of(referenceSchedulerType, schedulerClass, factory, 42L, 200, 400));
+    }
+
+    @ParameterizedTest(name = "{1} comme {0}, carte {4}x{4} à {5} aventurier(s)")
+    @MethodSource("equivalentSchedulers")
+    public void should_move_adventurers_like_reference_scheduler(
+            AdventurerSchedulerType referenceSchedulerType,
+            Class<? extends AdventurerScheduler> schedulerClass,
+            Function<ForkJoinPool, AdventurerScheduler> schedulerFactory,
+            long seed,
+            int side,
+            int adventurerCount) {
+        //Given
+        TreasureMap expectedTreasureMap = RandomTreasureMaps.create(seed, side, adventurerCount);
+        TreasureMap treasureMap = RandomTreasureMaps.create(seed, side, adventurerCount);
+        AdventurerScheduler scheduler = schedulerFactory.apply(forkJoinPool);
+
+        //When
+        referenceSchedulerType.createScheduler(64)
+                .moveAdventurers(expectedTreasureMap, RandomTreasureMaps.getAdventurers(expectedTreasureMap));
+        scheduler.moveAdventurers(treasureMap, RandomTreasureMaps.getAdventurers(treasureMap));
+
+        //Then
+        assertInstanceOf(schedulerClass, scheduler);
+        RandomTreasureMaps.assertSameTreasureMap(expectedTreasureMap, treasureMap);
+        SimulationReport expectedSimulationReport = expectedTreasureMap.getSimulationReport();
+        SimulationReport simulationReport = treasureMap.getSimulationReport();
+        // Seuls les ordonnancements tour par tour comptent des tours.
+        if (scheduler instanceof TurnBasedScheduler) {
+            assertEquals(expectedSimulationReport.getTurnCount(), simulationReport.getTurnCount());
+        }
+        assertEquals(expectedSimulationReport.getBlockedMovementCount(), simulationReport.getBlockedMovementCount());
+        assertEquals(expectedSimulationReport.getStuckAdventurerCount(), simulationReport.getStuckAdventurerCount());
+        assertEquals(expectedSimulationReport.getSkippedMovementCount(), simulationReport.getSkippedMovementCount());
+    }
+}
@@ -0,0 +1,63 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpeculativeSchedulerTest {
+
+    @Test
+    public void should_reevaluate_step_into_cell_freed_earlier_in_turn() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 1));
+        treasureMap.getGrid().setTreasure(2, 0, new Treasure(new Position(2, 0), 1));
+        Adventurer firstAdventurer = new Adventurer("Lara", new Position(1, 0), Orientation.EAST,
+                MovementProgram.fromValues("A".toCharArray()), 0, 1);
+        Adventurer secondAdventurer = new Adventurer("Indiana", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("AA".toCharArray()), 0, 2);
+        treasureMap.getGrid().setAdventurer(1, 0, firstAdventurer);
+        treasureMap.getGrid().setAdventurer(0, 0, secondAdventurer);
+
+        //When
+        new SpeculativeScheduler().moveAdventurers(treasureMap, List.of(firstAdventurer, secondAdventurer));
+
+        //Then
+        assertEquals(2, firstAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(1, firstAdventurer.getCollectedTreasuresCount());
+        assertEquals(1, secondAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, secondAdventurer.getCollectedTreasuresCount());
+        assertSame(secondAdventurer, treasureMap.getGrid().getAdventurer(1, 0));
+        assertEquals(1, treasureMap.getSimulationReport().getBlockedMovementCount());
+    }
+
+    @Test
+    public void should_abandon_speculation_when_reexecuted_adventurer_enters_its_cells() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(5, 2));
+        Adventurer leavingAdventurer = new Adventurer("Lara", new Position(2, 0), Orientation.SOUTH,
+                MovementProgram.fromValues("A".toCharArray()), 0, 1);
+        Adventurer reexecutedAdventurer = new Adventurer("Indiana", new Position(1, 0), Orientation.EAST,
+                MovementProgram.fromValues("AA".toCharArray()), 0, 2);
+        Adventurer speculatedAdventurer = new Adventurer("Allan", new Position(4, 0), Orientation.NORTH,
+                MovementProgram.fromValues("GA".toCharArray()), 0, 3);
+        treasureMap.getGrid().setAdventurer(2, 0, leavingAdventurer);
+        treasureMap.getGrid().setAdventurer(1, 0, reexecutedAdventurer);
+        treasureMap.getGrid().setAdventurer(4, 0, speculatedAdventurer);
+
+        //When
+        new SpeculativeScheduler().moveAdventurers(treasureMap,
+                List.of(leavingAdventurer, reexecutedAdventurer, speculatedAdventurer));
+
+        //Then
+        assertEquals(3, reexecutedAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(4, speculatedAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(Orientation.WEST, speculatedAdventurer.getOrientation());
+        assertSame(reexecutedAdventurer, treasureMap.getGrid().getAdventurer(3, 0));
+        assertSame(speculatedAdventurer, treasureMap.getGrid().getAdventurer(4, 0));
+        assertEquals(1, treasureMap.getSimulationReport().getBlockedMovementCount());
+    }
+}
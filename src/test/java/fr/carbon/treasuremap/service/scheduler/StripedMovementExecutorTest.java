@@ -0,0 +1,168 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.AbstractPackedGrid;
+import fr.carbon.treasuremap.model.grid.ObjectMatrixGrid;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import fr.carbon.treasuremap.model.grid.SparseGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGrid;
+import fr.carbon.treasuremap.model.grid.TreasureMapGridType;
+import fr.carbon.treasuremap.utils.PackedCoordinates;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedMovementExecutorTest {
+
+    static final Movement[] MOVEMENTS = {Movement.FORWARD, Movement.FORWARD, Movement.TURN_RIGHT,
+            Movement.TURN_LEFT};
+
+    @Test
+    public void should_not_contend_when_movers_stay_in_distinct_regions() throws InterruptedException {
+        //Given
+        TreasureMapGrid grid = new ObjectMatrixGrid(64, 64);
+        StripedMovementExecutor stripedMovementExecutor = new StripedMovementExecutor(grid, 16);
+        List<Adventurer> adventurers = new ArrayList<>();
+        for (int region = 0; region < 4; region++) {
+            Adventurer adventurer = new Adventurer("Aventurier" + region, new Position(16 * region + 2, 16 * region + 2),
+                    Orientation.EAST, MovementProgram.EMPTY, 0, region);
+            grid.setAdventurer(16 * region + 2, 16 * region + 2, adventurer);
+            adventurers.add(adventurer);
+        }
+        List<Movement> roundTrip = List.of(Movement.FORWARD, Movement.TURN_RIGHT, Movement.TURN_RIGHT,
+                Movement.FORWARD, Movement.TURN_LEFT, Movement.TURN_LEFT);
+
+        //When
+        runConcurrently(adventurers, adventurer -> {
+            for (int i = 0; i < 2_000; i++) {
+                for (Movement movement : roundTrip) {
+                    assertTrue(stripedMovementExecutor.applyMovement(adventurer, movement));
+                }
+            }
+        });
+
+        //Then
+        assertEquals(16, stripedMovementExecutor.getStripeCount());
+        assertEquals(0, stripedMovementExecutor.getContendedLockCount());
+        for (int region = 0; region < 4; region++) {
+            assertSame(adventurers.get(region), grid.getAdventurer(16 * region + 2, 16 * region + 2));
+            assertEquals(Orientation.EAST, adventurers.get(region).getOrientation());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = TreasureMapGridType.class, names = {"OBJECT_MATRIX", "PACKED_DENSE", "CHUNKED"})
+    public void should_keep_map_consistent_for_each_stripe_count(TreasureMapGridType gridType)
+            throws InterruptedException {
+        for (int stripeCount : new int[]{1, 4, 16, 64}) {
+            //Given
+            TreasureMapGrid grid = gridType.createGrid(256, 256);
+            Random random = new Random(stripeCount);
+            int treasureCountBefore = 0;
+            for (int i = 0; i < 2_000; i++) {
+                int horizontalPosition = random.nextInt(256);
+                int verticalPosition = random.nextInt(256);
+                if (grid.isCellAvailable(horizontalPosition, verticalPosition)) {
+                    grid.setTreasure(horizontalPosition, verticalPosition,
+                            new Treasure(new Position(horizontalPosition, verticalPosition), 2));
+                    treasureCountBefore += 2;
+                }
+            }
+            List<Adventurer> adventurers = new ArrayList<>();
+            for (int apparitionOrder = 0; apparitionOrder < 8; apparitionOrder++) {
+                Adventurer adventurer = new Adventurer("Aventurier" + apparitionOrder,
+                        new Position(32 * apparitionOrder, 32 * apparitionOrder), Orientation.SOUTH,
+                        MovementProgram.EMPTY, 0, apparitionOrder);
+                grid.setAdventurer(32 * apparitionOrder, 32 * apparitionOrder, adventurer);
+                adventurers.add(adventurer);
+            }
+            StripedMovementExecutor stripedMovementExecutor = new StripedMovementExecutor(grid, stripeCount);
+
+            //When
+            runConcurrently(adventurers, adventurer -> {
+                Random movementRandom = new Random(adventurer.getApparitionOrder());
+                for (int i = 0; i < 5_000; i++) {
+                    stripedMovementExecutor.applyMovement(adventurer,
+                            MOVEMENTS[movementRandom.nextInt(MOVEMENTS.length)]);
+                }
+            });
+
+            //Then
+            int[] remainingTreasureCount = {0};
+            int[] adventurerCellCount = {0};
+            grid.forEachCell((horizontalPosition, verticalPosition, mountain, treasure, adventurer) -> {
+                if (treasure != null) remainingTreasureCount[0] += treasure.getCount();
+                if (adventurer != null) adventurerCellCount[0]++;
+            });
+            int collectedTreasureCount = adventurers.stream().mapToInt(Adventurer::getCollectedTreasuresCount).sum();
+            assertEquals(treasureCountBefore, remainingTreasureCount[0] + collectedTreasureCount);
+            assertEquals(adventurers.size(), adventurerCellCount[0]);
+
+            Set<Long> occupiedCells = new HashSet<>();
+            for (Adventurer adventurer : adventurers) {
+                Position position = adventurer.getPosition();
+                assertTrue(occupiedCells.add(PackedCoordinates.pack(position.getHorizontalPosition(),
+                        position.getVerticalPosition())));
+                assertSame(adventurer, grid.getAdventurer(position.getHorizontalPosition(),
+                        position.getVerticalPosition()));
+            }
+            assertEquals(8 * 5_000, stripedMovementExecutor.getAppliedMovementCount());
+        }
+    }
+
+    @Test
+    public void should_stripe_packed_grid_by_row_bands() {
+        //Given
+        PackedDenseGrid grid = new PackedDenseGrid(100, 16 * AbstractPackedGrid.ROW_BAND_HEIGHT);
+
+        //When
+        StripedMovementExecutor stripedMovementExecutor = new StripedMovementExecutor(grid, 4);
+
+        //Then
+        assertEquals(4, stripedMovementExecutor.getStripeCount());
+    }
+
+    @Test
+    public void should_refuse_several_stripes_when_grid_does_not_support_concurrent_updates() {
+        //Given
+        SparseGrid grid = new SparseGrid(64, 64);
+
+        //When - Then
+        assertThrows(IllegalArgumentException.class, () -> new StripedMovementExecutor(grid, 16));
+        assertEquals(1, new StripedMovementExecutor(grid, 1).getStripeCount());
+    }
+
+    /**
+     * Lance un thread par aventurier et attend leur fin, en échouant si l'un d'eux a levé une erreur.
+     */
+    static void runConcurrently(List<Adventurer> adventurers, Consumer<Adventurer> mover)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (Adventurer adventurer : adventurers) {
+            Thread thread = new Thread(() -> mover.accept(adventurer));
+            thread.setUncaughtExceptionHandler((failedThread, throwable) -> {
+                synchronized (failures) {
+                    failures.add(throwable);
+                }
+            });
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+    }
+}
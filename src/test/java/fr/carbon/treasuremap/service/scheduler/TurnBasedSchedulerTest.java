@@ -0,0 +1,126 @@
+package fr.carbon.treasuremap.service.scheduler;
+
+import fr.carbon.treasuremap.model.*;
+import fr.carbon.treasuremap.model.grid.PackedDenseGrid;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TurnBasedSchedulerTest {
+
+    @Test
+    public void should_interleave_adventurer_movements_in_round_robin() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 2));
+        Adventurer firstAdventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("AA".toCharArray()), 0, 1);
+        Adventurer secondAdventurer = new Adventurer("Indiana", new Position(2, 1), Orientation.NORTH,
+                MovementProgram.fromValues("A".toCharArray()), 0, 2);
+        treasureMap.getGrid().setAdventurer(0, 0, firstAdventurer);
+        treasureMap.getGrid().setAdventurer(2, 1, secondAdventurer);
+
+        //When
+        AdventurerSchedulerType.ROUND_ROBIN.createScheduler(64)
+                .moveAdventurers(treasureMap, List.of(firstAdventurer, secondAdventurer));
+
+        //Then
+        assertEquals(1, firstAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, firstAdventurer.getPosition().getVerticalPosition());
+        assertEquals(2, secondAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, secondAdventurer.getPosition().getVerticalPosition());
+        assertSame(firstAdventurer, treasureMap.getGrid().getAdventurer(1, 0));
+        assertSame(secondAdventurer, treasureMap.getGrid().getAdventurer(2, 0));
+        assertEquals(2, treasureMap.getSimulationReport().getTurnCount());
+        assertEquals(1, treasureMap.getSimulationReport().getBlockedMovementCount());
+    }
+
+    @Test
+    public void should_play_movements_by_batches() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(3, 2));
+        treasureMap.getGrid().setTreasure(1, 0, new Treasure(new Position(1, 0), 2));
+        Adventurer firstAdventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("AADA".toCharArray()), 0, 1);
+        Adventurer secondAdventurer = new Adventurer("Indiana", new Position(2, 1), Orientation.NORTH,
+                MovementProgram.fromValues("A".toCharArray()), 0, 2);
+        treasureMap.getGrid().setAdventurer(0, 0, firstAdventurer);
+        treasureMap.getGrid().setAdventurer(2, 1, secondAdventurer);
+
+        //When
+        AdventurerSchedulerType.BATCHED.createScheduler(2)
+                .moveAdventurers(treasureMap, List.of(firstAdventurer, secondAdventurer));
+
+        //Then
+        assertEquals(2, firstAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, firstAdventurer.getPosition().getVerticalPosition());
+        assertEquals(Orientation.SOUTH, firstAdventurer.getOrientation());
+        assertEquals(1, firstAdventurer.getCollectedTreasuresCount());
+        assertEquals(2, secondAdventurer.getPosition().getHorizontalPosition());
+        assertEquals(1, secondAdventurer.getPosition().getVerticalPosition());
+        assertEquals(2, treasureMap.getSimulationReport().getTurnCount());
+        assertEquals(2, treasureMap.getSimulationReport().getBlockedMovementCount());
+    }
+
+    @Test
+    public void should_skip_remaining_movements_of_walled_in_adventurer() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(2, 2));
+        treasureMap.getGrid().setMountain(1, 0, new Mountain(new Position(1, 0)));
+        treasureMap.getGrid().setMountain(0, 1, new Mountain(new Position(0, 1)));
+        Adventurer adventurer = new Adventurer("Lara", new Position(0, 0), Orientation.EAST,
+                MovementProgram.fromValues("AADAD".toCharArray()), 0, 1);
+        treasureMap.getGrid().setAdventurer(0, 0, adventurer);
+
+        //When
+        AdventurerSchedulerType.ROUND_ROBIN.createScheduler(64).moveAdventurers(treasureMap, List.of(adventurer));
+
+        //Then
+        assertEquals(0, adventurer.getPosition().getHorizontalPosition());
+        assertEquals(0, adventurer.getPosition().getVerticalPosition());
+        assertEquals(Orientation.WEST, adventurer.getOrientation());
+        assertEquals(1, treasureMap.getSimulationReport().getTurnCount());
+        assertEquals(1, treasureMap.getSimulationReport().getBlockedMovementCount());
+        assertEquals(1, treasureMap.getSimulationReport().getStuckAdventurerCount());
+        assertEquals(4, treasureMap.getSimulationReport().getSkippedMovementCount());
+    }
+
+    @Test
+    public void should_throw_when_batch_size_is_not_positive() {
+        //When //Then
+        assertThrows(IllegalArgumentException.class, () -> AdventurerSchedulerType.BATCHED.createScheduler(0));
+    }
+
+    @Test
+    public void should_not_allocate_on_each_turn() {
+        //Given
+        TreasureMap treasureMap = new TreasureMap(new PackedDenseGrid(2, 100));
+        MovementProgram movementProgram = MovementProgram.fromValues("ADDAGG".repeat(2_000).toCharArray());
+        List<Adventurer> adventurers = new ArrayList<>();
+        for (int verticalPosition = 0; verticalPosition < 100; verticalPosition++) {
+            Adventurer adventurer = new Adventurer("Lara" + verticalPosition, new Position(0, verticalPosition),
+                    Orientation.EAST, movementProgram, 0, verticalPosition);
+            treasureMap.getGrid().setAdventurer(0, verticalPosition, adventurer);
+            adventurers.add(adventurer);
+        }
+        AdventurerScheduler roundRobinScheduler = AdventurerSchedulerType.ROUND_ROBIN.createScheduler(64);
+        roundRobinScheduler.moveAdventurers(treasureMap, adventurers);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        //When
+        long allocatedBytesBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        roundRobinScheduler.moveAdventurers(treasureMap, adventurers);
+        long allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytesBefore;
+
+        //Then
+        assertTrue(allocatedBytes < movementProgram.size(), allocatedBytes + " octets alloués pour "
+                + movementProgram.size() + " tours");
+        assertEquals(2 * movementProgram.size(), treasureMap.getSimulationReport().getTurnCount());
+        assertSame(adventurers.get(0), treasureMap.getGrid().getAdventurer(0, 0));
+        assertEquals(Orientation.EAST, adventurers.get(0).getOrientation());
+    }
+}
@@ -0,0 +1,65 @@
+package fr.carbon.treasuremap.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventQueueTest {
+
+    @Test
+    public void should_order_events_by_time_then_id() {
+        //Given
+        EventQueue eventQueue = new EventQueue(0);
+        eventQueue.add(5, 2);
+        eventQueue.add(3, 7);
+        eventQueue.add(5, 1);
+
+        //When
+        eventQueue.rescheduleFirst(5);
+
+        //Then
+        assertEquals(5, eventQueue.peekTime());
+        assertEquals(1, eventQueue.peekId());
+        eventQueue.removeFirst();
+        assertEquals(2, eventQueue.peekId());
+        eventQueue.removeFirst();
+        assertEquals(7, eventQueue.peekId());
+        eventQueue.removeFirst();
+        assertTrue(eventQueue.isEmpty());
+        assertThrows(NoSuchElementException.class, eventQueue::peekTime);
+    }
+
+    @Test
+    public void should_behave_like_priority_queue() {
+        //Given
+        Random random = new Random(42);
+        EventQueue eventQueue = new EventQueue(4);
+        PriorityQueue<long[]> expectedQueue = new PriorityQueue<>(
+                (first, second) -> first[0] != second[0] ? Long.compare(first[0], second[0])
+                        : Long.compare(first[1], second[1]));
+
+        //When - Then
+        for (int id = 0; id < 1_000; id++) {
+            long time = random.nextInt(100);
+            eventQueue.add(time, id);
+            expectedQueue.add(new long[]{time, id});
+        }
+        while (!expectedQueue.isEmpty()) {
+            long[] expectedEvent = expectedQueue.poll();
+            assertEquals(expectedEvent[0], eventQueue.peekTime());
+            assertEquals(expectedEvent[1], eventQueue.peekId());
+            if (random.nextBoolean() && expectedEvent[0] < 150) {
+                long time = expectedEvent[0] + 1 + random.nextInt(50);
+                eventQueue.rescheduleFirst(time);
+                expectedQueue.add(new long[]{time, expectedEvent[1]});
+            } else {
+                eventQueue.removeFirst();
+            }
+        }
+        assertEquals(0, eventQueue.size());
+    }
+}
@@ -0,0 +1,54 @@
+package fr.carbon.treasuremap.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineTokenizerTest {
+
+    @Test
+    public void should_split_fields_like_split_line() {
+        //Given
+        List<String> lines = List.of("M - 1 - 2", "A - Léa - 0 - 0 - S - ADG - 0", "T -  - 1 - 2", "C", "",
+                "M - 1 - 2 - 3", "x - - y", "A - Bob -- 3");
+        LineTokenizer lineTokenizer = new LineTokenizer();
+
+        for (String line : lines) {
+            //When
+            lineTokenizer.reset(line);
+
+            //Then
+            String[] expectedFields = TreasureMapGameUtils.splitLine(line);
+            assertEquals(expectedFields.length, lineTokenizer.getFieldCount(), line);
+            for (int field = 0; field < expectedFields.length; field++) {
+                assertEquals(expectedFields[field], lineTokenizer.getField(field), line);
+            }
+            assertEquals(line, lineTokenizer.toString());
+        }
+    }
+
+    @Test
+    public void should_parse_int_fields_in_place() {
+        //Given
+        byte[] bytes = "### T - -2147483648 - +7 - 2147483648 - 1.5 - - - 12a\n".getBytes(StandardCharsets.UTF_8);
+        LineTokenizer lineTokenizer = new LineTokenizer();
+
+        //When
+        lineTokenizer.reset(ByteBuffer.wrap(bytes), 4, bytes.length - 1);
+
+        //Then
+        assertEquals('T', lineTokenizer.getKind());
+        assertEquals(7, lineTokenizer.getFieldCount());
+        assertEquals(Integer.MIN_VALUE, lineTokenizer.parseIntField(1));
+        assertEquals(LineTokenizer.NOT_AN_INT, lineTokenizer.parseIntField(2));
+        assertEquals(LineTokenizer.NOT_AN_INT, lineTokenizer.parseIntField(3));
+        assertEquals(LineTokenizer.NOT_AN_INT, lineTokenizer.parseIntField(4));
+        assertEquals(LineTokenizer.NOT_AN_INT, lineTokenizer.parseIntField(5));
+        assertEquals(LineTokenizer.NOT_AN_INT, lineTokenizer.parseIntField(6));
+        assertEquals("T - -2147483648 - +7 - 2147483648 - 1.5 - - - 12a", lineTokenizer.toString());
+    }
+}
@@ -0,0 +1,75 @@
+package fr.carbon.treasuremap.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongIntOpenHashMapTest {
+
+    @Test
+    public void should_put_get_and_remove_values() {
+        //Given
+        LongIntOpenHashMap map = new LongIntOpenHashMap(-1);
+        long firstKey = PackedCoordinates.pack(3, 4);
+        long secondKey = PackedCoordinates.pack(4, 3);
+
+        //When
+        map.put(firstKey, 10);
+        map.put(secondKey, 20);
+        int previousValue = map.put(firstKey, 11);
+
+        //Then
+        assertEquals(10, previousValue);
+        assertEquals(11, map.get(firstKey));
+        assertEquals(20, map.get(secondKey));
+        assertEquals(2, map.size());
+
+        //When
+        int removedValue = map.remove(firstKey);
+
+        //Then
+        assertEquals(11, removedValue);
+        assertEquals(-1, map.get(firstKey));
+        assertFalse(map.containsKey(firstKey));
+        assertEquals(20, map.get(secondKey));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void should_behave_like_hash_map_under_random_operations() {
+        //Given
+        LongIntOpenHashMap map = new LongIntOpenHashMap(-1);
+        Map<Long, Integer> expectedMap = new HashMap<>();
+        Random random = new Random(42);
+
+        //When
+        for (int i = 0; i < 100_000; i++) {
+            long key = PackedCoordinates.pack(random.nextInt(200), random.nextInt(200));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expectedMap.getOrDefault(key, -1), map.remove(key));
+                expectedMap.remove(key);
+            } else {
+                assertEquals(expectedMap.getOrDefault(key, -1), map.put(key, i));
+                expectedMap.put(key, i);
+            }
+        }
+
+        //Then
+        assertEquals(expectedMap.size(), map.size());
+        expectedMap.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+
+    @Test
+    public void should_pack_and_unpack_coordinates() {
+        //Given
+        long packedCoordinates = PackedCoordinates.pack(123_456, 654_321);
+
+        //When - Then
+        assertEquals(123_456, PackedCoordinates.horizontalPosition(packedCoordinates));
+        assertEquals(654_321, PackedCoordinates.verticalPosition(packedCoordinates));
+    }
+}
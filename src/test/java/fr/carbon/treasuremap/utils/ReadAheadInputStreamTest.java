@@ -0,0 +1,94 @@
+package fr.carbon.treasuremap.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadAheadInputStreamTest {
+
+    @Test
+    public void should_read_same_bytes_as_source_across_blocks() throws IOException {
+        //Given
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+
+        //When
+        byte[] readContent;
+        int firstByte;
+        try (InputStream inputStream = new ReadAheadInputStream(new ByteArrayInputStream(content), 64, 2, "test")) {
+            firstByte = inputStream.read();
+            readContent = inputStream.readAllBytes();
+        }
+
+        //Then
+        assertEquals(content[0] & 0xFF, firstByte);
+        assertArrayEquals(Arrays.copyOfRange(content, 1, content.length), readContent);
+    }
+
+    @Test
+    public void should_throw_source_error_after_bytes_read_before_it() throws IOException {
+        //Given
+        InputStream failingSource = new SequenceInputStream(new ByteArrayInputStream(new byte[10]), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("source illisible");
+            }
+        });
+
+        //When - Then
+        try (InputStream inputStream = new ReadAheadInputStream(failingSource, 4, 2, "test")) {
+            assertEquals(8, inputStream.readNBytes(8).length);
+            IOException exception = assertThrows(IOException.class, inputStream::readAllBytes);
+            assertEquals("source illisible", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void should_throw_unchecked_source_error_instead_of_waiting_forever() {
+        //Given
+        InputStream failingSource = new SequenceInputStream(new ByteArrayInputStream(new byte[10]), new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("flux corrompu");
+            }
+        });
+
+        //When - Then
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (InputStream inputStream = new ReadAheadInputStream(failingSource, 4, 2, "test")) {
+                assertEquals(8, inputStream.readNBytes(8).length);
+                IOException exception = assertThrows(IOException.class, inputStream::readAllBytes);
+                assertInstanceOf(IllegalStateException.class, exception.getCause());
+            }
+        });
+    }
+
+    @Test
+    public void should_stop_reading_source_when_closed_before_end() throws IOException {
+        //Given
+        InputStream endlessSource = new InputStream() {
+            @Override
+            public int read() {
+                return 1;
+            }
+        };
+
+        //When
+        InputStream inputStream = new ReadAheadInputStream(endlessSource, 16, 1, "test");
+        int firstByte = inputStream.read();
+        inputStream.close();
+
+        //Then
+        assertEquals(1, firstByte);
+        assertEquals(-1, inputStream.read());
+    }
+}